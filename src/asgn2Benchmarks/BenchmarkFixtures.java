@@ -0,0 +1,122 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+
+/**
+ * Car parks and vehicles shared by the benchmarks.
+ *
+ * A benchmark size is a total number of bays, split between classes in the proportions of
+ * the default car park: one bay in six for motorcycles, and one car bay in five for small cars.
+ *
+ * @author hogan
+ *
+ */
+final class BenchmarkFixtures {
+
+	public static final String CAR_PARK = "CarPark";
+	public static final String CONCURRENT_CAR_PARK = "ConcurrentCarPark";
+
+	// Time at which fixtures arrive and park, and a stay which outlasts the day
+	public static final int START_TIME = 1;
+	public static final int LONG_STAY = Constants.CLOSING_TIME;
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Creates an empty car park of the given implementation and size, in stats-only mode so
+	 * that repeated departures do not grow the archive
+	 * @param impl String naming the implementation, CAR_PARK or CONCURRENT_CAR_PARK
+	 * @param bays int holding the total number of bays
+	 * @param queueSize int holding the maximum queue length
+	 * @return empty CarPark
+	 * @throws IllegalArgumentException if impl is not recognised
+	 */
+	static CarPark newCarPark(String impl, int bays, int queueSize) {
+		int motorCycles = motorCycleBays(bays);
+		int cars = bays - motorCycles;
+		int smallCars = smallCarBays(bays);
+		CarPark carPark;
+		if (CAR_PARK.equals(impl)) {
+			carPark = new CarPark(cars, smallCars, motorCycles, queueSize);
+		} else if (CONCURRENT_CAR_PARK.equals(impl)) {
+			carPark = new ConcurrentCarPark(cars, smallCars, motorCycles, queueSize);
+		} else {
+			throw new IllegalArgumentException("Unknown car park implementation " + impl);
+		}
+		carPark.setRetainArchive(false);
+		return carPark;
+	}
+
+	/**
+	 * Parks a fraction of the bays of each class, all arriving at START_TIME
+	 * @param carPark CarPark to be filled
+	 * @param bays int holding the total number of bays carPark was created with
+	 * @param fraction double holding the fraction of each class of bay to fill
+	 * @param intendedDuration int holding the stay of every vehicle parked
+	 * @throws VehicleException if a vehicle cannot be parked
+	 * @throws SimulationException if carPark has no space for a vehicle
+	 */
+	static void park(CarPark carPark, int bays, double fraction, int intendedDuration)
+			throws VehicleException, SimulationException {
+		int motorCycles = (int) (motorCycleBays(bays) * fraction);
+		int smallCars = (int) (smallCarBays(bays) * fraction);
+		int cars = (int) ((bays - motorCycleBays(bays) - smallCarBays(bays)) * fraction);
+		for (int i = 0; i < cars; i++) {
+			carPark.parkVehicle(new Car("C" + i, START_TIME, false), START_TIME, intendedDuration);
+		}
+		for (int i = 0; i < smallCars; i++) {
+			carPark.parkVehicle(new Car("S" + i, START_TIME, true), START_TIME, intendedDuration);
+		}
+		for (int i = 0; i < motorCycles; i++) {
+			carPark.parkVehicle(new MotorCycle("M" + i, START_TIME), START_TIME, intendedDuration);
+		}
+	}
+
+	/**
+	 * Queues cars, all arriving at START_TIME
+	 * @param carPark CarPark to be queued at
+	 * @param count int holding the number of cars to queue
+	 * @throws VehicleException if a car cannot be queued
+	 * @throws SimulationException if the queue is full
+	 */
+	static void queue(CarPark carPark, int count) throws VehicleException, SimulationException {
+		for (int i = 0; i < count; i++) {
+			carPark.enterQueue(new Car("Q" + i, START_TIME, false));
+		}
+	}
+
+	/**
+	 * Helper giving the number of motorcycle bays in a car park of the given size
+	 * @param bays int holding the total number of bays
+	 * @return number of motorcycle bays
+	 */
+	private static int motorCycleBays(int bays) {
+		return bays / 6;
+	}
+
+	/**
+	 * Helper giving the number of small car bays, a component of the car bays
+	 * @param bays int holding the total number of bays
+	 * @return number of small car bays
+	 */
+	private static int smallCarBays(int bays) {
+		return (bays - motorCycleBays(bays)) / 5;
+	}
+}
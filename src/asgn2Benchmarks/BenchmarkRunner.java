@@ -0,0 +1,55 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the car park and simulator hot paths.
+ *
+ * The benchmarks need jmh-core on the class path, and the classes of this package must be
+ * compiled with jmh-generator-annprocess as an annotation processor so that JMH finds them.
+ * They may then be run from this class, or from org.openjdk.jmh.Main for the full set of JMH
+ * options, eg. java org.openjdk.jmh.Main CarParkBenchmarks -p bays=100000 -prof gc
+ *
+ * @author hogan
+ *
+ */
+public class BenchmarkRunner {
+
+	public static final String DEFAULT_INCLUDE = "asgn2Benchmarks\\..*";
+	public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	/**
+	 * Runs the benchmarks and writes their results as JSON
+	 * @param args optional regular expression selecting benchmarks, followed by
+	 * 		  an optional result file name
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		if (args.length > 2) {
+			System.err.println("Usage: BenchmarkRunner [benchmark regex] [result file]");
+			System.exit(1);
+		}
+		String include = (args.length > 0) ? args[0] : DEFAULT_INCLUDE;
+		String resultFile = (args.length > 1) ? args[1] : DEFAULT_RESULT_FILE;
+		Options options = new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(resultFile)
+				.build();
+		new Runner(options).run();
+	}
+}
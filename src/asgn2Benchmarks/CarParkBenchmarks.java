@@ -0,0 +1,168 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Steady state costs of the CarPark operations run every tick, on a car park half full and
+ * with a full queue. Each operation leaves the car park as it found it, so one car park
+ * serves a whole trial: the archive and queue scans find nothing due, and parkAndUnpark
+ * returns the bay it takes. The costs of operations which drain the car park are measured
+ * by {@link CarParkDrainBenchmarks}.
+ *
+ * @author hogan
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarParkBenchmarks {
+
+	@Param({ BenchmarkFixtures.CAR_PARK, BenchmarkFixtures.CONCURRENT_CAR_PARK })
+	public String impl;
+
+	@Param({ "100", "10000", "100000", "1000000" })
+	public int bays;
+
+	@Param({ "10", "1000" })
+	public int queueSize;
+
+	private CarPark carPark;
+	private Car car;
+	private Car smallCar;
+	private MotorCycle motorCycle;
+	private int time;
+
+	/**
+	 * Fills half of every class of bay and the whole queue
+	 * @throws VehicleException if a vehicle cannot be parked or queued
+	 * @throws SimulationException if the car park is too small for the fixture
+	 */
+	@Setup
+	public void setUp() throws VehicleException, SimulationException {
+		this.carPark = BenchmarkFixtures.newCarPark(this.impl, this.bays, this.queueSize);
+		BenchmarkFixtures.park(this.carPark, this.bays, 0.5, BenchmarkFixtures.LONG_STAY);
+		BenchmarkFixtures.queue(this.carPark, this.queueSize);
+		this.car = new Car("C", BenchmarkFixtures.START_TIME, false);
+		this.smallCar = new Car("S", BenchmarkFixtures.START_TIME, true);
+		this.motorCycle = new MotorCycle("M", BenchmarkFixtures.START_TIME);
+		this.time = BenchmarkFixtures.START_TIME;
+	}
+
+	/**
+	 * Space test for a normal car
+	 * @return whether a space is available
+	 */
+	@Benchmark
+	public boolean spacesAvailableCar() {
+		return this.carPark.spacesAvailable(this.car);
+	}
+
+	/**
+	 * Space test for a small car, which may fall back to a normal bay
+	 * @return whether a space is available
+	 */
+	@Benchmark
+	public boolean spacesAvailableSmallCar() {
+		return this.carPark.spacesAvailable(this.smallCar);
+	}
+
+	/**
+	 * Space test for a motorcycle, which may fall back to a small car bay
+	 * @return whether a space is available
+	 */
+	@Benchmark
+	public boolean spacesAvailableMotorCycle() {
+		return this.carPark.spacesAvailable(this.motorCycle);
+	}
+
+	/**
+	 * Parks a new car and unparks it again, so the occupancy is unchanged
+	 * @return the car, which has passed through the parked state
+	 * @throws VehicleException if the car cannot be parked or unparked
+	 * @throws SimulationException if there is no space for the car
+	 */
+	@Benchmark
+	public Vehicle parkAndUnpark() throws VehicleException, SimulationException {
+		Car c = new Car("P", this.time, false);
+		this.carPark.parkVehicle(c, this.time, BenchmarkFixtures.LONG_STAY);
+		this.carPark.unparkVehicle(c, this.time + BenchmarkFixtures.LONG_STAY);
+		return c;
+	}
+
+	/**
+	 * Departure scan with no vehicle due, as on most ticks
+	 * @return the car park
+	 * @throws VehicleException never, as no vehicle departs
+	 * @throws SimulationException never, as no vehicle departs
+	 */
+	@Benchmark
+	public CarPark archiveDepartingVehicles() throws VehicleException, SimulationException {
+		this.carPark.archiveDepartingVehicles(this.time, false);
+		return this.carPark;
+	}
+
+	/**
+	 * Queue timeout scan with no vehicle due, as on most ticks
+	 * @return the car park
+	 * @throws VehicleException never, as no vehicle leaves the queue
+	 * @throws SimulationException never, as no vehicle leaves the queue
+	 */
+	@Benchmark
+	public CarPark archiveQueueFailures() throws VehicleException, SimulationException {
+		this.carPark.archiveQueueFailures(this.time);
+		return this.carPark;
+	}
+
+	/**
+	 * Queue scan in the minute the queue formed, when no vehicle may yet leave it
+	 * @return the car park
+	 * @throws VehicleException never, as no vehicle leaves the queue
+	 * @throws SimulationException never, as no vehicle leaves the queue
+	 */
+	@Benchmark
+	public CarPark processQueue() throws VehicleException, SimulationException {
+		this.carPark.processQueue(this.time, null);
+		return this.carPark;
+	}
+
+	/**
+	 * Status line written to the log every tick
+	 * @return the status line
+	 */
+	@Benchmark
+	public String getStatus() {
+		return this.carPark.getStatus(this.time);
+	}
+}
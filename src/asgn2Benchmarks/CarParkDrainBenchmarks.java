@@ -0,0 +1,111 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Simulator;
+
+/**
+ * Costs of the CarPark operations which move many vehicles at once: the mass departure
+ * and queue timeout at the end of a busy period, and the queue being admitted as bays free.
+ * Each measurement is a single call on a car park rebuilt before every iteration, half full
+ * of vehicles all due to leave and with a queue all due to time out.
+ *
+ * @author hogan
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CarParkDrainBenchmarks {
+
+	@Param({ BenchmarkFixtures.CAR_PARK, BenchmarkFixtures.CONCURRENT_CAR_PARK })
+	public String impl;
+
+	@Param({ "100", "10000", "100000", "1000000" })
+	public int bays;
+
+	@Param({ "10", "1000" })
+	public int queueSize;
+
+	private CarPark carPark;
+	private Simulator sim;
+
+	/**
+	 * Rebuilds the car park, half full, with a full queue
+	 * @throws VehicleException if a vehicle cannot be parked or queued
+	 * @throws SimulationException if the car park is too small for the fixture
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws VehicleException, SimulationException {
+		this.carPark = BenchmarkFixtures.newCarPark(this.impl, this.bays, this.queueSize);
+		BenchmarkFixtures.park(this.carPark, this.bays, 0.5, Constants.MINIMUM_STAY);
+		BenchmarkFixtures.queue(this.carPark, this.queueSize);
+		this.sim = new Simulator();
+	}
+
+	/**
+	 * Departure of every parked vehicle
+	 * @return the car park
+	 * @throws VehicleException if a vehicle cannot be unparked
+	 * @throws SimulationException if a vehicle is not in the car park
+	 */
+	@Benchmark
+	public CarPark archiveDepartingVehicles() throws VehicleException, SimulationException {
+		this.carPark.archiveDepartingVehicles(BenchmarkFixtures.START_TIME + Constants.MINIMUM_STAY, false);
+		return this.carPark;
+	}
+
+	/**
+	 * Timeout of every queued vehicle
+	 * @return the car park
+	 * @throws VehicleException if a vehicle cannot leave the queue
+	 * @throws SimulationException if a vehicle is not in the queue
+	 */
+	@Benchmark
+	public CarPark archiveQueueFailures() throws VehicleException, SimulationException {
+		this.carPark.archiveQueueFailures(BenchmarkFixtures.START_TIME + Constants.MAXIMUM_QUEUE_TIME);
+		return this.carPark;
+	}
+
+	/**
+	 * Admission of the queue into the free half of the car park
+	 * @return the car park
+	 * @throws VehicleException if a vehicle cannot be parked
+	 * @throws SimulationException if a vehicle cannot be parked
+	 */
+	@Benchmark
+	public CarPark processQueue() throws VehicleException, SimulationException {
+		this.carPark.processQueue(BenchmarkFixtures.START_TIME + 1, this.sim);
+		return this.carPark;
+	}
+}
@@ -0,0 +1,392 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Simulator;
+import asgn2Statistics.LogHistogram;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Load generator driving car parks far beyond the rates of the Simulator, which makes at most
+ * one trial per class of vehicle per minute. Each minute from 1 to LAST_ENTRY a fixed number
+ * of vehicles arrives, with the class mix and stays of the default Simulator, and is parked,
+ * queued or turned away through the public CarPark operations, in the order SimulationRunner
+ * uses them. With a mean stay of two hours, a rate of a few thousand arrivals per minute fills
+ * several hundred thousand bays.
+ *
+ * Each configuration of implementation, bays, queue size and arrival rate is run once on a
+ * fresh car park and reported as one row of a CSV file, with ticks and vehicles per second,
+ * tick latency quantiles, heap high-water mark and collector time. A configuration which
+ * outruns its time limit stops early and reports the ticks it completed; one which throws
+ * reports the exception as its status.
+ *
+ * @author hogan
+ *
+ */
+public class LoadGenerator {
+
+	public static final String[] DEFAULT_IMPLS = { BenchmarkFixtures.CONCURRENT_CAR_PARK, BenchmarkFixtures.CAR_PARK };
+	public static final int[] DEFAULT_BAYS = { 10000, 100000, 500000 };
+	public static final int[] DEFAULT_ARRIVALS_PER_MINUTE = { 100, 1000, 5000 };
+	public static final double DEFAULT_MAX_SECONDS = 60.0;
+	// Queues are sized to hold this many minutes of arrivals
+	public static final int QUEUE_MINUTES = 5;
+	public static final String HEADER = "impl,bays,queueSize,arrivalsPerMinute,ticks,vehicles,seconds,"
+			+ "ticksPerSecond,vehiclesPerSecond,tickP50Nanos,tickP99Nanos,tickMaxNanos,"
+			+ "peakHeapBytes,gcMillis,gcCount,status";
+
+	private static final long HIGHEST_TICK_NANOS = 1L << 40;
+
+	private final double maxSeconds;
+
+	/**
+	 * Measurements of one configuration
+	 */
+	public static class Result {
+		private final String impl;
+		private final int bays;
+		private final int queueSize;
+		private final int arrivalsPerMinute;
+		private int ticks;
+		private long vehicles;
+		private long nanos;
+		private final LogHistogram tickNanos = new LogHistogram(LogHistogram.DEFAULT_PRECISION_BITS, HIGHEST_TICK_NANOS);
+		private long peakHeapBytes;
+		private long gcMillis;
+		private long gcCount;
+		private String status = "ok";
+
+		/**
+		 * Constructor records the configuration
+		 * @param impl String naming the car park implementation
+		 * @param bays int holding the total number of bays
+		 * @param queueSize int holding the maximum queue length
+		 * @param arrivalsPerMinute int holding the arrival rate
+		 */
+		Result(String impl, int bays, int queueSize, int arrivalsPerMinute) {
+			this.impl = impl;
+			this.bays = bays;
+			this.queueSize = queueSize;
+			this.arrivalsPerMinute = arrivalsPerMinute;
+		}
+
+		/**
+		 * Simple getter for the number of ticks completed
+		 * @return ticks completed; CLOSING_TIME + 1 for a whole day
+		 */
+		public int getTicks() {
+			return this.ticks;
+		}
+
+		/**
+		 * Simple getter for the number of vehicles generated
+		 * @return vehicles which arrived during the completed ticks
+		 */
+		public long getVehicles() {
+			return this.vehicles;
+		}
+
+		/**
+		 * Simple getter for the ticks per second of wall clock time
+		 * @return tick rate, or 0 if nothing was timed
+		 */
+		public double getTicksPerSecond() {
+			return (this.nanos == 0) ? 0 : this.ticks * 1e9 / this.nanos;
+		}
+
+		/**
+		 * Simple getter for the vehicles per second of wall clock time
+		 * @return vehicle rate, or 0 if nothing was timed
+		 */
+		public double getVehiclesPerSecond() {
+			return (this.nanos == 0) ? 0 : this.vehicles * 1e9 / this.nanos;
+		}
+
+		/**
+		 * Simple getter for the tick latencies
+		 * @return LogHistogram of tick durations in nanoseconds
+		 */
+		public LogHistogram getTickNanos() {
+			return this.tickNanos;
+		}
+
+		/**
+		 * Simple getter for the heap high-water mark
+		 * @return sum of the peak usage of every heap pool during the run, in bytes; an upper
+		 * 		   bound, as pools may peak at different times
+		 */
+		public long getPeakHeapBytes() {
+			return this.peakHeapBytes;
+		}
+
+		/**
+		 * Simple getter for the collector time
+		 * @return milliseconds spent in garbage collection during the run
+		 */
+		public long getGcMillis() {
+			return this.gcMillis;
+		}
+
+		/**
+		 * Simple getter for the outcome
+		 * @return "ok", "timeout" if the time limit was reached, or the exception which stopped the run
+		 */
+		public String getStatus() {
+			return this.status;
+		}
+
+		/**
+		 * Row of the CSV report, matching HEADER
+		 * @return String holding one line, without a line terminator
+		 */
+		public String toCsv() {
+			return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.3f,%.1f,%.1f,%d,%d,%d,%d,%d,%d,%s",
+					this.impl, this.bays, this.queueSize, this.arrivalsPerMinute, this.ticks, this.vehicles,
+					this.nanos / 1e9, getTicksPerSecond(), getVehiclesPerSecond(),
+					this.tickNanos.getValueAtPercentile(50), this.tickNanos.getValueAtPercentile(99),
+					this.tickNanos.getMax(), this.peakHeapBytes, this.gcMillis, this.gcCount,
+					this.status.replace(',', ';').replace('\n', ' '));
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%s bays=%d queue=%d rate=%d: %d ticks, %.0f ticks/s, %.0f vehicles/s, "
+					+ "tick p99=%dns, peak heap=%dMB, gc=%dms, %s",
+					this.impl, this.bays, this.queueSize, this.arrivalsPerMinute, this.ticks,
+					getTicksPerSecond(), getVehiclesPerSecond(), this.tickNanos.getValueAtPercentile(99),
+					this.peakHeapBytes >> 20, this.gcMillis, this.status);
+		}
+	}
+
+	/**
+	 * Constructor sets the time limit for each configuration
+	 * @param maxSeconds double holding the wall clock seconds after which a run is stopped
+	 */
+	public LoadGenerator(double maxSeconds) {
+		this.maxSeconds = maxSeconds;
+	}
+
+	/**
+	 * Runs every combination of the given configurations, in order
+	 * @param impls String array naming car park implementations
+	 * @param bays int array of total numbers of bays
+	 * @param arrivalsPerMinute int array of arrival rates
+	 * @return List of Result, one per configuration
+	 */
+	public List<Result> run(String[] impls, int[] bays, int[] arrivalsPerMinute) {
+		List<Result> results = new ArrayList<Result>();
+		for (String impl : impls) {
+			for (int b : bays) {
+				for (int rate : arrivalsPerMinute) {
+					results.add(run(impl, b, QUEUE_MINUTES * rate, rate));
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Runs one simulated day, or as much of it as the time limit allows, on a fresh car park
+	 * @param impl String naming the car park implementation
+	 * @param bays int holding the total number of bays
+	 * @param queueSize int holding the maximum queue length
+	 * @param arrivalsPerMinute int holding the number of vehicles arriving each minute
+	 * @return Result of the run
+	 */
+	public Result run(String impl, int bays, int queueSize, int arrivalsPerMinute) {
+		Result result = new Result(impl, bays, queueSize, arrivalsPerMinute);
+		System.gc();
+		List<MemoryPoolMXBean> heapPools = new ArrayList<MemoryPoolMXBean>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+				pool.resetPeakUsage();
+				heapPools.add(pool);
+			}
+		}
+		long gcMillis = gcMillis();
+		long gcCount = gcCount();
+		try {
+			CarPark carPark = BenchmarkFixtures.newCarPark(impl, bays, queueSize);
+			Simulator sim = new Simulator();
+			long deadline = System.nanoTime() + (long) (this.maxSeconds * 1e9);
+			for (int time = 0; time <= Constants.CLOSING_TIME; time++) {
+				long start = System.nanoTime();
+				if (start - deadline > 0) {
+					result.status = "timeout";
+					break;
+				}
+				tick(carPark, sim, time, arrivalsPerMinute, result);
+				long elapsed = System.nanoTime() - start;
+				result.tickNanos.record(elapsed);
+				result.nanos += elapsed;
+				result.ticks++;
+			}
+		} catch (VehicleException | SimulationException | RuntimeException e) {
+			result.status = e.toString();
+		}
+		for (MemoryPoolMXBean pool : heapPools) {
+			result.peakHeapBytes += pool.getPeakUsage().getUsed();
+		}
+		result.gcMillis = gcMillis() - gcMillis;
+		result.gcCount = gcCount() - gcCount;
+		return result;
+	}
+
+	/**
+	 * Writes results as CSV, headed by HEADER
+	 * @param results List of Result to be written
+	 * @param out Writer to receive the report; it is not closed
+	 * @throws IOException if the report cannot be written
+	 */
+	public static void writeReport(List<Result> results, Writer out) throws IOException {
+		out.write(HEADER);
+		out.write("\n");
+		for (Result r : results) {
+			out.write(r.toCsv());
+			out.write("\n");
+		}
+		out.flush();
+	}
+
+	/**
+	 * Runs the default configurations, or those given, and writes the report
+	 * @param args report file name, optionally followed by comma separated lists of
+	 * 		  implementations, bays and arrivals per minute, and the time limit in seconds
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 5) {
+			System.err.println("Usage: LoadGenerator reportFile [impls [bays [arrivalsPerMinute [maxSeconds]]]]");
+			System.exit(1);
+		}
+		try {
+			String[] impls = (args.length > 1) ? args[1].split(",") : DEFAULT_IMPLS;
+			int[] bays = (args.length > 2) ? parseInts(args[2]) : DEFAULT_BAYS;
+			int[] rates = (args.length > 3) ? parseInts(args[3]) : DEFAULT_ARRIVALS_PER_MINUTE;
+			double maxSeconds = (args.length > 4) ? Double.parseDouble(args[4]) : DEFAULT_MAX_SECONDS;
+			List<Result> results = new LoadGenerator(maxSeconds).run(impls, bays, rates);
+			for (Result r : results) {
+				System.out.println(r);
+			}
+			FileWriter out = new FileWriter(args[0]);
+			try {
+				writeReport(results, out);
+			} finally {
+				out.close();
+			}
+		} catch (NumberFormatException | IOException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Helper running one minute of the day: queue failures, departures, the queue, then arrivals
+	 * @param carPark CarPark being driven
+	 * @param sim Simulator giving the class mix and stays
+	 * @param time int holding the current simulation time
+	 * @param arrivalsPerMinute int holding the number of vehicles arriving
+	 * @param result Result counting the vehicles
+	 * @throws VehicleException if a vehicle transition is invalid
+	 * @throws SimulationException if a car park operation is invalid
+	 */
+	private static void tick(CarPark carPark, Simulator sim, int time, int arrivalsPerMinute, Result result)
+			throws VehicleException, SimulationException {
+		if (!carPark.queueEmpty()) {
+			carPark.archiveQueueFailures(time);
+		}
+		if (!carPark.carParkEmpty()) {
+			carPark.archiveDepartingVehicles(time, time == Constants.CLOSING_TIME);
+		}
+		if (!carPark.carParkFull()) {
+			carPark.processQueue(time, sim);
+		}
+		if (time < 1 || time > Constants.LAST_ENTRY) {
+			return;
+		}
+		for (int i = 0; i < arrivalsPerMinute; i++) {
+			Vehicle v;
+			if (sim.smallCarTrial()) {
+				v = new Car("S" + time, time, true);
+			} else if (sim.motorCycleTrial()) {
+				v = new MotorCycle("M" + time, time);
+			} else {
+				v = new Car("C" + time, time, false);
+			}
+			if (carPark.spacesAvailable(v)) {
+				carPark.parkVehicle(v, time, sim.setDuration());
+			} else if (!carPark.queueFull()) {
+				carPark.enterQueue(v);
+			} else {
+				carPark.archiveNewVehicle(v);
+			}
+		}
+		result.vehicles += arrivalsPerMinute;
+	}
+
+	/**
+	 * Helper to total the collection time of every collector
+	 * @return milliseconds spent collecting since the JVM started
+	 */
+	private static long gcMillis() {
+		long total = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(0, gc.getCollectionTime());
+		}
+		return total;
+	}
+
+	/**
+	 * Helper to total the collection count of every collector
+	 * @return collections since the JVM started
+	 */
+	private static long gcCount() {
+		long total = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(0, gc.getCollectionCount());
+		}
+		return total;
+	}
+
+	/**
+	 * Helper to parse a comma separated list of integers
+	 * @param list String holding the list
+	 * @return int array of the values
+	 * @throws NumberFormatException if an element is not an integer
+	 */
+	private static int[] parseInts(String list) {
+		String[] parts = list.split(",");
+		int[] values = new int[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+}
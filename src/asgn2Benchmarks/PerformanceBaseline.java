@@ -0,0 +1,475 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Scenario;
+import asgn2Statistics.RankSumTest;
+
+/**
+ * Throughput and latency of a fixed set of reference scenarios, recorded to a baseline file
+ * and compared with later runs to catch slowdowns in CarPark and Simulator.
+ *
+ * Each reference is run a number of times after warm up runs, and each run gives one
+ * sample of every Metric. A comparison tests each metric of each reference with the
+ * {@link RankSumTest rank sum test}, and reports a regression only where the difference is
+ * both significant and larger than a threshold, so that small but real shifts from an
+ * unrelated JDK or machine change do not fail a build. Baselines are only comparable when
+ * recorded on the same machine and JVM, which the file records for the reader.
+ *
+ * Baseline files are Java properties files, headed by a format version; the samples of a
+ * metric are stored as one comma separated list per reference and metric.
+ *
+ * @author hogan
+ *
+ */
+public class PerformanceBaseline {
+
+	public static final int FORMAT_VERSION = 1;
+	public static final int DEFAULT_SAMPLES = 10;
+	public static final int DEFAULT_WARMUPS = 2;
+	public static final double DEFAULT_ALPHA = 0.01;
+	public static final double DEFAULT_THRESHOLD = 0.05;
+
+	private static final String VERSION_KEY = "format.version";
+	private static final String[] ENVIRONMENT_KEYS = { "java.vm.name", "java.version", "os.name", "os.arch" };
+
+	/**
+	 * Scenarios measured by the baseline
+	 */
+	public enum Reference {
+		/** A day of the default Scenario, as run by BatchRunner replications */
+		DEFAULT,
+		/** A thousand arrivals a minute at 10,000 bays of a ConcurrentCarPark */
+		HIGH_LOAD,
+		/** A hundred arrivals a minute at 200,000 bays of a ConcurrentCarPark */
+		LARGE_PARK
+	}
+
+	/**
+	 * Measurements taken from each run
+	 */
+	public enum Metric {
+		/** Vehicles arriving per second of wall clock time */
+		VEHICLES_PER_SECOND(true),
+		/** Mean wall clock time of a tick in nanoseconds */
+		MEAN_TICK_NANOS(false);
+
+		private final boolean higherIsBetter;
+
+		Metric(boolean higherIsBetter) {
+			this.higherIsBetter = higherIsBetter;
+		}
+
+		/**
+		 * Simple getter for the direction of improvement
+		 * @return true if larger values are better
+		 */
+		public boolean isHigherBetter() {
+			return this.higherIsBetter;
+		}
+	}
+
+	/**
+	 * Outcome of comparing one metric of one reference
+	 */
+	public enum Verdict {
+		IMPROVED, UNCHANGED, REGRESSED
+	}
+
+	/**
+	 * Comparison of one metric of one reference with the baseline
+	 */
+	public static class Comparison {
+		private final Reference reference;
+		private final Metric metric;
+		private final double baselineMedian;
+		private final double currentMedian;
+		private final double pValue;
+		private final Verdict verdict;
+
+		/**
+		 * Constructor compares two samples
+		 * @param reference Reference measured
+		 * @param metric Metric measured
+		 * @param baseline double array of baseline samples
+		 * @param current double array of current samples
+		 * @param alpha double holding the significance level
+		 * @param threshold double holding the smallest relative change reported
+		 */
+		Comparison(Reference reference, Metric metric, double[] baseline, double[] current,
+				double alpha, double threshold) {
+			this.reference = reference;
+			this.metric = metric;
+			this.baselineMedian = median(baseline);
+			this.currentMedian = median(current);
+			this.pValue = RankSumTest.pValue(baseline, current);
+			double change = getRelativeChange();
+			if (this.pValue >= alpha || Math.abs(change) <= threshold) {
+				this.verdict = Verdict.UNCHANGED;
+			} else if ((change > 0) == metric.isHigherBetter()) {
+				this.verdict = Verdict.IMPROVED;
+			} else {
+				this.verdict = Verdict.REGRESSED;
+			}
+		}
+
+		/**
+		 * Simple getter for the relative change of the median
+		 * @return (current - baseline) / baseline
+		 */
+		public double getRelativeChange() {
+			return (this.currentMedian - this.baselineMedian) / this.baselineMedian;
+		}
+
+		/**
+		 * Simple getter for the p-value of the rank sum test
+		 * @return p-value in [0,1]
+		 */
+		public double getPValue() {
+			return this.pValue;
+		}
+
+		/**
+		 * Simple getter for the outcome
+		 * @return Verdict of the comparison
+		 */
+		public Verdict getVerdict() {
+			return this.verdict;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%-10s %-19s %14.1f %14.1f %+7.1f%% %8.4f %s",
+					this.reference, this.metric, this.baselineMedian, this.currentMedian,
+					100 * getRelativeChange(), this.pValue, this.verdict);
+		}
+	}
+
+	private final Map<Reference, Map<Metric, double[]>> samples = new EnumMap<Reference, Map<Metric, double[]>>(Reference.class);
+	private final Properties environment = new Properties();
+
+	/**
+	 * Constructor for an empty baseline, noting the running JVM
+	 */
+	public PerformanceBaseline() {
+		for (String key : ENVIRONMENT_KEYS) {
+			this.environment.setProperty(key, System.getProperty(key, ""));
+		}
+	}
+
+	/**
+	 * Runs the reference scenarios and records their samples
+	 * @param numSamples int holding the number of measured runs of each reference
+	 * @param numWarmups int holding the number of unmeasured runs before them
+	 * @param references Reference array of the scenarios to run; all if empty
+	 * @return PerformanceBaseline holding the samples
+	 * @throws SimulationException if a reference fails
+	 */
+	public static PerformanceBaseline record(int numSamples, int numWarmups, Reference... references)
+			throws SimulationException {
+		if (references.length == 0) {
+			references = Reference.values();
+		}
+		PerformanceBaseline baseline = new PerformanceBaseline();
+		for (Reference r : references) {
+			for (int i = 0; i < numWarmups; i++) {
+				run(r);
+			}
+			double[][] values = new double[Metric.values().length][numSamples];
+			for (int i = 0; i < numSamples; i++) {
+				double[] sample = run(r);
+				for (Metric m : Metric.values()) {
+					values[m.ordinal()][i] = sample[m.ordinal()];
+				}
+			}
+			for (Metric m : Metric.values()) {
+				baseline.setSamples(r, m, values[m.ordinal()]);
+			}
+		}
+		return baseline;
+	}
+
+	/**
+	 * Sets the samples of one metric of one reference
+	 * @param reference Reference measured
+	 * @param metric Metric measured
+	 * @param values double array of samples
+	 */
+	public void setSamples(Reference reference, Metric metric, double[] values) {
+		Map<Metric, double[]> metrics = this.samples.get(reference);
+		if (metrics == null) {
+			metrics = new EnumMap<Metric, double[]>(Metric.class);
+			this.samples.put(reference, metrics);
+		}
+		metrics.put(metric, values.clone());
+	}
+
+	/**
+	 * Simple getter for the samples of one metric of one reference
+	 * @param reference Reference measured
+	 * @param metric Metric measured
+	 * @return double array of samples, or null if none were recorded
+	 */
+	public double[] getSamples(Reference reference, Metric metric) {
+		Map<Metric, double[]> metrics = this.samples.get(reference);
+		return (metrics == null || metrics.get(metric) == null) ? null : metrics.get(metric).clone();
+	}
+
+	/**
+	 * Compares current samples with this baseline, for every reference and metric present in both
+	 * @param current PerformanceBaseline holding the new samples
+	 * @param alpha double holding the significance level
+	 * @param threshold double holding the smallest relative change of the median reported
+	 * @return List of Comparison in reference and metric order
+	 */
+	public List<Comparison> compare(PerformanceBaseline current, double alpha, double threshold) {
+		List<Comparison> comparisons = new ArrayList<Comparison>();
+		for (Reference r : Reference.values()) {
+			for (Metric m : Metric.values()) {
+				double[] before = getSamples(r, m);
+				double[] after = current.getSamples(r, m);
+				if (before != null && after != null) {
+					comparisons.add(new Comparison(r, m, before, after, alpha, threshold));
+				}
+			}
+		}
+		return comparisons;
+	}
+
+	/**
+	 * Writes the baseline as a properties file
+	 * @param out Writer to receive the baseline; it is not closed
+	 * @throws IOException if the baseline cannot be written
+	 */
+	public void store(Writer out) throws IOException {
+		Properties p = new Properties();
+		p.putAll(this.environment);
+		p.setProperty(VERSION_KEY, Integer.toString(FORMAT_VERSION));
+		for (Map.Entry<Reference, Map<Metric, double[]>> r : this.samples.entrySet()) {
+			for (Map.Entry<Metric, double[]> m : r.getValue().entrySet()) {
+				StringBuilder list = new StringBuilder();
+				for (double v : m.getValue()) {
+					list.append((list.length() == 0) ? "" : ",").append(v);
+				}
+				p.setProperty(key(r.getKey(), m.getKey()), list.toString());
+			}
+		}
+		p.store(out, "CarParkSimulator performance baseline");
+	}
+
+	/**
+	 * Reads a baseline written by {@link #store(Writer) store}
+	 * @param in Reader supplying the baseline; it is not closed
+	 * @return PerformanceBaseline holding the samples read
+	 * @throws IOException if the baseline cannot be read
+	 * @throws IllegalArgumentException if the file has another format version or bad samples
+	 */
+	public static PerformanceBaseline load(Reader in) throws IOException {
+		Properties p = new Properties();
+		p.load(in);
+		if (!Integer.toString(FORMAT_VERSION).equals(p.getProperty(VERSION_KEY))) {
+			throw new IllegalArgumentException("Unsupported baseline format " + p.getProperty(VERSION_KEY));
+		}
+		PerformanceBaseline baseline = new PerformanceBaseline();
+		for (String key : ENVIRONMENT_KEYS) {
+			baseline.environment.setProperty(key, p.getProperty(key, ""));
+		}
+		for (Reference r : Reference.values()) {
+			for (Metric m : Metric.values()) {
+				String list = p.getProperty(key(r, m));
+				if (list != null) {
+					String[] parts = list.split(",");
+					double[] values = new double[parts.length];
+					for (int i = 0; i < parts.length; i++) {
+						values[i] = Double.parseDouble(parts[i]);
+					}
+					baseline.setSamples(r, m, values);
+				}
+			}
+		}
+		return baseline;
+	}
+
+	/**
+	 * Regression report of a comparison
+	 * @param baseline PerformanceBaseline compared against
+	 * @param current PerformanceBaseline of the new run
+	 * @param comparisons List of Comparison to report
+	 * @return String holding a table with one line per comparison and a summary line
+	 */
+	public static String report(PerformanceBaseline baseline, PerformanceBaseline current,
+			List<Comparison> comparisons) {
+		StringBuilder str = new StringBuilder("Performance Comparison\n");
+		str.append("baseline: ").append(baseline.describeEnvironment()).append("\n");
+		str.append("current:  ").append(current.describeEnvironment()).append("\n");
+		str.append(String.format(Locale.ROOT, "%-10s %-19s %14s %14s %8s %8s %s\n",
+				"reference", "metric", "baseline", "current", "change", "p", "verdict"));
+		int regressions = 0;
+		for (Comparison c : comparisons) {
+			str.append(c).append("\n");
+			if (c.getVerdict() == Verdict.REGRESSED) {
+				regressions++;
+			}
+		}
+		str.append(regressions).append(" regression(s)\n");
+		return str.toString();
+	}
+
+	/**
+	 * Records a baseline, or compares a new run with one. Compare exits with status 2 if
+	 * any metric has regressed, so that it can gate a build.
+	 * @param args "record" or "compare", the baseline file name, and optionally the
+	 * 		  number of samples
+	 */
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 3
+				|| !(args[0].equals("record") || args[0].equals("compare"))) {
+			System.err.println("Usage: PerformanceBaseline record|compare baselineFile [samples]");
+			System.exit(1);
+		}
+		try {
+			int numSamples = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_SAMPLES;
+			if (args[0].equals("record")) {
+				PerformanceBaseline baseline = record(numSamples, DEFAULT_WARMUPS);
+				FileWriter out = new FileWriter(args[1]);
+				try {
+					baseline.store(out);
+				} finally {
+					out.close();
+				}
+				System.out.println("Recorded " + args[1]);
+				return;
+			}
+			FileReader in = new FileReader(args[1]);
+			PerformanceBaseline baseline;
+			try {
+				baseline = load(in);
+			} finally {
+				in.close();
+			}
+			PerformanceBaseline current = record(numSamples, DEFAULT_WARMUPS);
+			List<Comparison> comparisons = baseline.compare(current, DEFAULT_ALPHA, DEFAULT_THRESHOLD);
+			System.out.print(report(baseline, current, comparisons));
+			for (Comparison c : comparisons) {
+				if (c.getVerdict() == Verdict.REGRESSED) {
+					System.exit(2);
+				}
+			}
+		} catch (NumberFormatException | IOException | SimulationException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Helper running one reference once
+	 * @param reference Reference to run
+	 * @return double array holding one sample of each Metric, indexed by ordinal
+	 * @throws SimulationException if the run fails
+	 */
+	private static double[] run(Reference reference) throws SimulationException {
+		double[] sample = new double[Metric.values().length];
+		switch (reference) {
+		case DEFAULT:
+			try {
+				long start = System.nanoTime();
+				int vehicles = BatchRunner.runReplication(new Scenario()).getNumProcessed();
+				long elapsed = System.nanoTime() - start;
+				sample[Metric.VEHICLES_PER_SECOND.ordinal()] = vehicles * 1e9 / elapsed;
+				sample[Metric.MEAN_TICK_NANOS.ordinal()] = elapsed / (double) (Constants.CLOSING_TIME + 1);
+			} catch (VehicleException | IOException e) {
+				throw new SimulationException("Reference " + reference + " failed: " + e);
+			}
+			return sample;
+		case HIGH_LOAD:
+			return load(reference, 10000, 1000, sample);
+		case LARGE_PARK:
+			return load(reference, 200000, 100, sample);
+		default:
+			throw new IllegalArgumentException("Unknown reference " + reference);
+		}
+	}
+
+	/**
+	 * Helper running a LoadGenerator reference once
+	 * @param reference Reference being run
+	 * @param bays int holding the total number of bays
+	 * @param arrivalsPerMinute int holding the arrival rate
+	 * @param sample double array to receive the sample
+	 * @return sample
+	 * @throws SimulationException if the run does not complete
+	 */
+	private static double[] load(Reference reference, int bays, int arrivalsPerMinute, double[] sample)
+			throws SimulationException {
+		LoadGenerator.Result r = new LoadGenerator(Double.POSITIVE_INFINITY).run(BenchmarkFixtures.CONCURRENT_CAR_PARK,
+				bays, LoadGenerator.QUEUE_MINUTES * arrivalsPerMinute, arrivalsPerMinute);
+		if (!"ok".equals(r.getStatus())) {
+			throw new SimulationException("Reference " + reference + " failed: " + r.getStatus());
+		}
+		sample[Metric.VEHICLES_PER_SECOND.ordinal()] = r.getVehiclesPerSecond();
+		sample[Metric.MEAN_TICK_NANOS.ordinal()] = r.getTickNanos().getMean();
+		return sample;
+	}
+
+	/**
+	 * Helper giving the property key of one metric of one reference
+	 * @param reference Reference measured
+	 * @param metric Metric measured
+	 * @return String key
+	 */
+	private static String key(Reference reference, Metric metric) {
+		return reference + "." + metric;
+	}
+
+	/**
+	 * Helper describing the JVM and machine a baseline was recorded on
+	 * @return String of the environment properties
+	 */
+	private String describeEnvironment() {
+		StringBuilder str = new StringBuilder();
+		for (String key : ENVIRONMENT_KEYS) {
+			str.append((str.length() == 0) ? "" : " ").append(this.environment.getProperty(key, ""));
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Helper giving the median of a sample
+	 * @param values double array holding the sample
+	 * @return median
+	 */
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int n = sorted.length;
+		return (n % 2 == 1) ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Log;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+
+/**
+ * Cost of a whole simulated day with the default Simulator, from an empty car park, with the
+ * log written to a null sink so that disk speed does not enter the measurement. Each
+ * measurement is a single run on a car park and Simulator rebuilt before every iteration,
+ * so every run sees the same arrivals.
+ *
+ * @author hogan
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SimulationRunnerBenchmarks {
+
+	@Param({ BenchmarkFixtures.CAR_PARK, BenchmarkFixtures.CONCURRENT_CAR_PARK })
+	public String impl;
+
+	@Param({ "100", "10000", "100000", "1000000" })
+	public int bays;
+
+	@Param({ "10", "1000" })
+	public int queueSize;
+
+	private SimulationRunner runner;
+
+	/**
+	 * Builds a fresh runner
+	 * @throws SimulationException if the default Simulator cannot be created
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws SimulationException {
+		CarPark carPark = BenchmarkFixtures.newCarPark(this.impl, this.bays, this.queueSize);
+		this.runner = new SimulationRunner(carPark, new Simulator(), new Log(Writer.nullWriter()));
+	}
+
+	/**
+	 * One simulated day
+	 * @return summary of the run
+	 * @throws VehicleException if Vehicle creation or operation constraints are violated
+	 * @throws SimulationException if Simulation constraints are violated
+	 * @throws IOException never, as the log is discarded
+	 */
+	@Benchmark
+	public SimulationResult runSimulation() throws VehicleException, SimulationException, IOException {
+		this.runner.runSimulation();
+		return this.runner.getResult();
+	}
+}
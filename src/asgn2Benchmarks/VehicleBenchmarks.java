@@ -0,0 +1,108 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Benchmarks 
+ * 18/10/2026
+ * 
+ */
+package asgn2Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Costs of creating vehicles and taking them through their life cycles, including the
+ * state checks made on every transition.
+ *
+ * @author hogan
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleBenchmarks {
+
+	private static final int ARRIVAL = 1;
+
+	/**
+	 * Creation of a car
+	 * @return the car
+	 * @throws VehicleException never, as the arrival time is valid
+	 */
+	@Benchmark
+	public Vehicle newCar() throws VehicleException {
+		return new Car("C", ARRIVAL, false);
+	}
+
+	/**
+	 * Creation of a motorcycle
+	 * @return the motorcycle
+	 * @throws VehicleException never, as the arrival time is valid
+	 */
+	@Benchmark
+	public Vehicle newMotorCycle() throws VehicleException {
+		return new MotorCycle("M", ARRIVAL);
+	}
+
+	/**
+	 * A car which parks on arrival and departs
+	 * @return the car, which has passed through the parked state
+	 * @throws VehicleException never, as every transition is valid
+	 */
+	@Benchmark
+	public Vehicle parkAndDepart() throws VehicleException {
+		Car c = new Car("C", ARRIVAL, false);
+		c.enterParkedState(ARRIVAL, Constants.MINIMUM_STAY);
+		c.exitParkedState(ARRIVAL + Constants.MINIMUM_STAY);
+		return c;
+	}
+
+	/**
+	 * A car which queues, then parks and departs
+	 * @return the car, which has passed through the queued and parked states
+	 * @throws VehicleException never, as every transition is valid
+	 */
+	@Benchmark
+	public Vehicle queueParkAndDepart() throws VehicleException {
+		Car c = new Car("C", ARRIVAL, false);
+		c.enterQueuedState();
+		c.exitQueuedState(ARRIVAL + 1);
+		c.enterParkedState(ARRIVAL + 1, Constants.MINIMUM_STAY);
+		c.exitParkedState(ARRIVAL + 1 + Constants.MINIMUM_STAY);
+		return c;
+	}
+
+	/**
+	 * A car which queues and gives up
+	 * @return the car, which has left the queue dissatisfied
+	 * @throws VehicleException never, as every transition is valid
+	 */
+	@Benchmark
+	public Vehicle queueAndTimeOut() throws VehicleException {
+		Car c = new Car("C", ARRIVAL, false);
+		c.enterQueuedState();
+		c.exitQueuedState(ARRIVAL + Constants.MAXIMUM_QUEUE_TIME);
+		return c;
+	}
+}
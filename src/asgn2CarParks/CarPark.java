@@ -11,11 +11,17 @@
 package asgn2CarParks;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import asgn2Exceptions.SimulationException;
 import asgn2Exceptions.VehicleException;
 import asgn2Simulators.Constants;
 import asgn2Simulators.Simulator;
+import asgn2Statistics.LogHistogram;
+import asgn2Statistics.VehicleStatistics;
 import asgn2Vehicles.Car;
 import asgn2Vehicles.MotorCycle;
 import asgn2Vehicles.Vehicle;
@@ -48,6 +54,20 @@ public class CarPark {
 	ArrayList<Vehicle> past = new ArrayList<Vehicle>();
 	ArrayList<Vehicle> vehicles = new ArrayList<Vehicle>();//archive?
 	
+	// Vehicles found to be leaving by archiveDepartingVehicles, reused from call to call 
+	ArrayList<Vehicle> departing = new ArrayList<Vehicle>();
+	
+	OccupancyPublisher occupancy = new OccupancyPublisher();
+	
+	// Summary of archived vehicles; past is only kept when retainArchive is set 
+	VehicleStatistics statistics = new VehicleStatistics();
+	boolean retainArchive = true;
+	int numArchived = 0;
+	
+	// Distributions of queue waits and stays, recorded as vehicles leave the queue and the car park 
+	LogHistogram queueWaits = new LogHistogram();
+	LogHistogram stays = new LogHistogram();
+	
 	/**
 	 * CarPark constructor sets the basic size parameters. 
 	 * Uses default parameters
@@ -70,10 +90,10 @@ public class CarPark {
 	 * @param maxQueueSize maximum number of vehicles allowed to queue
 	 */
 	public CarPark(int maxCarSpaces,int maxSmallCarSpaces, int maxMotorCycleSpaces, int maxQueueSize) {
-		maxCarSpaces = 100;
-		maxSmallCarSpaces = 20;
-		maxMotorCycleSpaces = 20;
-		maxQueueSize = 10;
+		this.maxCarSpaces = maxCarSpaces;
+		this.maxSmallCarSpaces = maxSmallCarSpaces;
+		this.maxMotorCycleSpaces = maxMotorCycleSpaces;
+		this.maxQueueSize = maxQueueSize;
 	}
 
 	/**
@@ -86,28 +106,67 @@ public class CarPark {
 	 */
 	public void archiveDepartingVehicles(int time,boolean force) throws VehicleException, SimulationException {
 		
-		for (Vehicle v : carPark) {
-			if(force || time >= v.getDepartureTime()){
-				unparkVehicle(v,time);
+		// Unparking while iterating a store would invalidate its iterator, so collect first 
+		addDeparting(carPark, time, force);
+		addDeparting(smallcarPark, time, force);
+		addDeparting(motoPark, time, force);
+		
+		if(!departing.isEmpty()){
+			try {
+				unparkVehicles(departing, time);
+			} finally {
+				departing.clear();
 			}
 		}
 		
-		for (Vehicle m : motoPark) {
-			if(force || time >= m.getDepartureTime()){
-				unparkVehicle(m,time);
+	}
+	
+	/**
+	 * Helper to add the vehicles of a store which are due to leave to departing 
+	 * @param store ArrayList of parked vehicles of one type 
+	 * @param time int holding current simulation time 
+	 * @param force boolean forcing departure to clear car park
+	 */
+	private void addDeparting(ArrayList<? extends Vehicle> store, int time, boolean force) {
+		for (Vehicle v : store) {
+			if(force || time >= v.getDepartureTime()){
+				departing.add(v);
 			}
 		}
-		
 	}
 		
 	/**
 	 * Method to archive new vehicles that don't get parked or queued and are turned 
-	 * away
+	 * away. A turned away vehicle counts as dissatisfied. 
 	 * @param v Vehicle to be archived
 	 * @throws SimulationException if vehicle is currently queued or parked
 	 */
-	public void archiveNewVehicle(Vehicle v) throws SimulationException {/* TODO ???? */
-		past.add(v);
+	public void archiveNewVehicle(Vehicle v) throws SimulationException {
+		if (v.isParked() || v.isQueued()) {
+			throw new SimulationException("Vehicle is currently parked or queued");
+		}
+		numDissatisfied++;
+		archive(v);
+		VehicleTransitionEvent.emit(v, "N", "A", v.getArrivalTime());
+	}
+	
+	/**
+	 * Batch form of archiveNewVehicle. Every vehicle is checked before any is archived, 
+	 * and the batch is appended to the archive in one operation. 
+	 * @param vehicles List of vehicles to be archived
+	 * @throws SimulationException if any vehicle is currently queued or parked
+	 */
+	public void archiveNewVehicles(List<? extends Vehicle> vehicles) throws SimulationException {
+		for (Vehicle v : vehicles) {
+			if (v.isParked() || v.isQueued()) {
+				throw new SimulationException("Vehicle is currently parked or queued");
+			}
+		}
+		numDissatisfied += vehicles.size();
+		archiveAll(vehicles);
+		for (Vehicle v : vehicles) {
+			VehicleTransitionEvent.emit(v, "N", "A", v.getArrivalTime());
+		}
 	}
 	
 	/**
@@ -130,6 +189,8 @@ public class CarPark {
 		for(int i=0; i<remove.size(); i++){
 			exitQueue(remove.get(i), time);
 			numDissatisfied++;
+			archive(remove.get(i));
+			VehicleTransitionEvent.emit(remove.get(i), "Q", "A", time);
 		}
 		
 	}
@@ -158,8 +219,11 @@ public class CarPark {
 	 * @return true if car park full, false otherwise
 	 */
 	public boolean carParkFull() {
-		//System.out.println(maxCarSpaces);
-		if(carPark.size() >= maxCarSpaces && motoPark.size() >= maxMotorCycleSpaces && smallcarPark.size() >= maxSmallCarSpaces){
+		int cars = carPark.size();
+		int smallCars = smallcarPark.size();
+		int motorCycles = motoPark.size();
+		if(!fits(cars + 1, smallCars, motorCycles) && !fits(cars, smallCars + 1, motorCycles) 
+				&& !fits(cars, smallCars, motorCycles + 1)){
 			return true;			
 		}
 		return false;
@@ -174,8 +238,36 @@ public class CarPark {
 	 * @throws VehicleException if vehicle not in the correct state 
 	 */
 	public void enterQueue(Vehicle v) throws SimulationException, VehicleException {
+		if(queueFull()){
+			throw new SimulationException("Queue is full");
+		}
 		v.enterQueuedState();
 		queue.add(v);
+		VehicleTransitionEvent.emit(v, "N", "Q", v.getArrivalTime());
+	}
+	
+	/**
+	 * Batch form of enterQueue. The queue space for the whole batch is checked once, and 
+	 * the vehicles are appended to the queue in one operation, in list order. 
+	 * @param vehicles List of vehicles to be added 
+	 * @throws SimulationException if the queue does not have room for every vehicle 
+	 * @throws VehicleException if a vehicle is not in the correct state; the vehicles 
+	 * 		   before it are still queued
+	 */
+	public void enterQueue(List<? extends Vehicle> vehicles) throws SimulationException, VehicleException {
+		if (vehicles.size() > numQueueSpaces()) {
+			throw new SimulationException("Queue does not have room for the batch");
+		}
+		int done = 0;
+		try {
+			for (Vehicle v : vehicles) {
+				v.enterQueuedState();
+				VehicleTransitionEvent.emit(v, "N", "Q", v.getArrivalTime());
+				done++;
+			}
+		} finally {
+			queue.addAll(vehicles.subList(0, done));
+		}
 	}
 	
 	
@@ -189,8 +281,42 @@ public class CarPark {
 	 * constraints are violated
 	 */
 	public void exitQueue(Vehicle v,int exitTime) throws SimulationException, VehicleException {
+		int q = queue.lastIndexOf(v);
+		if(q == -1){
+			throw new SimulationException("Vehicle is not in the queue");
+		}
 		v.exitQueuedState(exitTime);
-		queue.remove(queue.lastIndexOf(v));
+		queue.remove(q);
+		recordQueueWait(v);
+	}
+	
+	/**
+	 * Batch form of exitQueue. Membership of the whole batch is checked in one pass over 
+	 * the queue, and the vehicles are removed from the queue in one more. 
+	 * @param vehicles List of vehicles to be removed from the queue 
+	 * @param exitTime int time at which the vehicles exit the queue
+	 * @throws SimulationException if any vehicle is not in the queue, or appears twice 
+	 * @throws VehicleException if a vehicle is in an incorrect state or timing constraints 
+	 * 		   are violated; the vehicles before it still leave the queue
+	 */
+	public void exitQueue(List<? extends Vehicle> vehicles, int exitTime) throws SimulationException, VehicleException {
+		Set<Vehicle> leaving = new HashSet<Vehicle>(vehicles);
+		if (leaving.size() != vehicles.size() || countMembers(queue, leaving) != leaving.size()) {
+			throw new SimulationException("One or more vehicles are not in the queue");
+		}
+		int done = 0;
+		try {
+			for (Vehicle v : vehicles) {
+				v.exitQueuedState(exitTime);
+				recordQueueWait(v);
+				done++;
+			}
+		} finally {
+			if (done < vehicles.size()) {
+				leaving = new HashSet<Vehicle>(vehicles.subList(0, done));
+			}
+			queue.removeAll(leaving);
+		}
 	}
 	
 	/**
@@ -199,18 +325,80 @@ public class CarPark {
 	 * @return String containing dump of final carpark state 
 	 */
 	public String finalState() {
-		String str = "Vehicles Processed: count:" + 
-				this.count + ", logged: " + this.past.size() 
-				+ "\nVehicle Record: \n";
+		StringBuilder str = new StringBuilder("Vehicles Processed: count:") 
+				.append(this.count).append(", logged: ").append(this.numArchived); 
+		if (!this.retainArchive) {
+			return str.append("\n").append(this.statistics).append("\n").toString();
+		}
+		str.append("\nVehicle Record: \n");
 		for (Vehicle v : this.past) {
-			str += v.toString() + "\n\n";
+			str.append(v.toString()).append("\n\n");
 		}
-		return str + "\n";
+		return str.append("\n").toString();
+	}
+	
+	/**
+	 * Simple getter for number of dissatisfied customers so far 
+	 * @return number of vehicles which left the queue without parking
+	 */
+	public int getNumDissatisfied() {
+		return numDissatisfied;
+	}
+	
+	/**
+	 * Simple getter for number of vehicles created so far
+	 * @return number of vehicles which have arrived at the car park
+	 */
+	public int getNumProcessed() {
+		return count;
+	}
+	
+	/**
+	 * Simple getter for number of vehicles in the archive 
+	 * @return number of vehicles which have left or were turned away
+	 */
+	public int getNumArchived() {
+		return numArchived;
+	}
+	
+	/**
+	 * Simple getter for the running summary of archived vehicles 
+	 * @return VehicleStatistics covering every vehicle archived so far
+	 */
+	public VehicleStatistics getStatistics() {
+		return statistics;
+	}
+	
+	/**
+	 * Simple getter for the distribution of queue waits (exit from queue less arrival) 
+	 * @return LogHistogram of waits for every vehicle which has left the queue
+	 */
+	public LogHistogram getQueueWaitHistogram() {
+		return queueWaits;
+	}
+	
+	/**
+	 * Simple getter for the distribution of stays (departure less parking time) 
+	 * @return LogHistogram of stays for every vehicle which has left the car park
+	 */
+	public LogHistogram getStayHistogram() {
+		return stays;
+	}
+	
+	/**
+	 * Selects whether archived vehicles are kept for {@link #finalState() finalState}. 
+	 * When false, archived vehicles are only folded into {@link #getStatistics() getStatistics} 
+	 * and then dropped, so memory use follows occupancy rather than the number of vehicles 
+	 * processed. finalState then reports the summary in place of the vehicle record. 
+	 * @param retainArchive true (the default) to keep every archived vehicle
+	 */
+	public void setRetainArchive(boolean retainArchive) {
+		this.retainArchive = retainArchive;
 	}
 	
 	/**
 	 * Simple getter for number of cars in the car park 
-	 * @return number of cars in car park, including small cars
+	 * @return number of normal cars in car park, not including small cars
 	 */
 	public int getNumCars() {
 		return carPark.size();
@@ -253,7 +441,7 @@ public class CarPark {
 		+ "C:" + this.getNumCars() + "::S:" + this.getNumSmallCars() 
 		+ "::M:" + this.getNumMotorCycles() 
 		+ "::D:" + this.numDissatisfied 
-		+ "::A:" + this.past.size()  
+		+ "::A:" + this.numArchived  
 		+ "::Q:" + this.queue.size(); 
 		for (Vehicle v : this.queue) {
 			if (v instanceof Car) {
@@ -284,6 +472,25 @@ public class CarPark {
 				+ " maxQueueSize: " + this.maxQueueSize + "]";
 	}
 
+	/**
+	 * Publisher of occupancy snapshots for readers on other threads. Counters are 
+	 * updated by {@link #publishOccupancy(int) publishOccupancy}. 
+	 * @return OccupancyPublisher for this car park
+	 */
+	public OccupancyPublisher getOccupancyPublisher() {
+		return occupancy;
+	}
+	
+	/**
+	 * Publishes the current occupancy counters to readers on other threads. 
+	 * Called by the simulation once per time step; does not allocate. 
+	 * @param time int holding current simulation time
+	 */
+	public void publishOccupancy(int time) {
+		occupancy.publish(time, getNumCars(), getNumSmallCars(), getNumMotorCycles(), 
+				numVehiclesInQueue(), getNumDissatisfied());
+	}
+
 	/**
 	 * Simple status showing number of vehicles in the queue 
 	 * @return number of vehicles in the queue
@@ -292,6 +499,14 @@ public class CarPark {
 		return queue.size();
 	}
 	
+	/**
+	 * Simple status showing number of free places in the queue 
+	 * @return number of vehicles which may still join the queue
+	 */
+	public int numQueueSpaces() {
+		return Math.max(0, maxQueueSize - queue.size());
+	}
+	
 	/**
 	 * Method to add vehicle successfully to the car park store. 
 	 * Precondition is a test that spaces are available. 
@@ -304,6 +519,9 @@ public class CarPark {
 	 */
 	public void parkVehicle(Vehicle v, int time, int intendedDuration) throws SimulationException, VehicleException {
 		
+		if(!spacesAvailable(v)){
+			throw new SimulationException("No suitable spaces are available");
+		}
 		v.enterParkedState(time, intendedDuration);
 			
 		if(v instanceof Car){
@@ -317,24 +535,80 @@ public class CarPark {
 		else if(v instanceof MotorCycle){
 			motoPark.add((MotorCycle) v);
 		}
+		VehicleTransitionEvent.emit(v, v.wasQueued() ? "Q" : "N", "P", time);
 
 	}
+	
+	/**
+	 * Batch form of parkVehicle, for vehicles of any mix of types. The spaces for the whole 
+	 * batch are checked once, and the parked vehicles of each type are appended to their 
+	 * store in one operation. 
+	 * @param vehicles List of vehicles to be added 
+	 * @param time int holding current simulation time
+	 * @param intendedDurations int array holding the intended duration of stay of each vehicle, 
+	 * 		  in list order 
+	 * @throws SimulationException if there are not suitable spaces for every vehicle 
+	 * @throws VehicleException if a vehicle is not in the correct state or timing constraints 
+	 * 		   are violated; the vehicles before it are still parked
+	 * @throws IllegalArgumentException if there is not one intended duration per vehicle
+	 */
+	public void parkVehicles(List<? extends Vehicle> vehicles, int time, int[] intendedDurations) 
+			throws SimulationException, VehicleException {
+		if (intendedDurations.length != vehicles.size()) {
+			throw new IllegalArgumentException("One intended duration is needed per vehicle");
+		}
+		int numSmallCars = 0;
+		int numMotorCycles = 0;
+		for (Vehicle v : vehicles) {
+			if (v instanceof MotorCycle) {
+				numMotorCycles++;
+			} else if (((Car) v).isSmall()) {
+				numSmallCars++;
+			}
+		}
+		int numCars = vehicles.size() - numSmallCars - numMotorCycles;
+		if (!spacesAvailable(numSmallCars, numMotorCycles, numCars)) {
+			throw new SimulationException("No suitable spaces are available for the batch");
+		}
+		Car[] smallCars = new Car[numSmallCars];
+		MotorCycle[] motorCycles = new MotorCycle[numMotorCycles];
+		Car[] cars = new Car[numCars];
+		int s = 0;
+		int m = 0;
+		int c = 0;
+		try {
+			for (Vehicle v : vehicles) {
+				v.enterParkedState(time, intendedDurations[s + m + c]);
+				VehicleTransitionEvent.emit(v, v.wasQueued() ? "Q" : "N", "P", time);
+				if (v instanceof MotorCycle) {
+					motorCycles[m++] = (MotorCycle) v;
+				} else if (((Car) v).isSmall()) {
+					smallCars[s++] = (Car) v;
+				} else {
+					cars[c++] = (Car) v;
+				}
+			}
+		} finally {
+			smallcarPark.addAll(Arrays.asList(smallCars).subList(0, s));
+			motoPark.addAll(Arrays.asList(motorCycles).subList(0, m));
+			carPark.addAll(Arrays.asList(cars).subList(0, c));
+		}
+	}
 
 	/**
 	 * Silently process elements in the queue, whether empty or not. If possible, add them to the car park. 
 	 * Includes transition via exitQueuedState where appropriate
 	 * Block when we reach the first element that can't be parked. 
+	 * Vehicles which arrived at time are left for the next time point. 
 	 * @param time int holding current simulation time 
 	 * @throws SimulationException if no suitable spaces available when parking attempted
 	 * @throws VehicleException if state is incorrect, or timing constraints are violated
 	 */
 	public void processQueue(int time, Simulator sim) throws VehicleException, SimulationException {
-		System.out.println(queue.size());
-		for (Vehicle v : queue) {
-			if(spacesAvailable(v)){
-				parkVehicle(v, time, (int)Constants.DEFAULT_INTENDED_STAY_SD);	
-				System.out.println("qqq");
-			}
+		while(!queue.isEmpty() && queue.get(0).getArrivalTime() < time && spacesAvailable(queue.get(0))){
+			Vehicle v = queue.get(0);
+			exitQueue(v, time);
+			parkVehicle(v, time, sim.setDuration());
 		}
 	}
 
@@ -343,7 +617,6 @@ public class CarPark {
 	 * @return true if queue empty, false otherwise
 	 */
 	public boolean queueEmpty() {
-		System.out.println(queue.size());
 		if(queue.isEmpty()){ return true; }
 		return false;
 	}
@@ -364,25 +637,71 @@ public class CarPark {
 	 * @return true if space available for v, false otherwise 
 	 */
 	public boolean spacesAvailable(Vehicle v) {
-		if(v instanceof Car){
-			if(((Car) v).isSmall()){
-				if(smallcarPark.size() < maxSmallCarSpaces || carPark.size() < maxCarSpaces){
-					return true;
-				}
-			}
-			else{
-				if(carPark.size() < maxCarSpaces){
-					return true;
-				}
-			}
-		}
-		else if(v instanceof MotorCycle){
-			if(motoPark.size() < maxMotorCycleSpaces || smallcarPark.size() < maxSmallCarSpaces){
-				return true;
-			}
+		return numParkable(v, 1) > 0;
+	}
+	
+	/**
+	 * Method giving how many of a number of vehicles of the same type as v could be parked 
+	 * together, for sizing a batch for parkVehicles. Normal cars use the maxCarSpaces - 
+	 * maxSmallCarSpaces normal spaces; small cars use a small car space or a normal space; 
+	 * motorcycles use a motorcycle space or a small car space. 
+	 * @param v Vehicle of the type to be parked 
+	 * @param wanted int holding the number of vehicles 
+	 * @return number of the vehicles which may be parked, between 0 and wanted
+	 */
+	public int numParkable(Vehicle v, int wanted) {
+		int cars = carPark.size();
+		int smallCars = smallcarPark.size();
+		int motorCycles = motoPark.size();
+		int free;
+		if (v instanceof MotorCycle) {
+			int smallCarSpaces = Math.min(maxSmallCarSpaces, maxCarSpaces - cars - smallCars);
+			free = maxMotorCycleSpaces + smallCarSpaces - motorCycles;
+		} else if (((Car) v).isSmall()) {
+			free = maxCarSpaces - cars - smallCars - motorCycleOverflow(motorCycles);
+		} else {
+			int smallCarOverflow = Math.max(0, smallCars + motorCycleOverflow(motorCycles) - maxSmallCarSpaces);
+			free = maxCarSpaces - maxSmallCarSpaces - cars - smallCarOverflow;
 		}
-		return false;
-		
+		return Math.max(0, Math.min(wanted, free));
+	}
+	
+	/**
+	 * Helper determining whether a mixed batch could be parked as well as the vehicles 
+	 * already in the car park 
+	 * @param numSmallCars int holding the number of small cars 
+	 * @param numMotorCycles int holding the number of motorcycles 
+	 * @param numCars int holding the number of normal cars 
+	 * @return true if there is space for the whole batch, false otherwise
+	 */
+	private boolean spacesAvailable(int numSmallCars, int numMotorCycles, int numCars) {
+		return fits(carPark.size() + numCars, smallcarPark.size() + numSmallCars, 
+				motoPark.size() + numMotorCycles);
+	}
+	
+	/**
+	 * Helper determining whether numbers of each type of vehicle could all be given suitable 
+	 * spaces under the parking policy in numParkable. Spaces are not assigned to vehicles, so 
+	 * motorcycles overflow into small car spaces first, and small cars then into normal spaces. 
+	 * @param numCars int holding the number of normal cars 
+	 * @param numSmallCars int holding the number of small cars 
+	 * @param numMotorCycles int holding the number of motorcycles 
+	 * @return true if the vehicles fit, false otherwise
+	 */
+	private boolean fits(int numCars, int numSmallCars, int numMotorCycles) {
+		int motorCycleOverflow = motorCycleOverflow(numMotorCycles);
+		int smallCarOverflow = Math.max(0, numSmallCars + motorCycleOverflow - maxSmallCarSpaces);
+		return motorCycleOverflow <= maxSmallCarSpaces 
+				&& numCars + smallCarOverflow <= maxCarSpaces - maxSmallCarSpaces;
+	}
+	
+	/**
+	 * Helper giving the number of motorcycles which need a small car space 
+	 * @param numMotorCycles int holding the number of motorcycles 
+	 * @return number of motorcycles beyond maxMotorCycleSpaces
+	 */
+	private int motorCycleOverflow(int numMotorCycles) {
+		return Math.max(0, numMotorCycles - maxMotorCycleSpaces);
 	}
 
 
@@ -396,24 +715,35 @@ public class CarPark {
 
 	/**
 	 * Method to try to create new vehicles (one trial per vehicle type per time point) 
-	 * and to then try to park or queue (or archive) any vehicles that are created 
+	 * and to then try to park or queue (or archive) any vehicles that are created. 
+	 * When the simulator is in its Poisson arrival mode, the arrivals of each type are 
+	 * instead admitted as a batch by {@link #admitNewVehicles(int, Simulator, int, int, int) admitNewVehicles}. 
 	 * @param sim Simulation object controlling vehicle creation 
 	 * @throws SimulationException if no suitable spaces available when operation attempted 
 	 * @throws VehicleException if vehicle creation violates constraints 
 	 */
 	public void tryProcessNewVehicles(int time,Simulator sim) throws VehicleException, SimulationException {
 		
+		if(sim.isPoissonArrivals()){
+			admitNewVehicles(time, sim, sim.newSmallCarArrivals(time), 
+					sim.newMotorCycleArrivals(time), sim.newCarArrivals(time));
+			return;
+		}
+		
 		if(sim.smallCarTrial()){
 			String vehID = "S" + time;
 			
 			Car s = new Car(vehID, time, true);
 			
 			if(spacesAvailable(s)){
-				parkVehicle(s, time, (int)Constants.DEFAULT_INTENDED_STAY_SD);
+				parkVehicle(s, time, sim.setDuration());
 			}
-			else{
+			else if(!queueFull()){
 				enterQueue(s);
 			}
+			else{
+				archiveNewVehicle(s);
+			}
 			count++;
 		}
 		
@@ -423,11 +753,14 @@ public class CarPark {
 			MotorCycle m = new MotorCycle(vehID, time);
 
 			if(spacesAvailable(m)){
-				parkVehicle(m, time, (int)Constants.DEFAULT_INTENDED_STAY_SD);
+				parkVehicle(m, time, sim.setDuration());
 			}
-			else{
+			else if(!queueFull()){
 				enterQueue(m);
 			}
+			else{
+				archiveNewVehicle(m);
+			}
 			count++;
 		}
 		
@@ -437,16 +770,83 @@ public class CarPark {
 			Car c = new Car(vehID, time, false);
 			
 			if(spacesAvailable(c)){
-				parkVehicle(c, time, (int)Constants.DEFAULT_INTENDED_STAY_SD);
+				parkVehicle(c, time, sim.setDuration());
 			}
-			else{
+			else if(!queueFull()){
 				enterQueue(c);
 			}
+			else{
+				archiveNewVehicle(c);
+			}
 			count++;
 		}
 		
 	}
 
+	/**
+	 * Method to create and admit a batch of new vehicles of each type, in the order small cars, 
+	 * motorcycles, then cars. Each type is handled as the same number of one at a time arrivals 
+	 * would be, but with the spaces free for the whole batch worked out once, and the parked 
+	 * and queued vehicles appended to their stores in one operation. 
+	 * @param time int holding current simulation time 
+	 * @param sim Simulation object providing intended stays 
+	 * @param numSmallCars int holding the number of small cars arriving 
+	 * @param numMotorCycles int holding the number of motorcycles arriving 
+	 * @param numCars int holding the number of normal cars arriving 
+	 * @throws SimulationException if no suitable spaces available when operation attempted 
+	 * @throws VehicleException if vehicle creation violates constraints 
+	 */
+	public void admitNewVehicles(int time, Simulator sim, int numSmallCars, int numMotorCycles, int numCars) 
+			throws VehicleException, SimulationException {
+		String vehID = "S" + time;
+		Car[] smallCars = new Car[Math.max(0, numSmallCars)];
+		for (int i = 0; i < smallCars.length; i++) {
+			smallCars[i] = new Car(vehID, time, true);
+		}
+		admitBatch(smallCars, time, sim);
+		vehID = "M" + time;
+		MotorCycle[] motorCycles = new MotorCycle[Math.max(0, numMotorCycles)];
+		for (int i = 0; i < motorCycles.length; i++) {
+			motorCycles[i] = new MotorCycle(vehID, time);
+		}
+		admitBatch(motorCycles, time, sim);
+		vehID = "C" + time;
+		Car[] cars = new Car[Math.max(0, numCars)];
+		for (int i = 0; i < cars.length; i++) {
+			cars[i] = new Car(vehID, time, false);
+		}
+		admitBatch(cars, time, sim);
+	}
+	
+	/**
+	 * Helper to park as many of a batch of new vehicles of one type as there are spaces for, 
+	 * and to queue the rest, as tryProcessNewVehicles does one vehicle at a time 
+	 * @param batch array of new vehicles of one type 
+	 * @param time int holding current simulation time 
+	 * @param sim Simulation object providing intended stays 
+	 * @throws VehicleException if a vehicle is not in the correct state 
+	 * @throws SimulationException if a vehicle cannot be queued
+	 */
+	private <T extends Vehicle> void admitBatch(T[] batch, int time, Simulator sim) 
+			throws VehicleException, SimulationException {
+		if (batch.length == 0) {
+			return;
+		}
+		int parkable = numParkable(batch[0], batch.length);
+		int[] durations = new int[parkable];
+		for (int i = 0; i < parkable; i++) {
+			durations[i] = sim.setDuration();
+		}
+		List<T> arrivals = Arrays.asList(batch);
+		parkVehicles(arrivals.subList(0, parkable), time, durations);
+		int queued = Math.min(batch.length - parkable, numQueueSpaces());
+		enterQueue(arrivals.subList(parkable, parkable + queued));
+		if (parkable + queued < batch.length) {
+			archiveNewVehicles(arrivals.subList(parkable + queued, batch.length));
+		}
+		count += batch.length;
+	}
+	
 	/**
 	 * Method to remove vehicle from the carpark. 
 	 * For symmetry with parkVehicle, include transition via Vehicle.exitParkedState.  
@@ -461,12 +861,131 @@ public class CarPark {
 		int m = motoPark.lastIndexOf(v);
 		int s = smallcarPark.lastIndexOf(v);
 		
-		if(c != -1) carPark.remove(v);
-		if(m != -1) carPark.remove(v);
-		if(s != -1) carPark.remove(v);
+		if(c == -1 && m == -1 && s == -1){
+			throw new SimulationException("Vehicle is not in the car park");
+		}
 		
 		v.exitParkedState(departureTime);
 		
+		if(c != -1) carPark.remove(c);
+		if(m != -1) motoPark.remove(m);
+		if(s != -1) smallcarPark.remove(s);
+		recordStay(v);
+		archive(v);
+		VehicleTransitionEvent.emit(v, "P", "A", departureTime);
+		
+	}
+	
+	/**
+	 * Batch form of unparkVehicle, for vehicles of any mix of types. Membership of the 
+	 * whole batch is checked once, and the vehicles are removed from each store in one pass. 
+	 * @param vehicles List of vehicles to be removed from the car park 
+	 * @param departureTime int holding the departure time 
+	 * @throws VehicleException if a vehicle is not parked or violates timing constraints; 
+	 * 		   the vehicles before it are still removed and archived
+	 * @throws SimulationException if any vehicle is not in the car park, or appears twice
+	 */
+	public void unparkVehicles(List<? extends Vehicle> vehicles, int departureTime) 
+			throws VehicleException, SimulationException {
+		Set<Vehicle> leaving = new HashSet<Vehicle>(vehicles);
+		int found = countMembers(carPark, leaving) + countMembers(smallcarPark, leaving) 
+				+ countMembers(motoPark, leaving);
+		if (leaving.size() != vehicles.size() || found != leaving.size()) {
+			throw new SimulationException("One or more vehicles are not in the car park");
+		}
+		int done = 0;
+		try {
+			for (Vehicle v : vehicles) {
+				v.exitParkedState(departureTime);
+				recordStay(v);
+				VehicleTransitionEvent.emit(v, "P", "A", departureTime);
+				done++;
+			}
+		} finally {
+			if (done < vehicles.size()) {
+				leaving = new HashSet<Vehicle>(vehicles.subList(0, done));
+			}
+			carPark.removeAll(leaving);
+			smallcarPark.removeAll(leaving);
+			motoPark.removeAll(leaving);
+			archiveAll(vehicles.subList(0, done));
+		}
+	}
+	
+	/**
+	 * Helper to add a vehicle to the archive summary, and to the archive itself 
+	 * unless running in stats-only mode 
+	 * @param v Vehicle to be archived
+	 */
+	private void archive(Vehicle v) {
+		statistics.record(v);
+		numArchived++;
+		if (retainArchive) {
+			past.add(v);
+		}
+	}
+	
+	/**
+	 * Helper to archive a batch of vehicles as archive does, appending them to the 
+	 * archive in one operation 
+	 * @param vehicles List of vehicles to be archived
+	 */
+	void archiveAll(List<? extends Vehicle> vehicles) {
+		for (Vehicle v : vehicles) {
+			statistics.record(v);
+		}
+		numArchived += vehicles.size();
+		if (retainArchive) {
+			past.addAll(vehicles);
+		}
+	}
+	
+	/**
+	 * Helper counting the vehicles of a store which are in a batch 
+	 * @param store List of vehicles to be scanned 
+	 * @param batch Set of vehicles of interest 
+	 * @return number of vehicles of store in batch
+	 */
+	private static int countMembers(List<? extends Vehicle> store, Set<Vehicle> batch) {
+		int n = 0;
+		for (Vehicle v : store) {
+			if (batch.contains(v)) {
+				n++;
+			}
+		}
+		return n;
+	}
+	
+	/**
+	 * Adds the queue waits recorded so far to target, without allocating 
+	 * @param target LogHistogram with the default precision and range
+	 */
+	void mergeQueueWaitsInto(LogHistogram target) {
+		target.merge(queueWaits);
+	}
+	
+	/**
+	 * Adds the stays recorded so far to target, without allocating 
+	 * @param target LogHistogram with the default precision and range
+	 */
+	void mergeStaysInto(LogHistogram target) {
+		target.merge(stays);
+	}
+	
+	/**
+	 * Helper to record the queue wait of a vehicle which has just left the queue 
+	 * @param v Vehicle leaving the queue
+	 */
+	void recordQueueWait(Vehicle v) {
+		queueWaits.record(v.getExitQueueTime() - v.getArrivalTime());
+	}
+	
+	/**
+	 * Helper to record the stay of a vehicle which has just left the car park 
+	 * @param v Vehicle leaving the car park
+	 */
+	void recordStay(Vehicle v) {
+		stays.record(v.getDepartureTime() - v.getParkingTime());
 	}
 	
 	/**
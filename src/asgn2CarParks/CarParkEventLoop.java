@@ -0,0 +1,278 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Single writer front end for an ordinary, unsynchronised CarPark. Any number of gate threads 
+ * submit parkVehicle, unparkVehicle, enterQueue and exitQueue requests to a lock-free inbox; 
+ * one dedicated thread owns the CarPark and applies the requests in batches, in the order 
+ * they were accepted by the inbox. 
+ * 
+ * Each submission returns a CompletableFuture which completes once the request has been 
+ * applied, or completes exceptionally with the SimulationException or VehicleException thrown 
+ * by the CarPark. Reads should also go through the loop, via {@link #query(Function) query}, 
+ * since the CarPark must not be touched by any other thread while the loop is running. 
+ * 
+ * The loop thread parks when the inbox is empty and is woken by the next submission. 
+ * @author hogan
+ *
+ */
+public class CarParkEventLoop implements AutoCloseable {
+	
+	public static final int DEFAULT_BATCH_SIZE = 256;
+	
+	private enum Operation {
+		PARK, UNPARK, ENTER_QUEUE, EXIT_QUEUE, QUERY
+	}
+	
+	/**
+	 * A request waiting in the inbox 
+	 */
+	private static class Request {
+		final Operation op;
+		final Vehicle vehicle;
+		final int time;
+		final int duration;
+		final Function<CarPark, ?> query;
+		final CompletableFuture<Object> result = new CompletableFuture<Object>();
+		
+		Request(Operation op, Vehicle vehicle, int time, int duration, Function<CarPark, ?> query) {
+			this.op = op;
+			this.vehicle = vehicle;
+			this.time = time;
+			this.duration = duration;
+			this.query = query;
+		}
+	}
+	
+	private final CarPark carPark;
+	private final int batchSize;
+	private final ConcurrentLinkedQueue<Request> inbox = new ConcurrentLinkedQueue<Request>();
+	private final Thread writer;
+	
+	private volatile boolean running = true;
+	private volatile boolean idle = false;
+	private long applied = 0;
+	
+	/**
+	 * Constructor starts the loop thread with the default batch size 
+	 * @param carPark CarPark to be owned by the loop; callers must not use it directly afterwards
+	 */
+	public CarParkEventLoop(CarPark carPark) {
+		this(carPark, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Constructor starts the loop thread 
+	 * @param carPark CarPark to be owned by the loop; callers must not use it directly afterwards
+	 * @param batchSize int holding the largest number of requests applied between checks for shutdown 
+	 * @throws IllegalArgumentException if batchSize < 1
+	 */
+	public CarParkEventLoop(CarPark carPark, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.carPark = carPark;
+		this.batchSize = batchSize;
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				loop();
+			}
+		}, "carpark-event-loop");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+	
+	/**
+	 * Requests CarPark.parkVehicle 
+	 * @param v Vehicle to be added 
+	 * @param time int holding current simulation time
+	 * @param intendedDuration int holding intended duration of stay 
+	 * @return CompletableFuture completing when the vehicle has been parked
+	 */
+	public CompletableFuture<Void> parkVehicle(Vehicle v, int time, int intendedDuration) {
+		return submit(new Request(Operation.PARK, v, time, intendedDuration, null));
+	}
+	
+	/**
+	 * Requests CarPark.unparkVehicle 
+	 * @param v Vehicle to be removed from the car park 
+	 * @param departureTime int holding the departure time
+	 * @return CompletableFuture completing when the vehicle has been removed
+	 */
+	public CompletableFuture<Void> unparkVehicle(Vehicle v, int departureTime) {
+		return submit(new Request(Operation.UNPARK, v, departureTime, 0, null));
+	}
+	
+	/**
+	 * Requests CarPark.enterQueue 
+	 * @param v Vehicle to be added to the queue 
+	 * @return CompletableFuture completing when the vehicle has been queued
+	 */
+	public CompletableFuture<Void> enterQueue(Vehicle v) {
+		return submit(new Request(Operation.ENTER_QUEUE, v, 0, 0, null));
+	}
+	
+	/**
+	 * Requests CarPark.exitQueue 
+	 * @param v Vehicle to be removed from the queue 
+	 * @param exitTime int time at which vehicle exits queue
+	 * @return CompletableFuture completing when the vehicle has left the queue
+	 */
+	public CompletableFuture<Void> exitQueue(Vehicle v, int exitTime) {
+		return submit(new Request(Operation.EXIT_QUEUE, v, exitTime, 0, null));
+	}
+	
+	/**
+	 * Evaluates query against the CarPark on the loop thread, after every request 
+	 * submitted before it 
+	 * @param query Function reading the CarPark, such as CarPark::getNumCars 
+	 * @return CompletableFuture holding the result of the query
+	 */
+	public <T> CompletableFuture<T> query(Function<CarPark, T> query) {
+		return submit(new Request(Operation.QUERY, null, 0, 0, query));
+	}
+	
+	/**
+	 * Stops accepting requests, applies everything already accepted, and waits for 
+	 * the loop thread to finish. If interrupted while waiting, returns at once with the 
+	 * interrupt status set, and the loop thread finishes the accepted requests by itself. 
+	 */
+	@Override
+	public void close() {
+		this.running = false;
+		LockSupport.unpark(this.writer);
+		try {
+			this.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Simple getter for the number of requests applied so far. Only exact once closed. 
+	 * @return number of requests taken from the inbox
+	 */
+	public long getApplied() {
+		return this.applied;
+	}
+	
+	/**
+	 * Helper to place a request in the inbox and wake the loop if it is idle. The loop 
+	 * thread may make its final drain between the check of running and the offer, so 
+	 * running is checked again afterwards; if it has been cleared, whichever of this thread 
+	 * and the loop takes the request from the inbox first decides whether it is refused 
+	 * or applied. 
+	 * @param r Request to be applied 
+	 * @return the Request's future
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> submit(Request r) {
+		if (!this.running) {
+			refuse(r);
+		} else {
+			this.inbox.offer(r);
+			if (this.idle) {
+				LockSupport.unpark(this.writer);
+			}
+			if (!this.running && this.inbox.remove(r)) {
+				refuse(r);
+			}
+		}
+		return (CompletableFuture<T>) (CompletableFuture<?>) r.result;
+	}
+	
+	/**
+	 * Helper to fail a request submitted after close 
+	 * @param r Request to be refused
+	 */
+	private static void refuse(Request r) {
+		r.result.completeExceptionally(new SimulationException("Event loop has been closed"));
+	}
+	
+	/**
+	 * Body of the loop thread. The idle flag is raised before the final emptiness check, so a 
+	 * producer which offers after that check is certain to see it and unpark the thread. 
+	 */
+	private void loop() {
+		while (true) {
+			if (drain() > 0) {
+				continue;
+			}
+			if (!this.running) {
+				// Catch any submission that raced with close()
+				if (drain() == 0) {
+					return;
+				}
+				continue;
+			}
+			this.idle = true;
+			if (this.inbox.isEmpty() && this.running) {
+				LockSupport.park(this);
+			}
+			this.idle = false;
+		}
+	}
+	
+	/**
+	 * Applies up to batchSize requests from the inbox 
+	 * @return number of requests applied
+	 */
+	private int drain() {
+		int n = 0;
+		Request r;
+		while (n < this.batchSize && (r = this.inbox.poll()) != null) {
+			apply(r);
+			n++;
+		}
+		this.applied += n;
+		return n;
+	}
+	
+	/**
+	 * Applies a single request to the CarPark and completes its future 
+	 * @param r Request to be applied
+	 */
+	private void apply(Request r) {
+		try {
+			Object value = null;
+			switch (r.op) {
+			case PARK:
+				this.carPark.parkVehicle(r.vehicle, r.time, r.duration);
+				break;
+			case UNPARK:
+				this.carPark.unparkVehicle(r.vehicle, r.time);
+				break;
+			case ENTER_QUEUE:
+				this.carPark.enterQueue(r.vehicle);
+				break;
+			case EXIT_QUEUE:
+				this.carPark.exitQueue(r.vehicle, r.time);
+				break;
+			case QUERY:
+				value = r.query.apply(this.carPark);
+				break;
+			}
+			r.result.complete(value);
+		} catch (Exception e) {
+			r.result.completeExceptionally(e);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+/**
+ * Management interface exposing the state of one car park to JMX clients such as jconsole. 
+ * @author hogan
+ *
+ */
+public interface CarParkMXBean {
+
+	/**
+	 * @return simulation time of the values reported, or -1 if not known
+	 */
+	int getTime();
+	
+	/**
+	 * @return number of normal cars parked, not including small cars
+	 */
+	int getNumCars();
+	
+	/**
+	 * @return number of small cars parked
+	 */
+	int getNumSmallCars();
+	
+	/**
+	 * @return number of motorcycles parked
+	 */
+	int getNumMotorCycles();
+	
+	/**
+	 * @return number of vehicles queued
+	 */
+	int getQueueLength();
+	
+	/**
+	 * @return number of dissatisfied customers so far
+	 */
+	int getNumDissatisfied();
+	
+	/**
+	 * @return number of vehicles archived so far
+	 */
+	int getNumArchived();
+	
+	/**
+	 * @return number of vehicles which have arrived so far
+	 */
+	int getNumProcessed();
+}
@@ -0,0 +1,145 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * JMX view of a CarPark, registered under asgn2CarParks:type=CarPark,name=&lt;name&gt;. 
+ * 
+ * Reads never touch the simulation thread's collections. A ConcurrentCarPark is read 
+ * through its own thread safe getters; any other CarPark is read from the copy last 
+ * published through its OccupancyPublisher, which SimulationRunner refreshes every tick. 
+ * The archived and processed counts are single int fields, read without synchronisation, 
+ * so they may lag the simulation slightly. 
+ * 
+ * @author hogan
+ *
+ */
+public class CarParkMetrics implements CarParkMXBean {
+
+	public static final String DOMAIN = "asgn2CarParks";
+	
+	private final CarPark carPark;
+	
+	/**
+	 * Constructor just records the car park 
+	 * @param carPark CarPark to be reported
+	 */
+	public CarParkMetrics(CarPark carPark) {
+		this.carPark = carPark;
+	}
+	
+	/**
+	 * Registers a view of carPark with the platform MBean server 
+	 * @param carPark CarPark to be reported 
+	 * @param name String distinguishing this car park from others in the same JVM 
+	 * @return ObjectName under which the view was registered
+	 * @throws JMException if the name is malformed or already registered
+	 */
+	public static ObjectName register(CarPark carPark, String name) throws JMException {
+		ObjectName objectName = new ObjectName(DOMAIN + ":type=CarPark,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(new CarParkMetrics(carPark), objectName);
+		return objectName;
+	}
+	
+	/**
+	 * Removes a view registered by {@link #register(CarPark, String) register} 
+	 * @param objectName ObjectName returned on registration
+	 * @throws JMException if the name is not registered
+	 */
+	public static void unregister(ObjectName objectName) throws JMException {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getTime()
+	 */
+	@Override
+	public int getTime() {
+		return isConcurrent() ? -1 : read().getTime();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumCars()
+	 */
+	@Override
+	public int getNumCars() {
+		return isConcurrent() ? this.carPark.getNumCars() : read().getNumCars();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumSmallCars()
+	 */
+	@Override
+	public int getNumSmallCars() {
+		return isConcurrent() ? this.carPark.getNumSmallCars() : read().getNumSmallCars();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumMotorCycles()
+	 */
+	@Override
+	public int getNumMotorCycles() {
+		return isConcurrent() ? this.carPark.getNumMotorCycles() : read().getNumMotorCycles();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getQueueLength()
+	 */
+	@Override
+	public int getQueueLength() {
+		return isConcurrent() ? this.carPark.numVehiclesInQueue() : read().getQueueLength();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumDissatisfied()
+	 */
+	@Override
+	public int getNumDissatisfied() {
+		return isConcurrent() ? this.carPark.getNumDissatisfied() : read().getNumDissatisfied();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumArchived()
+	 */
+	@Override
+	public int getNumArchived() {
+		return this.carPark.getNumArchived();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarParkMXBean#getNumProcessed()
+	 */
+	@Override
+	public int getNumProcessed() {
+		return this.carPark.getNumProcessed();
+	}
+	
+	/**
+	 * Helper to tell whether the car park's getters are safe to call from this thread 
+	 * @return true if the car park is a ConcurrentCarPark
+	 */
+	private boolean isConcurrent() {
+		return this.carPark instanceof ConcurrentCarPark;
+	}
+	
+	/**
+	 * Helper to copy the latest published occupancy 
+	 * @return Occupancy holding the copy
+	 */
+	private Occupancy read() {
+		return this.carPark.getOccupancyPublisher().read();
+	}
+}
@@ -0,0 +1,1100 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Simulator;
+import asgn2Statistics.LogHistogram;
+import asgn2Statistics.VehicleStatistics;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Thread safe CarPark for use with live gate feeds, where several entry and exit gates 
+ * report events at once. 
+ * 
+ * Spaces are reserved by compare-and-set on an atomic free counter for each class of bay, 
+ * so two gates can never take the last space. Normal cars use normal bays; small cars use a 
+ * small car bay if one is free and a normal bay otherwise; motorcycles use a motorcycle bay if 
+ * one is free and a small car bay otherwise. Small car bays are a component of maxCarSpaces. 
+ * Waiting vehicles are held in a lock-free queue whose length is bounded by a second counter. 
+ * 
+ * Readers such as {@link #getNumCars() getNumCars} and {@link #getStatus(int) getStatus} only 
+ * read atomics and weakly consistent iterators, so they never block gate threads. Each count 
+ * is exact, but counts read one after another may straddle a concurrent transition. 
+ * 
+ * Any one Vehicle must only be handled by one thread at a time, as the Vehicle state itself 
+ * is not synchronised. 
+ * 
+ * @author hogan
+ *
+ */
+public class ConcurrentCarPark extends CarPark {
+	
+	private static final Integer CAR_BAY = 0;
+	private static final Integer SMALL_CAR_BAY = 1;
+	private static final Integer MOTORCYCLE_BAY = 2;
+	
+	private final int carSpaces;
+	private final int smallCarSpaces;
+	private final int motorCycleSpaces;
+	private final int queueSpaces;
+	
+	// Free bays of each class; a space is taken by a successful decrement 
+	private final AtomicInteger freeCarBays;
+	private final AtomicInteger freeSmallCarBays;
+	private final AtomicInteger freeMotorCycleBays;
+	private final AtomicInteger queueSize = new AtomicInteger();
+	
+	// Occupancy by vehicle type, as reported by the getters; the types are disjoint, as in CarPark
+	private final AtomicInteger numCars = new AtomicInteger();
+	private final AtomicInteger numSmallCars = new AtomicInteger();
+	private final AtomicInteger numMotorCycles = new AtomicInteger();
+	private final AtomicInteger numProcessed = new AtomicInteger();
+	private final AtomicInteger numDissatisfied = new AtomicInteger();
+	private final AtomicInteger numArchived = new AtomicInteger();
+	
+	// Parked vehicles mapped to the class of bay they occupy
+	private final ConcurrentHashMap<Vehicle, Integer> parked = new ConcurrentHashMap<Vehicle, Integer>();
+	private final ConcurrentLinkedQueue<Vehicle> waiting = new ConcurrentLinkedQueue<Vehicle>();
+	private final ConcurrentLinkedQueue<Vehicle> archive = new ConcurrentLinkedQueue<Vehicle>();
+	
+	// Queue wait and stay histograms kept per gate thread, and merged when read
+	private final ConcurrentLinkedQueue<LogHistogram[]> histograms = new ConcurrentLinkedQueue<LogHistogram[]>();
+	private final ThreadLocal<LogHistogram[]> localHistograms = new ThreadLocal<LogHistogram[]>() {
+		@Override
+		protected LogHistogram[] initialValue() {
+			LogHistogram[] h = { new LogHistogram(), new LogHistogram() };
+			histograms.offer(h);
+			return h;
+		}
+	};
+	
+	/**
+	 * ConcurrentCarPark constructor using default parameters
+	 */
+	public ConcurrentCarPark() {
+		this(Constants.DEFAULT_MAX_CAR_SPACES, Constants.DEFAULT_MAX_SMALL_CAR_SPACES,
+				Constants.DEFAULT_MAX_MOTORCYCLE_SPACES, Constants.DEFAULT_MAX_QUEUE_SIZE);
+	}
+	
+	/**
+	 * ConcurrentCarPark constructor sets the basic size parameters. 
+	 * @param maxCarSpaces maximum number of spaces allocated to cars in the car park 
+	 * @param maxSmallCarSpaces maximum number of spaces (a component of maxCarSpaces) 
+	 * 						 restricted to small cars
+	 * @param maxMotorCycleSpaces maximum number of spaces allocated to MotorCycles
+	 * @param maxQueueSize maximum number of vehicles allowed to queue
+	 * @throws IllegalArgumentException if a size is negative or maxSmallCarSpaces > maxCarSpaces
+	 */
+	public ConcurrentCarPark(int maxCarSpaces, int maxSmallCarSpaces, int maxMotorCycleSpaces, int maxQueueSize) {
+		super(maxCarSpaces, maxSmallCarSpaces, maxMotorCycleSpaces, maxQueueSize);
+		if (maxCarSpaces < 0 || maxSmallCarSpaces < 0 || maxMotorCycleSpaces < 0 || maxQueueSize < 0
+				|| maxSmallCarSpaces > maxCarSpaces) {
+			throw new IllegalArgumentException("Invalid car park dimensions");
+		}
+		this.carSpaces = maxCarSpaces;
+		this.smallCarSpaces = maxSmallCarSpaces;
+		this.motorCycleSpaces = maxMotorCycleSpaces;
+		this.queueSpaces = maxQueueSize;
+		this.freeCarBays = new AtomicInteger(maxCarSpaces - maxSmallCarSpaces);
+		this.freeSmallCarBays = new AtomicInteger(maxSmallCarSpaces);
+		this.freeMotorCycleBays = new AtomicInteger(maxMotorCycleSpaces);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#archiveDepartingVehicles(int, boolean)
+	 */
+	@Override
+	public void archiveDepartingVehicles(int time, boolean force) throws VehicleException, SimulationException {
+		for (Vehicle v : this.parked.keySet()) {
+			if (force || time >= v.getDepartureTime()) {
+				Integer bay = this.parked.remove(v);
+				// Another gate may have unparked v since the iterator saw it
+				if (bay != null) {
+					depart(v, bay, time);
+				}
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#archiveNewVehicle(asgn2Vehicles.Vehicle)
+	 */
+	@Override
+	public void archiveNewVehicle(Vehicle v) throws SimulationException {
+		if (v.isParked() || v.isQueued()) {
+			throw new SimulationException("Vehicle is currently parked or queued");
+		}
+		this.numDissatisfied.incrementAndGet();
+		archive(v);
+		VehicleTransitionEvent.emit(v, "N", "A", v.getArrivalTime());
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#archiveNewVehicles(java.util.List)
+	 */
+	@Override
+	public void archiveNewVehicles(List<? extends Vehicle> vehicles) throws SimulationException {
+		for (Vehicle v : vehicles) {
+			if (v.isParked() || v.isQueued()) {
+				throw new SimulationException("Vehicle is currently parked or queued");
+			}
+		}
+		this.numDissatisfied.addAndGet(vehicles.size());
+		archiveAll(vehicles);
+		for (Vehicle v : vehicles) {
+			VehicleTransitionEvent.emit(v, "N", "A", v.getArrivalTime());
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#archiveQueueFailures(int)
+	 */
+	@Override
+	public void archiveQueueFailures(int time) throws VehicleException, SimulationException {
+		for (Vehicle v : this.waiting) {
+			// remove() succeeds for exactly one thread, which then owns the transition
+			if (time - v.getArrivalTime() >= Constants.MAXIMUM_QUEUE_TIME && this.waiting.remove(v)) {
+				this.queueSize.decrementAndGet();
+				v.exitQueuedState(time);
+				recordQueueWait(v);
+				this.numDissatisfied.incrementAndGet();
+				archive(v);
+				VehicleTransitionEvent.emit(v, "Q", "A", time);
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#carParkEmpty()
+	 */
+	@Override
+	public boolean carParkEmpty() {
+		return this.parked.isEmpty();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#carParkFull()
+	 */
+	@Override
+	public boolean carParkFull() {
+		return this.freeCarBays.get() <= 0 && this.freeSmallCarBays.get() <= 0 
+				&& this.freeMotorCycleBays.get() <= 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#enterQueue(asgn2Vehicles.Vehicle)
+	 */
+	@Override
+	public void enterQueue(Vehicle v) throws SimulationException, VehicleException {
+		if (!tryAcquire(this.queueSize, this.queueSpaces)) {
+			throw new SimulationException("Queue is full");
+		}
+		try {
+			v.enterQueuedState();
+		} catch (VehicleException e) {
+			this.queueSize.decrementAndGet();
+			throw e;
+		}
+		this.waiting.offer(v);
+		VehicleTransitionEvent.emit(v, "N", "Q", v.getArrivalTime());
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#enterQueue(java.util.List)
+	 */
+	@Override
+	public void enterQueue(List<? extends Vehicle> vehicles) throws SimulationException, VehicleException {
+		int n = vehicles.size();
+		int taken = acquireUpTo(this.queueSize, this.queueSpaces, n);
+		if (taken < n) {
+			this.queueSize.addAndGet(-taken);
+			throw new SimulationException("Queue does not have room for the batch");
+		}
+		int done = 0;
+		try {
+			for (Vehicle v : vehicles) {
+				v.enterQueuedState();
+				VehicleTransitionEvent.emit(v, "N", "Q", v.getArrivalTime());
+				done++;
+			}
+		} finally {
+			this.queueSize.addAndGet(done - n);
+			this.waiting.addAll(vehicles.subList(0, done));
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#exitQueue(asgn2Vehicles.Vehicle, int)
+	 */
+	@Override
+	public void exitQueue(Vehicle v, int exitTime) throws SimulationException, VehicleException {
+		if (!v.isQueued()) {
+			throw new SimulationException("Vehicle is not in the queue");
+		}
+		checkQueueExit(v, exitTime);
+		// remove() succeeds for exactly one thread, which then owns the transition
+		if (!this.waiting.remove(v)) {
+			throw new SimulationException("Vehicle is not in the queue");
+		}
+		this.queueSize.decrementAndGet();
+		v.exitQueuedState(exitTime);
+		recordQueueWait(v);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#exitQueue(java.util.List, int)
+	 */
+	@Override
+	public void exitQueue(List<? extends Vehicle> vehicles, int exitTime) throws SimulationException, VehicleException {
+		Set<Vehicle> leaving = new HashSet<Vehicle>(vehicles);
+		int found = 0;
+		for (Vehicle v : this.waiting) {
+			if (leaving.contains(v)) {
+				found++;
+			}
+		}
+		if (leaving.size() != vehicles.size() || found != leaving.size()) {
+			throw new SimulationException("One or more vehicles are not in the queue");
+		}
+		// The scan is only a snapshot, so each vehicle is still claimed with remove() 
+		int removed = 0;
+		boolean lost = false;
+		try {
+			for (Vehicle v : vehicles) {
+				checkQueueExit(v, exitTime);
+				if (!this.waiting.remove(v)) {
+					lost = true;
+					continue;
+				}
+				removed++;
+				v.exitQueuedState(exitTime);
+				recordQueueWait(v);
+			}
+		} finally {
+			this.queueSize.addAndGet(-removed);
+		}
+		if (lost) {
+			throw new SimulationException("One or more vehicles left the queue during the batch");
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#finalState()
+	 */
+	@Override
+	public String finalState() {
+		StringBuilder str = new StringBuilder("Vehicles Processed: count:")
+				.append(this.numProcessed.get()).append(", logged: ").append(this.numArchived.get());
+		if (!this.retainArchive) {
+			synchronized (this.statistics) {
+				return str.append("\n").append(this.statistics).append("\n").toString();
+			}
+		}
+		str.append("\nVehicle Record: \n");
+		for (Vehicle v : this.archive) {
+			str.append(v.toString()).append("\n\n");
+		}
+		return str.append("\n").toString();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getStatistics()
+	 */
+	@Override
+	public VehicleStatistics getStatistics() {
+		VehicleStatistics copy = new VehicleStatistics();
+		synchronized (this.statistics) {
+			copy.merge(this.statistics);
+		}
+		return copy;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getQueueWaitHistogram()
+	 */
+	@Override
+	public LogHistogram getQueueWaitHistogram() {
+		LogHistogram merged = new LogHistogram();
+		mergeQueueWaitsInto(merged);
+		return merged;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getStayHistogram()
+	 */
+	@Override
+	public LogHistogram getStayHistogram() {
+		LogHistogram merged = new LogHistogram();
+		mergeStaysInto(merged);
+		return merged;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumDissatisfied()
+	 */
+	@Override
+	public int getNumDissatisfied() {
+		return this.numDissatisfied.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumProcessed()
+	 */
+	@Override
+	public int getNumProcessed() {
+		return this.numProcessed.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumArchived()
+	 */
+	@Override
+	public int getNumArchived() {
+		return this.numArchived.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumCars()
+	 */
+	@Override
+	public int getNumCars() {
+		return this.numCars.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumMotorCycles()
+	 */
+	@Override
+	public int getNumMotorCycles() {
+		return this.numMotorCycles.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getNumSmallCars()
+	 */
+	@Override
+	public int getNumSmallCars() {
+		return this.numSmallCars.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#getStatus(int)
+	 */
+	@Override
+	public String getStatus(int time) {
+		int cars = getNumCars();
+		int smallCars = getNumSmallCars();
+		int motorCycles = getNumMotorCycles();
+		StringBuilder str = new StringBuilder().append(time).append("::")
+				.append(getNumProcessed()).append("::")
+				.append("P:").append(cars + smallCars + motorCycles).append("::")
+				.append("C:").append(cars).append("::S:").append(smallCars)
+				.append("::M:").append(motorCycles)
+				.append("::D:").append(getNumDissatisfied())
+				.append("::A:").append(getNumArchived())
+				.append("::Q:").append(numVehiclesInQueue());
+		for (Vehicle v : this.waiting) {
+			str.append(vehicleType(v));
+		}
+		return str.append("\n").toString();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#initialState()
+	 */
+	@Override
+	public String initialState() {
+		return "ConcurrentCarPark [maxCarSpaces: " + this.carSpaces
+				+ " maxSmallCarSpaces: " + this.smallCarSpaces 
+				+ " maxMotorCycleSpaces: " + this.motorCycleSpaces 
+				+ " maxQueueSize: " + this.queueSpaces + "]";
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#numVehiclesInQueue()
+	 */
+	@Override
+	public int numVehiclesInQueue() {
+		return this.queueSize.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#numQueueSpaces()
+	 */
+	@Override
+	public int numQueueSpaces() {
+		return Math.max(0, this.queueSpaces - this.queueSize.get());
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#parkVehicle(asgn2Vehicles.Vehicle, int, int)
+	 */
+	@Override
+	public void parkVehicle(Vehicle v, int time, int intendedDuration) throws SimulationException, VehicleException {
+		if (!tryParkVehicle(v, time, intendedDuration)) {
+			throw new SimulationException("No suitable spaces are available");
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#parkVehicles(java.util.List, int, int[])
+	 */
+	@Override
+	public void parkVehicles(List<? extends Vehicle> vehicles, int time, int[] intendedDurations) 
+			throws SimulationException, VehicleException {
+		if (intendedDurations.length != vehicles.size()) {
+			throw new IllegalArgumentException("One intended duration is needed per vehicle");
+		}
+		int numSmallCars = 0;
+		int numMotorCycles = 0;
+		for (Vehicle v : vehicles) {
+			if (v instanceof MotorCycle) {
+				numMotorCycles++;
+			} else if (isSmallCar(v)) {
+				numSmallCars++;
+			}
+		}
+		int numCars = vehicles.size() - numSmallCars - numMotorCycles;
+		// Motorcycles take small car bays before small cars do, as small cars can also use car bays
+		int cars = takeUpTo(this.freeCarBays, numCars);
+		int motorCycles = takeUpTo(this.freeMotorCycleBays, numMotorCycles);
+		int motorCycleOverflow = takeUpTo(this.freeSmallCarBays, numMotorCycles - motorCycles);
+		int smallCars = takeUpTo(this.freeSmallCarBays, numSmallCars);
+		int smallCarOverflow = takeUpTo(this.freeCarBays, numSmallCars - smallCars);
+		// Reserved bays not yet taken by a parked vehicle, indexed by class of bay
+		int[] unused = { cars + smallCarOverflow, smallCars + motorCycleOverflow, motorCycles };
+		int parkedSmallCars = 0;
+		int parkedMotorCycles = 0;
+		int done = 0;
+		try {
+			if (cars < numCars || smallCars + smallCarOverflow < numSmallCars 
+					|| motorCycles + motorCycleOverflow < numMotorCycles) {
+				throw new SimulationException("No suitable spaces are available for the batch");
+			}
+			for (Vehicle v : vehicles) {
+				Integer bay;
+				if (v instanceof MotorCycle) {
+					bay = (parkedMotorCycles < motorCycles) ? MOTORCYCLE_BAY : SMALL_CAR_BAY;
+				} else if (isSmallCar(v)) {
+					bay = (parkedSmallCars < smallCars) ? SMALL_CAR_BAY : CAR_BAY;
+				} else {
+					bay = CAR_BAY;
+				}
+				v.enterParkedState(time, intendedDurations[done]);
+				this.parked.put(v, bay);
+				unused[bay]--;
+				done++;
+				if (v instanceof MotorCycle) {
+					parkedMotorCycles++;
+				} else if (isSmallCar(v)) {
+					parkedSmallCars++;
+				}
+				VehicleTransitionEvent.emit(v, v.wasQueued() ? "Q" : "N", "P", time);
+			}
+		} finally {
+			this.freeCarBays.addAndGet(unused[CAR_BAY]);
+			this.freeSmallCarBays.addAndGet(unused[SMALL_CAR_BAY]);
+			this.freeMotorCycleBays.addAndGet(unused[MOTORCYCLE_BAY]);
+			this.numCars.addAndGet(done - parkedSmallCars - parkedMotorCycles);
+			this.numSmallCars.addAndGet(parkedSmallCars);
+			this.numMotorCycles.addAndGet(parkedMotorCycles);
+		}
+	}
+	
+	/**
+	 * Atomic form of spacesAvailable followed by parkVehicle, for use when other gates may 
+	 * take the last space between the two calls. 
+	 * Includes transition via Vehicle.enterParkedState.
+	 * @param v Vehicle to be added 
+	 * @param time int holding current simulation time
+	 * @param intendedDuration int holding intended duration of stay 
+	 * @return true if v was parked, false if no suitable space was free
+	 * @throws VehicleException if vehicle not in the correct state or timing constraints are violated
+	 */
+	public boolean tryParkVehicle(Vehicle v, int time, int intendedDuration) throws VehicleException {
+		Integer bay = reserveBay(v);
+		if (bay == null) {
+			return false;
+		}
+		try {
+			v.enterParkedState(time, intendedDuration);
+		} catch (VehicleException e) {
+			releaseBay(bay);
+			throw e;
+		}
+		this.parked.put(v, bay);
+		occupancy(v).incrementAndGet();
+		VehicleTransitionEvent.emit(v, v.wasQueued() ? "Q" : "N", "P", time);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#processQueue(int, asgn2Simulators.Simulator)
+	 */
+	@Override
+	public void processQueue(int time, Simulator sim) throws VehicleException, SimulationException {
+		Vehicle head;
+		while ((head = this.waiting.peek()) != null && head.getArrivalTime() < time) {
+			Integer bay = reserveBay(head);
+			if (bay == null) {
+				return;
+			}
+			if (!this.waiting.remove(head)) {
+				// Another thread dequeued it first
+				releaseBay(bay);
+				continue;
+			}
+			this.queueSize.decrementAndGet();
+			head.exitQueuedState(time);
+			recordQueueWait(head);
+			head.enterParkedState(time, sim.setDuration());
+			this.parked.put(head, bay);
+			occupancy(head).incrementAndGet();
+			VehicleTransitionEvent.emit(head, "Q", "P", time);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#queueEmpty()
+	 */
+	@Override
+	public boolean queueEmpty() {
+		return this.queueSize.get() == 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#queueFull()
+	 */
+	@Override
+	public boolean queueFull() {
+		return this.queueSize.get() >= this.queueSpaces;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#spacesAvailable(asgn2Vehicles.Vehicle)
+	 */
+	@Override
+	public boolean spacesAvailable(Vehicle v) {
+		if (v instanceof MotorCycle) {
+			return this.freeMotorCycleBays.get() > 0 || this.freeSmallCarBays.get() > 0;
+		}
+		if (isSmallCar(v)) {
+			return this.freeSmallCarBays.get() > 0 || this.freeCarBays.get() > 0;
+		}
+		return this.freeCarBays.get() > 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#numParkable(asgn2Vehicles.Vehicle, int)
+	 */
+	@Override
+	public int numParkable(Vehicle v, int wanted) {
+		int free;
+		if (v instanceof MotorCycle) {
+			free = this.freeMotorCycleBays.get() + this.freeSmallCarBays.get();
+		} else if (isSmallCar(v)) {
+			free = this.freeSmallCarBays.get() + this.freeCarBays.get();
+		} else {
+			free = this.freeCarBays.get();
+		}
+		return Math.max(0, Math.min(wanted, free));
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#toString()
+	 */
+	@Override
+	public String toString() {
+		return initialState();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#tryProcessNewVehicles(int, asgn2Simulators.Simulator)
+	 */
+	@Override
+	public void tryProcessNewVehicles(int time, Simulator sim) throws VehicleException, SimulationException {
+		if (sim.isPoissonArrivals()) {
+			admitNewVehicles(time, sim, sim.newSmallCarArrivals(time), 
+					sim.newMotorCycleArrivals(time), sim.newCarArrivals(time));
+			return;
+		}
+		if (sim.smallCarTrial()) {
+			admit(new Car("S" + time, time, true), time, sim);
+		}
+		if (sim.motorCycleTrial()) {
+			admit(new MotorCycle("M" + time, time), time, sim);
+		}
+		if (sim.newCarTrial()) {
+			admit(new Car("C" + time, time, false), time, sim);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#admitNewVehicles(int, asgn2Simulators.Simulator, int, int, int)
+	 */
+	@Override
+	public void admitNewVehicles(int time, Simulator sim, int numSmallCars, int numMotorCycles, int numCars) 
+			throws VehicleException, SimulationException {
+		String vehID = "S" + time;
+		Vehicle[] batch = new Vehicle[Math.max(0, numSmallCars)];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = new Car(vehID, time, true);
+		}
+		admitBatch(batch, time, sim);
+		vehID = "M" + time;
+		batch = new Vehicle[Math.max(0, numMotorCycles)];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = new MotorCycle(vehID, time);
+		}
+		admitBatch(batch, time, sim);
+		vehID = "C" + time;
+		batch = new Vehicle[Math.max(0, numCars)];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = new Car(vehID, time, false);
+		}
+		admitBatch(batch, time, sim);
+	}
+	
+	/**
+	 * Parks, queues or turns away a batch of newly arrived vehicles of one type, with the 
+	 * same outcome as calling admit for each in turn. Bays and queue places for the whole 
+	 * batch are reserved by one compare-and-set on each counter, so the batch takes no more 
+	 * than its share when other gates are admitting at the same time. 
+	 * @param batch array of vehicles of one type which have just arrived 
+	 * @param time int holding current simulation time 
+	 * @param sim Simulator providing the intended stays 
+	 * @throws VehicleException if a vehicle is not in the correct state or timing constraints are violated 
+	 * @throws SimulationException if a vehicle cannot be archived
+	 */
+	private void admitBatch(Vehicle[] batch, int time, Simulator sim) throws VehicleException, SimulationException {
+		int n = batch.length;
+		if (n == 0) {
+			return;
+		}
+		this.numProcessed.addAndGet(n);
+		int i;
+		if (batch[0] instanceof MotorCycle) {
+			i = parkBatch(batch, 0, takeUpTo(this.freeMotorCycleBays, n), MOTORCYCLE_BAY, time, sim);
+			i = parkBatch(batch, i, takeUpTo(this.freeSmallCarBays, n - i), SMALL_CAR_BAY, time, sim);
+		} else if (isSmallCar(batch[0])) {
+			i = parkBatch(batch, 0, takeUpTo(this.freeSmallCarBays, n), SMALL_CAR_BAY, time, sim);
+			i = parkBatch(batch, i, takeUpTo(this.freeCarBays, n - i), CAR_BAY, time, sim);
+		} else {
+			i = parkBatch(batch, 0, takeUpTo(this.freeCarBays, n), CAR_BAY, time, sim);
+		}
+		int queued = acquireUpTo(this.queueSize, this.queueSpaces, n - i);
+		for (int j = i; j < i + queued; j++) {
+			batch[j].enterQueuedState();
+			VehicleTransitionEvent.emit(batch[j], "N", "Q", time);
+		}
+		this.waiting.addAll(Arrays.asList(batch).subList(i, i + queued));
+		if (i + queued < n) {
+			archiveNewVehicles(Arrays.asList(batch).subList(i + queued, n));
+		}
+	}
+	
+	/**
+	 * Helper to park part of a batch in bays already reserved. If a vehicle cannot be 
+	 * parked, the bays reserved for it and the rest of the part are released. 
+	 * @param batch array of vehicles of one type 
+	 * @param from int holding the index of the first vehicle to park 
+	 * @param count int holding the number of bays reserved 
+	 * @param bay Integer class of the reserved bays 
+	 * @param time int holding current simulation time 
+	 * @param sim Simulator providing the intended stays 
+	 * @return index of the first vehicle not parked
+	 * @throws VehicleException if a vehicle is not in the correct state or timing constraints are violated
+	 */
+	private int parkBatch(Vehicle[] batch, int from, int count, Integer bay, int time, Simulator sim) 
+			throws VehicleException {
+		int done = 0;
+		try {
+			for (; done < count; done++) {
+				Vehicle v = batch[from + done];
+				v.enterParkedState(time, sim.setDuration());
+				this.parked.put(v, bay);
+				VehicleTransitionEvent.emit(v, "N", "P", time);
+			}
+		} finally {
+			freeBays(bay).addAndGet(count - done);
+			if (done > 0) {
+				occupancy(batch[from]).addAndGet(done);
+			}
+		}
+		return from + done;
+	}
+	
+	/**
+	 * Parks, queues or turns away a newly arrived vehicle, in that order of preference. 
+	 * Safe to call from many gate threads at once. 
+	 * @param v Vehicle which has just arrived 
+	 * @param time int holding current simulation time 
+	 * @param sim Simulator providing the intended stay 
+	 * @throws VehicleException if vehicle not in the correct state or timing constraints are violated 
+	 * @throws SimulationException if the vehicle cannot be archived
+	 */
+	public void admit(Vehicle v, int time, Simulator sim) throws VehicleException, SimulationException {
+		this.numProcessed.incrementAndGet();
+		if (tryParkVehicle(v, time, sim.setDuration())) {
+			return;
+		}
+		if (tryAcquire(this.queueSize, this.queueSpaces)) {
+			v.enterQueuedState();
+			this.waiting.offer(v);
+			VehicleTransitionEvent.emit(v, "N", "Q", time);
+			return;
+		}
+		archiveNewVehicle(v);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#unparkVehicle(asgn2Vehicles.Vehicle, int)
+	 */
+	@Override
+	public void unparkVehicle(Vehicle v, int departureTime) throws VehicleException, SimulationException {
+		Integer bay = this.parked.remove(v);
+		if (bay == null) {
+			throw new SimulationException("Vehicle is not in the car park");
+		}
+		depart(v, bay, departureTime);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#unparkVehicles(java.util.List, int)
+	 */
+	@Override
+	public void unparkVehicles(List<? extends Vehicle> vehicles, int departureTime) 
+			throws VehicleException, SimulationException {
+		Vehicle[] batch = vehicles.toArray(new Vehicle[vehicles.size()]);
+		Integer[] bays = new Integer[batch.length];
+		int claimed = 0;
+		try {
+			for (; claimed < batch.length; claimed++) {
+				bays[claimed] = this.parked.remove(batch[claimed]);
+				if (bays[claimed] == null) {
+					throw new SimulationException("Vehicle is not in the car park");
+				}
+			}
+		} finally {
+			if (claimed < batch.length) {
+				for (int i = 0; i < claimed; i++) {
+					this.parked.put(batch[i], bays[i]);
+				}
+			}
+		}
+		departAll(batch, bays, departureTime);
+	}
+	
+	/**
+	 * Helper completing a departure once v has been claimed from the parked map 
+	 * @param v Vehicle departing 
+	 * @param bay Integer class of bay held by v 
+	 * @param departureTime int holding the departure time 
+	 * @throws VehicleException if the vehicle violates timing constraints; it then remains parked
+	 */
+	private void depart(Vehicle v, Integer bay, int departureTime) throws VehicleException {
+		try {
+			v.exitParkedState(departureTime);
+		} catch (VehicleException e) {
+			this.parked.put(v, bay);
+			throw e;
+		}
+		occupancy(v).decrementAndGet();
+		releaseBay(bay);
+		recordStay(v);
+		archive(v);
+		VehicleTransitionEvent.emit(v, "P", "A", departureTime);
+	}
+	
+	/**
+	 * Batch form of depart, with each counter updated and the archive appended to once 
+	 * @param batch array of vehicles claimed from the parked map 
+	 * @param bays Integer array holding the class of bay held by each vehicle 
+	 * @param departureTime int holding the departure time 
+	 * @throws VehicleException if a vehicle violates timing constraints; it and the vehicles 
+	 * 		   after it then remain parked
+	 */
+	private void departAll(Vehicle[] batch, Integer[] bays, int departureTime) throws VehicleException {
+		// Bays released, indexed by class of bay
+		int[] released = new int[3];
+		int smallCars = 0;
+		int motorCycles = 0;
+		int done = 0;
+		try {
+			for (; done < batch.length; done++) {
+				Vehicle v = batch[done];
+				v.exitParkedState(departureTime);
+				released[bays[done]]++;
+				if (v instanceof MotorCycle) {
+					motorCycles++;
+				} else if (isSmallCar(v)) {
+					smallCars++;
+				}
+				recordStay(v);
+				VehicleTransitionEvent.emit(v, "P", "A", departureTime);
+			}
+		} finally {
+			for (int i = done; i < batch.length; i++) {
+				this.parked.put(batch[i], bays[i]);
+			}
+			this.numCars.addAndGet(smallCars + motorCycles - done);
+			this.numSmallCars.addAndGet(-smallCars);
+			this.numMotorCycles.addAndGet(-motorCycles);
+			this.freeCarBays.addAndGet(released[CAR_BAY]);
+			this.freeSmallCarBays.addAndGet(released[SMALL_CAR_BAY]);
+			this.freeMotorCycleBays.addAndGet(released[MOTORCYCLE_BAY]);
+			archiveAll(Arrays.asList(batch).subList(0, done));
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#recordQueueWait(asgn2Vehicles.Vehicle)
+	 */
+	@Override
+	void recordQueueWait(Vehicle v) {
+		this.localHistograms.get()[0].record(v.getExitQueueTime() - v.getArrivalTime());
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#recordStay(asgn2Vehicles.Vehicle)
+	 */
+	@Override
+	void recordStay(Vehicle v) {
+		this.localHistograms.get()[1].record(v.getDepartureTime() - v.getParkingTime());
+	}
+	
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#mergeQueueWaitsInto(asgn2Statistics.LogHistogram)
+	 */
+	@Override
+	void mergeQueueWaitsInto(LogHistogram target) {
+		mergeHistograms(0, target);
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#mergeStaysInto(asgn2Statistics.LogHistogram)
+	 */
+	@Override
+	void mergeStaysInto(LogHistogram target) {
+		mergeHistograms(1, target);
+	}
+	
+	/**
+	 * Helper to merge one kind of per thread histogram. Gate threads are not stopped, so 
+	 * the result is only exact once they are quiet. 
+	 * @param kind int holding 0 for queue waits or 1 for stays 
+	 * @param target LogHistogram to receive the counts of every gate thread
+	 */
+	private void mergeHistograms(int kind, LogHistogram target) {
+		for (LogHistogram[] h : this.histograms) {
+			target.merge(h[kind]);
+		}
+	}
+	
+	/**
+	 * Helper to add a vehicle to the archive 
+	 * @param v Vehicle to be archived
+	 */
+	private void archive(Vehicle v) {
+		synchronized (this.statistics) {
+			this.statistics.record(v);
+		}
+		if (this.retainArchive) {
+			this.archive.offer(v);
+		}
+		this.numArchived.incrementAndGet();
+	}
+	
+	/* (non-Javadoc)
+	 * @see asgn2CarParks.CarPark#archiveAll(java.util.List)
+	 */
+	@Override
+	void archiveAll(List<? extends Vehicle> vehicles) {
+		synchronized (this.statistics) {
+			for (Vehicle v : vehicles) {
+				this.statistics.record(v);
+			}
+		}
+		if (this.retainArchive) {
+			this.archive.addAll(vehicles);
+		}
+		this.numArchived.addAndGet(vehicles.size());
+	}
+	
+	/**
+	 * Helper to reserve a bay for v under the parking policy in the class header 
+	 * @param v Vehicle wanting to park 
+	 * @return Integer class of the reserved bay, or null if none is free
+	 */
+	private Integer reserveBay(Vehicle v) {
+		if (v instanceof MotorCycle) {
+			if (tryTake(this.freeMotorCycleBays)) {
+				return MOTORCYCLE_BAY;
+			}
+			return tryTake(this.freeSmallCarBays) ? SMALL_CAR_BAY : null;
+		}
+		if (isSmallCar(v) && tryTake(this.freeSmallCarBays)) {
+			return SMALL_CAR_BAY;
+		}
+		return tryTake(this.freeCarBays) ? CAR_BAY : null;
+	}
+	
+	/**
+	 * Helper to return a bay to its free counter 
+	 * @param bay Integer class of bay being released
+	 */
+	private void releaseBay(Integer bay) {
+		freeBays(bay).incrementAndGet();
+	}
+	
+	/**
+	 * Helper giving the free counter for a class of bay 
+	 * @param bay Integer class of bay 
+	 * @return AtomicInteger holding the number of free bays of that class
+	 */
+	private AtomicInteger freeBays(Integer bay) {
+		if (bay == CAR_BAY) {
+			return this.freeCarBays;
+		}
+		return (bay == SMALL_CAR_BAY) ? this.freeSmallCarBays : this.freeMotorCycleBays;
+	}
+	
+	/**
+	 * Helper giving the occupancy counter for the type of v 
+	 * @param v Vehicle of interest 
+	 * @return AtomicInteger counting vehicles of that type
+	 */
+	private AtomicInteger occupancy(Vehicle v) {
+		if (v instanceof MotorCycle) {
+			return this.numMotorCycles;
+		}
+		return isSmallCar(v) ? this.numSmallCars : this.numCars;
+	}
+	
+	/**
+	 * Helper to decrement a free counter only if it is positive 
+	 * @param free AtomicInteger holding the number of free bays 
+	 * @return true if a bay was taken, false if none were free
+	 */
+	private static boolean tryTake(AtomicInteger free) {
+		int n;
+		do {
+			n = free.get();
+			if (n <= 0) {
+				return false;
+			}
+		} while (!free.compareAndSet(n, n - 1));
+		return true;
+	}
+	
+	/**
+	 * Helper to take up to wanted bays from a free counter in one step 
+	 * @param free AtomicInteger holding the number of free bays 
+	 * @param wanted int holding the number of bays wanted 
+	 * @return number of bays taken, between 0 and wanted
+	 */
+	private static int takeUpTo(AtomicInteger free, int wanted) {
+		int n;
+		int taken;
+		do {
+			n = free.get();
+			taken = Math.min(wanted, n);
+			if (taken <= 0) {
+				return 0;
+			}
+		} while (!free.compareAndSet(n, n - taken));
+		return taken;
+	}
+	
+	/**
+	 * Helper to add up to wanted places to a counter in one step, without passing a limit 
+	 * @param used AtomicInteger holding the number of places in use 
+	 * @param limit int holding the number of places 
+	 * @param wanted int holding the number of places wanted 
+	 * @return number of places taken, between 0 and wanted
+	 */
+	private static int acquireUpTo(AtomicInteger used, int limit, int wanted) {
+		int n;
+		int taken;
+		do {
+			n = used.get();
+			taken = Math.min(wanted, limit - n);
+			if (taken <= 0) {
+				return 0;
+			}
+		} while (!used.compareAndSet(n, n + taken));
+		return taken;
+	}
+	
+	/**
+	 * Helper to increment a counter only if it is below a limit 
+	 * @param used AtomicInteger holding the number of places in use 
+	 * @param limit int holding the number of places 
+	 * @return true if a place was taken, false if all were in use
+	 */
+	private static boolean tryAcquire(AtomicInteger used, int limit) {
+		int n;
+		do {
+			n = used.get();
+			if (n >= limit) {
+				return false;
+			}
+		} while (!used.compareAndSet(n, n + 1));
+		return true;
+	}
+	
+	/**
+	 * Helper to identify small cars 
+	 * @param v Vehicle of interest 
+	 * @return true if v is a small Car, false otherwise
+	 */
+	private static boolean isSmallCar(Vehicle v) {
+		return (v instanceof Car) && ((Car) v).isSmall();
+	}
+	
+	/**
+	 * Helper giving the status letter for a vehicle 
+	 * @param v Vehicle of interest 
+	 * @return 'S', 'C' or 'M'
+	 */
+	private static char vehicleType(Vehicle v) {
+		if (v instanceof MotorCycle) {
+			return 'M';
+		}
+		return isSmallCar(v) ? 'S' : 'C';
+	}
+	
+	/**
+	 * Helper refusing a queue exit which the vehicle's transition would reject, before the 
+	 * vehicle is claimed, so that it keeps its place in the queue 
+	 * @param v Vehicle leaving the queue 
+	 * @param exitTime int time at which the vehicle leaves 
+	 * @throws VehicleException if exitTime is not later than the vehicle's arrival
+	 */
+	private static void checkQueueExit(Vehicle v, int exitTime) throws VehicleException {
+		if (exitTime <= v.getArrivalTime()) {
+			throw new VehicleException("This vehicle is exiting at the same time or before the arrival.");
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+/**
+ * Plain copy of the occupancy counters of a CarPark at one time step, as read from an 
+ * OccupancyPublisher. Instances are owned by the reader and may be reused between reads. 
+ * @author hogan
+ *
+ */
+public class Occupancy {
+	
+	int time;
+	int numCars;
+	int numSmallCars;
+	int numMotorCycles;
+	int queueLength;
+	int numDissatisfied;
+	long version;
+
+	/**
+	 * @return the time step at which the counters were published
+	 */
+	public int getTime() {
+		return this.time;
+	}
+
+	/**
+	 * @return the number of normal cars in the car park, not including small cars
+	 */
+	public int getNumCars() {
+		return this.numCars;
+	}
+
+	/**
+	 * @return the number of small cars in the car park
+	 */
+	public int getNumSmallCars() {
+		return this.numSmallCars;
+	}
+
+	/**
+	 * @return the number of motorcycles in the car park
+	 */
+	public int getNumMotorCycles() {
+		return this.numMotorCycles;
+	}
+
+	/**
+	 * @return the number of vehicles in the queue
+	 */
+	public int getQueueLength() {
+		return this.queueLength;
+	}
+
+	/**
+	 * @return the number of dissatisfied customers so far
+	 */
+	public int getNumDissatisfied() {
+		return this.numDissatisfied;
+	}
+
+	/**
+	 * Number of publications made before this copy was read; unchanged values between two 
+	 * reads mean nothing has been published in between 
+	 * @return the publication count
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Occupancy [time=" + time + ", numCars=" + numCars 
+				+ ", numSmallCars=" + numSmallCars + ", numMotorCycles=" + numMotorCycles 
+				+ ", queueLength=" + queueLength + ", numDissatisfied=" + numDissatisfied + "]";
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Publishes the occupancy counters of a running CarPark so that dashboards, the GUI and 
+ * metrics scrapers can poll them from other threads. 
+ * 
+ * The counters are guarded by a seqlock, in the form of the optimistic read mode of 
+ * StampedLock. The simulation thread writes all counters inside a short write section and 
+ * never allocates. Readers take no lock at all: they copy the counters, then validate the 
+ * stamp and retry if a write overlapped, so any number of readers can poll at any rate 
+ * without ever delaying the writer, and every copy they obtain is consistent. 
+ * @author hogan
+ *
+ */
+public class OccupancyPublisher {
+	
+	private final StampedLock seqlock = new StampedLock();
+	
+	private int time;
+	private int numCars;
+	private int numSmallCars;
+	private int numMotorCycles;
+	private int queueLength;
+	private int numDissatisfied;
+	private long version;
+	
+	/**
+	 * Publishes a new set of counters. Intended for the thread running the simulation. 
+	 * @param time int holding current simulation time 
+	 * @param numCars int holding the number of normal cars parked, not including small cars 
+	 * @param numSmallCars int holding the number of small cars parked 
+	 * @param numMotorCycles int holding the number of motorcycles parked 
+	 * @param queueLength int holding the number of vehicles queued 
+	 * @param numDissatisfied int holding the number of dissatisfied customers so far
+	 */
+	public void publish(int time, int numCars, int numSmallCars, int numMotorCycles, 
+			int queueLength, int numDissatisfied) {
+		long stamp = this.seqlock.writeLock();
+		try {
+			this.time = time;
+			this.numCars = numCars;
+			this.numSmallCars = numSmallCars;
+			this.numMotorCycles = numMotorCycles;
+			this.queueLength = queueLength;
+			this.numDissatisfied = numDissatisfied;
+			this.version++;
+		} finally {
+			this.seqlock.unlockWrite(stamp);
+		}
+	}
+	
+	/**
+	 * Copies the most recently published counters into target without locking, retrying 
+	 * while a publication is in progress 
+	 * @param target Occupancy to receive the counters
+	 * @return target, for convenience
+	 */
+	public Occupancy read(Occupancy target) {
+		while (true) {
+			long stamp = this.seqlock.tryOptimisticRead();
+			if (stamp != 0) {
+				target.time = this.time;
+				target.numCars = this.numCars;
+				target.numSmallCars = this.numSmallCars;
+				target.numMotorCycles = this.numMotorCycles;
+				target.queueLength = this.queueLength;
+				target.numDissatisfied = this.numDissatisfied;
+				target.version = this.version;
+				if (this.seqlock.validate(stamp)) {
+					return target;
+				}
+			}
+			Thread.onSpinWait();
+		}
+	}
+	
+	/**
+	 * Convenience form of {@link #read(Occupancy) read} which allocates the copy 
+	 * @return Occupancy holding the most recently published counters
+	 */
+	public Occupancy read() {
+		return read(new Occupancy());
+	}
+}
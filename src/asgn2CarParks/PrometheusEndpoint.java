@@ -0,0 +1,401 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import asgn2Simulators.SimulationRunnerMetrics;
+import asgn2Statistics.LogHistogram;
+
+/**
+ * Embedded HTTP endpoint serving car park metrics in the Prometheus text exposition format
+ * at http://127.0.0.1:port/metrics. It is built on the JDK's com.sun.net.httpserver and
+ * listens on the loopback interface only.
+ *
+ * Each registered car park contributes occupancy gauges per class of vehicle and the queue
+ * length, counters of processed, dissatisfied and archived vehicles, and histograms of queue
+ * waits and stays in minutes, all labelled with the car park's name. The JVM wide runner
+ * counters of SimulationRunnerMetrics are served alongside.
+ *
+ * Each metric family is written as a whole, its HELP and TYPE lines followed by a sample for
+ * every car park, as the exposition format requires. Every car park is therefore read once
+ * into its Source at the start of a scrape, and the families are then written from those
+ * readings.
+ *
+ * Scrapes are answered on the server's single dispatcher thread from buffers allocated up
+ * front: metric names and labels are encoded once at registration, numbers are written as
+ * ASCII digits straight into a reused byte array, and the histograms are copied into
+ * scratch histograms. Car park state is read through the lock free OccupancyPublisher (or
+ * the atomics of a ConcurrentCarPark), and histogram counts are read without locking, so a
+ * scrape never blocks the simulation; the price is that a histogram scraped mid-tick may be
+ * off by the vehicles recorded during the scrape.
+ *
+ * @author hogan
+ *
+ */
+public class PrometheusEndpoint implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 9370;
+	public static final String PATH = "/metrics";
+	public static final String PORT_PROPERTY = "simulation.metrics.port";
+
+	// Histogram bucket bounds in minutes; the final bound stands for +Inf
+	private static final long[] BUCKETS = { 1, 2, 5, 10, 15, 20, 30, 45, 60, 90, 120, 180, 240, 360, 480,
+			Long.MAX_VALUE };
+	private static final int INITIAL_BUFFER = 16 * 1024;
+
+	// Indices of the readings held by each Source, in the order their families are written
+	private static final int CARS = 0;
+	private static final int SMALL_CARS = 1;
+	private static final int MOTORCYCLES = 2;
+	private static final int QUEUE = 3;
+	private static final int DISSATISFIED = 4;
+	private static final int ARCHIVED = 5;
+	private static final int PROCESSED = 6;
+	private static final int WAIT = 0;
+	private static final int STAY = 1;
+
+	private final HttpServer server;
+	// Replaced as a whole on registration, so a scrape reads one array throughout
+	private volatile Source[] sources = new Source[0];
+
+	// Scratch space, used only on the dispatcher thread
+	private final Occupancy occupancy = new Occupancy();
+	private final LogHistogram histogram = new LogHistogram();
+	private byte[] buffer = new byte[INITIAL_BUFFER];
+	private int length = 0;
+
+	/**
+	 * A registered car park with its label encoded once, and its readings for the scrape
+	 * in progress, which only the dispatcher thread touches
+	 */
+	private static class Source {
+		final CarPark carPark;
+		final byte[] labels;
+		final byte[][] bucketLabels = new byte[BUCKETS.length][];
+		final long[] values = new long[Text.VALUES.length];
+		final long[][] buckets = new long[Text.HISTOGRAMS.length][BUCKETS.length];
+		final long[] sums = new long[Text.HISTOGRAMS.length];
+		final long[] counts = new long[Text.HISTOGRAMS.length];
+
+		Source(CarPark carPark, String name) {
+			this.carPark = carPark;
+			String escaped = name.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+			this.labels = ascii("{carpark=\"" + escaped + "\"} ");
+			for (int i = 0; i < BUCKETS.length; i++) {
+				String le = (BUCKETS[i] == Long.MAX_VALUE) ? "+Inf" : Long.toString(BUCKETS[i]);
+				this.bucketLabels[i] = ascii("{carpark=\"" + escaped + "\",le=\"" + le + "\"} ");
+			}
+		}
+	}
+
+	/**
+	 * Constructor binds the endpoint on the loopback interface and starts serving
+	 * @param port int holding the port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public PrometheusEndpoint(int port) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.server.createContext(PATH, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				scrape(exchange);
+			}
+		});
+		this.server.start();
+	}
+
+	/**
+	 * Adds a car park to the metrics served
+	 * @param name String used as the carpark label
+	 * @param carPark CarPark to be reported
+	 */
+	public synchronized void register(String name, CarPark carPark) {
+		Source[] grown = Arrays.copyOf(this.sources, this.sources.length + 1);
+		grown[grown.length - 1] = new Source(carPark, name);
+		this.sources = grown;
+	}
+
+	/**
+	 * Simple getter for the bound port
+	 * @return local port of the endpoint
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops serving at once
+	 */
+	@Override
+	public void close() {
+		this.server.stop(0);
+	}
+
+	/**
+	 * Renders the current metrics into the internal buffer. Only called on the dispatcher thread.
+	 * @return number of bytes rendered
+	 */
+	int render() {
+		this.length = 0;
+		Source[] sources = this.sources;
+		for (Source s : sources) {
+			read(s);
+		}
+		for (int i = 0; i < Text.VALUES.length; i++) {
+			family(Text.VALUES[i], sources, i);
+		}
+		for (int i = 0; i < Text.HISTOGRAMS.length; i++) {
+			histogramFamily(Text.HISTOGRAMS[i], sources, i);
+		}
+		SimulationRunnerMetrics runner = SimulationRunnerMetrics.get();
+		counter(Text.TICKS, runner.getTicks());
+		counter(Text.VEHICLES, runner.getVehiclesProcessed());
+		counter(Text.RUNS_STARTED, runner.getRunsStarted());
+		counter(Text.RUNS_COMPLETED, runner.getRunsCompleted());
+		return this.length;
+	}
+
+	/**
+	 * Simple getter for the rendered bytes, valid until the next render
+	 * @return String copy of the last rendering, for diagnostics and tests
+	 */
+	String rendered() {
+		return new String(this.buffer, 0, this.length, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Helper to answer one scrape
+	 * @param exchange HttpExchange of the request
+	 * @throws IOException if the response cannot be sent
+	 */
+	private void scrape(HttpExchange exchange) throws IOException {
+		try {
+			int n = render();
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, n);
+			OutputStream out = exchange.getResponseBody();
+			out.write(this.buffer, 0, n);
+			out.close();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Helper to read the metrics of one car park into its Source
+	 * @param s Source to be read
+	 */
+	private void read(Source s) {
+		CarPark cp = s.carPark;
+		long[] v = s.values;
+		if (cp instanceof ConcurrentCarPark) {
+			v[CARS] = cp.getNumCars();
+			v[SMALL_CARS] = cp.getNumSmallCars();
+			v[MOTORCYCLES] = cp.getNumMotorCycles();
+			v[QUEUE] = cp.numVehiclesInQueue();
+			v[DISSATISFIED] = cp.getNumDissatisfied();
+		} else {
+			cp.getOccupancyPublisher().read(this.occupancy);
+			v[CARS] = this.occupancy.getNumCars();
+			v[SMALL_CARS] = this.occupancy.getNumSmallCars();
+			v[MOTORCYCLES] = this.occupancy.getNumMotorCycles();
+			v[QUEUE] = this.occupancy.getQueueLength();
+			v[DISSATISFIED] = this.occupancy.getNumDissatisfied();
+		}
+		v[ARCHIVED] = cp.getNumArchived();
+		v[PROCESSED] = cp.getNumProcessed();
+		this.histogram.reset();
+		cp.mergeQueueWaitsInto(this.histogram);
+		readHistogram(s, WAIT);
+		this.histogram.reset();
+		cp.mergeStaysInto(this.histogram);
+		readHistogram(s, STAY);
+	}
+
+	/**
+	 * Helper to keep the scratch histogram's buckets, sum and count in a Source
+	 * @param s Source to keep them in
+	 * @param h int holding the index of the histogram, WAIT or STAY
+	 */
+	private void readHistogram(Source s, int h) {
+		this.histogram.cumulativeCounts(BUCKETS, s.buckets[h]);
+		s.sums[h] = this.histogram.getSum();
+		s.counts[h] = this.histogram.getTotalCount();
+	}
+
+	/**
+	 * Helper to render a labelled gauge or counter family: its header once, then the
+	 * reading of every car park
+	 * @param names byte arrays of the HELP/TYPE header and the metric name
+	 * @param sources array of Source read for this scrape
+	 * @param value int holding the index of the reading
+	 */
+	private void family(byte[][] names, Source[] sources, int value) {
+		put(names[0]);
+		for (Source s : sources) {
+			put(names[1]);
+			put(s.labels);
+			putLong(s.values[value]);
+			putByte('\n');
+		}
+	}
+
+	/**
+	 * Helper to render a histogram family: its header once, then the buckets, sum and
+	 * count of every car park
+	 * @param names byte arrays of the HELP/TYPE header and the bucket, sum and count names
+	 * @param sources array of Source read for this scrape
+	 * @param h int holding the index of the histogram, WAIT or STAY
+	 */
+	private void histogramFamily(byte[][] names, Source[] sources, int h) {
+		put(names[0]);
+		for (Source s : sources) {
+			for (int i = 0; i < BUCKETS.length; i++) {
+				put(names[1]);
+				put(s.bucketLabels[i]);
+				putLong(s.buckets[h][i]);
+				putByte('\n');
+			}
+			put(names[2]);
+			put(s.labels);
+			putLong(s.sums[h]);
+			putByte('\n');
+			put(names[3]);
+			put(s.labels);
+			putLong(s.counts[h]);
+			putByte('\n');
+		}
+	}
+
+	/**
+	 * Helper to render an unlabelled counter with its header
+	 * @param names byte arrays of the HELP/TYPE header and the metric name
+	 * @param value long holding the value
+	 */
+	private void counter(byte[][] names, long value) {
+		put(names[0]);
+		put(names[1]);
+		putByte(' ');
+		putLong(value);
+		putByte('\n');
+	}
+
+	/**
+	 * Helper to append bytes, growing the buffer only if a rendering outgrows it
+	 * @param bytes byte array to append
+	 */
+	private void put(byte[] bytes) {
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, this.buffer, this.length, bytes.length);
+		this.length += bytes.length;
+	}
+
+	/**
+	 * Helper to append one ASCII character
+	 * @param c char to append
+	 */
+	private void putByte(char c) {
+		ensure(1);
+		this.buffer[this.length++] = (byte) c;
+	}
+
+	/**
+	 * Helper to append a number as ASCII digits without creating a String
+	 * @param value long to append
+	 */
+	private void putLong(long value) {
+		ensure(20);
+		if (value < 0) {
+			this.buffer[this.length++] = '-';
+			value = -value;
+		}
+		int start = this.length;
+		do {
+			this.buffer[this.length++] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+		// Digits were written least significant first
+		for (int i = start, j = this.length - 1; i < j; i++, j--) {
+			byte t = this.buffer[i];
+			this.buffer[i] = this.buffer[j];
+			this.buffer[j] = t;
+		}
+	}
+
+	/**
+	 * Helper to make room in the buffer
+	 * @param n int holding the number of bytes about to be appended
+	 */
+	private void ensure(int n) {
+		if (this.length + n > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(2 * this.buffer.length, this.length + n));
+		}
+	}
+
+	/**
+	 * Helper to encode fixed text
+	 * @param s String of ASCII text
+	 * @return byte array of the text
+	 */
+	private static byte[] ascii(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Metric names and headers, encoded once
+	 */
+	private static class Text {
+		static final byte[][] CARS = gauge("carpark_cars", "Normal cars parked, not including small cars");
+		static final byte[][] SMALL_CARS = gauge("carpark_small_cars", "Small cars parked");
+		static final byte[][] MOTORCYCLES = gauge("carpark_motorcycles", "Motorcycles parked");
+		static final byte[][] QUEUE = gauge("carpark_queue_length", "Vehicles queued");
+		static final byte[][] DISSATISFIED = counter("carpark_dissatisfied_total", "Dissatisfied customers");
+		static final byte[][] ARCHIVED = counter("carpark_archived_total", "Vehicles archived");
+		static final byte[][] PROCESSED = counter("carpark_processed_total", "Vehicles arrived");
+		static final byte[][] WAIT = histogram("carpark_queue_wait_minutes", "Time from arrival to leaving the queue");
+		static final byte[][] STAY = histogram("carpark_stay_minutes", "Time from parking to departure");
+		static final byte[][] TICKS = counter("simulation_ticks_total", "Time steps completed by all runners");
+		static final byte[][] VEHICLES = counter("simulation_vehicles_processed_total", "Vehicles created by all runners");
+		static final byte[][] RUNS_STARTED = counter("simulation_runs_started_total", "Simulation runs started");
+		static final byte[][] RUNS_COMPLETED = counter("simulation_runs_completed_total", "Simulation runs completed");
+
+		// Labelled families in the order of the Source reading indices
+		static final byte[][][] VALUES = { CARS, SMALL_CARS, MOTORCYCLES, QUEUE, DISSATISFIED, ARCHIVED, PROCESSED };
+		static final byte[][][] HISTOGRAMS = { WAIT, STAY };
+
+		static byte[][] gauge(String name, String help) {
+			return new byte[][] { header(name, help, "gauge"), ascii(name) };
+		}
+
+		static byte[][] counter(String name, String help) {
+			return new byte[][] { header(name, help, "counter"), ascii(name) };
+		}
+
+		static byte[][] histogram(String name, String help) {
+			return new byte[][] { header(name, help, "histogram"), ascii(name + "_bucket"),
+					ascii(name + "_sum"), ascii(name + "_count") };
+		}
+
+		static byte[] header(String name, String help, String type) {
+			return ascii("# HELP " + name + " " + help + "\n# TYPE " + name + " " + type + "\n");
+		}
+	}
+}
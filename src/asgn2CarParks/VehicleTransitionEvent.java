@@ -0,0 +1,85 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2CarParks 
+ * 18/10/2026
+ * 
+ */
+package asgn2CarParks;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import asgn2Vehicles.Car;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * JDK Flight Recorder event for one vehicle transition, using the same codes as the 
+ * car park status messages: vehicle type S, C or M, and states N (new), Q (queued), 
+ * P (parked) and A (archived). 
+ * 
+ * The event is disabled unless a recording enables asgn2.VehicleTransition, and 
+ * {@link #emit(Vehicle, String, String, int) emit} then returns after a single check, 
+ * so CarPark may call it on every transition. Stack traces are off by default to keep 
+ * recordings small. 
+ * 
+ * @author hogan
+ *
+ */
+@Name("asgn2.VehicleTransition")
+@Label("Vehicle Transition")
+@Category({ "CarParkSimulator" })
+@Description("A vehicle moving between the new, queued, parked and archived states")
+@StackTrace(false)
+public class VehicleTransitionEvent extends Event {
+
+	private static final EventType TYPE = EventType.getEventType(VehicleTransitionEvent.class);
+	
+	@Label("Vehicle ID")
+	String vehID;
+	
+	@Label("Vehicle Type")
+	@Description("S for small car, C for car, M for motorcycle")
+	String vehicleType;
+	
+	@Label("From")
+	String source;
+	
+	@Label("To")
+	String target;
+	
+	@Label("Simulation Time")
+	int simulationTime;
+	
+	/**
+	 * Records a transition if the event is enabled in a running recording 
+	 * @param v Vehicle making the transition 
+	 * @param source String holding the starting state (N, Q or P) 
+	 * @param target String holding the finishing state (Q, P or A) 
+	 * @param time int holding the simulation time of the transition
+	 */
+	static void emit(Vehicle v, String source, String target, int time) {
+		if (!TYPE.isEnabled()) {
+			return;
+		}
+		VehicleTransitionEvent e = new VehicleTransitionEvent();
+		e.vehID = v.getVehID();
+		if (v instanceof Car) {
+			e.vehicleType = ((Car) v).isSmall() ? "S" : "C";
+		} else {
+			e.vehicleType = "M";
+		}
+		e.source = source;
+		e.target = target;
+		e.simulationTime = time;
+		e.commit();
+	}
+}
@@ -0,0 +1,220 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Time of day arrival rates for each class of vehicle, for days with morning and evening peaks.
+ * A profile is a short table of segments, each giving the minute at which it starts and the mean
+ * arrivals per minute of normal cars, small cars and motorcycles from then until the next segment
+ * starts. The first segment starts at minute 0 and the last runs to the end of the day.
+ *
+ * The table is read by {@link #load(Reader) load} from lines of the form
+ * <pre>
+ * # minute car smallCar motorCycle
+ * 0    0.5 0.1 0.02
+ * 420  4.0 0.8 0.15
+ * 600  1.5 0.3 0.05
+ * </pre>
+ * with fields separated by commas or white space, and blank lines and # comments ignored.
+ *
+ * Arrivals in a profile form a Poisson process whose intensity changes at the segment starts.
+ * As segments start on whole minutes, the count in any one minute is Poisson with the rate of
+ * the segment containing it, so the table is expanded once into rates per minute, and each
+ * minute costs one lookup and one Poisson draw however sharp the peaks.
+ *
+ * @author hogan
+ *
+ */
+public class ArrivalProfile {
+
+	/**
+	 * Classes of vehicle with their own arrival rates
+	 */
+	public enum VehicleClass {
+		CAR, SMALL_CAR, MOTORCYCLE
+	}
+
+	// System property naming a profile file used by SimulationRunner.main
+	public static final String PROFILE_PROPERTY = "simulation.arrivals.profile";
+
+	private final int[] starts;
+	private final double[][] segmentRates;
+	// Rate in each minute of the day, and arrivals expected before each minute, by class
+	private final double[][] rates;
+	private final double[][] cumulative;
+
+	/**
+	 * Constructor for ArrivalProfile from its segments
+	 * @param starts int array holding the first minute of each segment, starting from 0 and increasing
+	 * @param carRates double array holding the mean normal car arrivals per minute in each segment
+	 * @param smallCarRates double array holding the mean small car arrivals per minute in each segment
+	 * @param motorCycleRates double array holding the mean motorcycle arrivals per minute in each segment
+	 * @throws SimulationException if there are no segments, the arrays differ in length, the starts
+	 * 		   do not begin at 0 and increase, or a rate is negative or not finite
+	 */
+	public ArrivalProfile(int[] starts, double[] carRates, double[] smallCarRates,
+			double[] motorCycleRates) throws SimulationException {
+		int n = starts.length;
+		if (n == 0 || carRates.length != n || smallCarRates.length != n || motorCycleRates.length != n) {
+			throw new SimulationException(" Arrival profile needs one start and three rates per segment");
+		}
+		if (starts[0] != 0) {
+			throw new SimulationException(" Arrival profile must start at minute 0");
+		}
+		for (int i = 1; i < n; i++) {
+			if (starts[i] <= starts[i - 1]) {
+				throw new SimulationException(" Arrival profile starts must increase");
+			}
+		}
+		this.starts = starts.clone();
+		this.segmentRates = new double[][] { carRates.clone(), smallCarRates.clone(), motorCycleRates.clone() };
+		for (double[] r : this.segmentRates) {
+			for (double rate : r) {
+				if (!(rate >= 0.0) || Double.isInfinite(rate)) {
+					throw new SimulationException(" Invalid arrival rate " + rate);
+				}
+			}
+		}
+		int minutes = Math.max(Constants.CLOSING_TIME, this.starts[n - 1]) + 1;
+		this.rates = new double[VehicleClass.values().length][minutes];
+		this.cumulative = new double[VehicleClass.values().length][minutes + 1];
+		for (int c = 0; c < this.rates.length; c++) {
+			int segment = 0;
+			for (int t = 0; t < minutes; t++) {
+				if (segment + 1 < n && t >= this.starts[segment + 1]) {
+					segment++;
+				}
+				this.rates[c][t] = this.segmentRates[c][segment];
+				this.cumulative[c][t + 1] = this.cumulative[c][t] + this.rates[c][t];
+			}
+		}
+	}
+
+	/**
+	 * Reads a profile from a table in the form given in the class header
+	 * @param in Reader supplying the table; it is not closed
+	 * @return ArrivalProfile holding the segments read
+	 * @throws IOException if the table cannot be read
+	 * @throws SimulationException if a line is malformed or the segments are invalid
+	 */
+	public static ArrivalProfile load(Reader in) throws IOException, SimulationException {
+		BufferedReader lines = new BufferedReader(in);
+		List<String[]> rows = new ArrayList<String[]>();
+		String line;
+		int lineNumber = 0;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			int comment = line.indexOf('#');
+			if (comment >= 0) {
+				line = line.substring(0, comment);
+			}
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			String[] fields = line.split("[,\\s]+");
+			if (fields.length != 4) {
+				throw new SimulationException(" Arrival profile line " + lineNumber
+						+ " needs a minute and three rates");
+			}
+			rows.add(fields);
+		}
+		int n = rows.size();
+		int[] starts = new int[n];
+		double[][] r = new double[VehicleClass.values().length][n];
+		try {
+			for (int i = 0; i < n; i++) {
+				String[] fields = rows.get(i);
+				starts[i] = Integer.parseInt(fields[0]);
+				for (int c = 0; c < r.length; c++) {
+					r[c][i] = Double.parseDouble(fields[c + 1]);
+				}
+			}
+		} catch (NumberFormatException e) {
+			throw new SimulationException(" Invalid number in arrival profile: " + e.getMessage());
+		}
+		return new ArrivalProfile(starts, r[0], r[1], r[2]);
+	}
+
+	/**
+	 * Mean arrivals in the minute starting at a given time
+	 * @param vehicleClass VehicleClass of interest
+	 * @param minute int holding the time of day
+	 * @return mean arrivals per minute of the segment containing minute
+	 */
+	public double getRate(VehicleClass vehicleClass, int minute) {
+		double[] r = this.rates[vehicleClass.ordinal()];
+		return r[Math.max(0, Math.min(minute, r.length - 1))];
+	}
+
+	/**
+	 * Mean number of arrivals in the minutes from up to but not including to, being the
+	 * cumulative intensity of the profile over those minutes
+	 * @param vehicleClass VehicleClass of interest
+	 * @param from int holding the first minute
+	 * @param to int holding the minute after the last
+	 * @return expected arrivals, or 0 if to <= from
+	 */
+	public double getExpectedArrivals(VehicleClass vehicleClass, int from, int to) {
+		if (to <= from) {
+			return 0.0;
+		}
+		return cumulativeIntensity(vehicleClass, to) - cumulativeIntensity(vehicleClass, from);
+	}
+
+	/**
+	 * Simple getter for the number of segments in the table
+	 * @return number of segments
+	 */
+	public int getNumSegments() {
+		return this.starts.length;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("# minute car smallCar motorCycle\n");
+		for (int i = 0; i < this.starts.length; i++) {
+			str.append(String.format(Locale.ROOT, "%d %s %s %s\n", this.starts[i],
+					this.segmentRates[0][i], this.segmentRates[1][i], this.segmentRates[2][i]));
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Helper giving the expected arrivals before a given minute
+	 * @param vehicleClass VehicleClass of interest
+	 * @param minute int holding the time of day
+	 * @return expected arrivals in the minutes from 0 to minute - 1
+	 */
+	private double cumulativeIntensity(VehicleClass vehicleClass, int minute) {
+		double[] cum = this.cumulative[vehicleClass.ordinal()];
+		if (minute <= 0) {
+			return 0.0;
+		}
+		int last = cum.length - 1;
+		if (minute <= last) {
+			return cum[minute];
+		}
+		return cum[last] + (minute - last) * getRate(vehicleClass, last);
+	}
+}
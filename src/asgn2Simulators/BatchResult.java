@@ -0,0 +1,149 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import asgn2Simulators.SimulationResult.Metric;
+import asgn2Statistics.LogHistogram;
+import asgn2Statistics.RunningStatistics;
+
+/**
+ * Pooled outcome of a batch of replications of one Scenario. Holds running statistics 
+ * for every metric, the number of replications used, and whether the requested 
+ * precision was reached before the replication limit. Queue wait and stay histograms 
+ * of every replication which carries them are merged, for pooled percentiles. 
+ * @author hogan
+ *
+ */
+public class BatchResult {
+	
+	private final Scenario scenario;
+	private final Map<Metric, RunningStatistics> stats = new EnumMap<Metric, RunningStatistics>(Metric.class);
+	private boolean converged = false;
+	private final LogHistogram queueWaits = new LogHistogram();
+	private final LogHistogram stays = new LogHistogram();
+	
+	/**
+	 * Constructor sets up empty statistics for each metric 
+	 * @param scenario Scenario being replicated
+	 */
+	public BatchResult(Scenario scenario) {
+		this.scenario = scenario;
+		for (Metric m : Metric.values()) {
+			this.stats.put(m, new RunningStatistics());
+		}
+	}
+	
+	/**
+	 * Folds a completed replication into the pooled statistics 
+	 * @param result SimulationResult of the replication
+	 */
+	public void add(SimulationResult result) {
+		for (Metric m : Metric.values()) {
+			this.stats.get(m).add(result.get(m));
+		}
+		if (result.getQueueWaitHistogram() != null) {
+			this.queueWaits.merge(result.getQueueWaitHistogram());
+		}
+		if (result.getStayHistogram() != null) {
+			this.stays.merge(result.getStayHistogram());
+		}
+	}
+	
+	/**
+	 * Checks whether every target metric has a relative 95% confidence interval 
+	 * width no greater than relativeWidth 
+	 * @param relativeWidth double holding the requested relative width 
+	 * @param targets Metric array of the metrics which must meet the requirement
+	 * @return true if all targets are precise enough, false otherwise
+	 */
+	public boolean isPrecise(double relativeWidth, Metric... targets) {
+		for (Metric m : targets) {
+			if (this.stats.get(m).relativeConfidenceWidth() > relativeWidth) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Simple getter for the statistics of one metric 
+	 * @param metric Metric of interest 
+	 * @return RunningStatistics over all replications so far
+	 */
+	public RunningStatistics getStatistics(Metric metric) {
+		return this.stats.get(metric);
+	}
+	
+	/**
+	 * Simple getter for the pooled queue waits 
+	 * @return LogHistogram of queue waits over all replications so far
+	 */
+	public LogHistogram getQueueWaitHistogram() {
+		return this.queueWaits;
+	}
+	
+	/**
+	 * Simple getter for the pooled stays 
+	 * @return LogHistogram of stays over all replications so far
+	 */
+	public LogHistogram getStayHistogram() {
+		return this.stays;
+	}
+	
+	/**
+	 * Simple getter for the number of replications pooled 
+	 * @return number of replications
+	 */
+	public long getReplications() {
+		return this.stats.get(Metric.DISSATISFIED_FRACTION).getCount();
+	}
+	
+	/**
+	 * @return the scenario
+	 */
+	public Scenario getScenario() {
+		return this.scenario;
+	}
+
+	/**
+	 * Boolean status indicating whether the stopping rule was satisfied 
+	 * @return true if precision was reached, false if the replication limit intervened
+	 */
+	public boolean isConverged() {
+		return this.converged;
+	}
+
+	/**
+	 * @param converged the converged to set
+	 */
+	void setConverged(boolean converged) {
+		this.converged = converged;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		String str = "BatchResult [replications=" + getReplications() 
+				+ ", converged=" + this.converged + "]\n" + this.scenario + "\n";
+		for (Metric m : Metric.values()) {
+			RunningStatistics s = this.stats.get(m);
+			str += m + ": " + s.getMean() + " +/- " + s.confidenceHalfWidth() + "\n";
+		}
+		str += "QUEUE_WAIT: " + this.queueWaits + "\n";
+		str += "STAY: " + this.stays + "\n";
+		return str;
+	}
+}
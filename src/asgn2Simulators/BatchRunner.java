@@ -0,0 +1,348 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.SimulationResult.Metric;
+
+/**
+ * Class to run many independent replications of the simulation in parallel. 
+ * 
+ * {@link #runToPrecision(Scenario, double, int, int, Metric...) runToPrecision} implements a 
+ * sequential stopping rule: replications with successive seeds are launched on all worker 
+ * threads and folded in seed order, and the batch stops as soon as the 95% confidence 
+ * interval of every target metric is narrower than the requested fraction of its mean. 
+ * Because results are consumed in seed order the stopping point does not depend on the 
+ * number of threads. 
+ * 
+ * Replications log to a discarding Writer, so no log files are produced. 
+ * @author hogan
+ *
+ */
+public class BatchRunner {
+	
+	public static final int DEFAULT_MIN_REPLICATIONS = 10;
+	public static final int DEFAULT_MAX_REPLICATIONS = 100000;
+	
+	private final int threads;
+	private final ExecutorService pool;
+	
+	/**
+	 * Constructor using one worker thread per available processor 
+	 */
+	public BatchRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructor with an explicit number of worker threads 
+	 * @param threads int holding the number of worker threads 
+	 * @throws IllegalArgumentException if threads < 1
+	 */
+	public BatchRunner(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("At least one thread is required");
+		}
+		this.threads = threads;
+		this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "batch-runner");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Runs a single replication of scenario on the calling thread, without a log file. 
+	 * The car park runs in stats-only mode, as nothing reads its vehicle record. 
+	 * @param scenario Scenario to be simulated 
+	 * @return SimulationResult of the run
+	 * @throws VehicleException if Vehicle creation or operation constraints violated 
+	 * @throws SimulationException if Simulation constraints are violated 
+	 * @throws IOException on logging failures
+	 */
+	public static SimulationResult runReplication(Scenario scenario) 
+			throws VehicleException, SimulationException, IOException {
+		return runReplication(scenario, null);
+	}
+	
+	/**
+	 * Runs a single replication of scenario on the calling thread, without a log file, 
+	 * recording each time step into bands 
+	 * @param scenario Scenario to be simulated 
+	 * @param bands OccupancyBands to record into, or null for none 
+	 * @return SimulationResult of the run
+	 * @throws VehicleException if Vehicle creation or operation constraints violated 
+	 * @throws SimulationException if Simulation constraints are violated 
+	 * @throws IOException on logging failures
+	 */
+	public static SimulationResult runReplication(Scenario scenario, OccupancyBands bands) 
+			throws VehicleException, SimulationException, IOException {
+		CarPark carPark = scenario.createCarPark();
+		carPark.setRetainArchive(false);
+		SimulationRunner sr = new SimulationRunner(carPark, 
+				scenario.createSimulator(), new Log(Writer.nullWriter()));
+		sr.setOccupancyBands(bands);
+		sr.runSimulation();
+		return sr.getResult();
+	}
+	
+	/**
+	 * Replicates scenario with seeds scenario.getSeed(), scenario.getSeed()+1, ... until every 
+	 * target metric has a relative 95% confidence interval width no greater than relativeWidth, 
+	 * subject to the replication limits. 
+	 * @param scenario Scenario to be replicated; its seed is the first seed used 
+	 * @param relativeWidth double holding the requested interval width as a fraction of the mean 
+	 * @param minReplications int holding the minimum number of replications before stopping 
+	 * @param maxReplications int holding the maximum number of replications 
+	 * @param targets Metric array of the metrics which must reach the precision; all metrics if empty
+	 * @return BatchResult holding the pooled statistics 
+	 * @throws SimulationException if a replication fails or the batch is interrupted
+	 */
+	public BatchResult runToPrecision(Scenario scenario, double relativeWidth, 
+			int minReplications, int maxReplications, Metric... targets) throws SimulationException {
+		if (targets.length == 0) {
+			targets = Metric.values();
+		}
+		BatchResult result = new BatchResult(scenario);
+		Deque<Future<SimulationResult>> inFlight = new ArrayDeque<Future<SimulationResult>>();
+		int submitted = 0;
+		try {
+			while (true) {
+				// Keep every worker busy, with one spare task each so none idles between results
+				while (inFlight.size() < 2 * this.threads && submitted < maxReplications) {
+					inFlight.add(submit(scenario.withSeed(scenario.getSeed() + submitted)));
+					submitted++;
+				}
+				if (inFlight.isEmpty()) {
+					break;
+				}
+				result.add(await(inFlight.poll()));
+				if (result.getReplications() >= minReplications 
+						&& result.isPrecise(relativeWidth, targets)) {
+					result.setConverged(true);
+					break;
+				}
+			}
+		} finally {
+			for (Future<SimulationResult> f : inFlight) {
+				f.cancel(true);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Runs one replication of each Scenario in parallel, for example the points of a 
+	 * design produced by ParameterSpace 
+	 * @param scenarios List of Scenarios to be run 
+	 * @return List of SimulationResults, in the same order as scenarios 
+	 * @throws SimulationException if a replication fails or the batch is interrupted
+	 */
+	public List<SimulationResult> runAll(List<Scenario> scenarios) throws SimulationException {
+		List<Future<SimulationResult>> futures = new ArrayList<Future<SimulationResult>>(scenarios.size());
+		List<SimulationResult> results = new ArrayList<SimulationResult>(scenarios.size());
+		try {
+			for (Scenario s : scenarios) {
+				futures.add(submit(s));
+			}
+			for (Future<SimulationResult> f : futures) {
+				results.add(await(f));
+			}
+		} finally {
+			for (Future<SimulationResult> f : futures) {
+				f.cancel(true);
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * Runs one replication of each grid point not already recorded in journal, recording each 
+	 * result as it completes. A sweep restarted with the same journal after a crash therefore 
+	 * only runs the points that had not been durably recorded. 
+	 * @param grid List of Scenarios making up the sweep 
+	 * @param journal SweepJournal opened for grid 
+	 * @return SimulationResult array indexed as grid, including results from earlier runs 
+	 * @throws SimulationException if a replication fails or the batch is interrupted 
+	 * @throws IOException if the journal cannot be written
+	 */
+	public SimulationResult[] runAll(List<Scenario> grid, SweepJournal journal) 
+			throws SimulationException, IOException {
+		CompletionService<SimulationResult> done = new ExecutorCompletionService<SimulationResult>(this.pool);
+		// Only a window of points is in flight, so grids of millions of points need no task list
+		Map<Future<SimulationResult>, Integer> inFlight = new HashMap<Future<SimulationResult>, Integer>();
+		int next = 0;
+		try {
+			while (true) {
+				while (inFlight.size() < 2 * this.threads && next < grid.size()) {
+					if (!journal.isCompleted(next)) {
+						final Scenario s = grid.get(next);
+						inFlight.put(done.submit(new Callable<SimulationResult>() {
+							@Override
+							public SimulationResult call() throws Exception {
+								return runReplication(s);
+							}
+						}), next);
+					}
+					next++;
+				}
+				if (inFlight.isEmpty()) {
+					break;
+				}
+				Future<SimulationResult> f;
+				try {
+					f = done.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SimulationException("Interrupted while waiting for replication");
+				}
+				journal.record(inFlight.remove(f), await(f));
+			}
+		} finally {
+			for (Future<SimulationResult> f : inFlight.keySet()) {
+				f.cancel(true);
+			}
+			journal.sync();
+		}
+		SimulationResult[] results = new SimulationResult[grid.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = journal.getResult(i);
+		}
+		return results;
+	}
+	
+	/**
+	 * Runs replications of scenario with seeds scenario.getSeed(), scenario.getSeed()+1, ... 
+	 * and pools the occupancy and queue length of every time step into time of day quantile 
+	 * sketches. Each worker thread fills its own OccupancyBands, and the parts are merged 
+	 * once all replications are done. 
+	 * @param scenario Scenario to be replicated; its seed is the first seed used 
+	 * @param replications int holding the number of replications 
+	 * @param bucketMinutes int holding the width of each time of day bucket 
+	 * @return OccupancyBands pooled over all replications 
+	 * @throws SimulationException if a replication fails or the batch is interrupted
+	 */
+	public OccupancyBands runOccupancyBands(final Scenario scenario, final int replications, 
+			final int bucketMinutes) throws SimulationException {
+		List<Future<OccupancyBands>> parts = new ArrayList<Future<OccupancyBands>>(this.threads);
+		OccupancyBands pooled = new OccupancyBands(bucketMinutes, OccupancyBands.DEFAULT_K);
+		try {
+			for (int t = 0; t < this.threads; t++) {
+				final int first = t;
+				parts.add(this.pool.submit(new Callable<OccupancyBands>() {
+					@Override
+					public OccupancyBands call() throws Exception {
+						OccupancyBands bands = new OccupancyBands(bucketMinutes, OccupancyBands.DEFAULT_K);
+						for (int i = first; i < replications; i += threads) {
+							runReplication(scenario.withSeed(scenario.getSeed() + i), bands);
+						}
+						return bands;
+					}
+				}));
+			}
+			for (Future<OccupancyBands> f : parts) {
+				pooled.merge(await(f));
+			}
+		} finally {
+			for (Future<OccupancyBands> f : parts) {
+				f.cancel(true);
+			}
+		}
+		return pooled;
+	}
+	
+	/**
+	 * Stops the worker threads. Running replications are interrupted. 
+	 */
+	public void shutdown() {
+		this.pool.shutdownNow();
+	}
+	
+	/**
+	 * Batch mode entry point. Arguments are the requested relative width followed, optionally, 
+	 * by the ten scenario parameters accepted by SimulationRunner.main 
+	 * @param args Arguments to the batch 
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1 && args.length != 1 + Scenario.NUM_PARAMETERS) {
+			System.err.println("Usage: BatchRunner relativeWidth [scenario parameters]");
+			System.exit(1);
+		}
+		BatchRunner runner = new BatchRunner();
+		try {
+			double relativeWidth = Double.parseDouble(args[0]);
+			Scenario scenario = (args.length == 1) ? new Scenario() : Scenario.fromArgs(args, 1);
+			System.out.print(runner.runToPrecision(scenario, relativeWidth, 
+					DEFAULT_MIN_REPLICATIONS, DEFAULT_MAX_REPLICATIONS));
+			if (TickProfiler.ENABLED) {
+				System.out.print(TickProfiler.snapshot());
+			}
+		} catch (NumberFormatException | SimulationException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		} finally {
+			runner.shutdown();
+		}
+	}
+	
+	/**
+	 * Helper to queue a replication on the worker pool 
+	 * @param scenario Scenario to be run 
+	 * @return Future holding the eventual result
+	 */
+	Future<SimulationResult> submit(final Scenario scenario) {
+		return this.pool.submit(new Callable<SimulationResult>() {
+			@Override
+			public SimulationResult call() throws Exception {
+				return runReplication(scenario);
+			}
+		});
+	}
+	
+	/**
+	 * Helper to wait for a replication, converting failures to SimulationException 
+	 * @param future Future of the replication 
+	 * @return result of the replication 
+	 * @throws SimulationException if the replication failed or the wait was interrupted
+	 */
+	static <T> T await(Future<T> future) throws SimulationException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new SimulationException("Replication failed: " + e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SimulationException("Interrupted while waiting for replication");
+		}
+	}
+}
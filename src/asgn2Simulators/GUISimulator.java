@@ -17,6 +17,7 @@ import java.awt.GridLayout;
 import java.awt.HeadlessException;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -25,6 +26,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartFrame;
@@ -71,6 +73,9 @@ public class GUISimulator extends JFrame implements Runnable, ActionListener {
 	private static double carProb;
 	private static double smallCarProb;
 	private static double mCProb;
+	
+	// Result cache, enabled by the simulation.cache system property
+	private static ResultCache cache = ResultCache.fromSystemProperty();
 
 		// Error Field
 	static JTextArea errorArea;
@@ -194,12 +199,45 @@ public class GUISimulator extends JFrame implements Runnable, ActionListener {
 		
 		// If no errors in the given  values then: 
 		if(!errorDetected){
-			// TODO - run the program
+			runSimulation();
 			statisticMultiLineGraph();
 			summaryBarGraph();
 		}
 	}
 
+	/**
+	 * Runs the simulation for the entered values, answering from the result cache 
+	 * when the same configuration has been run before, and shows the summary. The 
+	 * replication runs on a SwingWorker thread so that the window stays responsive. 
+	 */
+	private void runSimulation(){
+		final Scenario scenario = new Scenario(tryGettingDouble(meanStayTxt), tryGettingDouble(sdStayTxt), 
+				tryGettingInt(seedTxt), tryGettingDouble(carProbTxt), tryGettingDouble(smallCarProbTxt), 
+				tryGettingDouble(mCProbTxt), tryGettingInt(maxCarSpacesTxt), tryGettingInt(maxSmallCarSpacesTxt), 
+				tryGettingInt(maxMotorCycleSpacesTxt), tryGettingInt(maxQueueSizeTxt));
+		new SwingWorker<SimulationResult, Void>() {
+			@Override
+			protected SimulationResult doInBackground() throws Exception {
+				return (cache == null) ? BatchRunner.runReplication(scenario) : cache.run(scenario);
+			}
+			
+			@Override
+			protected void done() {
+				try {
+					SimulationResult result = get();
+					errorArea.setText("Vehicles Processed: " + result.getNumProcessed() + newLine 
+							+ "Dissatisfied: " + result.getNumDissatisfied() + newLine 
+							+ "Mean Queue Length: " + result.getMeanQueueLength() + newLine 
+							+ "Peak Occupancy: " + result.getPeakOccupancy() + newLine);
+				} catch (ExecutionException e) {
+					errorArea.setText(errorArea.getText() + e.getCause().getMessage() + newLine);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
+	}
+
 	/**
 	 * Creates a JPanel and applies initial settings
 	 * @return - the created panel with settings applied
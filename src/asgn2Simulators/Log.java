@@ -14,6 +14,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 
@@ -40,6 +41,16 @@ public class Log {
         this.writer = new BufferedWriter(new FileWriter(logFile));
 	}
 	
+	/**
+	 * Constructor logging to a supplied Writer rather than a time stamped file. 
+	 * Intended for batch runs, where many replications share a JVM and the 
+	 * per-run log file is not wanted. 
+	 * @param out Writer to receive the log; closed by {@link #finalise(CarPark) finalise}
+	 */
+	public Log(Writer out) {
+		this.writer = new BufferedWriter(out);
+	}
+	
 	/**
 	 * Final state 
 	 * @param cp CarPark being used
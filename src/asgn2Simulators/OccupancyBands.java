@@ -0,0 +1,166 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import asgn2Statistics.KllSketch;
+
+/**
+ * Occupancy and queue length quantiles by time of day, pooled over many runs. The day is
+ * divided into buckets of a fixed number of minutes and each bucket keeps one KllSketch for
+ * occupancy and one for queue length, so memory is fixed by the number of buckets and the
+ * sketch accuracy, not by the number of runs. Fan charts for capacity reports are read
+ * off with {@link #toFanChart(double...) toFanChart}.
+ *
+ * A SimulationRunner given an instance records into it every tick. Instances are not thread
+ * safe; give each thread its own and combine them with {@link #merge(OccupancyBands) merge}.
+ *
+ * @author hogan
+ *
+ */
+public class OccupancyBands {
+
+	public static final int DEFAULT_BUCKET_MINUTES = 1;
+	public static final int DEFAULT_K = 100;
+
+	private final int bucketMinutes;
+	private final int k;
+	private final KllSketch[] occupancy;
+	private final KllSketch[] queueLength;
+
+	/**
+	 * Constructor using one minute buckets and the default sketch accuracy
+	 */
+	public OccupancyBands() {
+		this(DEFAULT_BUCKET_MINUTES, DEFAULT_K);
+	}
+
+	/**
+	 * Constructor sets the bucket width and sketch accuracy
+	 * @param bucketMinutes int holding the number of minutes pooled in each bucket
+	 * @param k int holding the accuracy parameter of each KllSketch
+	 * @throws IllegalArgumentException if bucketMinutes < 1 or k is too small for KllSketch
+	 */
+	public OccupancyBands(int bucketMinutes, int k) {
+		if (bucketMinutes < 1) {
+			throw new IllegalArgumentException("Buckets must be at least one minute wide");
+		}
+		this.bucketMinutes = bucketMinutes;
+		this.k = k;
+		int buckets = Constants.CLOSING_TIME / bucketMinutes + 1;
+		this.occupancy = new KllSketch[buckets];
+		this.queueLength = new KllSketch[buckets];
+		for (int b = 0; b < buckets; b++) {
+			// Sketches in different buckets use different coin flips
+			this.occupancy[b] = new KllSketch(k, 2 * b);
+			this.queueLength[b] = new KllSketch(k, 2 * b + 1);
+		}
+	}
+
+	/**
+	 * Records the state of the car park at the end of one time step
+	 * @param time int holding the simulation time
+	 * @param parked int holding the number of vehicles parked
+	 * @param queued int holding the number of vehicles queued
+	 */
+	public void record(int time, int parked, int queued) {
+		int b = bucket(time);
+		this.occupancy[b].add(parked);
+		this.queueLength[b].add(queued);
+	}
+
+	/**
+	 * Folds the observations of other into this instance
+	 * @param other OccupancyBands to be merged; it is not modified
+	 * @throws IllegalArgumentException if other has a different bucket width or accuracy
+	 */
+	public void merge(OccupancyBands other) {
+		if (other.bucketMinutes != this.bucketMinutes || other.k != this.k) {
+			throw new IllegalArgumentException("Bands differ in bucket width or accuracy");
+		}
+		for (int b = 0; b < this.occupancy.length; b++) {
+			this.occupancy[b].merge(other.occupancy[b]);
+			this.queueLength[b].merge(other.queueLength[b]);
+		}
+	}
+
+	/**
+	 * Approximate occupancy quantile at a time of day
+	 * @param time int holding the simulation time
+	 * @param q double holding the quantile, in [0,1]
+	 * @return occupancy quantile over all observations in the bucket holding time
+	 */
+	public double getOccupancyQuantile(int time, double q) {
+		return this.occupancy[bucket(time)].getQuantile(q);
+	}
+
+	/**
+	 * Approximate queue length quantile at a time of day
+	 * @param time int holding the simulation time
+	 * @param q double holding the quantile, in [0,1]
+	 * @return queue length quantile over all observations in the bucket holding time
+	 */
+	public double getQueueLengthQuantile(int time, double q) {
+		return this.queueLength[bucket(time)].getQuantile(q);
+	}
+
+	/**
+	 * Simple getter for the number of buckets
+	 * @return number of time of day buckets
+	 */
+	public int getNumBuckets() {
+		return this.occupancy.length;
+	}
+
+	/**
+	 * Simple getter for the bucket width
+	 * @return number of minutes in each bucket
+	 */
+	public int getBucketMinutes() {
+		return this.bucketMinutes;
+	}
+
+	/**
+	 * Table of occupancy and queue length quantiles, one line per bucket, headed by the
+	 * start time of the bucket
+	 * @param quantiles double array of the quantiles to report, each in [0,1]
+	 * @return String holding a whitespace separated table with a header line
+	 */
+	public String toFanChart(double... quantiles) {
+		StringBuilder str = new StringBuilder("time");
+		for (double q : quantiles) {
+			str.append(" occ_").append(q);
+		}
+		for (double q : quantiles) {
+			str.append(" queue_").append(q);
+		}
+		str.append("\n");
+		for (int b = 0; b < this.occupancy.length; b++) {
+			str.append(b * this.bucketMinutes);
+			for (double q : quantiles) {
+				str.append(" ").append(this.occupancy[b].getQuantile(q));
+			}
+			for (double q : quantiles) {
+				str.append(" ").append(this.queueLength[b].getQuantile(q));
+			}
+			str.append("\n");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Helper to find the bucket holding a time, clamped to the simulated day
+	 * @param time int holding the simulation time
+	 * @return bucket index
+	 */
+	private int bucket(int time) {
+		return Math.min(Math.max(time, 0) / this.bucketMinutes, this.occupancy.length - 1);
+	}
+}
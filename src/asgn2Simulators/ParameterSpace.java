@@ -0,0 +1,158 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Statistics.LatinHypercube;
+import asgn2Statistics.SobolSequence;
+
+/**
+ * Box of Scenario parameters for design of experiments, bounded by a lower and an upper 
+ * Scenario. Any parameter whose bounds differ becomes a design dimension, taken in the order 
+ * carProb, smallCarProb, mcProb, meanStay, sdStay, maxCarSpaces, maxSmallCarSpaces, 
+ * maxMotorCycleSpaces, maxQueueSize; the others are held fixed. 
+ * 
+ * Points of the unit cube, from a Sobol sequence or a Latin hypercube, are mapped linearly onto 
+ * the box, with integer parameters spread evenly over their whole range. Every Scenario in a 
+ * design uses the seed of the lower bound, so differences between design points are not masked 
+ * by differences in random streams. 
+ * @author hogan
+ *
+ */
+public class ParameterSpace {
+	
+	private static final int NUM_DESIGN_PARAMETERS = 9;
+	
+	private final double[] lower;
+	private final double[] upper;
+	private final boolean[] integral;
+	private final int[] varying;
+	private final int seed;
+	
+	/**
+	 * Constructor records the bounds 
+	 * @param lower Scenario holding the smallest value of each parameter, and the seed 
+	 * @param upper Scenario holding the largest value of each parameter 
+	 * @throws SimulationException if any lower bound exceeds its upper bound
+	 */
+	public ParameterSpace(Scenario lower, Scenario upper) throws SimulationException {
+		this.lower = toVector(lower);
+		this.upper = toVector(upper);
+		this.integral = new boolean[] { false, false, false, false, false, true, true, true, true };
+		this.seed = lower.getSeed();
+		
+		int n = 0;
+		int[] dims = new int[NUM_DESIGN_PARAMETERS];
+		for (int i = 0; i < NUM_DESIGN_PARAMETERS; i++) {
+			if (this.lower[i] > this.upper[i]) {
+				throw new SimulationException("Lower bound exceeds upper bound for parameter " + i);
+			}
+			if (this.lower[i] < this.upper[i]) {
+				dims[n++] = i;
+			}
+		}
+		this.varying = new int[n];
+		System.arraycopy(dims, 0, this.varying, 0, n);
+	}
+	
+	/**
+	 * Simple getter for the number of design dimensions
+	 * @return number of parameters which vary between the bounds
+	 */
+	public int getDimension() {
+		return this.varying.length;
+	}
+	
+	/**
+	 * Maps a point of the unit cube onto the parameter box 
+	 * @param u double array of getDimension() coordinates in [0,1)
+	 * @return Scenario at that point
+	 */
+	public Scenario at(double[] u) {
+		double[] x = this.lower.clone();
+		for (int d = 0; d < this.varying.length; d++) {
+			int i = this.varying[d];
+			double width = this.upper[i] - this.lower[i];
+			if (this.integral[i]) {
+				x[i] = Math.min(this.upper[i], this.lower[i] + Math.floor(u[d] * (width + 1)));
+			} else {
+				x[i] = this.lower[i] + u[d] * width;
+			}
+		}
+		return new Scenario(x[3], x[4], this.seed, x[0], x[1], x[2], 
+				(int) x[5], (int) x[6], (int) x[7], (int) x[8]);
+	}
+	
+	/**
+	 * Design of n Scenarios taken from the Sobol sequence, skipping its initial point at the 
+	 * lower corner. Best space filling is obtained when n is a power of two. 
+	 * @param n int holding the number of design points 
+	 * @return List of Scenarios
+	 */
+	public List<Scenario> sobolDesign(int n) {
+		List<Scenario> design = new ArrayList<Scenario>(n);
+		if (this.varying.length == 0) {
+			return fixedDesign(n);
+		}
+		SobolSequence sobol = new SobolSequence(this.varying.length);
+		double[] u = new double[this.varying.length];
+		sobol.skip(1);
+		for (int i = 0; i < n; i++) {
+			sobol.next(u);
+			design.add(at(u));
+		}
+		return design;
+	}
+	
+	/**
+	 * Design of n Scenarios forming a Latin hypercube sample of the box 
+	 * @param n int holding the number of design points 
+	 * @param sampleSeed long random number generator seed for the sample itself 
+	 * @return List of Scenarios
+	 */
+	public List<Scenario> latinHypercubeDesign(int n, long sampleSeed) {
+		if (this.varying.length == 0) {
+			return fixedDesign(n);
+		}
+		List<Scenario> design = new ArrayList<Scenario>(n);
+		for (double[] u : LatinHypercube.sample(n, this.varying.length, sampleSeed)) {
+			design.add(at(u));
+		}
+		return design;
+	}
+	
+	/**
+	 * Helper for the degenerate box in which nothing varies 
+	 * @param n int holding the number of design points 
+	 * @return List of n copies of the lower bound
+	 */
+	private List<Scenario> fixedDesign(int n) {
+		List<Scenario> design = new ArrayList<Scenario>(n);
+		for (int i = 0; i < n; i++) {
+			design.add(at(new double[0]));
+		}
+		return design;
+	}
+	
+	/**
+	 * Helper giving the design parameters of a Scenario in dimension order 
+	 * @param s Scenario to be converted 
+	 * @return double array of the nine design parameters
+	 */
+	private static double[] toVector(Scenario s) {
+		return new double[] { s.getCarProb(), s.getSmallCarProb(), s.getMcProb(), 
+				s.getMeanStay(), s.getSdStay(), s.getMaxCarSpaces(), s.getMaxSmallCarSpaces(),
+				s.getMaxMotorCycleSpaces(), s.getMaxQueueSize() };
+	}
+}
@@ -0,0 +1,322 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+
+/**
+ * Content addressed cache of simulation results, so that configurations which have been run 
+ * before, by anyone sharing the cache directory, are answered without simulating. 
+ * 
+ * Entries are keyed by the SHA-256 of every Scenario parameter (seed, Simulator parameters and 
+ * CarPark capacities), the car park implementation and the arrival mode (Poisson arrival scale 
+ * and time of day profile), together with MODEL_VERSION, which must be incremented whenever a 
+ * change to the simulation alters its results. The methods taking only a Scenario describe the 
+ * runs of {@link BatchRunner#runReplication(Scenario) BatchRunner.runReplication}: a plain 
+ * CarPark with one arrival trial per class per minute. 
+ * 
+ * Both tiers hold only the fields written by SimulationResult.toRecord, so results come back 
+ * without histograms whichever tier answers. A memory entry is then a few hundred bytes, and 
+ * the default memory tier of DEFAULT_MEMORY_ENTRIES takes a few megabytes. An in-memory LRU tier sits in front of a disk tier 
+ * holding one small file per key. The disk tier is bounded in bytes and evicts the least 
+ * recently used files, using modification times so the order survives restarts. Files are 
+ * written to a temporary name and moved into place, so processes sharing the directory never 
+ * see a partial entry. 
+ * @author hogan
+ *
+ */
+public class ResultCache {
+	
+	public static final int MODEL_VERSION = 2;
+	public static final int DEFAULT_MEMORY_ENTRIES = 10000;
+	public static final long DEFAULT_DISK_BYTES = 64L * 1024 * 1024;
+	public static final String CACHE_DIR_PROPERTY = "simulation.cache";
+	
+	private static final String SUFFIX = ".result";
+	
+	private final File directory;
+	private final long diskBytes;
+	private final Map<String, SimulationResult> memory;
+	// Disk entries known to this process, in access order, with their sizes
+	private final LinkedHashMap<String, Long> disk = new LinkedHashMap<String, Long>(16, 0.75f, true);
+	private long diskUsed = 0;
+	
+	/**
+	 * Constructor using the default tier sizes 
+	 * @param directory File holding the disk tier; created if absent 
+	 * @throws IOException if the directory cannot be created or listed
+	 */
+	public ResultCache(File directory) throws IOException {
+		this(directory, DEFAULT_MEMORY_ENTRIES, DEFAULT_DISK_BYTES);
+	}
+	
+	/**
+	 * Constructor indexes any entries already on disk 
+	 * @param directory File holding the disk tier; created if absent 
+	 * @param memoryEntries int holding the capacity of the memory tier 
+	 * @param diskBytes long holding the capacity of the disk tier in bytes 
+	 * @throws IOException if the directory cannot be created or listed
+	 */
+	public ResultCache(File directory, final int memoryEntries, long diskBytes) throws IOException {
+		this.directory = directory;
+		this.diskBytes = diskBytes;
+		this.memory = new LinkedHashMap<String, SimulationResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, SimulationResult> eldest) {
+				return size() > memoryEntries;
+			}
+		};
+		Files.createDirectories(directory.toPath());
+		File[] files = directory.listFiles();
+		if (files == null) {
+			throw new IOException("Cannot list cache directory " + directory);
+		}
+		List<File> entries = new ArrayList<File>();
+		for (File f : files) {
+			if (f.getName().endsWith(SUFFIX)) {
+				entries.add(f);
+			}
+		}
+		entries.sort(Comparator.comparingLong(File::lastModified));
+		for (File f : entries) {
+			String name = f.getName();
+			this.disk.put(name.substring(0, name.length() - SUFFIX.length()), f.length());
+			this.diskUsed += f.length();
+		}
+		evict();
+	}
+	
+	/**
+	 * Cache in the directory named by the system property simulation.cache, if it is set 
+	 * @return ResultCache, or null if the property is unset or the directory is unusable
+	 */
+	public static ResultCache fromSystemProperty() {
+		String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir == null) {
+			return null;
+		}
+		try {
+			return new ResultCache(new File(dir));
+		} catch (IOException e) {
+			System.err.println("Result cache disabled: " + e.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Content address of a Scenario run as by BatchRunner.runReplication 
+	 * @param scenario Scenario of interest 
+	 * @return hexadecimal SHA-256 of the model version and all parameters
+	 */
+	public static String key(Scenario scenario) {
+		return key(scenario, CarPark.class.getName(), 0.0, null);
+	}
+	
+	/**
+	 * Content address of a Scenario run on a given car park and simulator 
+	 * @param scenario Scenario of interest 
+	 * @param carPark CarPark the scenario runs on; only its implementation is used 
+	 * @param sim Simulator the scenario runs with; only its arrival mode is used 
+	 * @return hexadecimal SHA-256 of the model version, all parameters and the run configuration
+	 */
+	public static String key(Scenario scenario, CarPark carPark, Simulator sim) {
+		return key(scenario, carPark.getClass().getName(), sim.getArrivalScale(), sim.getArrivalProfile());
+	}
+	
+	/**
+	 * Helper hashing the canonical form of a run configuration 
+	 * @param scenario Scenario of interest 
+	 * @param carParkType String holding the car park class name 
+	 * @param arrivalScale double holding the Poisson arrival multiplier, or 0 for trials 
+	 * @param profile ArrivalProfile of time of day rates, or null for constant probabilities 
+	 * @return hexadecimal SHA-256 of the canonical form
+	 */
+	private static String key(Scenario scenario, String carParkType, double arrivalScale, ArrivalProfile profile) {
+		try {
+			MessageDigest sha = MessageDigest.getInstance("SHA-256");
+			String canonical = MODEL_VERSION + ";" + String.join(";", scenario.toArgs()) 
+					+ ";" + carParkType + ";" + arrivalScale + ";" + ((profile == null) ? "" : profile);
+			byte[] digest = sha.digest(canonical.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(2 * digest.length);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is required of every JDK", e);
+		}
+	}
+	
+	/**
+	 * Looks a Scenario run as by BatchRunner.runReplication up in the memory tier, then the disk tier 
+	 * @param scenario Scenario of interest 
+	 * @return cached SimulationResult, or null if absent
+	 */
+	public SimulationResult get(Scenario scenario) {
+		return get(key(scenario));
+	}
+	
+	/**
+	 * Looks a Scenario run on a given car park and simulator up in the memory tier, then the disk tier 
+	 * @param scenario Scenario of interest 
+	 * @param carPark CarPark the scenario runs on 
+	 * @param sim Simulator the scenario runs with 
+	 * @return cached SimulationResult, or null if absent
+	 */
+	public SimulationResult get(Scenario scenario, CarPark carPark, Simulator sim) {
+		return get(key(scenario, carPark, sim));
+	}
+	
+	/**
+	 * Stores the result of a Scenario run as by BatchRunner.runReplication in both tiers 
+	 * @param scenario Scenario which was run 
+	 * @param result SimulationResult of the run; its histograms are not kept 
+	 * @throws IOException if the disk entry cannot be written
+	 */
+	public void put(Scenario scenario, SimulationResult result) throws IOException {
+		put(key(scenario), result);
+	}
+	
+	/**
+	 * Stores the result of a Scenario run on a given car park and simulator in both tiers 
+	 * @param scenario Scenario which was run 
+	 * @param carPark CarPark the scenario ran on 
+	 * @param sim Simulator the scenario ran with 
+	 * @param result SimulationResult of the run; its histograms are not kept 
+	 * @throws IOException if the disk entry cannot be written
+	 */
+	public void put(Scenario scenario, CarPark carPark, Simulator sim, SimulationResult result) throws IOException {
+		put(key(scenario, carPark, sim), result);
+	}
+	
+	/**
+	 * Helper looking a key up in the memory tier, then the disk tier 
+	 * @param key String content address 
+	 * @return cached SimulationResult, or null if absent
+	 */
+	private synchronized SimulationResult get(String key) {
+		SimulationResult result = this.memory.get(key);
+		if (result != null) {
+			return result;
+		}
+		File f = file(key);
+		try {
+			result = SimulationResult.fromRecord(new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8));
+		} catch (IOException | SimulationException e) {
+			// absent, or being replaced by another process
+			return null;
+		}
+		this.memory.put(key, result);
+		f.setLastModified(System.currentTimeMillis());
+		if (this.disk.get(key) == null) {
+			this.disk.put(key, f.length());
+			this.diskUsed += f.length();
+			evict();
+		}
+		return result;
+	}
+	
+	/**
+	 * Helper storing a result in both tiers 
+	 * @param key String content address 
+	 * @param result SimulationResult of the run; its histograms are not kept 
+	 * @throws IOException if the disk entry cannot be written
+	 */
+	private synchronized void put(String key, SimulationResult result) throws IOException {
+		this.memory.put(key, result.withoutHistograms());
+		byte[] bytes = result.toRecord().getBytes(StandardCharsets.UTF_8);
+		File tmp = File.createTempFile(key, ".tmp", this.directory);
+		try {
+			Files.write(tmp.toPath(), bytes);
+			Files.move(tmp.toPath(), file(key).toPath(), StandardCopyOption.REPLACE_EXISTING, 
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			tmp.delete();
+		}
+		Long old = this.disk.put(key, (long) bytes.length);
+		this.diskUsed += bytes.length - ((old == null) ? 0 : old);
+		evict();
+	}
+	
+	/**
+	 * Returns the cached result for scenario, simulating and caching it on a miss 
+	 * @param scenario Scenario of interest 
+	 * @return SimulationResult of the scenario, without histograms as for a hit 
+	 * @throws VehicleException if Vehicle creation or operation constraints violated 
+	 * @throws SimulationException if Simulation constraints are violated 
+	 * @throws IOException on logging or cache failures
+	 */
+	public SimulationResult run(Scenario scenario) throws VehicleException, SimulationException, IOException {
+		SimulationResult result = get(scenario);
+		if (result == null) {
+			result = BatchRunner.runReplication(scenario).withoutHistograms();
+			put(scenario, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Simple getter for the bytes held by the disk tier, as known to this process
+	 * @return bytes used on disk
+	 */
+	public synchronized long getDiskBytesUsed() {
+		return this.diskUsed;
+	}
+	
+	/**
+	 * Helper removing least recently used disk entries until the tier fits its bound 
+	 */
+	private void evict() {
+		Iterator<Map.Entry<String, Long>> it = this.disk.entrySet().iterator();
+		while (this.diskUsed > this.diskBytes && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			file(eldest.getKey()).delete();
+			this.diskUsed -= eldest.getValue();
+			it.remove();
+		}
+	}
+	
+	/**
+	 * Helper giving the disk tier file for a key 
+	 * @param key String content address 
+	 * @return File of the entry
+	 */
+	private File file(String key) {
+		return new File(this.directory, key + SUFFIX);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ResultCache [directory=" + this.directory + ", diskBytes=" + this.diskBytes 
+				+ ", memoryEntries=" + this.memory.size() + ", diskEntries=" + this.disk.size() + "]";
+	}
+}
@@ -0,0 +1,249 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Immutable holder for the ten parameters accepted by SimulationRunner.main, in the same order. 
+ * A Scenario can build a fresh CarPark and Simulator on demand, which allows batch runs to 
+ * launch many independent replications of one configuration, varying only the seed. 
+ * @author hogan
+ *
+ */
+public class Scenario {
+	
+	public static final int NUM_PARAMETERS = 10;
+	
+	private final double meanStay;
+	private final double sdStay;
+	private final int seed;
+	private final double carProb;
+	private final double smallCarProb;
+	private final double mcProb;
+	private final int maxCarSpaces;
+	private final int maxSmallCarSpaces;
+	private final int maxMotorCycleSpaces;
+	private final int maxQueueSize;
+	
+	/**
+	 * Constructor for a Scenario using the defaults in Constants
+	 */
+	public Scenario() {
+		this(Constants.DEFAULT_INTENDED_STAY_MEAN, Constants.DEFAULT_INTENDED_STAY_SD, 
+				Constants.DEFAULT_SEED, Constants.DEFAULT_CAR_PROB, 
+				Constants.DEFAULT_SMALL_CAR_PROB, Constants.DEFAULT_MOTORCYCLE_PROB,
+				Constants.DEFAULT_MAX_CAR_SPACES, Constants.DEFAULT_MAX_SMALL_CAR_SPACES,
+				Constants.DEFAULT_MAX_MOTORCYCLE_SPACES, Constants.DEFAULT_MAX_QUEUE_SIZE);
+	}
+	
+	/**
+	 * Constructor taking the parameters in command line order. Values are checked 
+	 * when the Simulator is created rather than here. 
+	 * @param meanStay double holding the mean intended stay 
+	 * @param sdStay double holding the standard deviation of the intended stay 
+	 * @param seed int random number generator seed 
+	 * @param carProb double holding the probability that a car will arrive in the current minute
+	 * @param smallCarProb double holding the probability that the car that has arrived is a small car
+	 * @param mcProb double holding the probability that a motorcycle will arrive in the current minute
+	 * @param maxCarSpaces maximum number of spaces allocated to cars in the car park 
+	 * @param maxSmallCarSpaces maximum number of spaces restricted to small cars
+	 * @param maxMotorCycleSpaces maximum number of spaces allocated to MotorCycles
+	 * @param maxQueueSize maximum number of vehicles allowed to queue
+	 */
+	public Scenario(double meanStay, double sdStay, int seed, 
+			double carProb, double smallCarProb, double mcProb,
+			int maxCarSpaces, int maxSmallCarSpaces, int maxMotorCycleSpaces, int maxQueueSize) {
+		this.meanStay = meanStay;
+		this.sdStay = sdStay;
+		this.seed = seed;
+		this.carProb = carProb;
+		this.smallCarProb = smallCarProb;
+		this.mcProb = mcProb;
+		this.maxCarSpaces = maxCarSpaces;
+		this.maxSmallCarSpaces = maxSmallCarSpaces;
+		this.maxMotorCycleSpaces = maxMotorCycleSpaces;
+		this.maxQueueSize = maxQueueSize;
+	}
+	
+	/**
+	 * Parses the ten scenario parameters from an argument array, in the order used 
+	 * by SimulationRunner.main 
+	 * @param args String array holding the arguments 
+	 * @param offset int index of the first scenario argument
+	 * @return Scenario built from the arguments 
+	 * @throws SimulationException if too few arguments remain or one cannot be parsed
+	 */
+	public static Scenario fromArgs(String[] args, int offset) throws SimulationException {
+		if (args.length - offset < NUM_PARAMETERS) {
+			throw new SimulationException(NUM_PARAMETERS + " scenario arguments are required");
+		}
+		return new Scenario(parseDouble(args[offset]), parseDouble(args[offset + 1]), 
+				parseInt(args[offset + 2]), parseDouble(args[offset + 3]), 
+				parseDouble(args[offset + 4]), parseDouble(args[offset + 5]),
+				parseInt(args[offset + 6]), parseInt(args[offset + 7]), 
+				parseInt(args[offset + 8]), parseInt(args[offset + 9]));
+	}
+	
+	/**
+	 * Copy of this Scenario differing only in the seed 
+	 * @param seed int random number generator seed for the copy
+	 * @return new Scenario
+	 */
+	public Scenario withSeed(int seed) {
+		return new Scenario(this.meanStay, this.sdStay, seed, this.carProb, this.smallCarProb, 
+				this.mcProb, this.maxCarSpaces, this.maxSmallCarSpaces, 
+				this.maxMotorCycleSpaces, this.maxQueueSize);
+	}
+	
+	/**
+	 * Creates a new, empty CarPark sized according to this Scenario 
+	 * @return CarPark ready for simulation
+	 */
+	public CarPark createCarPark() {
+		return new CarPark(this.maxCarSpaces, this.maxSmallCarSpaces, 
+				this.maxMotorCycleSpaces, this.maxQueueSize);
+	}
+	
+	/**
+	 * Creates a new Simulator with this Scenario's seed and probabilities 
+	 * @return Simulator ready for simulation 
+	 * @throws SimulationException if one or more probabilities are invalid, or if meanStay < 0 or sdStay < 0
+	 */
+	public Simulator createSimulator() throws SimulationException {
+		return new Simulator(this.seed, this.meanStay, this.sdStay, 
+				this.carProb, this.smallCarProb, this.mcProb);
+	}
+
+	/**
+	 * @return the meanStay
+	 */
+	public double getMeanStay() {
+		return this.meanStay;
+	}
+
+	/**
+	 * @return the sdStay
+	 */
+	public double getSdStay() {
+		return this.sdStay;
+	}
+
+	/**
+	 * @return the seed
+	 */
+	public int getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * @return the carProb
+	 */
+	public double getCarProb() {
+		return this.carProb;
+	}
+
+	/**
+	 * @return the smallCarProb
+	 */
+	public double getSmallCarProb() {
+		return this.smallCarProb;
+	}
+
+	/**
+	 * @return the mcProb
+	 */
+	public double getMcProb() {
+		return this.mcProb;
+	}
+
+	/**
+	 * @return the maxCarSpaces
+	 */
+	public int getMaxCarSpaces() {
+		return this.maxCarSpaces;
+	}
+
+	/**
+	 * @return the maxSmallCarSpaces
+	 */
+	public int getMaxSmallCarSpaces() {
+		return this.maxSmallCarSpaces;
+	}
+
+	/**
+	 * @return the maxMotorCycleSpaces
+	 */
+	public int getMaxMotorCycleSpaces() {
+		return this.maxMotorCycleSpaces;
+	}
+
+	/**
+	 * @return the maxQueueSize
+	 */
+	public int getMaxQueueSize() {
+		return this.maxQueueSize;
+	}
+	
+	/**
+	 * Scenario in command line form, the inverse of {@link #fromArgs(String[], int) fromArgs}
+	 * @return String array of the ten parameters
+	 */
+	public String[] toArgs() {
+		return new String[] { Double.toString(this.meanStay), Double.toString(this.sdStay), 
+				Integer.toString(this.seed), Double.toString(this.carProb), 
+				Double.toString(this.smallCarProb), Double.toString(this.mcProb), 
+				Integer.toString(this.maxCarSpaces), Integer.toString(this.maxSmallCarSpaces),
+				Integer.toString(this.maxMotorCycleSpaces), Integer.toString(this.maxQueueSize) };
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Scenario [meanStay=" + meanStay + ", sdStay=" + sdStay
+				+ ", seed=" + seed + ", carProb=" + carProb + ", smallCarProb="
+				+ smallCarProb + ", mcProb=" + mcProb + ", maxCarSpaces=" 
+				+ maxCarSpaces + ", maxSmallCarSpaces=" + maxSmallCarSpaces 
+				+ ", maxMotorCycleSpaces=" + maxMotorCycleSpaces 
+				+ ", maxQueueSize=" + maxQueueSize + "]";
+	}
+	
+	/**
+	 * Helper to parse a double argument 
+	 * @param arg String holding the argument 
+	 * @return parsed value 
+	 * @throws SimulationException if arg is not a double
+	 */
+	private static double parseDouble(String arg) throws SimulationException {
+		try {
+			return Double.parseDouble(arg);
+		} catch (NumberFormatException e) {
+			throw new SimulationException("Argument " + arg + " must be a double.");
+		}
+	}
+	
+	/**
+	 * Helper to parse an int argument 
+	 * @param arg String holding the argument 
+	 * @return parsed value 
+	 * @throws SimulationException if arg is not an integer
+	 */
+	private static int parseInt(String arg) throws SimulationException {
+		try {
+			return Integer.parseInt(arg);
+		} catch (NumberFormatException e) {
+			throw new SimulationException("Argument " + arg + " must be an integer.");
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Command line client for SimulationServer. With ten arguments it sends that one scenario; 
+ * with none it streams scenario lines from standard input. Replies are printed as they arrive. 
+ * The port is taken from the system property simulation.port, defaulting to 
+ * SimulationServer.DEFAULT_PORT. 
+ * @author hogan
+ *
+ */
+public class SimulationClient {
+	
+	/**
+	 * Main program for the client 
+	 * @param args Arguments to the client: none, or the ten scenario parameters
+	 */
+	public static void main(String[] args) {
+		int port = Integer.getInteger("simulation.port", SimulationServer.DEFAULT_PORT);
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			final Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+			if (args.length == Scenario.NUM_PARAMETERS) {
+				out.write(String.join(" ", args) + "\n");
+			} else {
+				BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				String line;
+				while ((line = stdin.readLine()) != null) {
+					out.write(line + "\n");
+				}
+			}
+			out.flush();
+			socket.shutdownOutput();
+			
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			String reply;
+			while ((reply = in.readLine()) != null) {
+				System.out.println(reply);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+}
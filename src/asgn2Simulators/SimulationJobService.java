@@ -0,0 +1,159 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import asgn2CarParks.CarPark;
+
+/**
+ * Job service running each simulation replication, its log output and its contribution to 
+ * an aggregate result as one job on its own virtual thread. 
+ * 
+ * On a JDK with virtual threads the service uses a thread-per-task executor. A job blocked on 
+ * log I/O then releases its carrier for other jobs, and queued jobs cost only a parked virtual 
+ * thread each. The carrier pool is shared by the whole JVM and sized by the JDK, one carrier per 
+ * processor by default; to cap it, launch the JVM with 
+ * -Djdk.virtualThreadScheduler.parallelism=N. On older JDKs the service falls back to a fixed 
+ * pool of parallelism platform threads, where queued jobs are plain tasks waiting in the 
+ * executor's queue. 
+ * 
+ * In both cases at most 2 * parallelism jobs hold a simulation in memory at once; the rest wait 
+ * on a semaphore before building their CarPark. 
+ * @author hogan
+ *
+ */
+public class SimulationJobService implements AutoCloseable {
+	
+	private final ExecutorService executor;
+	private final Semaphore active;
+	private final boolean virtual;
+	
+	/**
+	 * Constructor using one carrier thread per available processor 
+	 */
+	public SimulationJobService() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructor with an explicit parallelism, which sizes the platform thread pool and 
+	 * bounds the jobs holding a simulation; the virtual thread carrier pool is set at launch 
+	 * @param parallelism int holding the number of jobs which may run simultaneously 
+	 * @throws IllegalArgumentException if parallelism < 1
+	 */
+	public SimulationJobService(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive");
+		}
+		ExecutorService ex = virtualThreadExecutor();
+		this.virtual = (ex != null);
+		this.executor = this.virtual ? ex : Executors.newFixedThreadPool(parallelism);
+		this.active = new Semaphore(2 * parallelism);
+	}
+	
+	/**
+	 * Queues one replication of scenario 
+	 * @param scenario Scenario to be simulated 
+	 * @param logFile File to receive the simulation log, or null for no log 
+	 * @param aggregate BatchResult into which the result is folded, or null for none; 
+	 * 		  updates are synchronised on the aggregate 
+	 * @return CompletableFuture holding the result, or the exception which ended the job
+	 */
+	public CompletableFuture<SimulationResult> submit(final Scenario scenario, final File logFile, 
+			final BatchResult aggregate) {
+		final CompletableFuture<SimulationResult> future = new CompletableFuture<SimulationResult>();
+		this.executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					future.complete(runJob(scenario, logFile, aggregate));
+				} catch (Exception e) {
+					future.completeExceptionally(e);
+				}
+			}
+		});
+		return future;
+	}
+	
+	/**
+	 * Boolean status indicating which kind of thread runs the jobs 
+	 * @return true if jobs run on virtual threads, false if on platform threads
+	 */
+	public boolean usesVirtualThreads() {
+		return this.virtual;
+	}
+	
+	/**
+	 * Stops accepting jobs and waits for queued jobs to finish. If interrupted while waiting, 
+	 * returns at once with the interrupt status set, and the queued jobs still run. 
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+		try {
+			while (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				// keep waiting; jobs are finite
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Body of a job, run on the executor's thread 
+	 * @param scenario Scenario to be simulated 
+	 * @param logFile File to receive the simulation log, or null for no log 
+	 * @param aggregate BatchResult into which the result is folded, or null for none
+	 * @return SimulationResult of the run 
+	 * @throws Exception on simulation or logging failures, or if interrupted while waiting
+	 */
+	private SimulationResult runJob(Scenario scenario, File logFile, BatchResult aggregate) throws Exception {
+		this.active.acquire();
+		try (Writer out = (logFile == null) ? Writer.nullWriter() : new FileWriter(logFile)) {
+			CarPark carPark = scenario.createCarPark();
+			carPark.setRetainArchive(logFile != null);
+			SimulationRunner sr = new SimulationRunner(carPark, scenario.createSimulator(), new Log(out));
+			sr.runSimulation();
+			SimulationResult result = sr.getResult();
+			if (aggregate != null) {
+				synchronized (aggregate) {
+					aggregate.add(result);
+				}
+			}
+			return result;
+		} finally {
+			this.active.release();
+		}
+	}
+	
+	/**
+	 * Helper creating a virtual thread per task executor where the JDK provides one. 
+	 * Looked up reflectively so the simulator still builds and runs on older JDKs. 
+	 * @return ExecutorService using virtual threads, or null if unavailable
+	 */
+	private static ExecutorService virtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Statistics.LogHistogram;
+
+/**
+ * Immutable summary of a single completed simulation run, as collected by 
+ * SimulationRunner. Used by batch runs to pool replications without retaining 
+ * the CarPark itself. 
+ * 
+ * A result taken directly from a run also carries the run's queue wait and stay 
+ * histograms, which callers must treat as read only. They are not part of the record 
+ * form, so results passed between processes or read back from storage have none. 
+ * @author hogan
+ *
+ */
+public class SimulationResult {
+	
+	/**
+	 * Output measures available for batch analysis 
+	 */
+	public enum Metric {
+		DISSATISFIED_FRACTION, MEAN_QUEUE_LENGTH, PEAK_OCCUPANCY
+	}
+	
+	private final int numProcessed;
+	private final int numDissatisfied;
+	private final int numArchived;
+	private final double meanQueueLength;
+	private final int peakOccupancy;
+	private final LogHistogram queueWaits;
+	private final LogHistogram stays;
+	
+	/**
+	 * Constructor just records the values, without histograms 
+	 * @param numProcessed int holding the number of vehicles created during the run
+	 * @param numDissatisfied int holding the number of dissatisfied customers
+	 * @param numArchived int holding the number of vehicles archived at the end of the run
+	 * @param meanQueueLength double holding the queue length averaged over all time steps
+	 * @param peakOccupancy int holding the largest number of vehicles parked at any time step 
+	 */
+	public SimulationResult(int numProcessed, int numDissatisfied, int numArchived, 
+			double meanQueueLength, int peakOccupancy) {
+		this(numProcessed, numDissatisfied, numArchived, meanQueueLength, peakOccupancy, null, null);
+	}
+	
+	/**
+	 * Constructor just records the values 
+	 * @param numProcessed int holding the number of vehicles created during the run
+	 * @param numDissatisfied int holding the number of dissatisfied customers
+	 * @param numArchived int holding the number of vehicles archived at the end of the run
+	 * @param meanQueueLength double holding the queue length averaged over all time steps
+	 * @param peakOccupancy int holding the largest number of vehicles parked at any time step 
+	 * @param queueWaits LogHistogram of queue waits during the run, or null if unknown 
+	 * @param stays LogHistogram of stays during the run, or null if unknown
+	 */
+	public SimulationResult(int numProcessed, int numDissatisfied, int numArchived, 
+			double meanQueueLength, int peakOccupancy, LogHistogram queueWaits, LogHistogram stays) {
+		this.numProcessed = numProcessed;
+		this.numDissatisfied = numDissatisfied;
+		this.numArchived = numArchived;
+		this.meanQueueLength = meanQueueLength;
+		this.peakOccupancy = peakOccupancy;
+		this.queueWaits = queueWaits;
+		this.stays = stays;
+	}
+	
+	/**
+	 * Value of the requested metric for this run
+	 * @param metric Metric to be reported 
+	 * @return value of the metric
+	 */
+	public double get(Metric metric) {
+		switch (metric) {
+		case DISSATISFIED_FRACTION:
+			return getDissatisfiedFraction();
+		case MEAN_QUEUE_LENGTH:
+			return this.meanQueueLength;
+		case PEAK_OCCUPANCY:
+			return this.peakOccupancy;
+		default:
+			throw new IllegalArgumentException("Unknown metric " + metric);
+		}
+	}
+	
+	/**
+	 * Proportion of vehicles created during the run that were dissatisfied 
+	 * @return numDissatisfied / numProcessed, or 0 if no vehicles were created
+	 */
+	public double getDissatisfiedFraction() {
+		if (this.numProcessed == 0) {
+			return 0.0;
+		}
+		return (double) this.numDissatisfied / this.numProcessed;
+	}
+
+	/**
+	 * @return the numProcessed
+	 */
+	public int getNumProcessed() {
+		return this.numProcessed;
+	}
+
+	/**
+	 * @return the numDissatisfied
+	 */
+	public int getNumDissatisfied() {
+		return this.numDissatisfied;
+	}
+
+	/**
+	 * @return the numArchived
+	 */
+	public int getNumArchived() {
+		return this.numArchived;
+	}
+
+	/**
+	 * @return the meanQueueLength
+	 */
+	public double getMeanQueueLength() {
+		return this.meanQueueLength;
+	}
+
+	/**
+	 * @return the peakOccupancy
+	 */
+	public int getPeakOccupancy() {
+		return this.peakOccupancy;
+	}
+
+	/**
+	 * @return the queue wait histogram, or null if not known
+	 */
+	public LogHistogram getQueueWaitHistogram() {
+		return this.queueWaits;
+	}
+
+	/**
+	 * @return the stay histogram, or null if not known
+	 */
+	public LogHistogram getStayHistogram() {
+		return this.stays;
+	}
+
+	/**
+	 * Copy of the result without its histograms, holding just the fields kept by 
+	 * {@link #toRecord() toRecord} 
+	 * @return this, if it has no histograms, or a new SimulationResult without them
+	 */
+	public SimulationResult withoutHistograms() {
+		if (this.queueWaits == null && this.stays == null) {
+			return this;
+		}
+		return new SimulationResult(this.numProcessed, this.numDissatisfied, this.numArchived, 
+				this.meanQueueLength, this.peakOccupancy);
+	}
+
+	/**
+	 * Compact single line form of the result, for transfer between processes. 
+	 * Fields are space separated and doubles are written exactly. 
+	 * @return String record, the inverse of {@link #fromRecord(String) fromRecord}
+	 */
+	public String toRecord() {
+		return this.numProcessed + " " + this.numDissatisfied + " " + this.numArchived 
+				+ " " + this.meanQueueLength + " " + this.peakOccupancy;
+	}
+	
+	/**
+	 * Parses a result written by {@link #toRecord() toRecord}
+	 * @param record String holding the record 
+	 * @return SimulationResult with the recorded values 
+	 * @throws SimulationException if the record is malformed
+	 */
+	public static SimulationResult fromRecord(String record) throws SimulationException {
+		String[] fields = record.trim().split("\\s+");
+		if (fields.length != 5) {
+			throw new SimulationException("Malformed result record: " + record);
+		}
+		try {
+			return new SimulationResult(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), 
+					Integer.parseInt(fields[2]), Double.parseDouble(fields[3]), 
+					Integer.parseInt(fields[4]));
+		} catch (NumberFormatException e) {
+			throw new SimulationException("Malformed result record: " + record);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SimulationResult [numProcessed=" + numProcessed 
+				+ ", numDissatisfied=" + numDissatisfied 
+				+ ", numArchived=" + numArchived 
+				+ ", meanQueueLength=" + meanQueueLength 
+				+ ", peakOccupancy=" + peakOccupancy + "]";
+	}
+}
@@ -10,11 +10,17 @@
  */
 package asgn2Simulators;
 
+import java.io.FileReader;
 import java.io.IOException;
 
+import javax.management.JMException;
+
 import asgn2CarParks.CarPark;
+import asgn2CarParks.CarParkMetrics;
+import asgn2CarParks.PrometheusEndpoint;
 import asgn2Exceptions.SimulationException;
 import asgn2Exceptions.VehicleException;
+import asgn2Simulators.TickProfiler.Phase;
 
 /**
  * Class to operate the simulation, taking parameters and utility methods from the Simulator
@@ -28,6 +34,21 @@ public class SimulationRunner {
 	
 	private Log log;
 	
+	// Per time step observations summarised in getResult
+	private long queueLengthTotal = 0;
+	private int numTimeSteps = 0;
+	private int peakOccupancy = 0;
+	private OccupancyBands bands = null;
+	
+	// JVM wide counters reported through JMX
+	private final SimulationRunnerMetrics metrics = SimulationRunnerMetrics.get();
+	private int lastNumProcessed = 0;
+	private TickProfiler profiler = null;
+	
+	// Instrumentation of the tick in progress; both null unless enabled
+	private TickProfiler activeProfiler = null;
+	private TickPhaseEvent phaseEvent = null;
+	
 	/**
 	 * Constructor just does initialisation 
 	 * @param carPark CarPark currently used 
@@ -41,6 +62,25 @@ public class SimulationRunner {
 	}
 	
 	
+	/**
+	 * Sets the time of day quantile sketches to be updated at the end of each time step 
+	 * @param bands OccupancyBands to record into, or null (the default) for none
+	 */
+	public void setOccupancyBands(OccupancyBands bands) {
+		this.bands = bands;
+	}
+	
+	/**
+	 * Sets a profiler to time each phase of every tick. By default, when profiling is enabled 
+	 * for the JVM, each run records into a fresh TickProfiler.forRun() which is merged into the 
+	 * shared total with TickProfiler.completeRun when the run ends; a profiler set here is used 
+	 * instead, and is left to the caller rather than merged. 
+	 * @param profiler TickProfiler to record into, or null (the default) for a profiler per run
+	 */
+	public void setProfiler(TickProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
 	/**
 	 * Method to run the simulation from start to finish. Exceptions are propagated upwards from Vehicle,
 	 * Simulation and Log objects as necessary 
@@ -50,30 +90,56 @@ public class SimulationRunner {
 	 */
 	public void runSimulation() throws VehicleException, SimulationException, IOException {
 		this.log.initialEntry(this.carPark,this.sim);
+		this.metrics.runStarted();
+		this.activeProfiler = (this.profiler != null) ? this.profiler : TickProfiler.forRun();
 		for (int time=0; time<=Constants.CLOSING_TIME; time++) {
+			beginTick();
 			//queue elements exceed max waiting time
 			if (!this.carPark.queueEmpty()) {
 				//System.out.print(carPark.getStatus(time));
 				this.carPark.archiveQueueFailures(time);
 			}
+			endPhase(Phase.ARCHIVE_QUEUE_FAILURES, time);
 			//vehicles whose time has expired
 			if (!this.carPark.carParkEmpty()) {
 				//force exit at closing time, otherwise normal
 				boolean force = (time == Constants.CLOSING_TIME);
 				this.carPark.archiveDepartingVehicles(time, force);
 			}
+			endPhase(Phase.ARCHIVE_DEPARTING_VEHICLES, time);
 			//attempt to clear the queue 
 			if (!this.carPark.carParkFull()) {
 				this.carPark.processQueue(time,this.sim);
 			}
+			endPhase(Phase.PROCESS_QUEUE, time);
 			// new vehicles from minute 1 until the last hour
 			if (newVehiclesAllowed(time)) { 
 				this.carPark.tryProcessNewVehicles(time,this.sim);
 			}
-			//Log progress 
+			endPhase(Phase.TRY_PROCESS_NEW_VEHICLES, time);
+			//Record and log progress 
+			recordTimeStep(time);
+			this.carPark.publishOccupancy(time);
 			this.log.logEntry(time,this.carPark);
+			endPhase(Phase.LOG_ENTRY, time);
 		}
 		this.log.finalise(this.carPark);
+		if (this.profiler == null && this.activeProfiler != null) {
+			TickProfiler.completeRun(this.activeProfiler);
+		}
+		this.metrics.runCompleted();
+	}
+
+	/**
+	 * Summary of the run for batch analysis. Only meaningful once runSimulation has completed. 
+	 * @return SimulationResult holding counts and time step averages for the run
+	 */
+	public SimulationResult getResult() {
+		double meanQueueLength = (this.numTimeSteps == 0) ? 0.0 
+				: (double) this.queueLengthTotal / this.numTimeSteps;
+		return new SimulationResult(this.carPark.getNumProcessed(), this.carPark.getNumDissatisfied(), 
+				this.carPark.getNumArchived(), meanQueueLength, this.peakOccupancy, 
+				this.carPark.getQueueWaitHistogram(), this.carPark.getStayHistogram());
 	}
 
 	/**
@@ -87,8 +153,7 @@ public class SimulationRunner {
 		Log l = null; 
 		try {
 			s = new Simulator();
-			l = new Log();
-		} catch (IOException | SimulationException e1) {
+		} catch (SimulationException e1) {
 			e1.printStackTrace();
 			System.exit(-1);
 		}
@@ -203,16 +268,125 @@ public class SimulationRunner {
 			s = new Simulator(seed, meanStay, sdStay, carProb, smallCarProb, mcProb);
 		}
 		
+		// Time of day arrival rates, if a profile is given
+		String profileFile = System.getProperty(ArrivalProfile.PROFILE_PROPERTY);
+		if (profileFile != null) {
+			try {
+				FileReader in = new FileReader(profileFile);
+				try {
+					s.setArrivalProfile(ArrivalProfile.load(in));
+				} finally {
+					in.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+				System.exit(-1);
+			}
+		}
+		
+		// Answer from the result cache, if enabled, when this configuration has been run before.
+		// No log file is written for a cached answer. 
+		ResultCache cache = ResultCache.fromSystemProperty();
+		Scenario scenario = (args.length == 10) ? Scenario.fromArgs(args, 0) : new Scenario();
+		if (cache != null) {
+			SimulationResult cached = cache.get(scenario, cp, s);
+			if (cached != null) {
+				System.out.println("Cached " + cached);
+				return;
+			}
+		}
+		
+		try {
+			l = new Log();
+		} catch (IOException e1) {
+			e1.printStackTrace();
+			System.exit(-1);
+		}
+		
+		// Make the car park visible to jconsole while the simulation runs
+		try {
+			CarParkMetrics.register(cp, "main");
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+		
+		// Serve the car park to Prometheus on loopback, if a port is given
+		PrometheusEndpoint endpoint = null;
+		Integer metricsPort = Integer.getInteger(PrometheusEndpoint.PORT_PROPERTY);
+		if (metricsPort != null) {
+			try {
+				endpoint = new PrometheusEndpoint(metricsPort);
+				endpoint.register("main", cp);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		
 		//Run the simulation 
 		SimulationRunner sr = new SimulationRunner(cp,s,l);
 		try {
 			sr.runSimulation();
+			if (cache != null) {
+				cache.put(scenario, cp, s, sr.getResult());
+			}
+			if (TickProfiler.ENABLED) {
+				System.out.print(TickProfiler.snapshot());
+			}
 		} catch (Exception e) {
 			e.printStackTrace();
 			System.exit(-1);
-		} 
+		} finally {
+			if (endpoint != null) {
+				endpoint.close();
+			}
+		}
 	} 
 
+	/**
+	 * Helper method to accumulate queue length and occupancy at the end of each time step
+	 * @param time int holding current simulation time
+	 */
+	private void recordTimeStep(int time) {
+		this.numTimeSteps++;
+		int queueLength = this.carPark.numVehiclesInQueue();
+		this.queueLengthTotal += queueLength;
+		int occupancy = this.carPark.getNumCars() + this.carPark.getNumSmallCars() 
+				+ this.carPark.getNumMotorCycles();
+		this.peakOccupancy = Math.max(this.peakOccupancy, occupancy);
+		int numProcessed = this.carPark.getNumProcessed();
+		this.metrics.tick(numProcessed - this.lastNumProcessed);
+		this.lastNumProcessed = numProcessed;
+		if (this.bands != null) {
+			this.bands.record(time, occupancy, queueLength);
+		}
+	}
+
+	/**
+	 * Helper method to start the instrumentation of a tick, if any
+	 */
+	private void beginTick() {
+		if (this.activeProfiler != null) {
+			this.activeProfiler.begin();
+		}
+		this.phaseEvent = TickPhaseEvent.beginIfEnabled();
+	}
+	
+	/**
+	 * Helper method to record the end of a phase with the profiler and flight recorder, 
+	 * if enabled, and start timing the next phase 
+	 * @param phase Phase which has just finished 
+	 * @param time int holding current simulation time
+	 */
+	private void endPhase(Phase phase, int time) {
+		if (this.activeProfiler != null) {
+			this.activeProfiler.lap(phase);
+		}
+		if (this.phaseEvent != null) {
+			this.phaseEvent.finish(phase, time, this.carPark);
+			this.phaseEvent = TickPhaseEvent.beginIfEnabled();
+		}
+	}
+	
 	/**
 	 * Helper method to determine if new vehicles are permitted
 	 * @param time int holding current simulation time
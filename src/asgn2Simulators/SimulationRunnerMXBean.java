@@ -0,0 +1,50 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+/**
+ * Management interface exposing the progress of every SimulationRunner in the JVM to 
+ * JMX clients such as jconsole. 
+ * @author hogan
+ *
+ */
+public interface SimulationRunnerMXBean {
+
+	/**
+	 * @return number of time steps completed by all runners
+	 */
+	long getTicks();
+	
+	/**
+	 * @return number of vehicles created by all runners
+	 */
+	long getVehiclesProcessed();
+	
+	/**
+	 * @return number of runs started
+	 */
+	long getRunsStarted();
+	
+	/**
+	 * @return number of runs completed
+	 */
+	long getRunsCompleted();
+	
+	/**
+	 * @return time steps per second over the most recent sampling interval
+	 */
+	double getTicksPerSecond();
+	
+	/**
+	 * @return vehicles created per second over the most recent sampling interval
+	 */
+	double getVehiclesProcessedPerSecond();
+}
@@ -0,0 +1,164 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * JVM wide counters for SimulationRunner, registered with the platform MBean server as 
+ * asgn2Simulators:type=SimulationRunner when first used. 
+ * 
+ * Every runner on every thread updates the same counters once per tick, so they are 
+ * LongAdders: each thread increments its own cell and updates never contend. Only reads 
+ * sum the cells. Rates are computed over the interval between successive samples, taken 
+ * whenever a rate is read at least {@link #MIN_SAMPLE_MILLIS} after the previous sample. 
+ * 
+ * @author hogan
+ *
+ */
+public class SimulationRunnerMetrics implements SimulationRunnerMXBean {
+
+	public static final String OBJECT_NAME = "asgn2Simulators:type=SimulationRunner";
+	public static final long MIN_SAMPLE_MILLIS = 1000;
+	
+	private static final SimulationRunnerMetrics INSTANCE = new SimulationRunnerMetrics();
+	
+	static {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (JMException | SecurityException e) {
+			// Counting carries on unobserved; the simulation must not fail for want of JMX
+		}
+	}
+	
+	private final LongAdder ticks = new LongAdder();
+	private final LongAdder vehiclesProcessed = new LongAdder();
+	private final LongAdder runsStarted = new LongAdder();
+	private final LongAdder runsCompleted = new LongAdder();
+	
+	// Most recent sample, guarded by this
+	private long sampleNanos = System.nanoTime();
+	private long sampleTicks = 0;
+	private long sampleVehicles = 0;
+	private double ticksPerSecond = 0.0;
+	private double vehiclesPerSecond = 0.0;
+	
+	/**
+	 * Constructor is private, as there is one instance per JVM
+	 */
+	private SimulationRunnerMetrics() {
+	}
+	
+	/**
+	 * Simple getter for the JVM wide instance, registering it on first use 
+	 * @return the SimulationRunnerMetrics for this JVM
+	 */
+	public static SimulationRunnerMetrics get() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * Counts the start of a run
+	 */
+	void runStarted() {
+		this.runsStarted.increment();
+	}
+	
+	/**
+	 * Counts a completed time step 
+	 * @param newVehicles int holding the number of vehicles created during the step
+	 */
+	void tick(int newVehicles) {
+		this.ticks.increment();
+		if (newVehicles != 0) {
+			this.vehiclesProcessed.add(newVehicles);
+		}
+	}
+	
+	/**
+	 * Counts the end of a run
+	 */
+	void runCompleted() {
+		this.runsCompleted.increment();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getTicks()
+	 */
+	@Override
+	public long getTicks() {
+		return this.ticks.sum();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getVehiclesProcessed()
+	 */
+	@Override
+	public long getVehiclesProcessed() {
+		return this.vehiclesProcessed.sum();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getRunsStarted()
+	 */
+	@Override
+	public long getRunsStarted() {
+		return this.runsStarted.sum();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getRunsCompleted()
+	 */
+	@Override
+	public long getRunsCompleted() {
+		return this.runsCompleted.sum();
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getTicksPerSecond()
+	 */
+	@Override
+	public synchronized double getTicksPerSecond() {
+		sample();
+		return this.ticksPerSecond;
+	}
+
+	/* (non-Javadoc)
+	 * @see asgn2Simulators.SimulationRunnerMXBean#getVehiclesProcessedPerSecond()
+	 */
+	@Override
+	public synchronized double getVehiclesProcessedPerSecond() {
+		sample();
+		return this.vehiclesPerSecond;
+	}
+	
+	/**
+	 * Helper to update the rates if the last sample is old enough; callers hold the lock
+	 */
+	private void sample() {
+		long now = System.nanoTime();
+		long elapsed = now - this.sampleNanos;
+		if (elapsed < MIN_SAMPLE_MILLIS * 1000000L) {
+			return;
+		}
+		long t = this.ticks.sum();
+		long v = this.vehiclesProcessed.sum();
+		this.ticksPerSecond = (t - this.sampleTicks) * 1e9 / elapsed;
+		this.vehiclesPerSecond = (v - this.sampleVehicles) * 1e9 / elapsed;
+		this.sampleNanos = now;
+		this.sampleTicks = t;
+		this.sampleVehicles = v;
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Long running simulation daemon, so that many small scenarios share one warmed up JVM instead 
+ * of paying JVM start up and class loading for every SimulationRunner.main. 
+ * 
+ * The server listens on the loopback interface only. The protocol is line based: each request 
+ * line holds the ten scenario parameters of SimulationRunner.main separated by white space, and 
+ * any number of requests may be sent on one connection without waiting. Each is run on the 
+ * shared SimulationJobService and answered as soon as it completes, so replies may arrive out 
+ * of order and are tagged with the request's sequence number on the connection, starting at 0: 
+ * <br>
+ * OK seq numProcessed numDissatisfied numArchived meanQueueLength peakOccupancy<br>
+ * ERR seq message<br>
+ * A line reading QUIT, or closing the output side of the socket, ends the requests; the server 
+ * closes the connection once every reply has been sent. 
+ * @author hogan
+ *
+ */
+public class SimulationServer implements AutoCloseable {
+	
+	public static final int DEFAULT_PORT = 7370;
+	public static final int WARM_UP_RUNS = 50;
+	
+	private final ServerSocket serverSocket;
+	private final SimulationJobService jobs;
+	private final ExecutorService connections = Executors.newCachedThreadPool();
+	private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+	private volatile boolean running = true;
+	
+	/**
+	 * Constructor binds the server socket on the loopback interface 
+	 * @param port int holding the port, or 0 for any free port 
+	 * @throws IOException if the socket cannot be bound
+	 */
+	public SimulationServer(int port) throws IOException {
+		this.jobs = new SimulationJobService();
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}
+	
+	/**
+	 * Simple getter for the bound port
+	 * @return local port of the server socket
+	 */
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+	
+	/**
+	 * Runs replications of the default Scenario so that the simulation code is compiled 
+	 * before the first request arrives 
+	 * @throws SimulationException if a warm up run fails
+	 */
+	public void warmUp() throws SimulationException {
+		Scenario scenario = new Scenario();
+		for (int i = 0; i < WARM_UP_RUNS; i++) {
+			try {
+				this.jobs.submit(scenario.withSeed(i), null, null).get();
+			} catch (Exception e) {
+				throw new SimulationException("Warm up failed: " + e);
+			}
+		}
+	}
+	
+	/**
+	 * Accepts connections until the server is closed. Each connection is read on its own thread. 
+	 */
+	public void serve() {
+		while (this.running) {
+			try {
+				final Socket socket = this.serverSocket.accept();
+				this.open.add(socket);
+				if (!this.running) {
+					closeQuietly(socket);
+					break;
+				}
+				this.connections.execute(new Runnable() {
+					@Override
+					public void run() {
+						handle(socket);
+					}
+				});
+			} catch (IOException e) {
+				if (this.running) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Stops accepting connections, closes every open connection, and waits for queued 
+	 * jobs to finish. Replies still outstanding on a closed connection are discarded. 
+	 * @throws IOException if the server socket cannot be closed 
+	 */
+	@Override
+	public void close() throws IOException {
+		this.running = false;
+		this.serverSocket.close();
+		for (Socket socket : this.open) {
+			closeQuietly(socket);
+		}
+		this.connections.shutdown();
+		this.jobs.close();
+	}
+	
+	/**
+	 * Serves one connection: reads requests, queues a job for each, and closes the socket 
+	 * once every reply has been written 
+	 * @param socket Socket of the accepted connection
+	 */
+	private void handle(Socket socket) {
+		try (Socket s = socket) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+			final Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+			final int[] pending = { 0 };
+			long seq = 0;
+			String line;
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty()) {
+					continue;
+				}
+				if (line.equals("QUIT")) {
+					break;
+				}
+				final long id = seq++;
+				Scenario scenario;
+				try {
+					scenario = Scenario.fromArgs(line.split("\\s+"), 0);
+				} catch (SimulationException e) {
+					reply(out, "ERR " + id + " " + e.getMessage());
+					continue;
+				}
+				synchronized (pending) {
+					pending[0]++;
+				}
+				this.jobs.submit(scenario, null, null).whenComplete(new BiConsumer<SimulationResult, Throwable>() {
+					@Override
+					public void accept(SimulationResult result, Throwable failure) {
+						reply(out, (failure == null) ? "OK " + id + " " + result.toRecord() 
+								: "ERR " + id + " " + failure);
+						synchronized (pending) {
+							pending[0]--;
+							pending.notifyAll();
+						}
+					}
+				});
+			}
+			synchronized (pending) {
+				while (pending[0] > 0) {
+					pending.wait();
+				}
+			}
+		} catch (SocketException e) {
+			// client went away; outstanding replies are discarded
+		} catch (IOException e) {
+			e.printStackTrace();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.open.remove(socket);
+		}
+	}
+	
+	/**
+	 * Helper to close a connection, ignoring failures; used when the server shuts down 
+	 * @param socket Socket of the connection 
+	 */
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// already closed; nothing more to do
+		}
+	}
+	
+	/**
+	 * Helper to write one reply line. Replies from different jobs share the writer. 
+	 * @param out Writer of the connection 
+	 * @param line String holding the reply
+	 */
+	private static void reply(Writer out, String line) {
+		synchronized (out) {
+			try {
+				out.write(line);
+				out.write('\n');
+				out.flush();
+			} catch (IOException e) {
+				// client went away; nothing more to do for this reply
+			}
+		}
+	}
+	
+	/**
+	 * Daemon entry point. Optional argument is the port. 
+	 * @param args Arguments to the server
+	 */
+	public static void main(String[] args) {
+		try {
+			int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+			SimulationServer server = new SimulationServer(port);
+			server.warmUp();
+			System.out.println("Simulation server listening on " + server.getPort());
+			server.serve();
+		} catch (IOException | NumberFormatException | SimulationException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+}
@@ -13,6 +13,7 @@ package asgn2Simulators;
 import java.util.Random;
 
 import asgn2Exceptions.SimulationException;
+import asgn2Simulators.ArrivalProfile.VehicleClass;
 import asgn2Simulators.Constants;
 
 
@@ -22,11 +23,24 @@ import asgn2Simulators.Constants;
  * User has the option to set these parameters using the multi-argument constructor. 
  * Methods provide intended stay durations according to N(meanStay,sdStay^2), and Bernoulli 
  * trial outcomes for vehicle creation.  
+ * 
+ * For high volume car parks the trials can be replaced by Poisson arrival counts, see 
+ * {@link #setPoissonArrivals(double) setPoissonArrivals}, and for days with peaks the 
+ * constant probabilities by time of day rates, see {@link #setArrivalProfile(ArrivalProfile) setArrivalProfile}. 
  * @author hogan
  *
  */
 public class Simulator {
 	
+	// Poisson means below this are drawn by inversion, larger ones by rejection 
+	private static final double POISSON_INVERSION_LIMIT = 10.0;
+	private static final double[] LOG_FACTORIAL = new double[10];
+	static {
+		for (int k = 1; k < LOG_FACTORIAL.length; k++) {
+			LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+		}
+	}
+	
 	private Random rng;
 	private double meanStay = Constants.DEFAULT_INTENDED_STAY_MEAN;
 	private double sdStay = Constants.DEFAULT_INTENDED_STAY_SD;
@@ -34,6 +48,10 @@ public class Simulator {
 	private double carProb = Constants.DEFAULT_CAR_PROB;
 	private double smallCarProb = Constants.DEFAULT_SMALL_CAR_PROB;
 	private double mcProb = Constants.DEFAULT_MOTORCYCLE_PROB;
+	// Zero for one Bernoulli trial per class per minute, otherwise the Poisson mean multiplier
+	private double arrivalScale = 0.0;
+	// Time of day rates replacing the probabilities above, or null
+	private ArrivalProfile profile = null;
 	
 	
 	/**
@@ -102,6 +120,87 @@ public class Simulator {
 		return Math.max(duration,Constants.MINIMUM_STAY);
 	}
 	
+	/**
+	 * Number of motorcycles arriving in the current minute: a Poisson count in the high volume 
+	 * mode, and otherwise 1 if motorCycleTrial succeeds 
+	 * @param time int holding current simulation time 
+	 * @return number of new motorcycles, 0 or more
+	 */
+	public int newMotorCycleArrivals(int time) {
+		return arrivals(VehicleClass.MOTORCYCLE, this.mcProb, time);
+	}
+	
+	/**
+	 * Number of normal cars arriving in the current minute: a Poisson count in the high volume 
+	 * mode, and otherwise 1 if newCarTrial succeeds 
+	 * @param time int holding current simulation time 
+	 * @return number of new cars, 0 or more
+	 */
+	public int newCarArrivals(int time) {
+		return arrivals(VehicleClass.CAR, this.carProb, time);
+	}
+	
+	/**
+	 * Number of small cars arriving in the current minute: a Poisson count in the high volume 
+	 * mode, and otherwise 1 if smallCarTrial succeeds 
+	 * @param time int holding current simulation time 
+	 * @return number of new small cars, 0 or more
+	 */
+	public int newSmallCarArrivals(int time) {
+		return arrivals(VehicleClass.SMALL_CAR, this.smallCarProb, time);
+	}
+	
+	/**
+	 * Simple status showing whether vehicles arrive in Poisson batches 
+	 * @return true in the high volume mode or with an arrival profile, false for one trial 
+	 * 		   per class per minute
+	 */
+	public boolean isPoissonArrivals() {
+		return this.arrivalScale > 0.0 || this.profile != null;
+	}
+	
+	/**
+	 * Replaces the constant car, small car and motorcycle probabilities with the time of day 
+	 * rates of a profile. Arrivals from a profile are Poisson counts with mean the profile rate 
+	 * for the minute, multiplied by the arrival scale if one has been set. 
+	 * @param profile ArrivalProfile giving the rates, or null to return to constant probabilities
+	 */
+	public void setArrivalProfile(ArrivalProfile profile) {
+		this.profile = profile;
+	}
+	
+	/**
+	 * Simple getter for the time of day arrival rates 
+	 * @return ArrivalProfile in use, or null if the probabilities are constant
+	 */
+	public ArrivalProfile getArrivalProfile() {
+		return this.profile;
+	}
+	
+	/**
+	 * Simple getter for the high volume arrival multiplier 
+	 * @return arrivalScale, or 0 for one trial per class per minute
+	 */
+	public double getArrivalScale() {
+		return this.arrivalScale;
+	}
+	
+	/**
+	 * Selects the high volume arrival mode, in which the number of vehicles of each class 
+	 * arriving in a minute is Poisson distributed, with mean arrivalScale times the probability 
+	 * recorded for that class. An arrivalScale of 1 thus gives the same mean arrivals as the 
+	 * trials, but with no limit of one vehicle per class per minute. 
+	 * @param arrivalScale double holding the multiplier, or 0 to return to one trial per class per minute 
+	 * 		  (or to unscaled rates if an arrival profile is set)
+	 * @throws SimulationException if arrivalScale < 0 or is not finite
+	 */
+	public void setPoissonArrivals(double arrivalScale) throws SimulationException {
+		if (!(arrivalScale >= 0.0) || Double.isInfinite(arrivalScale)) {
+			throw new SimulationException(" Invalid arrival scale");
+		}
+		this.arrivalScale = arrivalScale;
+	}
+	
 	/**
 	 * Coin toss to see whether car is to be small car
 	 * Uses recorded small car probability
@@ -118,7 +217,28 @@ public class Simulator {
 	public String toString() {
 		return "Simulator [meanStay=" + meanStay + ", sdStay=" + sdStay
 				+ ", seed=" + seed + ", carProb=" + carProb + ", smallCarProb="
-				+ smallCarProb + ", mcProb=" + mcProb + "]";
+				+ smallCarProb + ", mcProb=" + mcProb 
+				+ ((this.arrivalScale > 0.0) ? ", arrivalScale=" + arrivalScale : "") 
+				+ ((this.profile != null) ? ", arrivalProfile=" + this.profile.getNumSegments() + " segments" : "") + "]";
+	}
+	
+	/**
+	 * Helper giving the arrivals of one class in the current minute 
+	 * @param vehicleClass VehicleClass arriving 
+	 * @param prob double holding the probability recorded for the class
+	 * @param time int holding current simulation time 
+	 * @return Poisson count with mean arrivalScale times the profile rate or prob, 
+	 * 		   or 0 or 1 from a single trial
+	 */
+	private int arrivals(VehicleClass vehicleClass, double prob, int time) {
+		if (this.profile != null) {
+			double scale = (this.arrivalScale > 0.0) ? this.arrivalScale : 1.0;
+			return poisson(scale * this.profile.getRate(vehicleClass, time));
+		}
+		if (!isPoissonArrivals()) {
+			return randomSuccess(prob) ? 1 : 0;
+		}
+		return poisson(this.arrivalScale * prob);
 	}
 	
 	/**
@@ -158,6 +278,68 @@ public class Simulator {
 		return (prob < 0.0) || (prob > 1.0);
 	}
 
+	/**
+	 * Utility method to draw a <a href="http://en.wikipedia.org/wiki/Poisson_distribution">Poisson</a> 
+	 * count. Small means use inversion by sequential search; larger means use the transformed 
+	 * rejection method PTRS of Hormann (1993), which takes a bounded number of draws however 
+	 * large the mean, and is exact. 
+	 * @param mean double holding the mean count, 0 or more
+	 * @return random count drawn from Poisson(mean)
+	 */
+	private int poisson(double mean) {
+		if (mean < POISSON_INVERSION_LIMIT) {
+			double p = Math.exp(-mean);
+			double u = this.rng.nextDouble();
+			int k = 0;
+			while (u > p) {
+				u -= p;
+				k++;
+				p *= mean / k;
+				if (p <= 0.0) {
+					// Rounding has exhausted the tail
+					break;
+				}
+			}
+			return k;
+		}
+		double sqrtMean = Math.sqrt(mean);
+		double logMean = Math.log(mean);
+		double b = 0.931 + 2.53 * sqrtMean;
+		double a = -0.059 + 0.02483 * b;
+		double invAlpha = 1.1239 + 1.1328 / (b - 3.4);
+		double vr = 0.9277 - 3.6224 / (b - 2);
+		while (true) {
+			double u = this.rng.nextDouble() - 0.5;
+			double v = this.rng.nextDouble();
+			double us = 0.5 - Math.abs(u);
+			long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+			if (us >= 0.07 && v <= vr) {
+				return (int) k;
+			}
+			if (k < 0 || (us < 0.013 && v > us)) {
+				continue;
+			}
+			if (Math.log(v * invAlpha / (a / (us * us) + b)) <= -mean + k * logMean - logFactorial(k)) {
+				return (int) k;
+			}
+		}
+	}
+	
+	/**
+	 * Utility method giving log(k!), exactly for small k and by Stirling's series otherwise 
+	 * @param k long holding the argument, 0 or more
+	 * @return natural logarithm of k factorial
+	 */
+	private static double logFactorial(long k) {
+		if (k < LOG_FACTORIAL.length) {
+			return LOG_FACTORIAL[(int) k];
+		}
+		double x = k + 1.0;
+		double invX2 = 1.0 / (x * x);
+		return (x - 0.5) * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI) 
+				+ (1.0 / 12 - invX2 * (1.0 / 360 - invX2 / 1260)) / x;
+	}
+
 	/**
 	 * Utility method to implement a <a href="http://en.wikipedia.org/wiki/Bernoulli_trial">Bernoulli Trial</a>, 
 	 * a coin toss with two outcomes: success (probability successProb) and failure (probability 1-successProb)
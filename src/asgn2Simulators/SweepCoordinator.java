@@ -0,0 +1,333 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Coordinator for parameter sweeps too large for one heap. The grid is cut into shards of 
+ * consecutive points, and each of a number of SweepWorker JVMs, launched on this machine through 
+ * ProcessBuilder, is handed one shard at a time over its standard input. Workers stream back one 
+ * compact result per point. The shard is written on a separate thread while the replies are read, 
+ * so neither side can block the other on a full pipe however large the shard. 
+ * 
+ * If a worker dies part way through a shard, its process is replaced and the points of the shard 
+ * still without a result go back on the shard queue, up to MAX_ATTEMPTS times. Points which a 
+ * worker reports as failing are not retried, since the simulation is deterministic. 
+ * @author hogan
+ *
+ */
+public class SweepCoordinator {
+	
+	public static final int DEFAULT_SHARD_SIZE = 64;
+	public static final int MAX_ATTEMPTS = 3;
+	public static final long EXIT_TIMEOUT_SECONDS = 30;
+	
+	/**
+	 * Grid points handed to one worker at a time, in ascending order; consecutive unless 
+	 * the shard was requeued 
+	 */
+	private static class Shard {
+		final int[] points;
+		final int attempt;
+		
+		Shard(int[] points, int attempt) {
+			this.points = points;
+			this.attempt = attempt;
+		}
+	}
+	
+	/**
+	 * A worker JVM and the buffered streams used to talk to it 
+	 */
+	private static class Worker {
+		final Process process;
+		final Writer out;
+		final BufferedReader in;
+		
+		Worker(Process process) {
+			this.process = process;
+			this.out = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+			this.in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		}
+	}
+	
+	private final int workers;
+	private final int shardSize;
+	private final List<String> jvmOptions;
+	
+	/**
+	 * Constructor with one worker per available processor and the default shard size 
+	 */
+	public SweepCoordinator() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_SHARD_SIZE, new ArrayList<String>());
+	}
+	
+	/**
+	 * Constructor 
+	 * @param workers int holding the number of worker JVMs 
+	 * @param shardSize int holding the number of grid points per shard 
+	 * @param jvmOptions List of extra options for the worker JVMs, such as -Xmx256m
+	 * @throws IllegalArgumentException if workers < 1 or shardSize < 1
+	 */
+	public SweepCoordinator(int workers, int shardSize, List<String> jvmOptions) {
+		if (workers < 1 || shardSize < 1) {
+			throw new IllegalArgumentException("Workers and shard size must be positive");
+		}
+		this.workers = workers;
+		this.shardSize = shardSize;
+		this.jvmOptions = new ArrayList<String>(jvmOptions);
+	}
+	
+	/**
+	 * Runs every point of grid on the worker JVMs 
+	 * @param grid List of Scenarios to be run 
+	 * @return SimulationResult array, indexed as grid 
+	 * @throws SimulationException if any point failed, or a shard was lost MAX_ATTEMPTS times
+	 */
+	public SimulationResult[] run(final List<Scenario> grid) throws SimulationException {
+		final SimulationResult[] results = new SimulationResult[grid.size()];
+		final String[] errors = new String[grid.size()];
+		final ConcurrentLinkedQueue<Shard> shards = new ConcurrentLinkedQueue<Shard>();
+		for (int start = 0; start < grid.size(); start += this.shardSize) {
+			int[] points = new int[Math.min(this.shardSize, grid.size() - start)];
+			for (int i = 0; i < points.length; i++) {
+				points[i] = start + i;
+			}
+			shards.add(new Shard(points, 1));
+		}
+		
+		List<Thread> drivers = new ArrayList<Thread>();
+		for (int w = 0; w < this.workers; w++) {
+			Thread t = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					drive(grid, shards, results, errors);
+				}
+			}, "sweep-driver-" + w);
+			t.start();
+			drivers.add(t);
+		}
+		for (Thread t : drivers) {
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SimulationException("Interrupted while waiting for workers");
+			}
+		}
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] == null) {
+				throw new SimulationException("Grid point " + i + " failed: " 
+						+ ((errors[i] == null) ? "shard lost too often" : errors[i]));
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * Body of a driver thread, which owns one worker process at a time and feeds it shards 
+	 * until none remain 
+	 * @param grid List of Scenarios being run 
+	 * @param shards queue of Shards still to be run 
+	 * @param results SimulationResult array being filled 
+	 * @param errors String array of failure messages being filled
+	 */
+	private void drive(List<Scenario> grid, ConcurrentLinkedQueue<Shard> shards, 
+			SimulationResult[] results, String[] errors) {
+		Worker worker = null;
+		Shard shard;
+		while ((shard = shards.poll()) != null) {
+			try {
+				if (worker == null) {
+					worker = launch();
+				}
+				runShard(worker, shard, grid, results, errors);
+			} catch (IOException | SimulationException e) {
+				// Worker died or spoke nonsense: replace it and requeue what is missing
+				if (worker != null) {
+					worker.process.destroyForcibly();
+					worker = null;
+				}
+				if (shard.attempt < MAX_ATTEMPTS) {
+					int[] missing = missing(shard.points, results, errors);
+					if (missing.length > 0) {
+						shards.add(new Shard(missing, shard.attempt + 1));
+					}
+				}
+			}
+		}
+		if (worker != null) {
+			try {
+				worker.out.close();
+				if (!worker.process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+					worker.process.destroyForcibly();
+				}
+			} catch (IOException e) {
+				worker.process.destroyForcibly();
+			} catch (InterruptedException e) {
+				worker.process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Helper sending one shard to a worker and collecting its replies. The shard is written on 
+	 * its own thread, as the worker may fill its output pipe before it has read the whole shard. 
+	 * Results are stored as they arrive, so they survive a later crash. 
+	 * @param worker Worker to run the shard 
+	 * @param shard Shard to be run 
+	 * @param grid List of Scenarios being run 
+	 * @param results SimulationResult array being filled 
+	 * @param errors String array of failure messages being filled 
+	 * @throws IOException if the worker's streams fail or it exits early 
+	 * @throws SimulationException if a reply is malformed
+	 */
+	private void runShard(final Worker worker, final Shard shard, final List<Scenario> grid, 
+			SimulationResult[] results, String[] errors) throws IOException, SimulationException {
+		final IOException[] writeFailure = { null };
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Writer out = worker.out;
+					for (int i : shard.points) {
+						out.write(i + " " + String.join(" ", grid.get(i).toArgs()) + "\n");
+					}
+					out.write(SweepWorker.END + "\n");
+					out.flush();
+				} catch (IOException e) {
+					// the worker died; the reader sees end of stream and the shard is requeued
+					writeFailure[0] = e;
+				}
+			}
+		}, Thread.currentThread().getName() + "-writer");
+		writer.setDaemon(true);
+		writer.start();
+		
+		BufferedReader in = worker.in;
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (line.equals(SweepWorker.END)) {
+				// the worker has read the whole shard, so the writer is done or about to be
+				try {
+					writer.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while finishing shard");
+				}
+				if (writeFailure[0] != null) {
+					throw writeFailure[0];
+				}
+				return;
+			}
+			String[] parts = line.split(" ", 3);
+			if (parts.length < 3) {
+				throw new SimulationException("Malformed worker reply: " + line);
+			}
+			int index;
+			try {
+				index = Integer.parseInt(parts[1]);
+			} catch (NumberFormatException e) {
+				throw new SimulationException("Malformed worker reply: " + line);
+			}
+			if (Arrays.binarySearch(shard.points, index) < 0) {
+				throw new SimulationException("Malformed worker reply: " + line);
+			}
+			if (parts[0].equals("OK")) {
+				results[index] = SimulationResult.fromRecord(parts[2]);
+			} else {
+				errors[index] = parts[2];
+			}
+		}
+		throw new IOException("Worker exited during shard");
+	}
+	
+	/**
+	 * Helper launching a worker JVM with the coordinator's class path 
+	 * @return Worker running SweepWorker 
+	 * @throws IOException if the process cannot be started
+	 */
+	private Worker launch() throws IOException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(this.jvmOptions);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(SweepWorker.class.getName());
+		ProcessBuilder pb = new ProcessBuilder(command);
+		pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+		return new Worker(pb.start());
+	}
+	
+	/**
+	 * Helper listing the points of a shard which have neither a result nor an error 
+	 * @param points int array of grid indices 
+	 * @param results SimulationResult array being filled 
+	 * @param errors String array of failure messages being filled 
+	 * @return int array of the outstanding indices
+	 */
+	private static int[] missing(int[] points, SimulationResult[] results, String[] errors) {
+		int n = 0;
+		int[] missing = new int[points.length];
+		for (int i : points) {
+			if (results[i] == null && errors[i] == null) {
+				missing[n++] = i;
+			}
+		}
+		int[] trimmed = new int[n];
+		System.arraycopy(missing, 0, trimmed, 0, n);
+		return trimmed;
+	}
+	
+	/**
+	 * Coordinator entry point. Reads one scenario per line (the ten parameters of 
+	 * SimulationRunner.main) from standard input and prints one result record per line, in order. 
+	 * Optional argument is the number of worker JVMs. 
+	 * @param args Arguments to the coordinator
+	 */
+	public static void main(String[] args) {
+		try {
+			int workers = (args.length > 0) ? Integer.parseInt(args[0]) 
+					: Runtime.getRuntime().availableProcessors();
+			List<Scenario> grid = new ArrayList<Scenario>();
+			BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (!line.trim().isEmpty()) {
+					grid.add(Scenario.fromArgs(line.trim().split("\\s+"), 0));
+				}
+			}
+			SweepCoordinator coordinator = new SweepCoordinator(workers, DEFAULT_SHARD_SIZE, new ArrayList<String>());
+			for (SimulationResult r : coordinator.run(grid)) {
+				System.out.println(r.toRecord());
+			}
+		} catch (IOException | NumberFormatException | SimulationException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+}
@@ -0,0 +1,284 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Append-only journal of completed sweep points, so that a sweep interrupted by a crash can be 
+ * restarted and carry on from where it stopped. 
+ * 
+ * The file starts with a 16 byte header holding a magic number, a format version and a 
+ * fingerprint of the grid, so a journal is never applied to a different sweep. Each completed 
+ * point is then a fixed 32 byte record: grid index, the five SimulationResult fields and a CRC32 
+ * of the record, so a million points take 32MB. Records are buffered and written with one fsync 
+ * per batch; on reopening, a torn or corrupt tail left by a crash is truncated and only the 
+ * points after the last durable record are run again. 
+ * @author hogan
+ *
+ */
+public class SweepJournal implements AutoCloseable {
+	
+	public static final int DEFAULT_SYNC_INTERVAL = 1024;
+	
+	private static final int MAGIC = 0x43505357; // "CPSW"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 16;
+	private static final int RECORD_BYTES = 32;
+	
+	private final FileChannel channel;
+	private final SimulationResult[] completed;
+	private final ByteBuffer pending;
+	private final CRC32 crc = new CRC32();
+	private int numCompleted = 0;
+	
+	/**
+	 * Constructor using the default sync interval 
+	 * @param file File holding the journal; created if absent 
+	 * @param grid List of Scenarios making up the sweep 
+	 * @throws IOException if the file cannot be read or written 
+	 * @throws SimulationException if the file is not a journal of this grid
+	 */
+	public SweepJournal(File file, List<Scenario> grid) throws IOException, SimulationException {
+		this(file, grid, DEFAULT_SYNC_INTERVAL);
+	}
+	
+	/**
+	 * Constructor opens or creates the journal and loads the points already completed 
+	 * @param file File holding the journal; created if absent 
+	 * @param grid List of Scenarios making up the sweep 
+	 * @param syncInterval int holding the number of records written per fsync
+	 * @throws IOException if the file cannot be read or written 
+	 * @throws SimulationException if the file is not a journal of this grid
+	 */
+	public SweepJournal(File file, List<Scenario> grid, int syncInterval) throws IOException, SimulationException {
+		if (syncInterval < 1) {
+			throw new IllegalArgumentException("Sync interval must be positive");
+		}
+		this.completed = new SimulationResult[grid.size()];
+		this.pending = ByteBuffer.allocateDirect(syncInterval * RECORD_BYTES);
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long fingerprint = fingerprint(grid);
+		try {
+			if (this.channel.size() < HEADER_BYTES) {
+				writeHeader(fingerprint);
+			} else {
+				checkHeader(fingerprint);
+				recover();
+			}
+		} catch (IOException | SimulationException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Boolean status indicating whether a point has already been run 
+	 * @param index int holding the grid index 
+	 * @return true if the point has a durable or pending record, false otherwise
+	 */
+	public boolean isCompleted(int index) {
+		return this.completed[index] != null;
+	}
+	
+	/**
+	 * Simple getter for a completed result 
+	 * @param index int holding the grid index 
+	 * @return SimulationResult of the point, or null if it has not been run
+	 */
+	public SimulationResult getResult(int index) {
+		return this.completed[index];
+	}
+	
+	/**
+	 * Simple getter for the number of completed points
+	 * @return number of grid points with a result
+	 */
+	public int getNumCompleted() {
+		return this.numCompleted;
+	}
+	
+	/**
+	 * Appends the result of a completed point. The record becomes durable at the next 
+	 * batch boundary, {@link #sync() sync} or {@link #close() close}. 
+	 * @param index int holding the grid index 
+	 * @param result SimulationResult of the point 
+	 * @throws IOException if a batch cannot be written
+	 */
+	public synchronized void record(int index, SimulationResult result) throws IOException {
+		if (this.completed[index] != null) {
+			return;
+		}
+		int start = this.pending.position();
+		this.pending.putInt(index)
+				.putInt(result.getNumProcessed())
+				.putInt(result.getNumDissatisfied())
+				.putInt(result.getNumArchived())
+				.putDouble(result.getMeanQueueLength())
+				.putInt(result.getPeakOccupancy());
+		this.pending.putInt(checksum(this.pending, start));
+		this.completed[index] = result;
+		this.numCompleted++;
+		if (!this.pending.hasRemaining()) {
+			sync();
+		}
+	}
+	
+	/**
+	 * Writes all pending records and forces them to disk 
+	 * @throws IOException if the records cannot be written
+	 */
+	public synchronized void sync() throws IOException {
+		if (this.pending.position() == 0) {
+			return;
+		}
+		this.pending.flip();
+		this.channel.position(this.channel.size());
+		while (this.pending.hasRemaining()) {
+			this.channel.write(this.pending);
+		}
+		this.pending.clear();
+		this.channel.force(false);
+	}
+	
+	/**
+	 * Syncs pending records and closes the file 
+	 * @throws IOException if the records cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			sync();
+		} finally {
+			this.channel.close();
+		}
+	}
+	
+	/**
+	 * 64 bit FNV-1a hash of every parameter of every point, identifying the grid 
+	 * @param grid List of Scenarios making up the sweep 
+	 * @return fingerprint of the grid
+	 */
+	public static long fingerprint(List<Scenario> grid) {
+		long hash = 0xcbf29ce484222325L;
+		for (Scenario s : grid) {
+			for (String arg : s.toArgs()) {
+				for (byte b : (arg + ";").getBytes(StandardCharsets.UTF_8)) {
+					hash ^= (b & 0xff);
+					hash *= 0x100000001b3L;
+				}
+			}
+		}
+		return hash;
+	}
+	
+	/**
+	 * Helper writing the header of a new journal 
+	 * @param fingerprint long identifying the grid 
+	 * @throws IOException if the header cannot be written
+	 */
+	private void writeHeader(long fingerprint) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).flip();
+		this.channel.truncate(0);
+		this.channel.write(header, 0);
+		this.channel.force(true);
+	}
+	
+	/**
+	 * Helper validating the header of an existing journal 
+	 * @param fingerprint long identifying the grid 
+	 * @throws IOException if the header cannot be read 
+	 * @throws SimulationException if the header does not match this grid
+	 */
+	private void checkHeader(long fingerprint) throws IOException, SimulationException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		while (header.hasRemaining() && this.channel.read(header, header.position()) >= 0) {
+			// read until full
+		}
+		header.flip();
+		if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+			throw new SimulationException("Not a sweep journal");
+		}
+		if (header.getLong() != fingerprint) {
+			throw new SimulationException("Journal belongs to a different sweep grid");
+		}
+	}
+	
+	/**
+	 * Helper loading the records of an existing journal, truncating it after the last 
+	 * intact record 
+	 * @throws IOException if the journal cannot be read or truncated
+	 */
+	private void recover() throws IOException {
+		ByteBuffer block = ByteBuffer.allocateDirect(4096 * RECORD_BYTES);
+		long position = HEADER_BYTES;
+		long end = this.channel.size();
+		boolean intact = true;
+		while (intact && position + RECORD_BYTES <= end) {
+			block.clear();
+			long want = Math.min(block.capacity(), (end - position) / RECORD_BYTES * RECORD_BYTES);
+			block.limit((int) want);
+			while (block.hasRemaining() && this.channel.read(block, position + block.position()) >= 0) {
+				// read until full
+			}
+			block.flip();
+			while (block.remaining() >= RECORD_BYTES) {
+				int start = block.position();
+				int index = block.getInt();
+				int numProcessed = block.getInt();
+				int numDissatisfied = block.getInt();
+				int numArchived = block.getInt();
+				double meanQueueLength = block.getDouble();
+				int peakOccupancy = block.getInt();
+				int stored = block.getInt();
+				if (stored != checksum(block, start) || index < 0 || index >= this.completed.length) {
+					intact = false;
+					break;
+				}
+				if (this.completed[index] == null) {
+					this.completed[index] = new SimulationResult(numProcessed, numDissatisfied, 
+							numArchived, meanQueueLength, peakOccupancy);
+					this.numCompleted++;
+				}
+				position += RECORD_BYTES;
+			}
+		}
+		if (position != end) {
+			this.channel.truncate(position);
+			this.channel.force(true);
+		}
+	}
+	
+	/**
+	 * Helper computing the CRC32 of the 28 bytes of a record preceding its checksum 
+	 * @param buffer ByteBuffer holding the record 
+	 * @param start int position of the record in buffer
+	 * @return checksum of the record
+	 */
+	private int checksum(ByteBuffer buffer, int start) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(start).limit(start + RECORD_BYTES - 4);
+		this.crc.reset();
+		this.crc.update(view);
+		return (int) this.crc.getValue();
+	}
+}
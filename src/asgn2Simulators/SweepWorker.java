@@ -0,0 +1,79 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Worker side of a sharded sweep. The worker reads grid points from its input and runs each 
+ * with SimulationRunner on the calling thread, writing one compact reply per point. 
+ * 
+ * Protocol, one message per line: each point arrives as its grid index followed by the ten 
+ * scenario parameters, and a shard is closed by END. Replies are 
+ * OK index numProcessed numDissatisfied numArchived meanQueueLength peakOccupancy, or 
+ * ERR index message, and END once the shard is complete. The worker exits at end of input. 
+ * 
+ * The protocol only needs a pair of streams, so the same worker can be driven over stdin and 
+ * stdout by a SweepCoordinator on the same machine, or over a socket from another node. 
+ * @author hogan
+ *
+ */
+public class SweepWorker {
+	
+	public static final String END = "END";
+	
+	/**
+	 * Serves shards until end of input 
+	 * @param in BufferedReader supplying grid points 
+	 * @param out Writer receiving replies; flushed at the end of each shard 
+	 * @throws IOException on read or write failures
+	 */
+	public static void serve(BufferedReader in, Writer out) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (line.equals(END)) {
+				out.write(END + "\n");
+				out.flush();
+				continue;
+			}
+			String[] fields = line.trim().split("\\s+");
+			String index = fields[0];
+			try {
+				Scenario scenario = Scenario.fromArgs(Arrays.copyOfRange(fields, 1, fields.length), 0);
+				out.write("OK " + index + " " + BatchRunner.runReplication(scenario).toRecord() + "\n");
+			} catch (Exception e) {
+				out.write("ERR " + index + " " + e + "\n");
+			}
+		}
+		out.flush();
+	}
+	
+	/**
+	 * Worker entry point, serving shards over standard input and output 
+	 * @param args unused
+	 */
+	public static void main(String[] args) {
+		try {
+			serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+					new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import asgn2CarParks.CarPark;
+import asgn2Simulators.TickProfiler.Phase;
+
+/**
+ * JDK Flight Recorder event covering one phase of a SimulationRunner tick. The event's 
+ * duration is the time spent in the phase, and its fields give the simulation time and the 
+ * car park counts once the phase has finished, so slow phases can be lined up against GC 
+ * pauses and car park load in standard JFR tooling. 
+ * 
+ * The event is disabled unless a recording enables asgn2.TickPhase. Until then 
+ * {@link #beginIfEnabled() beginIfEnabled} returns null and the runner does no further work. 
+ * 
+ * @author hogan
+ *
+ */
+@Name("asgn2.TickPhase")
+@Label("Tick Phase")
+@Category({ "CarParkSimulator" })
+@Description("One phase of a simulation time step")
+@StackTrace(false)
+public class TickPhaseEvent extends Event {
+
+	private static final EventType TYPE = EventType.getEventType(TickPhaseEvent.class);
+	
+	@Label("Phase")
+	String phase;
+	
+	@Label("Simulation Time")
+	int simulationTime;
+	
+	@Label("Parked")
+	int numParked;
+	
+	@Label("Queued")
+	int numQueued;
+	
+	@Label("Dissatisfied")
+	int numDissatisfied;
+	
+	@Label("Archived")
+	int numArchived;
+	
+	/**
+	 * Starts timing a phase if the event is enabled in a running recording 
+	 * @return TickPhaseEvent already begun, or null if the event is disabled
+	 */
+	static TickPhaseEvent beginIfEnabled() {
+		if (!TYPE.isEnabled()) {
+			return null;
+		}
+		TickPhaseEvent e = new TickPhaseEvent();
+		e.begin();
+		return e;
+	}
+	
+	/**
+	 * Ends the phase and commits the event, if it passes the recording's thresholds 
+	 * @param phase Phase which has just finished 
+	 * @param time int holding the simulation time 
+	 * @param carPark CarPark being simulated
+	 */
+	void finish(Phase phase, int time, CarPark carPark) {
+		end();
+		if (shouldCommit()) {
+			this.phase = phase.toString();
+			this.simulationTime = time;
+			this.numParked = carPark.getNumCars() + carPark.getNumSmallCars() + carPark.getNumMotorCycles();
+			this.numQueued = carPark.numVehiclesInQueue();
+			this.numDissatisfied = carPark.getNumDissatisfied();
+			this.numArchived = carPark.getNumArchived();
+			commit();
+		}
+	}
+}
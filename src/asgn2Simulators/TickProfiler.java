@@ -0,0 +1,202 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+
+import asgn2Statistics.LogHistogram;
+
+/**
+ * Per phase timing of SimulationRunner ticks. Each phase of a tick is timed with
+ * System.nanoTime into a LogHistogram, and the bytes allocated by the running thread
+ * during the phase are summed alongside, where the JVM supports thread allocation counters.
+ *
+ * Profiling is switched on for the whole JVM with -Dsimulation.profile=true. Each run
+ * then records into its own profiler, found with {@link #forRun() forRun}, and hands it to
+ * {@link #completeRun(TickProfiler) completeRun} when it ends, which merges it into one shared
+ * total and lets it go; {@link #snapshot() snapshot} copies the total for reporting. Nothing
+ * is kept per thread, so a thread per job costs no more than a pool. When the property is not
+ * set forRun returns null and SimulationRunner skips every measurement, so the only cost is a
+ * null test per phase. A profiler may also be given to one SimulationRunner directly with
+ * {@link SimulationRunner#setProfiler(TickProfiler) setProfiler}.
+ *
+ * Instances are not thread safe; the shared total is guarded by its own lock.
+ *
+ * @author hogan
+ *
+ */
+public class TickProfiler {
+
+	/**
+	 * Phases of a SimulationRunner tick, in the order they run
+	 */
+	public enum Phase {
+		ARCHIVE_QUEUE_FAILURES, ARCHIVE_DEPARTING_VEHICLES, PROCESS_QUEUE,
+		TRY_PROCESS_NEW_VEHICLES, LOG_ENTRY
+	}
+
+	public static final String ENABLE_PROPERTY = "simulation.profile";
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLE_PROPERTY);
+
+	// Longest phase distinguished by the histograms, in nanoseconds
+	private static final long HIGHEST_NANOS = 1L << 40;
+
+	// Measurements of every completed profiled run
+	private static final TickProfiler total = new TickProfiler();
+
+	private final Map<Phase, LogHistogram> nanos = new EnumMap<Phase, LogHistogram>(Phase.class);
+	private final long[] allocated = new long[Phase.values().length];
+	private final com.sun.management.ThreadMXBean allocationCounter;
+	private long markNanos;
+	private long markBytes;
+	private long threadId;
+
+	/**
+	 * Constructor sets up empty histograms and finds the thread allocation counter, if any
+	 */
+	public TickProfiler() {
+		for (Phase p : Phase.values()) {
+			this.nanos.put(p, new LogHistogram(LogHistogram.DEFAULT_PRECISION_BITS, HIGHEST_NANOS));
+		}
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()) {
+			this.allocationCounter = (com.sun.management.ThreadMXBean) bean;
+		} else {
+			this.allocationCounter = null;
+		}
+	}
+
+	/**
+	 * Profiler for one run, when profiling is enabled for the JVM
+	 * @return new TickProfiler to be passed to completeRun when the run ends, or null if 
+	 * profiling is disabled
+	 */
+	public static TickProfiler forRun() {
+		return ENABLED ? new TickProfiler() : null;
+	}
+
+	/**
+	 * Merges the profiler of a finished run into the shared total. The caller must not 
+	 * record into it afterwards. 
+	 * @param run TickProfiler of the finished run
+	 */
+	public static void completeRun(TickProfiler run) {
+		synchronized (total) {
+			total.merge(run);
+		}
+	}
+
+	/**
+	 * Copies the shared total. Runs still in progress are not included.
+	 * @return TickProfiler pooling every completed run
+	 */
+	public static TickProfiler snapshot() {
+		TickProfiler pooled = new TickProfiler();
+		synchronized (total) {
+			pooled.merge(total);
+		}
+		return pooled;
+	}
+
+	/**
+	 * Starts timing the first phase of a tick on the calling thread
+	 */
+	public void begin() {
+		this.threadId = Thread.currentThread().getId();
+		this.markBytes = allocatedBytes();
+		this.markNanos = System.nanoTime();
+	}
+
+	/**
+	 * Ends the phase in progress, recording its duration and allocation, and starts timing
+	 * the next phase
+	 * @param phase Phase which has just finished
+	 */
+	public void lap(Phase phase) {
+		long now = System.nanoTime();
+		long bytes = allocatedBytes();
+		this.nanos.get(phase).record(Math.max(0, now - this.markNanos));
+		this.allocated[phase.ordinal()] += bytes - this.markBytes;
+		// Start the next phase after reading the counters, so their cost is not counted twice
+		this.markBytes = bytes;
+		this.markNanos = System.nanoTime();
+	}
+
+	/**
+	 * Adds the measurements of other to this profiler
+	 * @param other TickProfiler to be merged; it is not modified
+	 */
+	public void merge(TickProfiler other) {
+		for (Phase p : Phase.values()) {
+			this.nanos.get(p).merge(other.nanos.get(p));
+			this.allocated[p.ordinal()] += other.allocated[p.ordinal()];
+		}
+	}
+
+	/**
+	 * Simple getter for the durations of one phase
+	 * @param phase Phase of interest
+	 * @return LogHistogram of the phase's durations in nanoseconds
+	 */
+	public LogHistogram getNanos(Phase phase) {
+		return this.nanos.get(phase);
+	}
+
+	/**
+	 * Simple getter for the bytes allocated during one phase
+	 * @param phase Phase of interest
+	 * @return total bytes allocated by profiled threads during the phase, or 0 if the
+	 * JVM does not count thread allocation
+	 */
+	public long getAllocatedBytes(Phase phase) {
+		return this.allocated[phase.ordinal()];
+	}
+
+	/**
+	 * Simple getter for whether allocation is being measured
+	 * @return true if the JVM supports and has enabled thread allocation counters
+	 */
+	public boolean isAllocationMeasured() {
+		return this.allocationCounter != null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("Tick Profile (ns): phase count mean p50 p99 max allocatedBytes\n");
+		for (Phase p : Phase.values()) {
+			LogHistogram h = this.nanos.get(p);
+			str.append(p).append(" ").append(h.getTotalCount())
+				.append(" ").append(Math.round(h.getMean()))
+				.append(" ").append(h.getValueAtPercentile(50))
+				.append(" ").append(h.getValueAtPercentile(99))
+				.append(" ").append(h.getMax())
+				.append(" ").append(isAllocationMeasured() ? String.valueOf(this.allocated[p.ordinal()]) : "n/a")
+				.append("\n");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Helper to read the calling thread's allocation counter
+	 * @return bytes allocated by the thread so far, or 0 if not measured
+	 */
+	private long allocatedBytes() {
+		return (this.allocationCounter == null) ? 0 : this.allocationCounter.getThreadAllocatedBytes(this.threadId);
+	}
+}
@@ -0,0 +1,311 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import asgn2Exceptions.SimulationException;
+
+/**
+ * Reader for traces of recorded gate arrivals, for replay by {@link TraceReplay TraceReplay}.
+ * A trace is a CSV file with one arrival per line: the vehicle type as the status letter
+ * C, S or M (normal car, small car or motorcycle), the arrival minute, and the stay in minutes,
+ * for example
+ * <pre>
+ * type,arrival,stay
+ * C,421,95
+ * S,421,30
+ * M,423,240
+ * </pre>
+ * Lines must be in order of arrival. A header line, blank lines and lines starting with # are
+ * skipped, and fields may be padded with spaces.
+ *
+ * Traces may run to many gigabytes, so the file is memory mapped a window at a time. The mapped
+ * bytes are bulk copied a chunk at a time into a small array, which the JIT reads much faster than
+ * it reads a mapped buffer byte by byte, and each line is parsed straight from those bytes into
+ * the fields of the reader. No String or other object is made per line, and the current arrival
+ * is read with the getters until the next call to {@link #next() next}.
+ * @author hogan
+ *
+ */
+public class TraceReader implements AutoCloseable {
+
+	public static final char CAR = 'C';
+	public static final char SMALL_CAR = 'S';
+	public static final char MOTORCYCLE = 'M';
+	public static final int DEFAULT_WINDOW_BYTES = 1 << 28;
+	// Bytes parsed at a time, which is also the longest line allowed
+	private static final int CHUNK_BYTES = 1 << 16;
+
+	private final FileChannel channel;
+	private final long size;
+	private final int windowBytes;
+
+	// Mapped window of the file, and the chunk of it being parsed
+	private MappedByteBuffer window = null;
+	private long windowStart;
+	private final byte[] chunk;
+	private long chunkStart;
+	private int chunkLength;
+	// Offset in the chunk of the next line, and of the next byte of the current line
+	private int position;
+	private int cursor;
+	private long lineNumber = 0;
+
+	// Fields of the current arrival
+	private char type;
+	private int arrivalTime;
+	private int stay;
+
+	/**
+	 * Constructor using the default window size
+	 * @param file File holding the trace
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public TraceReader(File file) throws IOException {
+		this(file, DEFAULT_WINDOW_BYTES);
+	}
+
+	/**
+	 * Constructor opens the trace and maps its first window
+	 * @param file File holding the trace
+	 * @param windowBytes int holding the number of bytes mapped at once; lines longer than this 
+	 * 		  or than 64KB are rejected
+	 * @throws IOException if the file cannot be opened or mapped
+	 * @throws IllegalArgumentException if windowBytes is not positive
+	 */
+	public TraceReader(File file, int windowBytes) throws IOException {
+		if (windowBytes < 1) {
+			throw new IllegalArgumentException("Window size must be positive");
+		}
+		this.windowBytes = windowBytes;
+		this.chunk = new byte[Math.min(windowBytes, CHUNK_BYTES)];
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			this.size = this.channel.size();
+			fill(0);
+		} catch (IOException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Advances to the next arrival in the trace
+	 * @return true if there is another arrival, false at the end of the trace
+	 * @throws IOException if the file cannot be mapped
+	 * @throws SimulationException if a line is malformed or too long
+	 */
+	public boolean next() throws IOException, SimulationException {
+		while (true) {
+			int limit = this.chunkLength;
+			if (this.position >= limit) {
+				if (this.chunkStart + limit >= this.size) {
+					return false;
+				}
+				fill(this.chunkStart + limit);
+				continue;
+			}
+			byte[] b = this.chunk;
+			int end = this.position;
+			while (end < limit && b[end] != '\n') {
+				end++;
+			}
+			if (end == limit && this.chunkStart + limit < this.size) {
+				// The line runs past the chunk, so fill again from its start
+				if (this.position == 0) {
+					throw new SimulationException("Trace line " + (this.lineNumber + 1) + " is too long");
+				}
+				fill(this.chunkStart + this.position);
+				continue;
+			}
+			int start = this.position;
+			this.position = (end < limit) ? end + 1 : limit;
+			this.lineNumber++;
+			if (parseLine(start, end)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Simple getter for the type of the current arrival
+	 * @return CAR, SMALL_CAR or MOTORCYCLE
+	 */
+	public char getType() {
+		return this.type;
+	}
+
+	/**
+	 * Simple getter for the arrival time of the current arrival
+	 * @return arrival minute, as recorded
+	 */
+	public int getArrivalTime() {
+		return this.arrivalTime;
+	}
+
+	/**
+	 * Simple getter for the stay of the current arrival
+	 * @return stay in minutes, as recorded
+	 */
+	public int getStay() {
+		return this.stay;
+	}
+
+	/**
+	 * Simple getter for the line of the file holding the current arrival
+	 * @return line number, counting from 1
+	 */
+	public long getLineNumber() {
+		return this.lineNumber;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Helper to copy the chunk starting at a given offset out of the mapped window, first 
+	 * mapping a new window there if the chunk is not wholly inside the current one
+	 * @param offset long holding the offset in the file of the chunk
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private void fill(long offset) throws IOException {
+		int length = (int) Math.min(this.chunk.length, this.size - offset);
+		if (this.window == null || offset + length > this.windowStart + this.window.limit()) {
+			long windowLength = Math.min(this.windowBytes, this.size - offset);
+			this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLength);
+			this.windowStart = offset;
+		}
+		this.window.get((int) (offset - this.windowStart), this.chunk, 0, length);
+		this.chunkStart = offset;
+		this.chunkLength = length;
+		this.position = 0;
+	}
+
+	/**
+	 * Helper to parse one line of the chunk into the fields of the current arrival
+	 * @param start int holding the offset of the line in the chunk
+	 * @param end int holding the offset of its terminating newline, or the end of the chunk
+	 * @return true if the line held an arrival, false if it is to be skipped
+	 * @throws SimulationException if the line is malformed
+	 */
+	private boolean parseLine(int start, int end) throws SimulationException {
+		while (end > start && isSpace(this.chunk[end - 1])) {
+			end--;
+		}
+		this.cursor = start;
+		skipSpaces(end);
+		if (this.cursor == end || this.chunk[this.cursor] == '#') {
+			return false;
+		}
+		byte t = this.chunk[this.cursor++];
+		if (t != CAR && t != SMALL_CAR && t != MOTORCYCLE) {
+			if (this.lineNumber == 1) {
+				// Header
+				return false;
+			}
+			throw malformed("unknown vehicle type");
+		}
+		this.type = (char) t;
+		skipComma(end);
+		this.arrivalTime = parseInt(end);
+		skipComma(end);
+		this.stay = parseInt(end);
+		if (this.cursor != end) {
+			throw malformed("unexpected text after the stay");
+		}
+		return true;
+	}
+
+	/**
+	 * Helper to parse an unsigned decimal integer at the cursor, with any padding
+	 * @param end int holding the end of the line
+	 * @return value parsed
+	 * @throws SimulationException if there is no number or it is too large
+	 */
+	private int parseInt(int end) throws SimulationException {
+		skipSpaces(end);
+		byte[] b = this.chunk;
+		int first = this.cursor;
+		int i = first;
+		long value = 0;
+		while (i < end) {
+			int digit = b[i] - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE) {
+				throw malformed("number too large");
+			}
+			i++;
+		}
+		if (i == first) {
+			throw malformed("number expected");
+		}
+		this.cursor = i;
+		skipSpaces(end);
+		return (int) value;
+	}
+
+	/**
+	 * Helper to step over the comma separating two fields
+	 * @param end int holding the end of the line
+	 * @throws SimulationException if there is no comma at the cursor
+	 */
+	private void skipComma(int end) throws SimulationException {
+		skipSpaces(end);
+		if (this.cursor == end || this.chunk[this.cursor] != ',') {
+			throw malformed("comma expected");
+		}
+		this.cursor++;
+	}
+
+	/**
+	 * Helper to step over spaces and tabs at the cursor
+	 * @param end int holding the end of the line
+	 */
+	private void skipSpaces(int end) {
+		byte[] b = this.chunk;
+		int i = this.cursor;
+		while (i < end && isSpace(b[i])) {
+			i++;
+		}
+		this.cursor = i;
+	}
+
+	/**
+	 * Helper to make the exception for a malformed line
+	 * @param problem String describing what is wrong
+	 * @return SimulationException naming the line
+	 */
+	private SimulationException malformed(String problem) {
+		return new SimulationException("Trace line " + this.lineNumber + ": " + problem);
+	}
+
+	/**
+	 * Helper to identify padding, including the carriage return of a CRLF line end
+	 * @param b byte of interest
+	 * @return true for a space, tab or carriage return
+	 */
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+}
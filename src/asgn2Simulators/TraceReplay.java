@@ -0,0 +1,322 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Simulators 
+ * 18/10/2026
+ * 
+ */
+package asgn2Simulators;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Replays recorded gate arrivals through a CarPark in place of the trials of a Simulator,
+ * to back-test car park dimensions against real history. Arrivals are read from a
+ * {@link TraceReader TraceReader} and each minute runs the steps of SimulationRunner: queue
+ * failures, departures, the queue, then that minute's arrivals, which park, queue or are
+ * turned away as space allows. The arrivals of a minute are admitted as a batch of each type,
+ * in the order small cars, motorcycles, then cars, as in the Poisson arrival mode, using the
+ * batch operations of CarPark. A vehicle stays for its recorded stay from the time it parks,
+ * whether on arrival or from the queue; stays below MINIMUM_STAY are raised to it, as
+ * Simulator does. The replay moves vehicles from the queue itself, with exitQueue and
+ * parkVehicle, so that each is parked with its own recorded stay rather than one drawn from
+ * a Simulator.
+ *
+ * A trace may cover many days, so there is no closing time: the replay runs until the trace
+ * is exhausted and the car park and queue are empty, skipping straight over minutes in which
+ * the car park is empty and nobody arrives. Archived vehicles are only summarised, so memory
+ * use follows occupancy rather than the length of the trace.
+ *
+ * @author hogan
+ *
+ */
+public class TraceReplay {
+
+	private final CarPark carPark;
+	private final Waiting waiting = new Waiting();
+
+	// Arrivals of the current minute by type
+	private final Arrivals smallCars = new Arrivals();
+	private final Arrivals motorCycles = new Arrivals();
+	private final Arrivals cars = new Arrivals();
+
+	// Per minute observations summarised in the result
+	private int numProcessed = 0;
+	private long queueLengthTotal = 0;
+	private long numTimeSteps = 0;
+	private int peakOccupancy = 0;
+
+	/**
+	 * Constructor just does initialisation
+	 * @param carPark CarPark to receive the arrivals; only the replay may use it while it runs
+	 */
+	public TraceReplay(CarPark carPark) {
+		this.carPark = carPark;
+	}
+
+	/**
+	 * Replays a whole trace
+	 * @param trace TraceReader positioned before its first arrival; it is not closed
+	 * @return SimulationResult for the replay, with the mean queue length taken over every minute
+	 * 		   from 0 to the end of the replay
+	 * @throws IOException if the trace cannot be read
+	 * @throws SimulationException if the trace is malformed or out of order, or a car park
+	 * 		   operation is invalid
+	 * @throws VehicleException if a recorded arrival time is not positive, or a vehicle
+	 * 		   transition is invalid
+	 */
+	public SimulationResult run(TraceReader trace) throws IOException, SimulationException, VehicleException {
+		this.carPark.setRetainArchive(false);
+		boolean more = trace.next();
+		int time = 0;
+		while (more || !this.carPark.queueEmpty() || !this.carPark.carParkEmpty()) {
+			if (more && trace.getArrivalTime() > time && this.carPark.queueEmpty() && this.carPark.carParkEmpty()) {
+				// Nothing happens until the next arrival
+				this.numTimeSteps += trace.getArrivalTime() - time;
+				time = trace.getArrivalTime();
+			}
+			if (!this.carPark.queueEmpty()) {
+				this.carPark.archiveQueueFailures(time);
+			}
+			if (!this.carPark.carParkEmpty()) {
+				this.carPark.archiveDepartingVehicles(time, false);
+			}
+			if (!this.carPark.carParkFull()) {
+				processQueue(time);
+			}
+			if (more && trace.getArrivalTime() == time) {
+				String carID = "C" + time;
+				String smallCarID = "S" + time;
+				String motorCycleID = "M" + time;
+				do {
+					char type = trace.getType();
+					if (type == TraceReader.MOTORCYCLE) {
+						this.motorCycles.add(new MotorCycle(motorCycleID, time), trace.getStay());
+					} else if (type == TraceReader.SMALL_CAR) {
+						this.smallCars.add(new Car(smallCarID, time, true), trace.getStay());
+					} else {
+						this.cars.add(new Car(carID, time, false), trace.getStay());
+					}
+					more = trace.next();
+				} while (more && trace.getArrivalTime() == time);
+				admit(this.smallCars, time);
+				admit(this.motorCycles, time);
+				admit(this.cars, time);
+			}
+			if (more && trace.getArrivalTime() < time) {
+				throw new SimulationException("Trace line " + trace.getLineNumber() + " arrives at "
+						+ trace.getArrivalTime() + ", before the previous line");
+			}
+			recordTimeStep();
+			time++;
+		}
+		double meanQueueLength = (this.numTimeSteps == 0) ? 0.0
+				: (double) this.queueLengthTotal / this.numTimeSteps;
+		return new SimulationResult(this.numProcessed, this.carPark.getNumDissatisfied(),
+				this.carPark.getNumArchived(), meanQueueLength, this.peakOccupancy,
+				this.carPark.getQueueWaitHistogram(), this.carPark.getStayHistogram());
+	}
+
+	/**
+	 * Replays a trace through a ConcurrentCarPark, and prints the result and the replay rate
+	 * @param args trace file name, optionally followed by maxCarSpaces, maxSmallCarSpaces,
+	 * 		  maxMotorCycleSpaces and maxQueueSize
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1 && args.length != 5) {
+			System.err.println("Usage: TraceReplay traceFile "
+					+ "[maxCarSpaces maxSmallCarSpaces maxMotorCycleSpaces maxQueueSize]");
+			System.exit(1);
+		}
+		try {
+			ConcurrentCarPark cp = (args.length == 5)
+					? new ConcurrentCarPark(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+							Integer.parseInt(args[3]), Integer.parseInt(args[4]))
+					: new ConcurrentCarPark();
+			File file = new File(args[0]);
+			long start = System.nanoTime();
+			SimulationResult result;
+			TraceReader trace = new TraceReader(file);
+			try {
+				result = new TraceReplay(cp).run(trace);
+			} finally {
+				trace.close();
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.println(cp.initialState());
+			System.out.println(result);
+			System.out.printf("%d vehicles, %d MB in %.1f s (%.0f vehicles/s, %.0f MB/s)%n",
+					result.getNumProcessed(), file.length() >> 20, seconds,
+					result.getNumProcessed() / seconds, file.length() / 1e6 / seconds);
+		} catch (NumberFormatException | IOException | SimulationException | VehicleException e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Helper to park, queue or turn away a batch of new vehicles of one type, in that order 
+	 * of preference, with one batch operation each, and then to clear the batch. 
+	 * The vehicles are counted here, as only the car parks' own arrival methods count vehicles. 
+	 * @param arrivals Arrivals of one type in the current minute
+	 * @param time int holding current simulation time
+	 * @throws SimulationException if a car park operation is invalid
+	 * @throws VehicleException if a vehicle transition is invalid
+	 */
+	private void admit(Arrivals arrivals, int time) throws SimulationException, VehicleException {
+		List<Vehicle> batch = arrivals.vehicles;
+		int n = batch.size();
+		if (n == 0) {
+			return;
+		}
+		this.numProcessed += n;
+		int parked = this.carPark.numParkable(batch.get(0), n);
+		if (parked > 0) {
+			this.carPark.parkVehicles(batch.subList(0, parked), time, Arrays.copyOf(arrivals.stays, parked));
+		}
+		int queued = Math.min(n - parked, this.carPark.numQueueSpaces());
+		if (queued > 0) {
+			this.carPark.enterQueue(batch.subList(parked, parked + queued));
+			for (int i = parked; i < parked + queued; i++) {
+				this.waiting.add(batch.get(i), arrivals.stays[i]);
+			}
+		}
+		if (parked + queued < n) {
+			this.carPark.archiveNewVehicles(batch.subList(parked + queued, n));
+		}
+		batch.clear();
+	}
+
+	/**
+	 * Helper to park vehicles from the head of the queue, with their recorded stays, for as
+	 * long as the head can park, as CarPark.processQueue does. Vehicles which have already
+	 * left the queue as failures are dropped as they reach the head.
+	 * @param time int holding current simulation time
+	 * @throws SimulationException if a car park operation is invalid
+	 * @throws VehicleException if a vehicle transition is invalid
+	 */
+	private void processQueue(int time) throws SimulationException, VehicleException {
+		Vehicle head;
+		while ((head = this.waiting.peek()) != null) {
+			if (!head.isQueued()) {
+				this.waiting.remove();
+				continue;
+			}
+			if (head.getArrivalTime() >= time || !this.carPark.spacesAvailable(head)) {
+				return;
+			}
+			int stay = this.waiting.peekStay();
+			this.waiting.remove();
+			this.carPark.exitQueue(head, time);
+			this.carPark.parkVehicle(head, time, stay);
+		}
+	}
+
+	/**
+	 * Helper to accumulate queue length and occupancy at the end of each minute
+	 */
+	private void recordTimeStep() {
+		this.numTimeSteps++;
+		this.queueLengthTotal += this.carPark.numVehiclesInQueue();
+		int occupancy = this.carPark.getNumCars() + this.carPark.getNumSmallCars()
+				+ this.carPark.getNumMotorCycles();
+		this.peakOccupancy = Math.max(this.peakOccupancy, occupancy);
+	}
+
+	/**
+	 * Vehicles of one type arriving in the current minute, with their recorded stays 
+	 * raised to MINIMUM_STAY. The stays array is reused from minute to minute.
+	 */
+	private static class Arrivals {
+		private final List<Vehicle> vehicles = new ArrayList<Vehicle>();
+		private int[] stays = new int[16];
+
+		/**
+		 * Adds an arrival to the batch
+		 * @param v Vehicle which has just arrived
+		 * @param stay int holding the recorded stay
+		 */
+		void add(Vehicle v, int stay) {
+			int n = this.vehicles.size();
+			if (n == this.stays.length) {
+				this.stays = Arrays.copyOf(this.stays, 2 * n);
+			}
+			this.stays[n] = Math.max(stay, Constants.MINIMUM_STAY);
+			this.vehicles.add(v);
+		}
+	}
+
+	/**
+	 * Queued vehicles with their recorded stays, in queue order. Vehicles only join at the
+	 * tail, from admit, and leave at the head, so this is the car park's queue in the same order.
+	 */
+	private static class Waiting {
+		private Vehicle[] vehicles = new Vehicle[16];
+		private int[] stays = new int[16];
+		private int head = 0;
+		private int size = 0;
+
+		/**
+		 * Adds a vehicle joining the tail of the queue
+		 * @param v Vehicle which has joined the queue
+		 * @param stay int holding its recorded stay
+		 */
+		void add(Vehicle v, int stay) {
+			if (this.size == this.vehicles.length) {
+				Vehicle[] grownVehicles = new Vehicle[2 * this.size];
+				int[] grownStays = new int[2 * this.size];
+				for (int i = 0; i < this.size; i++) {
+					grownVehicles[i] = this.vehicles[(this.head + i) % this.size];
+					grownStays[i] = this.stays[(this.head + i) % this.size];
+				}
+				this.vehicles = grownVehicles;
+				this.stays = grownStays;
+				this.head = 0;
+			}
+			int tail = (this.head + this.size) % this.vehicles.length;
+			this.vehicles[tail] = v;
+			this.stays[tail] = stay;
+			this.size++;
+		}
+
+		/**
+		 * Simple getter for the vehicle at the head of the queue
+		 * @return Vehicle at the head, or null if there is none
+		 */
+		Vehicle peek() {
+			return (this.size == 0) ? null : this.vehicles[this.head];
+		}
+
+		/**
+		 * Simple getter for the recorded stay of the vehicle at the head of the queue
+		 * @return int holding the stay; only meaningful if peek is not null
+		 */
+		int peekStay() {
+			return this.stays[this.head];
+		}
+
+		/**
+		 * Removes the vehicle at the head of the queue; only valid if peek is not null
+		 */
+		void remove() {
+			this.vehicles[this.head] = null;
+			this.head = (this.head + 1) % this.vehicles.length;
+			this.size--;
+		}
+	}
+}
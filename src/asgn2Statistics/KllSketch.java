@@ -0,0 +1,275 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Streaming quantile sketch after Karnin, Lang and Liberty,
+ * <a href="https://arxiv.org/abs/1603.05346">Optimal Quantile Approximation in Streams</a>.
+ * Items are held in a stack of compactors; an item at level h stands for 2^h observations.
+ * When the sketch outgrows its budget the lowest full level is sorted and every other item,
+ * from a random start, is promoted to the level above. Level capacities shrink geometrically
+ * towards the bottom, so the sketch holds O(k) items however many observations it has seen,
+ * and the rank error of any quantile is about 1.7/k for k near 200, and proportionally
+ * more for smaller k.
+ *
+ * Sketches with the same k may be combined with {@link #merge(KllSketch) merge}, so each
+ * thread can keep its own and pool them at the end. Instances are not thread safe.
+ *
+ * @author hogan
+ *
+ */
+public class KllSketch {
+
+	public static final int DEFAULT_K = 200;
+
+	// Ratio between the capacities of successive levels, and the smallest capacity used
+	private static final double CAPACITY_RATIO = 2.0 / 3.0;
+	private static final int MIN_CAPACITY = 2;
+
+	private final int k;
+	private final Random random;
+	private double[][] levels = new double[1][];
+	private int[] sizes = new int[1];
+	private long count = 0;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+	/**
+	 * Constructor using the default accuracy and a fixed seed, so results are reproducible
+	 */
+	public KllSketch() {
+		this(DEFAULT_K, 0);
+	}
+
+	/**
+	 * Constructor sets the accuracy parameter and the seed of the compaction coin flips
+	 * @param k int holding the accuracy parameter; memory and accuracy grow with k
+	 * @param seed long holding the seed for the choice of items to promote
+	 * @throws IllegalArgumentException if k < MIN_CAPACITY
+	 */
+	public KllSketch(int k, long seed) {
+		if (k < MIN_CAPACITY) {
+			throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY);
+		}
+		this.k = k;
+		this.random = new Random(seed);
+		// Levels start small and grow on demand, so sparsely used sketches stay cheap
+		this.levels[0] = new double[MIN_CAPACITY];
+	}
+
+	/**
+	 * Adds a single observation
+	 * @param x double holding the observed value
+	 */
+	public void add(double x) {
+		if (this.count == 0) {
+			this.min = x;
+			this.max = x;
+		} else {
+			this.min = Math.min(this.min, x);
+			this.max = Math.max(this.max, x);
+		}
+		this.count++;
+		append(0, x);
+		compress();
+	}
+
+	/**
+	 * Folds the observations summarised by other into this sketch
+	 * @param other KllSketch to be merged; it is not modified
+	 * @throws IllegalArgumentException if other has a different k
+	 */
+	public void merge(KllSketch other) {
+		if (other.k != this.k) {
+			throw new IllegalArgumentException("Sketches differ in k");
+		}
+		if (other.count == 0) {
+			return;
+		}
+		if (this.count == 0) {
+			this.min = other.min;
+			this.max = other.max;
+		} else {
+			this.min = Math.min(this.min, other.min);
+			this.max = Math.max(this.max, other.max);
+		}
+		this.count += other.count;
+		for (int h = 0; h < other.levels.length; h++) {
+			for (int i = 0; i < other.sizes[h]; i++) {
+				append(h, other.levels[h][i]);
+			}
+		}
+		compress();
+	}
+
+	/**
+	 * Approximate quantile of the observations
+	 * @param q double holding the requested quantile, in [0,1]
+	 * @return value whose rank is approximately q times the number of observations,
+	 * 		   or NaN if nothing has been added
+	 */
+	public double getQuantile(double q) {
+		if (this.count == 0) {
+			return Double.NaN;
+		}
+		if (q <= 0) {
+			return this.min;
+		}
+		if (q >= 1) {
+			return this.max;
+		}
+		int retained = getNumRetained();
+		double[] values = new double[retained];
+		long[] weights = new long[retained];
+		sortedItems(values, weights);
+		long target = (long) Math.ceil(q * this.count);
+		long seen = 0;
+		for (int i = 0; i < retained; i++) {
+			seen += weights[i];
+			if (seen >= target) {
+				return values[i];
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Simple getter for the number of observations summarised
+	 * @return number of observations
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Simple getter for the number of items held, which bounds the memory used
+	 * @return number of items retained across all levels
+	 */
+	public int getNumRetained() {
+		int n = 0;
+		for (int h = 0; h < this.levels.length; h++) {
+			n += this.sizes[h];
+		}
+		return n;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "KllSketch [k=" + this.k + ", count=" + this.count + ", retained=" + getNumRetained()
+				+ ", min=" + this.min + ", median=" + getQuantile(0.5) + ", max=" + this.max + "]";
+	}
+
+	/**
+	 * Helper giving the capacity of level h; the top level has capacity k
+	 * @param h int holding the level
+	 * @return number of items level h may hold before it is compacted
+	 */
+	private int capacity(int h) {
+		int depth = this.levels.length - 1 - h;
+		return Math.max(MIN_CAPACITY, (int) Math.ceil(this.k * Math.pow(CAPACITY_RATIO, depth)));
+	}
+
+	/**
+	 * Helper to add an item to level h, growing the level as needed
+	 * @param h int holding the level
+	 * @param x double holding the item
+	 */
+	private void append(int h, double x) {
+		while (h >= this.levels.length) {
+			addLevel();
+		}
+		if (this.sizes[h] == this.levels[h].length) {
+			this.levels[h] = Arrays.copyOf(this.levels[h], Math.max(MIN_CAPACITY, 2 * this.sizes[h]));
+		}
+		this.levels[h][this.sizes[h]++] = x;
+	}
+
+	/**
+	 * Helper to add an empty level on top of the stack
+	 */
+	private void addLevel() {
+		int h = this.levels.length;
+		this.levels = Arrays.copyOf(this.levels, h + 1);
+		this.sizes = Arrays.copyOf(this.sizes, h + 1);
+		this.levels[h] = new double[MIN_CAPACITY];
+	}
+
+	/**
+	 * Helper to compact levels, lowest first, until the sketch is within its budget
+	 */
+	private void compress() {
+		while (true) {
+			int budget = 0;
+			for (int h = 0; h < this.levels.length; h++) {
+				budget += capacity(h);
+			}
+			if (getNumRetained() <= budget) {
+				return;
+			}
+			for (int h = 0; h < this.levels.length; h++) {
+				if (this.sizes[h] >= capacity(h)) {
+					compact(h);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper to promote every other item of level h to level h+1. An odd item out stays
+	 * at level h, so the total weight is unchanged.
+	 * @param h int holding the level to compact
+	 */
+	private void compact(int h) {
+		double[] items = this.levels[h];
+		int n = this.sizes[h];
+		Arrays.sort(items, 0, n);
+		int kept = n % 2;
+		int offset = kept + (this.random.nextBoolean() ? 1 : 0);
+		for (int i = offset; i < n; i += 2) {
+			append(h + 1, items[i]);
+		}
+		this.sizes[h] = kept;
+	}
+
+	/**
+	 * Helper to list every retained item with its weight, in ascending order of value, 
+	 * by merging sorted copies of the levels 
+	 * @param values double array to receive the items
+	 * @param weights long array to receive the weight of each item
+	 */
+	private void sortedItems(double[] values, long[] weights) {
+		int numLevels = this.levels.length;
+		double[][] sorted = new double[numLevels][];
+		int[] next = new int[numLevels];
+		for (int h = 0; h < numLevels; h++) {
+			sorted[h] = Arrays.copyOf(this.levels[h], this.sizes[h]);
+			Arrays.sort(sorted[h]);
+		}
+		for (int i = 0; i < values.length; i++) {
+			int best = -1;
+			for (int h = 0; h < numLevels; h++) {
+				if (next[h] < sorted[h].length 
+						&& (best < 0 || sorted[h][next[h]] < sorted[best][next[best]])) {
+					best = h;
+				}
+			}
+			values[i] = sorted[best][next[best]++];
+			weights[i] = 1L << best;
+		}
+	}
+}
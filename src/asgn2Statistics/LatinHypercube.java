@@ -0,0 +1,63 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+import java.util.Random;
+
+/**
+ * Utility class producing <a href="http://en.wikipedia.org/wiki/Latin_hypercube_sampling">Latin 
+ * hypercube</a> samples of the unit cube. Each coordinate axis is cut into n equal strata and 
+ * every stratum holds exactly one of the n points, so each parameter's marginal range is 
+ * covered evenly whatever the number of dimensions. 
+ * @author hogan
+ *
+ */
+public class LatinHypercube {
+	
+	/**
+	 * Utility class, not to be instantiated
+	 */
+	private LatinHypercube() {
+	}
+	
+	/**
+	 * Draws a Latin hypercube sample 
+	 * @param n int holding the number of points 
+	 * @param dimension int holding the number of coordinates per point 
+	 * @param seed long random number generator seed 
+	 * @return double array [n][dimension] with coordinates in [0,1)
+	 * @throws IllegalArgumentException if n < 1 or dimension < 1
+	 */
+	public static double[][] sample(int n, int dimension, long seed) {
+		if (n < 1 || dimension < 1) {
+			throw new IllegalArgumentException("Sample size and dimension must be positive");
+		}
+		Random rng = new Random(seed);
+		double[][] points = new double[n][dimension];
+		int[] strata = new int[n];
+		for (int j = 0; j < dimension; j++) {
+			for (int i = 0; i < n; i++) {
+				strata[i] = i;
+			}
+			// Fisher-Yates shuffle assigns the strata to points
+			for (int i = n - 1; i > 0; i--) {
+				int k = rng.nextInt(i + 1);
+				int tmp = strata[i];
+				strata[i] = strata[k];
+				strata[k] = tmp;
+			}
+			for (int i = 0; i < n; i++) {
+				points[i][j] = (strata[i] + rng.nextDouble()) / n;
+			}
+		}
+		return points;
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of non-negative integer values, in the style of
+ * <a href="http://hdrhistogram.org/">HdrHistogram</a>. Values below 2^precisionBits are
+ * counted exactly; above that each power of two is split into 2^(precisionBits-1) equal
+ * buckets, so any reported value is within a relative error of 2^-(precisionBits-1) of a
+ * recorded one. Recording is a few shifts and an array increment, and memory depends only
+ * on the precision and the range, not on the number of values recorded.
+ *
+ * Histograms with the same precision and range may be combined with
+ * {@link #merge(LogHistogram) merge}, so each thread or replication can keep its own
+ * and pool them at the end without locking. Instances are not thread safe.
+ *
+ * @author hogan
+ *
+ */
+public class LogHistogram {
+
+	public static final int DEFAULT_PRECISION_BITS = 7;
+	public static final long DEFAULT_HIGHEST_VALUE = Integer.MAX_VALUE;
+
+	private final int precisionBits;
+	private final int subBucketCount;
+	private final int halfCount;
+	private final long[] counts;
+
+	private long totalCount = 0;
+	private long sum = 0;
+	private long min = Long.MAX_VALUE;
+	private long max = 0;
+
+	/**
+	 * Constructor using the default precision (under 1.6% error) and a range covering
+	 * every int, which suffices for simulation times
+	 */
+	public LogHistogram() {
+		this(DEFAULT_PRECISION_BITS, DEFAULT_HIGHEST_VALUE);
+	}
+
+	/**
+	 * Constructor sets the precision and range
+	 * @param precisionBits int holding the number of bits of each value kept exactly, in [2,30]
+	 * @param highestValue long holding the largest value to be distinguished; larger values
+	 * 		  are counted in the top bucket, although getMax remains exact
+	 * @throws IllegalArgumentException if precisionBits is out of range or highestValue is negative
+	 */
+	public LogHistogram(int precisionBits, long highestValue) {
+		if (precisionBits < 2 || precisionBits > 30 || highestValue < 0) {
+			throw new IllegalArgumentException("Precision must lie in [2,30] and range must be non-negative");
+		}
+		this.precisionBits = precisionBits;
+		this.subBucketCount = 1 << precisionBits;
+		this.halfCount = this.subBucketCount >> 1;
+		this.counts = new long[index(highestValue) + 1];
+	}
+
+	/**
+	 * Records a single value
+	 * @param value long holding the value to be recorded
+	 * @throws IllegalArgumentException if value is negative
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative value " + value);
+		}
+		this.counts[Math.min(index(value), this.counts.length - 1)]++;
+		this.totalCount++;
+		this.sum += value;
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	/**
+	 * Adds the counts of other to this histogram
+	 * @param other LogHistogram to be merged; it is not modified
+	 * @throws IllegalArgumentException if other has a different precision or range
+	 */
+	public void merge(LogHistogram other) {
+		if (other.precisionBits != this.precisionBits || other.counts.length != this.counts.length) {
+			throw new IllegalArgumentException("Histograms differ in precision or range");
+		}
+		for (int i = 0; i < this.counts.length; i++) {
+			this.counts[i] += other.counts[i];
+		}
+		this.totalCount += other.totalCount;
+		this.sum += other.sum;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+
+	/**
+	 * Counts the values no greater than each of a set of bounds, in one pass over the 
+	 * buckets and without allocating. A count is exact when bound+1 starts a bucket, which 
+	 * holds for every bound below 2^precisionBits; otherwise the bucket holding bound is 
+	 * left out. 
+	 * @param upperBounds long array of non-negative bounds in ascending order 
+	 * @param result long array, at least as long as upperBounds, to receive the counts
+	 */
+	public void cumulativeCounts(long[] upperBounds, long[] result) {
+		long seen = 0;
+		int i = 0;
+		for (int j = 0; j < upperBounds.length; j++) {
+			int end = (upperBounds[j] == Long.MAX_VALUE) ? this.counts.length 
+					: Math.min(index(upperBounds[j] + 1), this.counts.length);
+			for (; i < end; i++) {
+				seen += this.counts[i];
+			}
+			result[j] = seen;
+		}
+	}
+
+	/**
+	 * Clears every count, leaving the precision and range unchanged
+	 */
+	public void reset() {
+		Arrays.fill(this.counts, 0);
+		this.totalCount = 0;
+		this.sum = 0;
+		this.min = Long.MAX_VALUE;
+		this.max = 0;
+	}
+
+	/**
+	 * Value below which the given percentage of recorded values fall. The result is the
+	 * largest value sharing a bucket with the value of that rank, capped at getMax; the top 
+	 * bucket, which also holds values beyond the range, reports getMax.
+	 * @param percentile double holding the percentage of interest, in [0,100]
+	 * @return value at the percentile, or 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (this.totalCount == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.totalCount));
+		long seen = 0;
+		for (int i = 0; i < this.counts.length; i++) {
+			seen += this.counts[i];
+			if (seen >= rank) {
+				if (i == this.counts.length - 1) {
+					return this.max;
+				}
+				return Math.min(highestEquivalentValue(i), this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Simple getter for the number of values recorded
+	 * @return number of values recorded
+	 */
+	public long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 * Simple getter for the sum of the recorded values
+	 * @return exact sum of all values recorded
+	 */
+	public long getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * Exact mean of the recorded values
+	 * @return mean, or 0 if nothing has been recorded
+	 */
+	public double getMean() {
+		return (this.totalCount == 0) ? 0.0 : (double) this.sum / this.totalCount;
+	}
+
+	/**
+	 * Simple getter for the smallest recorded value
+	 * @return minimum, or 0 if nothing has been recorded
+	 */
+	public long getMin() {
+		return (this.totalCount == 0) ? 0 : this.min;
+	}
+
+	/**
+	 * Simple getter for the largest recorded value
+	 * @return maximum, or 0 if nothing has been recorded
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "LogHistogram [count=" + this.totalCount + ", mean=" + getMean()
+				+ ", p50=" + getValueAtPercentile(50) + ", p95=" + getValueAtPercentile(95)
+				+ ", p99=" + getValueAtPercentile(99) + ", max=" + this.max + "]";
+	}
+
+	/**
+	 * Helper to find the bucket of a value. Values below subBucketCount have their own
+	 * bucket; otherwise the value is shifted right until it has precisionBits significant
+	 * bits, and the shift selects the run of halfCount buckets to use.
+	 * @param value long holding a non-negative value
+	 * @return index into counts, before clamping to the range
+	 */
+	private int index(long value) {
+		if (value < this.subBucketCount) {
+			return (int) value;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(value) - this.precisionBits;
+		return this.subBucketCount + (shift - 1) * this.halfCount + (int) (value >>> shift) - this.halfCount;
+	}
+
+	/**
+	 * Helper to find the largest value counted in a bucket
+	 * @param index int holding the bucket index
+	 * @return largest value mapping to that bucket
+	 */
+	private long highestEquivalentValue(int index) {
+		if (index < this.subBucketCount) {
+			return index;
+		}
+		int offset = index - this.subBucketCount;
+		int shift = offset / this.halfCount + 1;
+		long lowest = (long) (offset % this.halfCount + this.halfCount) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Utility class for the <a href="http://en.wikipedia.org/wiki/Mann%E2%80%93Whitney_U_test">Wilcoxon
+ * rank sum (Mann-Whitney U) test</a> of whether two samples come from the same distribution.
+ * Only the ranks of the observations are used, so the test is not misled by the long right
+ * tails of timing measurements. The p-value uses the normal approximation with a tie and
+ * continuity correction, which is adequate from about five observations per sample.
+ * @author hogan
+ *
+ */
+public class RankSumTest {
+
+	/**
+	 * Utility class, not to be instantiated
+	 */
+	private RankSumTest() {
+	}
+
+	/**
+	 * Two sided p-value for the hypothesis that x and y come from the same distribution
+	 * @param x double array holding the first sample
+	 * @param y double array holding the second sample
+	 * @return probability of a rank sum at least as extreme under the hypothesis, in [0,1]
+	 * @throws IllegalArgumentException if either sample is empty
+	 */
+	public static double pValue(double[] x, double[] y) {
+		int n1 = x.length;
+		int n2 = y.length;
+		if (n1 == 0 || n2 == 0) {
+			throw new IllegalArgumentException("Samples must not be empty");
+		}
+		int n = n1 + n2;
+		// Pool the samples, remembering which came from x
+		final double[] values = new double[n];
+		boolean[] fromX = new boolean[n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = (i < n1) ? x[i] : y[i - n1];
+			fromX[i] = (i < n1);
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(values[a], values[b]);
+			}
+		});
+		// Sum the ranks of x, giving tied values their mean rank
+		double rankSum = 0;
+		double tieTerm = 0;
+		int i = 0;
+		while (i < n) {
+			int j = i;
+			while (j + 1 < n && values[order[j + 1]] == values[order[i]]) {
+				j++;
+			}
+			double meanRank = (i + j) / 2.0 + 1;
+			for (int k = i; k <= j; k++) {
+				if (fromX[order[k]]) {
+					rankSum += meanRank;
+				}
+			}
+			double t = j - i + 1;
+			tieTerm += t * t * t - t;
+			i = j + 1;
+		}
+		double u = rankSum - n1 * (n1 + 1) / 2.0;
+		double mean = n1 * (double) n2 / 2.0;
+		double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / (n * (double) (n - 1)));
+		if (variance <= 0) {
+			// Every observation is tied
+			return 1.0;
+		}
+		double z = Math.max(0, Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+		return Math.min(1.0, 2 * upperTail(z));
+	}
+
+	/**
+	 * Upper tail of the standard normal distribution
+	 * @param z double holding the point of interest
+	 * @return P(Z > z)
+	 */
+	public static double upperTail(double z) {
+		return 0.5 * erfc(z / Math.sqrt(2));
+	}
+
+	/**
+	 * Helper giving the complementary error function, by the Chebyshev fit of
+	 * Numerical Recipes, with relative error below 1.2e-7
+	 * @param x double holding the argument
+	 * @return erfc(x)
+	 */
+	private static double erfc(double x) {
+		double z = Math.abs(x);
+		double t = 1 / (1 + 0.5 * z);
+		double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196
+				+ t * (0.09678418 + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398
+				+ t * (1.48851587 + t * (-0.82215223 + t * 0.17087277)))))))));
+		return (x >= 0) ? r : 2 - r;
+	}
+}
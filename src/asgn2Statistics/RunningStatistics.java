@@ -0,0 +1,180 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+/**
+ * Streaming mean and variance using 
+ * <a href="http://en.wikipedia.org/wiki/Algorithms_for_calculating_variance">Welford's algorithm</a>. 
+ * Observations are folded in one at a time and never retained, so memory use is constant 
+ * however many values are added. Two instances may be combined with {@link #merge(RunningStatistics) merge}, 
+ * which allows partial results from separate threads to be pooled. 
+ * 
+ * Instances are not thread safe; each thread should keep its own and merge at the end. 
+ * 
+ * @author hogan
+ *
+ */
+public class RunningStatistics {
+
+	// Two-sided 95% normal quantile
+	public static final double Z_95 = 1.959963984540054;
+	
+	private long count = 0;
+	private double mean = 0.0;
+	private double m2 = 0.0;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	
+	/**
+	 * Adds a single observation 
+	 * @param x double holding the observed value
+	 */
+	public void add(double x) {
+		this.count++;
+		double delta = x - this.mean;
+		this.mean += delta / this.count;
+		this.m2 += delta * (x - this.mean);
+		this.min = Math.min(this.min, x);
+		this.max = Math.max(this.max, x);
+	}
+	
+	/**
+	 * Folds the observations summarised by other into this instance. 
+	 * Uses the pairwise update of Chan et al. so the result is the same as if 
+	 * every observation had been added here. 
+	 * @param other RunningStatistics to be merged; it is not modified
+	 */
+	public void merge(RunningStatistics other) {
+		if (other.count == 0) {
+			return;
+		}
+		if (this.count == 0) {
+			this.count = other.count;
+			this.mean = other.mean;
+			this.m2 = other.m2;
+			this.min = other.min;
+			this.max = other.max;
+			return;
+		}
+		long n = this.count + other.count;
+		double delta = other.mean - this.mean;
+		this.mean += delta * other.count / n;
+		this.m2 += other.m2 + delta * delta * ((double) this.count * other.count / n);
+		this.count = n;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+	
+	/**
+	 * Simple getter for the number of observations
+	 * @return number of observations added
+	 */
+	public long getCount() {
+		return this.count;
+	}
+	
+	/**
+	 * Simple getter for the sample mean 
+	 * @return mean of the observations, or 0 if there are none
+	 */
+	public double getMean() {
+		return this.mean;
+	}
+	
+	/**
+	 * Unbiased sample variance 
+	 * @return variance of the observations, or 0 if fewer than two have been added
+	 */
+	public double getVariance() {
+		if (this.count < 2) {
+			return 0.0;
+		}
+		return this.m2 / (this.count - 1);
+	}
+	
+	/**
+	 * Sample standard deviation 
+	 * @return square root of {@link #getVariance() getVariance}
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+	
+	/**
+	 * Simple getter for the smallest observation
+	 * @return smallest value added, or 0 if there are none
+	 */
+	public double getMin() {
+		return (this.count == 0) ? 0.0 : this.min;
+	}
+	
+	/**
+	 * Simple getter for the largest observation
+	 * @return largest value added, or 0 if there are none
+	 */
+	public double getMax() {
+		return (this.count == 0) ? 0.0 : this.max;
+	}
+	
+	/**
+	 * Half width of the 95% confidence interval for the mean, using the Student t 
+	 * quantile for the current number of observations 
+	 * @return half width of the interval, or positive infinity if fewer than two observations
+	 */
+	public double confidenceHalfWidth() {
+		if (this.count < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return tQuantile95(this.count - 1) * getStandardDeviation() / Math.sqrt(this.count);
+	}
+	
+	/**
+	 * Width of the 95% confidence interval relative to the magnitude of the mean. 
+	 * A metric which is identically zero is treated as having width zero. 
+	 * @return full interval width divided by |mean|
+	 */
+	public double relativeConfidenceWidth() {
+		double halfWidth = confidenceHalfWidth();
+		if (halfWidth == 0.0) {
+			return 0.0;
+		}
+		if (this.mean == 0.0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return 2.0 * halfWidth / Math.abs(this.mean);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RunningStatistics [count=" + this.count + ", mean=" + this.mean 
+				+ ", sd=" + getStandardDeviation() + ", min=" + getMin() 
+				+ ", max=" + getMax() + "]";
+	}
+	
+	/**
+	 * Helper giving the upper 2.5% point of Student's t distribution via the 
+	 * Cornish-Fisher expansion about the normal quantile. Accurate to about 0.01 for 
+	 * three or more degrees of freedom, which is ample for stopping decisions. 
+	 * @param df long holding the degrees of freedom 
+	 * @return approximate t quantile
+	 */
+	private static double tQuantile95(long df) {
+		double z = Z_95;
+		double z3 = z * z * z;
+		double z5 = z3 * z * z;
+		double v = df;
+		return z + (z3 + z) / (4 * v) 
+				+ (5 * z5 + 16 * z3 + 3 * z) / (96 * v * v);
+	}
+}
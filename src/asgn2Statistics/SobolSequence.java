@@ -0,0 +1,153 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Statistics 
+ * 18/10/2026
+ * 
+ */
+package asgn2Statistics;
+
+import java.util.Random;
+
+/**
+ * Generator for the <a href="http://en.wikipedia.org/wiki/Sobol_sequence">Sobol</a> low-discrepancy 
+ * sequence in up to {@link #MAX_DIMENSION MAX_DIMENSION} dimensions, using the Joe and Kuo 
+ * direction numbers and the Antonov-Saleev Gray code ordering, so each point costs one XOR 
+ * per dimension. 
+ * 
+ * The optional seeded constructor applies a random digital shift, which keeps the 
+ * low-discrepancy structure but gives independent randomised sequences for error estimation. 
+ * @author hogan
+ *
+ */
+public class SobolSequence {
+	
+	public static final int MAX_DIMENSION = 12;
+	
+	private static final int BITS = 32;
+	private static final double SCALE = 1.0 / (1L << BITS);
+	
+	// Joe and Kuo (2008) primitive polynomials for dimensions 2.. : degree s, coefficients a, initial m
+	private static final int[] DEGREE = { 1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5 };
+	private static final int[] COEFF = { 0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13 };
+	private static final int[][] INITIAL = { 
+		{ 1 }, { 1, 3 }, { 1, 3, 1 }, { 1, 1, 1 }, { 1, 1, 3, 3 }, { 1, 3, 5, 13 }, 
+		{ 1, 1, 5, 5, 17 }, { 1, 1, 5, 5, 5 }, { 1, 1, 7, 11, 19 }, { 1, 1, 5, 1, 1 }, 
+		{ 1, 1, 1, 3, 11 } };
+	
+	private final int dimension;
+	private final long[][] direction;
+	private final long[] shift;
+	private final long[] current;
+	private long index = 0;
+	
+	/**
+	 * Constructor for the unscrambled sequence 
+	 * @param dimension int holding the number of coordinates per point 
+	 * @throws IllegalArgumentException if dimension < 1 or dimension > MAX_DIMENSION
+	 */
+	public SobolSequence(int dimension) {
+		this(dimension, null);
+	}
+	
+	/**
+	 * Constructor for a digitally shifted sequence 
+	 * @param dimension int holding the number of coordinates per point 
+	 * @param seed long random number generator seed for the shift
+	 * @throws IllegalArgumentException if dimension < 1 or dimension > MAX_DIMENSION
+	 */
+	public SobolSequence(int dimension, long seed) {
+		this(dimension, new Random(seed));
+	}
+	
+	/**
+	 * Shared constructor 
+	 * @param dimension int holding the number of coordinates per point 
+	 * @param rng Random source for the shift, or null for no shift
+	 */
+	private SobolSequence(int dimension, Random rng) {
+		if (dimension < 1 || dimension > MAX_DIMENSION) {
+			throw new IllegalArgumentException("Dimension must lie in [1," + MAX_DIMENSION + "]");
+		}
+		this.dimension = dimension;
+		this.direction = new long[dimension][BITS + 1];
+		this.shift = new long[dimension];
+		this.current = new long[dimension];
+		
+		for (int k = 1; k <= BITS; k++) {
+			this.direction[0][k] = 1L << (BITS - k);
+		}
+		for (int j = 1; j < dimension; j++) {
+			int s = DEGREE[j - 1];
+			int a = COEFF[j - 1];
+			int[] m = INITIAL[j - 1];
+			long[] v = this.direction[j];
+			for (int k = 1; k <= Math.min(s, BITS); k++) {
+				v[k] = ((long) m[k - 1]) << (BITS - k);
+			}
+			for (int k = s + 1; k <= BITS; k++) {
+				v[k] = v[k - s] ^ (v[k - s] >> s);
+				for (int i = 1; i < s; i++) {
+					if (((a >> (s - 1 - i)) & 1) == 1) {
+						v[k] ^= v[k - i];
+					}
+				}
+			}
+		}
+		if (rng != null) {
+			for (int j = 0; j < dimension; j++) {
+				this.shift[j] = rng.nextLong() & 0xFFFFFFFFL;
+			}
+		}
+	}
+	
+	/**
+	 * Simple getter for the dimension
+	 * @return number of coordinates per point
+	 */
+	public int getDimension() {
+		return this.dimension;
+	}
+	
+	/**
+	 * Writes the next point of the sequence into point. The unshifted sequence starts at the 
+	 * origin, which callers may wish to {@link #skip(int) skip}. 
+	 * @param point double array of length at least getDimension(), receiving coordinates in [0,1)
+	 */
+	public void next(double[] point) {
+		if (this.index > 0) {
+			int c = Long.numberOfTrailingZeros(this.index) + 1;
+			for (int j = 0; j < this.dimension; j++) {
+				this.current[j] ^= this.direction[j][c];
+			}
+		}
+		for (int j = 0; j < this.dimension; j++) {
+			point[j] = (this.current[j] ^ this.shift[j]) * SCALE;
+		}
+		this.index++;
+	}
+	
+	/**
+	 * Convenience form of {@link #next(double[]) next} which allocates the point 
+	 * @return double array holding the next point
+	 */
+	public double[] next() {
+		double[] point = new double[this.dimension];
+		next(point);
+		return point;
+	}
+	
+	/**
+	 * Advances the sequence without returning points 
+	 * @param n int holding the number of points to skip
+	 */
+	public void skip(int n) {
+		double[] scratch = new double[this.dimension];
+		for (int i = 0; i < n; i++) {
+			next(scratch);
+		}
+	}
+}
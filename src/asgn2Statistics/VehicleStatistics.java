@@ -0,0 +1,150 @@
+/**
+ *
+ * This file is part of the CarParkSimulator Project, written as
+ * part of the assessment for INB370, semester 1, 2014.
+ *
+ * CarParkSimulator
+ * asgn2Statistics
+ * 18/10/2026
+ *
+ */
+package asgn2Statistics;
+
+import asgn2Vehicles.Car;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Running summary of archived vehicles. Each vehicle is folded in once, when it is archived,
+ * and may then be discarded: the summary holds counts by vehicle type and satisfaction, and
+ * the mean and variance of queue and stay times, in constant space.
+ *
+ * Queue time is only recorded for vehicles which queued, and stay time only for vehicles
+ * which parked. Instances are not thread safe; combine per-thread summaries with
+ * {@link #merge(VehicleStatistics) merge}.
+ *
+ * @author hogan
+ *
+ */
+public class VehicleStatistics {
+
+	/**
+	 * Classes of vehicle distinguished in the counts
+	 */
+	public enum Type {
+		CAR, SMALL_CAR, MOTORCYCLE;
+
+		/**
+		 * Classifies a vehicle
+		 * @param v Vehicle of interest
+		 * @return Type of the vehicle
+		 */
+		public static Type of(Vehicle v) {
+			if (v instanceof Car) {
+				return ((Car) v).isSmall() ? SMALL_CAR : CAR;
+			}
+			return MOTORCYCLE;
+		}
+	}
+
+	private final long[] satisfied = new long[Type.values().length];
+	private final long[] dissatisfied = new long[Type.values().length];
+	private final RunningStatistics queueTime = new RunningStatistics();
+	private final RunningStatistics stayTime = new RunningStatistics();
+
+	/**
+	 * Folds an archived vehicle into the summary
+	 * @param v Vehicle which has been archived
+	 */
+	public void record(Vehicle v) {
+		int type = Type.of(v).ordinal();
+		if (v.isSatisfied()) {
+			this.satisfied[type]++;
+		} else {
+			this.dissatisfied[type]++;
+		}
+		if (v.wasQueued()) {
+			this.queueTime.add(v.getExitQueueTime() - v.getArrivalTime());
+		}
+		if (v.wasParked()) {
+			this.stayTime.add(v.getDepartureTime() - v.getParkingTime());
+		}
+	}
+
+	/**
+	 * Folds the vehicles summarised by other into this instance
+	 * @param other VehicleStatistics to be merged; it is not modified
+	 */
+	public void merge(VehicleStatistics other) {
+		for (int i = 0; i < this.satisfied.length; i++) {
+			this.satisfied[i] += other.satisfied[i];
+			this.dissatisfied[i] += other.dissatisfied[i];
+		}
+		this.queueTime.merge(other.queueTime);
+		this.stayTime.merge(other.stayTime);
+	}
+
+	/**
+	 * Simple getter for the number of vehicles recorded
+	 * @return number of vehicles folded into the summary
+	 */
+	public long getCount() {
+		long n = 0;
+		for (int i = 0; i < this.satisfied.length; i++) {
+			n += this.satisfied[i] + this.dissatisfied[i];
+		}
+		return n;
+	}
+
+	/**
+	 * Simple getter for the number of satisfied vehicles of a given type
+	 * @param type Type of vehicle
+	 * @return number of satisfied vehicles of that type
+	 */
+	public long getNumSatisfied(Type type) {
+		return this.satisfied[type.ordinal()];
+	}
+
+	/**
+	 * Simple getter for the number of dissatisfied vehicles of a given type
+	 * @param type Type of vehicle
+	 * @return number of dissatisfied vehicles of that type
+	 */
+	public long getNumDissatisfied(Type type) {
+		return this.dissatisfied[type.ordinal()];
+	}
+
+	/**
+	 * Simple getter for the queue time summary
+	 * @return RunningStatistics of time spent queueing, over vehicles which queued
+	 */
+	public RunningStatistics getQueueTime() {
+		return this.queueTime;
+	}
+
+	/**
+	 * Simple getter for the stay time summary
+	 * @return RunningStatistics of time spent parked, over vehicles which parked
+	 */
+	public RunningStatistics getStayTime() {
+		return this.stayTime;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("Vehicle Summary: \n");
+		for (Type type : Type.values()) {
+			str.append(type).append(": satisfied ").append(getNumSatisfied(type))
+				.append(", dissatisfied ").append(getNumDissatisfied(type)).append("\n");
+		}
+		str.append("Queue time: mean ").append(this.queueTime.getMean())
+			.append(", variance ").append(this.queueTime.getVariance())
+			.append(" (n=").append(this.queueTime.getCount()).append(")\n");
+		str.append("Stay time: mean ").append(this.stayTime.getMean())
+			.append(", variance ").append(this.stayTime.getVariance())
+			.append(" (n=").append(this.stayTime.getCount()).append(")\n");
+		return str.toString();
+	}
+}
@@ -0,0 +1,256 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+import asgn2Simulators.TickProfiler;
+import asgn2Simulators.TickProfiler.Phase;
+
+/**
+ * Allocation budgets for a default simulated day, logged to a null sink so that only the
+ * simulation itself allocates. Bytes are counted by the JVM's per thread allocation counter
+ * on a run made after a warm up run, so that class loading and interpreter allocation are
+ * excluded; the tests are skipped on JVMs without the counter.
+ *
+ * The budgets are the allocation measured when they were set, plus about 15%. A test
+ * which fails here means a change allocates more per tick than it used to: reduce the
+ * allocation, or raise the budget in the same change and say why. When an allocation
+ * is driven down, lower its budget to match.
+ *
+ * @author hogan
+ *
+ */
+public class AllocationBudgetTests {
+
+	// Constants
+	int TICKS = Constants.CLOSING_TIME + 1;
+	int MEASURED_RUNS = 3;
+
+	// CarPark budgets, in bytes
+	long CAR_PARK_PER_TICK = 1650;
+	long CAR_PARK_PER_VEHICLE = 3300;
+	long CAR_PARK_GET_STATUS_PER_TICK = 1220;
+	long CAR_PARK_NEW_VEHICLES_PER_TICK = 130;
+	long CAR_PARK_QUEUE_FAILURES_PER_TICK = 60;
+	long CAR_PARK_FINAL_STATE_PER_VEHICLE = 1920;
+
+	// ConcurrentCarPark budgets, in bytes
+	long CONCURRENT_PER_TICK = 720;
+	long CONCURRENT_PER_VEHICLE = 2530;
+	long CONCURRENT_GET_STATUS_PER_TICK = 390;
+	long CONCURRENT_NEW_VEHICLES_PER_TICK = 160;
+	long CONCURRENT_FINAL_STATE_PER_VEHICLE = 1920;
+
+	// Variables
+	com.sun.management.ThreadMXBean threads;
+	long threadId;
+
+	/**
+	 * Finds the allocation counter, skipping the tests if the JVM does not have one,
+	 * and warms up both car parks
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+		threadId = Thread.currentThread().getId();
+		new Measurement(createCarPark(false));
+		new Measurement(createCarPark(true));
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationRunner#runSimulation()} on a CarPark.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCarParkPerTickAndVehicle() throws Exception {
+		Measurement m = measure(false);
+		assertWithinBudget("bytes per tick", m.perTick(), CAR_PARK_PER_TICK);
+		assertWithinBudget("bytes per vehicle", m.perVehicle(), CAR_PARK_PER_VEHICLE);
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#getStatus(int)},
+	 * {@link asgn2CarParks.CarPark#tryProcessNewVehicles(int, Simulator)} and
+	 * {@link asgn2CarParks.CarPark#archiveQueueFailures(int)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCarParkPhases() throws Exception {
+		Measurement m = measure(false);
+		assertWithinBudget("getStatus bytes per tick", m.perTick(Phase.LOG_ENTRY),
+				CAR_PARK_GET_STATUS_PER_TICK);
+		assertWithinBudget("tryProcessNewVehicles bytes per tick", m.perTick(Phase.TRY_PROCESS_NEW_VEHICLES),
+				CAR_PARK_NEW_VEHICLES_PER_TICK);
+		assertWithinBudget("archiveQueueFailures bytes per tick", m.perTick(Phase.ARCHIVE_QUEUE_FAILURES),
+				CAR_PARK_QUEUE_FAILURES_PER_TICK);
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#finalState()}, which
+	 * lists the archive and so is budgeted per vehicle.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCarParkFinalState() throws Exception {
+		Measurement m = measure(false);
+		assertWithinBudget("finalState bytes per vehicle", m.finalStateBytes / m.vehicles,
+				CAR_PARK_FINAL_STATE_PER_VEHICLE);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationRunner#runSimulation()} on a ConcurrentCarPark.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentCarParkPerTickAndVehicle() throws Exception {
+		Measurement m = measure(true);
+		assertWithinBudget("bytes per tick", m.perTick(), CONCURRENT_PER_TICK);
+		assertWithinBudget("bytes per vehicle", m.perVehicle(), CONCURRENT_PER_VEHICLE);
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#getStatus(int)} and
+	 * {@link asgn2CarParks.ConcurrentCarPark#tryProcessNewVehicles(int, Simulator)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentCarParkPhases() throws Exception {
+		Measurement m = measure(true);
+		assertWithinBudget("getStatus bytes per tick", m.perTick(Phase.LOG_ENTRY),
+				CONCURRENT_GET_STATUS_PER_TICK);
+		assertWithinBudget("tryProcessNewVehicles bytes per tick", m.perTick(Phase.TRY_PROCESS_NEW_VEHICLES),
+				CONCURRENT_NEW_VEHICLES_PER_TICK);
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#finalState()}, which
+	 * lists the archive and so is budgeted per vehicle.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentCarParkFinalState() throws Exception {
+		Measurement m = measure(true);
+		assertWithinBudget("finalState bytes per vehicle", m.finalStateBytes / m.vehicles,
+				CONCURRENT_FINAL_STATE_PER_VEHICLE);
+	}
+
+	/**
+	 * Helper to take the least allocating of several runs, as a collection or
+	 * compilation during one run can add to its count
+	 * @param concurrent boolean true to run a ConcurrentCarPark, false for a CarPark
+	 * @return Measurement with the smallest total
+	 * @throws Exception if a run fails
+	 */
+	private Measurement measure(boolean concurrent) throws Exception {
+		Measurement best = null;
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			Measurement m = new Measurement(createCarPark(concurrent));
+			if (best == null || m.totalBytes < best.totalBytes) {
+				best = m;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Helper to create a car park of the default dimensions, built before any
+	 * measurement starts
+	 * @param concurrent boolean true for a ConcurrentCarPark, false for a CarPark
+	 * @return CarPark ready for simulation
+	 */
+	private CarPark createCarPark(boolean concurrent) {
+		if (concurrent) {
+			return new ConcurrentCarPark(Constants.DEFAULT_MAX_CAR_SPACES, Constants.DEFAULT_MAX_SMALL_CAR_SPACES,
+					Constants.DEFAULT_MAX_MOTORCYCLE_SPACES, Constants.DEFAULT_MAX_QUEUE_SIZE);
+		}
+		return new CarPark(Constants.DEFAULT_MAX_CAR_SPACES, Constants.DEFAULT_MAX_SMALL_CAR_SPACES,
+				Constants.DEFAULT_MAX_MOTORCYCLE_SPACES, Constants.DEFAULT_MAX_QUEUE_SIZE);
+	}
+
+	/**
+	 * Helper to fail with the measured and budgeted figures
+	 * @param what String describing the figure
+	 * @param measured long holding the bytes allocated
+	 * @param budget long holding the bytes allowed
+	 */
+	private void assertWithinBudget(String what, long measured, long budget) {
+		assertTrue(what + ": allocated " + measured + ", budget " + budget, measured <= budget);
+	}
+
+	/**
+	 * Allocation of one default simulated day
+	 */
+	private class Measurement {
+		final TickProfiler profiler = new TickProfiler();
+		final long totalBytes;
+		final long finalStateBytes;
+		final int vehicles;
+
+		/**
+		 * Runs the day and measures it
+		 * @param carPark CarPark to be simulated
+		 * @throws Exception if the run fails
+		 */
+		Measurement(CarPark carPark) throws Exception {
+			SimulationRunner runner = new SimulationRunner(carPark, new Simulator(),
+					new Log(Writer.nullWriter()));
+			runner.setProfiler(profiler);
+			long start = threads.getThreadAllocatedBytes(threadId);
+			runner.runSimulation();
+			totalBytes = threads.getThreadAllocatedBytes(threadId) - start;
+			start = threads.getThreadAllocatedBytes(threadId);
+			carPark.finalState();
+			finalStateBytes = threads.getThreadAllocatedBytes(threadId) - start;
+			vehicles = carPark.getNumProcessed();
+		}
+
+		long perTick() {
+			long bytes = 0;
+			for (Phase p : Phase.values()) {
+				bytes += profiler.getAllocatedBytes(p);
+			}
+			return bytes / TICKS;
+		}
+
+		long perTick(Phase phase) {
+			return profiler.getAllocatedBytes(phase) / TICKS;
+		}
+
+		long perVehicle() {
+			return totalBytes / vehicles;
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.ArrivalProfile;
+import asgn2Simulators.ArrivalProfile.VehicleClass;
+import asgn2Simulators.Constants;
+
+/**
+ * @author hogan
+ *
+ */
+public class ArrivalProfileTests {
+
+	// Constants
+	String TABLE = "# minute car smallCar motorCycle\n"
+			+ "0    0.5 0.1 0.02\n"
+			+ "\n"
+			+ "420, 4.0, 0.8, 0.15   # morning peak\n"
+			+ "600  1.5 0.3 0.05\n";
+	double TOLERANCE = 1e-9;
+
+	// Variables
+	ArrivalProfile profile;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		profile = ArrivalProfile.load(new StringReader(TABLE));
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#getRate(VehicleClass, int)}.
+	 */
+	@Test
+	public void testRates() {
+		assertEquals(3, profile.getNumSegments());
+		assertEquals(0.5, profile.getRate(VehicleClass.CAR, 0), 0.0);
+		assertEquals(0.5, profile.getRate(VehicleClass.CAR, 419), 0.0);
+		assertEquals(4.0, profile.getRate(VehicleClass.CAR, 420), 0.0);
+		assertEquals(0.8, profile.getRate(VehicleClass.SMALL_CAR, 599), 0.0);
+		assertEquals(0.05, profile.getRate(VehicleClass.MOTORCYCLE, 600), 0.0);
+		assertEquals(0.05, profile.getRate(VehicleClass.MOTORCYCLE, 10 * Constants.CLOSING_TIME), 0.0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#getExpectedArrivals(VehicleClass, int, int)}.
+	 */
+	@Test
+	public void testExpectedArrivals() {
+		assertEquals(420 * 0.5 + 180 * 4.0 + 100 * 1.5,
+				profile.getExpectedArrivals(VehicleClass.CAR, 0, 700), TOLERANCE);
+		assertEquals(10 * 0.5 + 10 * 4.0, profile.getExpectedArrivals(VehicleClass.CAR, 410, 430), TOLERANCE);
+		assertEquals(0.0, profile.getExpectedArrivals(VehicleClass.CAR, 430, 410), 0.0);
+		int end = 2 * Constants.CLOSING_TIME;
+		assertEquals(profile.getExpectedArrivals(VehicleClass.MOTORCYCLE, 600, 601) * (end - 600),
+				profile.getExpectedArrivals(VehicleClass.MOTORCYCLE, 600, end), TOLERANCE);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#toString()}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testToStringLoads() throws Exception {
+		ArrivalProfile copy = ArrivalProfile.load(new StringReader(profile.toString()));
+		assertEquals(profile.toString(), copy.toString());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#load(java.io.Reader)}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testLoadMissingField() throws Exception {
+		ArrivalProfile.load(new StringReader("0 1.0 0.2\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#load(java.io.Reader)}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testLoadBadNumber() throws Exception {
+		ArrivalProfile.load(new StringReader("0 1.0 0.2 x\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#ArrivalProfile(int[], double[], double[], double[])}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testNotStartingAtZero() throws Exception {
+		new ArrivalProfile(new int[] { 1 }, new double[1], new double[1], new double[1]);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#ArrivalProfile(int[], double[], double[], double[])}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testStartsNotIncreasing() throws Exception {
+		new ArrivalProfile(new int[] { 0, 60, 60 }, new double[3], new double[3], new double[3]);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ArrivalProfile#ArrivalProfile(int[], double[], double[], double[])}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testNegativeRate() throws Exception {
+		new ArrivalProfile(new int[] { 0 }, new double[] { -1.0 }, new double[1], new double[1]);
+	}
+}
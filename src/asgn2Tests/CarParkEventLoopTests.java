@@ -0,0 +1,164 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.CarParkEventLoop;
+import asgn2Exceptions.SimulationException;
+import asgn2Vehicles.Car;
+
+/**
+ * @author hogan
+ *
+ */
+public class CarParkEventLoopTests {
+
+	// Constants
+	int GATES = 12;
+	int VEHICLES_PER_GATE = 2000;
+	int ARRIVAL_TIME = 1;
+	int PARKING_TIME = 2;
+	int INTENDED_DURATION = 30;
+	int TIMEOUT_SECONDS = 10;
+	
+	// Variables
+	CarParkEventLoop loop;
+	ExecutorService gates;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		loop = new CarParkEventLoop(new CarPark(GATES * VEHICLES_PER_GATE, 0, 0, 0), 64);
+		gates = Executors.newFixedThreadPool(GATES);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		gates.shutdownNow();
+		loop.close();
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkEventLoop#parkVehicle(asgn2Vehicles.Vehicle, int, int)}.
+	 * Many gates parking through the loop must leave the unsynchronised CarPark consistent.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testManyProducersParkSafely() throws Exception {
+		List<Future<List<CompletableFuture<Void>>>> submitted = new ArrayList<Future<List<CompletableFuture<Void>>>>();
+		for (int g = 0; g < GATES; g++) {
+			final int gate = g;
+			submitted.add(gates.submit(() -> {
+				List<CompletableFuture<Void>> mine = new ArrayList<CompletableFuture<Void>>();
+				for (int i = 0; i < VEHICLES_PER_GATE; i++) {
+					mine.add(loop.parkVehicle(new Car("C" + gate + "_" + i, ARRIVAL_TIME, false), 
+							PARKING_TIME, INTENDED_DURATION));
+				}
+				return mine;
+			}));
+		}
+		for (Future<List<CompletableFuture<Void>>> f : submitted) {
+			for (CompletableFuture<Void> park : f.get()) {
+				park.get();
+			}
+		}
+		Function<CarPark, Integer> numCars = CarPark::getNumCars;
+		assertEquals(GATES * VEHICLES_PER_GATE, loop.query(numCars).get().intValue());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkEventLoop#unparkVehicle(asgn2Vehicles.Vehicle, int)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testFailurePropagatesToFuture() throws Exception {
+		CompletableFuture<Void> f = loop.unparkVehicle(new Car("C", ARRIVAL_TIME, false), PARKING_TIME);
+		try {
+			f.get();
+			fail("Unparking a vehicle which is not parked should fail");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof SimulationException);
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkEventLoop#close()}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testSubmitAfterCloseFails() throws Exception {
+		loop.close();
+		CompletableFuture<Void> f = loop.enterQueue(new Car("C", ARRIVAL_TIME, false));
+		try {
+			f.get();
+			fail("Submission after close should fail");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof SimulationException);
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkEventLoop#close()}.
+	 * Every request submitted while the loop closes is either applied or refused.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testSubmitRacingCloseCompletes() throws Exception {
+		Function<CarPark, Integer> numCars = CarPark::getNumCars;
+		List<Future<List<CompletableFuture<Integer>>>> submitted = new ArrayList<Future<List<CompletableFuture<Integer>>>>();
+		for (int g = 0; g < GATES; g++) {
+			submitted.add(gates.submit(() -> {
+				List<CompletableFuture<Integer>> mine = new ArrayList<CompletableFuture<Integer>>();
+				for (int i = 0; i < VEHICLES_PER_GATE; i++) {
+					mine.add(loop.query(numCars));
+				}
+				return mine;
+			}));
+		}
+		loop.close();
+		int applied = 0;
+		int refused = 0;
+		for (Future<List<CompletableFuture<Integer>>> f : submitted) {
+			for (CompletableFuture<Integer> query : f.get()) {
+				try {
+					query.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+					applied++;
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof SimulationException);
+					refused++;
+				}
+			}
+		}
+		assertEquals(GATES * VEHICLES_PER_GATE, applied + refused);
+		assertEquals(loop.getApplied(), applied);
+	}
+}
@@ -12,12 +12,21 @@ package asgn2Tests;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import asgn2CarParks.CarPark;
+import asgn2Exceptions.SimulationException;
 import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Simulator;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
 
 /**
  * @author hogan
@@ -25,6 +34,17 @@ import asgn2Exceptions.VehicleException;
  */
 public class CarParkTests {
 
+	// Constants for the batch operation tests: 7 normal, 3 small car and 2 motorcycle spaces
+	int MAX_CAR_SPACES = 10;
+	int MAX_SMALL_CAR_SPACES = 3;
+	int MAX_MOTORCYCLE_SPACES = 2;
+	int MAX_QUEUE_SIZE = 5;
+	int ARRIVAL_TIME = 1;
+	int PARKING_TIME = 2;
+	int INTENDED_DURATION = 30;
+	int DEPARTURE_TIME = PARKING_TIME + INTENDED_DURATION;
+	int SEED = 100;
+	
 	CarPark cp;
 	
 	/**
@@ -221,4 +241,350 @@ public class CarParkTests {
 		fail("Not yet implemented"); // TODO
 	}
 
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#parkVehicles(List, int, int[])}.
+	 * A mixed batch fills the car park exactly, with one motorcycle in a small car space.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testParkVehiclesMixedBatch() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(2, 3, 7);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		assertEquals(2, cp.getNumSmallCars());
+		assertEquals(3, cp.getNumMotorCycles());
+		assertEquals(7, cp.getNumCars());
+		assertTrue(cp.carParkFull());
+		for (Vehicle v : batch) {
+			assertTrue(v.isParked());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#parkVehicles(List, int, int[])}.
+	 * A batch one vehicle too large parks none of its vehicles.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testParkVehiclesNoSpace() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(2, 3, 8);
+		try {
+			cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+			fail("A batch larger than the free spaces should not be parked");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.carParkEmpty());
+		for (Vehicle v : batch) {
+			assertFalse(v.isParked());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#parkVehicles(List, int, int[])}.
+	 * A vehicle which cannot park stops the batch, and the vehicles before it stay parked.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testParkVehiclesFailureKeepsEarlierVehicles() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 1, 1);
+		try {
+			cp.parkVehicles(batch, PARKING_TIME, new int[] { INTENDED_DURATION, 1, INTENDED_DURATION });
+			fail("A stay shorter than the minimum should not be parked");
+		} catch (VehicleException e) {
+		}
+		assertEquals(1, cp.getNumSmallCars());
+		assertEquals(0, cp.getNumMotorCycles());
+		assertEquals(0, cp.getNumCars());
+		assertTrue(batch.get(0).isParked());
+		assertFalse(batch.get(1).isParked());
+		assertFalse(batch.get(2).isParked());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#parkVehicles(List, int, int[])}.
+	 * @throws Exception 
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testParkVehiclesNeedsOneDurationEach() throws Exception {
+		cp = newCarPark();
+		cp.parkVehicles(newVehicles(1, 1, 1), PARKING_TIME, durations(2));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#unparkVehicles(List, int)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testUnparkVehiclesBatch() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(2, 3, 7);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		cp.unparkVehicles(batch, DEPARTURE_TIME);
+		assertTrue(cp.carParkEmpty());
+		assertEquals(batch.size(), cp.getNumArchived());
+		assertEquals(batch.size(), cp.getStayHistogram().getTotalCount());
+		for (Vehicle v : batch) {
+			assertFalse(v.isParked());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#unparkVehicles(List, int)}.
+	 * A batch with a vehicle not in the car park, or the same vehicle twice, removes nothing.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testUnparkVehiclesNotParked() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 0, 1);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		try {
+			cp.unparkVehicles(Arrays.asList(batch.get(0), new Car("X", ARRIVAL_TIME, false)), DEPARTURE_TIME);
+			fail("A vehicle not in the car park cannot be unparked");
+		} catch (SimulationException e) {
+		}
+		try {
+			cp.unparkVehicles(Arrays.asList(batch.get(1), batch.get(1)), DEPARTURE_TIME);
+			fail("A vehicle cannot be unparked twice");
+		} catch (SimulationException e) {
+		}
+		assertEquals(1, cp.getNumSmallCars());
+		assertEquals(1, cp.getNumCars());
+		assertEquals(0, cp.getNumArchived());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#unparkVehicles(List, int)}.
+	 * A vehicle which cannot leave stops the batch, and the vehicles before it are still 
+	 * removed and archived.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testUnparkVehiclesFailureKeepsEarlierVehicles() throws Exception {
+		cp = newCarPark();
+		Car early = new Car("E", ARRIVAL_TIME, false);
+		Car late = new Car("L", ARRIVAL_TIME, false);
+		cp.parkVehicle(early, PARKING_TIME, INTENDED_DURATION);
+		cp.parkVehicle(late, DEPARTURE_TIME, INTENDED_DURATION);
+		try {
+			cp.unparkVehicles(Arrays.asList(early, late), DEPARTURE_TIME - 1);
+			fail("A vehicle cannot leave before it parked");
+		} catch (VehicleException e) {
+		}
+		assertFalse(early.isParked());
+		assertTrue(late.isParked());
+		assertEquals(1, cp.getNumCars());
+		assertEquals(1, cp.getNumArchived());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#enterQueue(List)}.
+	 * The batch joins the queue behind the vehicles already waiting, in list order.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testEnterQueueBatchKeepsOrder() throws Exception {
+		cp = newCarPark();
+		cp.enterQueue(new Car("C", ARRIVAL_TIME, false));
+		cp.enterQueue(newVehicles(1, 2, 1));
+		assertEquals(5, cp.numVehiclesInQueue());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:5CSMMC\n"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#enterQueue(List)}.
+	 * A batch without room in the queue queues none of its vehicles.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testEnterQueueBatchFull() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(0, 0, MAX_QUEUE_SIZE + 1);
+		try {
+			cp.enterQueue(batch);
+			fail("A batch larger than the queue should not be queued");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.queueEmpty());
+		for (Vehicle v : batch) {
+			assertFalse(v.isQueued());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#enterQueue(List)}.
+	 * A vehicle which cannot queue stops the batch, and the vehicles before it stay queued.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testEnterQueueBatchFailureKeepsEarlierVehicles() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 1, 1);
+		cp.parkVehicle(batch.get(1), PARKING_TIME, INTENDED_DURATION);
+		try {
+			cp.enterQueue(batch);
+			fail("A parked vehicle cannot be queued");
+		} catch (VehicleException e) {
+		}
+		assertTrue(batch.get(0).isQueued());
+		assertFalse(batch.get(2).isQueued());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:1S\n"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#exitQueue(List, int)}.
+	 * Vehicles leaving from the middle of the queue leave the others in order.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testExitQueueBatchKeepsOrder() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 2, 2);
+		cp.enterQueue(batch);
+		cp.exitQueue(Arrays.asList(batch.get(3), batch.get(1)), PARKING_TIME);
+		assertFalse(batch.get(1).isQueued());
+		assertFalse(batch.get(3).isQueued());
+		assertEquals(2, cp.getQueueWaitHistogram().getTotalCount());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:3SMC\n"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#exitQueue(List, int)}.
+	 * A batch with a vehicle not in the queue removes nothing; a vehicle which cannot leave 
+	 * stops the batch, and the vehicles before it still leave.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testExitQueueBatchFailures() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 1, 1);
+		Car late = new Car("L", PARKING_TIME, false);
+		cp.enterQueue(batch);
+		cp.enterQueue(late);
+		try {
+			cp.exitQueue(Arrays.asList(batch.get(0), new Car("X", ARRIVAL_TIME, false)), PARKING_TIME);
+			fail("A vehicle not in the queue cannot leave it");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:4SMCC\n"));
+		try {
+			cp.exitQueue(Arrays.asList(batch.get(0), late, batch.get(1)), PARKING_TIME);
+			fail("A vehicle cannot leave the queue in the minute it arrived");
+		} catch (VehicleException e) {
+		}
+		assertFalse(batch.get(0).isQueued());
+		assertTrue(late.isQueued());
+		assertTrue(batch.get(1).isQueued());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:3MCC\n"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#archiveNewVehicles(List)}.
+	 * Turned away vehicles count as dissatisfied, and a batch holding a queued vehicle 
+	 * archives none of its vehicles.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testArchiveNewVehicles() throws Exception {
+		cp = newCarPark();
+		List<Vehicle> batch = newVehicles(1, 1, 1);
+		cp.archiveNewVehicles(batch);
+		assertEquals(batch.size(), cp.getNumArchived());
+		assertEquals(batch.size(), cp.getNumDissatisfied());
+		
+		List<Vehicle> mixed = newVehicles(0, 1, 1);
+		cp.enterQueue(mixed.get(1));
+		try {
+			cp.archiveNewVehicles(mixed);
+			fail("A queued vehicle cannot be archived as new");
+		} catch (SimulationException e) {
+		}
+		assertEquals(batch.size(), cp.getNumArchived());
+		assertEquals(batch.size(), cp.getNumDissatisfied());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#admitNewVehicles(int, Simulator, int, int, int)}.
+	 * Batches more than fill the car park and queue, with the same outcome as admitting the 
+	 * vehicles one at a time.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testAdmitNewVehiclesMatchesOneAtATime() throws Exception {
+		cp = newCarPark();
+		cp.admitNewVehicles(ARRIVAL_TIME, new Simulator(SEED, INTENDED_DURATION, 0.0, 1.0, 0.2, 0.05), 4, 5, 9);
+		assertTrue(cp.carParkFull());
+		assertTrue(cp.queueFull());
+		assertEquals(4 + 5 + 9 - 12 - MAX_QUEUE_SIZE, cp.getNumArchived());
+		assertEquals(cp.getNumArchived(), cp.getNumDissatisfied());
+		
+		CarPark single = newCarPark();
+		Simulator sim = new Simulator(SEED, INTENDED_DURATION, 0.0, 1.0, 0.2, 0.05);
+		List<Vehicle> arrivals = new ArrayList<Vehicle>();
+		for (int i = 0; i < 4; i++) {
+			arrivals.add(new Car("S" + ARRIVAL_TIME, ARRIVAL_TIME, true));
+		}
+		for (int i = 0; i < 5; i++) {
+			arrivals.add(new MotorCycle("M" + ARRIVAL_TIME, ARRIVAL_TIME));
+		}
+		for (int i = 0; i < 9; i++) {
+			arrivals.add(new Car("C" + ARRIVAL_TIME, ARRIVAL_TIME, false));
+		}
+		for (Vehicle v : arrivals) {
+			if (single.spacesAvailable(v)) {
+				single.parkVehicle(v, ARRIVAL_TIME, sim.setDuration());
+			} else if (!single.queueFull()) {
+				single.enterQueue(v);
+			} else {
+				single.archiveNewVehicle(v);
+			}
+		}
+		assertEquals(single.getNumArchived(), cp.getNumArchived());
+		assertEquals(single.getNumDissatisfied(), cp.getNumDissatisfied());
+		assertEquals(single.getStatus(ARRIVAL_TIME).replaceFirst("^\\d+::\\d+::", ""), 
+				cp.getStatus(ARRIVAL_TIME).replaceFirst("^\\d+::\\d+::", ""));
+	}
+	
+	/**
+	 * Helper giving an empty car park with the capacities of the batch operation tests 
+	 * @return new CarPark
+	 */
+	private CarPark newCarPark() {
+		return new CarPark(MAX_CAR_SPACES, MAX_SMALL_CAR_SPACES, MAX_MOTORCYCLE_SPACES, MAX_QUEUE_SIZE);
+	}
+	
+	/**
+	 * Helper to make a batch of new vehicles, small cars first, then motorcycles, then cars 
+	 * @param smallCars int holding the number of small cars 
+	 * @param motorCycles int holding the number of motorcycles 
+	 * @param cars int holding the number of normal cars 
+	 * @return List of vehicles which have just arrived
+	 * @throws Exception 
+	 */
+	private List<Vehicle> newVehicles(int smallCars, int motorCycles, int cars) throws Exception {
+		List<Vehicle> batch = new ArrayList<Vehicle>();
+		for (int i = 0; i < smallCars; i++) {
+			batch.add(new Car("S" + i, ARRIVAL_TIME, true));
+		}
+		for (int i = 0; i < motorCycles; i++) {
+			batch.add(new MotorCycle("M" + i, ARRIVAL_TIME));
+		}
+		for (int i = 0; i < cars; i++) {
+			batch.add(new Car("C" + i, ARRIVAL_TIME, false));
+		}
+		return batch;
+	}
+	
+	/**
+	 * Helper giving the intended durations for a batch 
+	 * @param n int holding the batch size 
+	 * @return int array of n copies of INTENDED_DURATION
+	 */
+	private int[] durations(int n) {
+		int[] d = new int[n];
+		Arrays.fill(d, INTENDED_DURATION);
+		return d;
+	}
 }
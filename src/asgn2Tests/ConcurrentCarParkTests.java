@@ -0,0 +1,634 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Exceptions.VehicleException;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+import asgn2Vehicles.Vehicle;
+
+/**
+ * Stress tests for ConcurrentCarPark, with many producer threads standing in for gates. 
+ * @author hogan
+ *
+ */
+public class ConcurrentCarParkTests {
+
+	// Constants
+	int MAX_CAR_SPACES = 100;
+	int MAX_SMALL_CAR_SPACES = 20;
+	int MAX_MOTORCYCLE_SPACES = 20;
+	int MAX_QUEUE_SIZE = 10;
+	int GATES = 16;
+	int EVENTS_PER_GATE = 20000;
+	int ARRIVAL_TIME = 1;
+	int PARKING_TIME = 2;
+	int INTENDED_DURATION = 30;
+	int DEPARTURE_TIME = PARKING_TIME + INTENDED_DURATION;
+	int FAILURE_TIME = ARRIVAL_TIME + Constants.MAXIMUM_QUEUE_TIME;
+	int RACE_ROUNDS = 100;
+	int RACE_VEHICLES = 1000;
+	int RACE_BATCH = 10;
+	int RACE_GATES = 4;
+	
+	// Variables
+	ConcurrentCarPark cp;
+	ExecutorService gates;
+	CountDownLatch start;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		cp = new ConcurrentCarPark(MAX_CAR_SPACES, MAX_SMALL_CAR_SPACES, MAX_MOTORCYCLE_SPACES, MAX_QUEUE_SIZE);
+		gates = Executors.newFixedThreadPool(GATES);
+		start = new CountDownLatch(1);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		gates.shutdownNow();
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#tryParkVehicle(Vehicle, int, int)}.
+	 * Many gates racing for one space: exactly one may win.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testLastSpaceTakenOnce() throws Exception {
+		cp = new ConcurrentCarPark(1, 0, 0, 0);
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		for (int g = 0; g < GATES; g++) {
+			final Car c = new Car("C" + g, ARRIVAL_TIME, false);
+			results.add(gates.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					start.await();
+					return cp.tryParkVehicle(c, PARKING_TIME, INTENDED_DURATION);
+				}
+			}));
+		}
+		start.countDown();
+		int winners = 0;
+		for (Future<Boolean> f : results) {
+			if (f.get()) {
+				winners++;
+			}
+		}
+		assertEquals(1, winners);
+		assertEquals(1, cp.getNumCars());
+		assertTrue(cp.carParkFull());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#enterQueue(Vehicle)}.
+	 * Concurrent queue entries must stop exactly at the queue limit.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testQueueNeverExceedsLimit() throws Exception {
+		final AtomicInteger queued = new AtomicInteger();
+		final AtomicInteger refused = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for (int g = 0; g < GATES; g++) {
+			final int gate = g;
+			results.add(gates.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					start.await();
+					for (int i = 0; i < 100; i++) {
+						try {
+							cp.enterQueue(new Car("Q" + gate + "_" + i, ARRIVAL_TIME, false));
+							queued.incrementAndGet();
+						} catch (SimulationException e) {
+							refused.incrementAndGet();
+						}
+					}
+					return null;
+				}
+			}));
+		}
+		start.countDown();
+		for (Future<?> f : results) {
+			f.get();
+		}
+		assertEquals(MAX_QUEUE_SIZE, queued.get());
+		assertEquals(GATES * 100 - MAX_QUEUE_SIZE, refused.get());
+		assertEquals(MAX_QUEUE_SIZE, cp.numVehiclesInQueue());
+		assertTrue(cp.queueFull());
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#tryParkVehicle(Vehicle, int, int)} and 
+	 * {@link asgn2CarParks.ConcurrentCarPark#unparkVehicle(Vehicle, int)}.
+	 * Gates park and unpark a mix of vehicles while a reader polls; capacities must 
+	 * hold throughout and all counters must return to zero.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testStressParkAndUnparkFromManyGates() throws Exception {
+		final AtomicInteger parked = new AtomicInteger();
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger violations = new AtomicInteger();
+		
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (running.get()) {
+					if (cp.getNumCars() > MAX_CAR_SPACES 
+							|| cp.getNumSmallCars() > MAX_CAR_SPACES
+							|| cp.getNumMotorCycles() > MAX_MOTORCYCLE_SPACES + MAX_SMALL_CAR_SPACES
+							|| cp.getNumCars() < 0 || cp.getNumMotorCycles() < 0) {
+						violations.incrementAndGet();
+					}
+					cp.getStatus(PARKING_TIME);
+				}
+			}
+		});
+		reader.start();
+		
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for (int g = 0; g < GATES; g++) {
+			final int gate = g;
+			results.add(gates.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					List<Vehicle> mine = new ArrayList<Vehicle>();
+					start.await();
+					for (int i = 0; i < EVENTS_PER_GATE; i++) {
+						Vehicle v;
+						switch (i % 3) {
+						case 0: 
+							v = new Car("C" + gate + "_" + i, ARRIVAL_TIME, false);
+							break;
+						case 1:
+							v = new Car("S" + gate + "_" + i, ARRIVAL_TIME, true);
+							break;
+						default:
+							v = new MotorCycle("M" + gate + "_" + i, ARRIVAL_TIME);
+						}
+						if (cp.tryParkVehicle(v, PARKING_TIME, INTENDED_DURATION)) {
+							parked.incrementAndGet();
+							mine.add(v);
+						}
+						if (mine.size() > 2 || (i % 5 == 0 && !mine.isEmpty())) {
+							cp.unparkVehicle(mine.remove(0), DEPARTURE_TIME);
+						}
+					}
+					for (Vehicle v : mine) {
+						cp.unparkVehicle(v, DEPARTURE_TIME);
+					}
+					return null;
+				}
+			}));
+		}
+		start.countDown();
+		for (Future<?> f : results) {
+			f.get();
+		}
+		running.set(false);
+		reader.join(TimeUnit.SECONDS.toMillis(10));
+		
+		assertEquals(0, violations.get());
+		assertTrue(parked.get() > 0);
+		assertTrue(cp.carParkEmpty());
+		assertEquals(0, cp.getNumCars());
+		assertEquals(0, cp.getNumSmallCars());
+		assertEquals(0, cp.getNumMotorCycles());
+		assertEquals(parked.get(), cp.getNumArchived());
+		assertFalse(cp.carParkFull());
+		assertTrue(cp.spacesAvailable(new Car("C", ARRIVAL_TIME, false)));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#admitNewVehicles(int, Simulator, int, int, int)}.
+	 * Small cars overflow into car bays, motorcycles into small car bays, then the queue fills 
+	 * and the rest are turned away.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testAdmitNewVehiclesBatch() throws Exception {
+		int smallCars = MAX_SMALL_CAR_SPACES + 10;
+		int motorCycles = MAX_MOTORCYCLE_SPACES + 5;
+		int cars = MAX_CAR_SPACES;
+		cp.admitNewVehicles(ARRIVAL_TIME, new Simulator(), smallCars, motorCycles, cars);
+		assertEquals(smallCars + motorCycles + cars, cp.getNumProcessed());
+		assertEquals(smallCars, cp.getNumSmallCars());
+		assertEquals(MAX_MOTORCYCLE_SPACES, cp.getNumMotorCycles());
+		assertEquals(MAX_CAR_SPACES - smallCars, cp.getNumCars());
+		assertEquals(MAX_QUEUE_SIZE, cp.numVehiclesInQueue());
+		assertEquals(cars - (MAX_CAR_SPACES - smallCars) - (MAX_QUEUE_SIZE - 5), cp.getNumDissatisfied());
+		assertEquals(cp.getNumDissatisfied(), cp.getNumArchived());
+		assertTrue(cp.carParkFull());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:" + MAX_QUEUE_SIZE + "MMMMMCCCCC\n"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#admitNewVehicles(int, Simulator, int, int, int)}.
+	 * A batch has the same outcome as admitting its vehicles one at a time.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testAdmitNewVehiclesMatchesAdmit() throws Exception {
+		ConcurrentCarPark single = new ConcurrentCarPark(MAX_CAR_SPACES, MAX_SMALL_CAR_SPACES, 
+				MAX_MOTORCYCLE_SPACES, MAX_QUEUE_SIZE);
+		Simulator sim = new Simulator();
+		int[] counts = { 7, 3, 12 };
+		for (int time = ARRIVAL_TIME; time < ARRIVAL_TIME + 10; time++) {
+			cp.admitNewVehicles(time, sim, counts[0], counts[1], counts[2]);
+			for (int i = 0; i < counts[0]; i++) {
+				single.admit(new Car("S", time, true), time, sim);
+			}
+			for (int i = 0; i < counts[1]; i++) {
+				single.admit(new MotorCycle("M", time), time, sim);
+			}
+			for (int i = 0; i < counts[2]; i++) {
+				single.admit(new Car("C", time, false), time, sim);
+			}
+			assertEquals(single.getNumCars(), cp.getNumCars());
+			assertEquals(single.getNumSmallCars(), cp.getNumSmallCars());
+			assertEquals(single.getNumMotorCycles(), cp.getNumMotorCycles());
+			assertEquals(single.numVehiclesInQueue(), cp.numVehiclesInQueue());
+			assertEquals(single.getNumDissatisfied(), cp.getNumDissatisfied());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#getQueueWaitHistogram()}.
+	 * Over a whole day every vehicle leaving the queue, whether to park or as a queue 
+	 * failure, records its wait.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testQueueWaitsRecordedForDay() throws Exception {
+		cp = new ConcurrentCarPark(12, 4, 2, MAX_QUEUE_SIZE);
+		new SimulationRunner(cp, new Simulator(), new Log(Writer.nullWriter())).runSimulation();
+		long queueExits = cp.getStatistics().getQueueTime().getCount();
+		assertTrue(queueExits > 0);
+		assertEquals(queueExits, cp.getQueueWaitHistogram().getTotalCount());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#getNumCars()}.
+	 * Small cars are counted apart from normal cars, as in CarPark, wherever they park.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testOccupancyByTypeDisjoint() throws Exception {
+		cp = new ConcurrentCarPark(2, 1, 0, 0);
+		cp.parkVehicle(new Car("S1", ARRIVAL_TIME, true), PARKING_TIME, INTENDED_DURATION);
+		cp.parkVehicle(new Car("S2", ARRIVAL_TIME, true), PARKING_TIME, INTENDED_DURATION);
+		assertEquals(0, cp.getNumCars());
+		assertEquals(2, cp.getNumSmallCars());
+		assertTrue(cp.carParkFull());
+		assertTrue(cp.getStatus(PARKING_TIME).contains("::P:2::C:0::S:2::M:0::"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#parkVehicles(List, int, int[])}.
+	 * Motorcycles overflowing into small car bays leave small cars the car bays, whatever 
+	 * the order of the batch.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testParkVehiclesMixedBatch() throws Exception {
+		int smallCars = MAX_SMALL_CAR_SPACES + 15;
+		int motorCycles = MAX_MOTORCYCLE_SPACES + 5;
+		int cars = MAX_CAR_SPACES - MAX_SMALL_CAR_SPACES - 20;
+		List<Vehicle> batch = newVehicles(smallCars, motorCycles, cars);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		assertEquals(cars, cp.getNumCars());
+		assertEquals(smallCars, cp.getNumSmallCars());
+		assertEquals(motorCycles, cp.getNumMotorCycles());
+		assertTrue(cp.carParkFull());
+		assertEquals(0, cp.numParkable(new Car("S", ARRIVAL_TIME, true), 1));
+		assertEquals(DEPARTURE_TIME, batch.get(0).getDepartureTime());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#parkVehicles(List, int, int[])}.
+	 * A batch without room for every vehicle parks none of them and holds no bays.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testParkVehiclesNoSpace() throws Exception {
+		List<Vehicle> batch = newVehicles(MAX_SMALL_CAR_SPACES, MAX_MOTORCYCLE_SPACES + 1, 
+				MAX_CAR_SPACES - MAX_SMALL_CAR_SPACES);
+		try {
+			cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+			fail("A batch larger than the car park should not be parked");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.carParkEmpty());
+		assertEquals(0, cp.getNumCars() + cp.getNumSmallCars() + cp.getNumMotorCycles());
+		assertFalse(batch.get(0).isParked());
+		assertEquals(MAX_MOTORCYCLE_SPACES + MAX_SMALL_CAR_SPACES, 
+				cp.numParkable(new MotorCycle("M", ARRIVAL_TIME), MAX_CAR_SPACES));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#unparkVehicles(List, int)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testUnparkVehiclesBatch() throws Exception {
+		List<Vehicle> batch = newVehicles(MAX_SMALL_CAR_SPACES + 5, MAX_MOTORCYCLE_SPACES + 5, 10);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		cp.unparkVehicles(batch.subList(0, 10), DEPARTURE_TIME);
+		assertEquals(batch.size() - 10, cp.getNumCars() + cp.getNumSmallCars() + cp.getNumMotorCycles());
+		cp.unparkVehicles(batch.subList(10, batch.size()), DEPARTURE_TIME);
+		assertTrue(cp.carParkEmpty());
+		assertEquals(0, cp.getNumCars() + cp.getNumSmallCars() + cp.getNumMotorCycles());
+		assertEquals(batch.size(), cp.getNumArchived());
+		assertEquals(batch.size(), cp.getStayHistogram().getTotalCount());
+		assertEquals(MAX_CAR_SPACES - MAX_SMALL_CAR_SPACES, 
+				cp.numParkable(new Car("C", ARRIVAL_TIME, false), 2 * MAX_CAR_SPACES));
+		assertEquals(MAX_SMALL_CAR_SPACES + MAX_MOTORCYCLE_SPACES, 
+				cp.numParkable(new MotorCycle("M", ARRIVAL_TIME), 2 * MAX_CAR_SPACES));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#unparkVehicles(List, int)}.
+	 * A batch holding a vehicle which is not parked leaves the others parked.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testUnparkVehiclesNotParked() throws Exception {
+		List<Vehicle> batch = newVehicles(1, 1, 1);
+		cp.parkVehicles(batch, PARKING_TIME, durations(batch.size()));
+		List<Vehicle> departing = new ArrayList<Vehicle>(batch);
+		departing.add(new Car("C", ARRIVAL_TIME, false));
+		try {
+			cp.unparkVehicles(departing, DEPARTURE_TIME);
+			fail("Unparking a vehicle which is not parked should fail");
+		} catch (SimulationException e) {
+		}
+		assertEquals(3, cp.getNumCars() + cp.getNumSmallCars() + cp.getNumMotorCycles());
+		cp.unparkVehicles(batch, DEPARTURE_TIME);
+		assertTrue(cp.carParkEmpty());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#enterQueue(List)} and 
+	 * {@link asgn2CarParks.ConcurrentCarPark#exitQueue(List, int)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testQueueBatch() throws Exception {
+		List<Vehicle> batch = newVehicles(2, 3, MAX_QUEUE_SIZE - 5);
+		cp.enterQueue(batch);
+		assertTrue(cp.queueFull());
+		assertEquals(0, cp.numQueueSpaces());
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:" + MAX_QUEUE_SIZE + "SSMMMCCCCC\n"));
+		cp.exitQueue(batch.subList(0, 4), PARKING_TIME);
+		assertEquals(4, cp.numQueueSpaces());
+		assertEquals(4, cp.getQueueWaitHistogram().getTotalCount());
+		cp.exitQueue(batch.subList(4, batch.size()), PARKING_TIME);
+		assertTrue(cp.queueEmpty());
+		assertFalse(batch.get(0).isQueued());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#exitQueue(List, int)}.
+	 * A batch which cannot leave the queue leaves it in the same order.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testQueueBatchFailureKeepsOrder() throws Exception {
+		List<Vehicle> batch = newVehicles(2, 3, MAX_QUEUE_SIZE - 6);
+		Car late = new Car("L", PARKING_TIME, false);
+		cp.enterQueue(batch);
+		cp.enterQueue(late);
+		try {
+			cp.exitQueue(Arrays.asList(batch.get(0), new Car("X", ARRIVAL_TIME, false)), PARKING_TIME);
+			fail("A batch with a vehicle not in the queue should not leave it");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:" + MAX_QUEUE_SIZE + "SSMMMCCCCC\n"));
+		try {
+			cp.exitQueue(Arrays.asList(late, batch.get(1)), PARKING_TIME);
+			fail("A vehicle cannot leave the queue in the minute it arrived");
+		} catch (VehicleException e) {
+		}
+		assertTrue(cp.getStatus(ARRIVAL_TIME).endsWith("Q:" + MAX_QUEUE_SIZE + "SSMMMCCCCC\n"));
+		assertTrue(late.isQueued());
+		assertTrue(batch.get(1).isQueued());
+		assertEquals(0, cp.getQueueWaitHistogram().getTotalCount());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#exitQueue(Vehicle, int)}.
+	 * Gates taking vehicles from the queue race the sweep of queue failures: each 
+	 * vehicle leaves the queue exactly once, and the queue count returns to zero.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testExitQueueRacesQueueFailures() throws Exception {
+		for (int round = 0; round < RACE_ROUNDS; round++) {
+			raceQueueFailures(false);
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#exitQueue(List, int)}.
+	 * As testExitQueueRacesQueueFailures, with the gates taking batches.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testExitQueueBatchRacesQueueFailures() throws Exception {
+		for (int round = 0; round < RACE_ROUNDS; round++) {
+			raceQueueFailures(true);
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#enterQueue(List)}.
+	 * A batch without room in the queue queues none of its vehicles.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testQueueBatchFull() throws Exception {
+		List<Vehicle> batch = newVehicles(0, 0, MAX_QUEUE_SIZE + 1);
+		try {
+			cp.enterQueue(batch);
+			fail("A batch larger than the queue should not be queued");
+		} catch (SimulationException e) {
+		}
+		assertTrue(cp.queueEmpty());
+		assertEquals(MAX_QUEUE_SIZE, cp.numQueueSpaces());
+		cp.enterQueue(batch.subList(0, MAX_QUEUE_SIZE));
+		assertTrue(cp.queueFull());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#archiveNewVehicles(List)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testArchiveNewVehiclesBatch() throws Exception {
+		List<Vehicle> batch = newVehicles(1, 2, 3);
+		cp.archiveNewVehicles(batch);
+		assertEquals(batch.size(), cp.getNumArchived());
+		assertEquals(batch.size(), cp.getNumDissatisfied());
+		assertTrue(cp.finalState().contains(batch.get(5).toString()));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#archiveNewVehicles(List)}.
+	 * @throws Exception 
+	 */
+	@Test(expected = SimulationException.class)
+	public void testArchiveNewVehiclesQueued() throws Exception {
+		List<Vehicle> batch = newVehicles(0, 0, 2);
+		cp.enterQueue(batch.subList(1, 2));
+		cp.archiveNewVehicles(batch);
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.ConcurrentCarPark#unparkVehicle(Vehicle, int)}.
+	 * @throws Exception 
+	 */
+	@Test(expected = SimulationException.class)
+	public void testUnparkVehicleNotParked() throws Exception {
+		cp.unparkVehicle(new Car("C", ARRIVAL_TIME, false), DEPARTURE_TIME);
+	}
+	
+	/**
+	 * Helper racing gates emptying a full queue against archiveQueueFailures, at a time 
+	 * when every queued vehicle has waited too long 
+	 * @param batches true for the gates to take batches, false for one vehicle at a time 
+	 * @throws Exception 
+	 */
+	private void raceQueueFailures(final boolean batches) throws Exception {
+		cp = new ConcurrentCarPark(0, 0, 0, RACE_VEHICLES);
+		final List<Vehicle> queued = new ArrayList<Vehicle>();
+		for (int i = 0; i < RACE_VEHICLES; i++) {
+			// yielding in the transition widens any window between checking and claiming
+			queued.add(new Car("R" + i, ARRIVAL_TIME, false) {
+				@Override
+				public void exitQueuedState(int exitTime) throws VehicleException {
+					Thread.yield();
+					super.exitQueuedState(exitTime);
+				}
+			});
+		}
+		cp.enterQueue(queued);
+		final CountDownLatch go = new CountDownLatch(1);
+		List<Future<?>> racers = new ArrayList<Future<?>>();
+		for (int g = 0; g < RACE_GATES; g++) {
+			racers.add(gates.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					go.await();
+					for (int i = 0; i < RACE_VEHICLES; i += RACE_BATCH) {
+						List<Vehicle> batch = queued.subList(i, i + RACE_BATCH);
+						try {
+							if (batches) {
+								cp.exitQueue(batch, FAILURE_TIME);
+							} else {
+								for (Vehicle v : batch) {
+									try {
+										cp.exitQueue(v, FAILURE_TIME);
+									} catch (SimulationException e) {
+									}
+								}
+							}
+						} catch (SimulationException e) {
+						}
+					}
+					return null;
+				}
+			}));
+		}
+		racers.add(gates.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				go.await();
+				cp.archiveQueueFailures(FAILURE_TIME);
+				return null;
+			}
+		}));
+		go.countDown();
+		for (Future<?> f : racers) {
+			f.get();
+		}
+		assertEquals(0, cp.numVehiclesInQueue());
+		assertTrue(cp.queueEmpty());
+		assertEquals(RACE_VEHICLES, cp.getQueueWaitHistogram().getTotalCount());
+		assertEquals(cp.getNumArchived(), cp.getNumDissatisfied());
+		for (Vehicle v : queued) {
+			assertFalse(v.isQueued());
+		}
+	}
+	
+	/**
+	 * Helper to make a batch of new vehicles, small cars first, then motorcycles, then cars 
+	 * @param smallCars int holding the number of small cars 
+	 * @param motorCycles int holding the number of motorcycles 
+	 * @param cars int holding the number of normal cars 
+	 * @return List of vehicles which have just arrived
+	 * @throws Exception 
+	 */
+	private List<Vehicle> newVehicles(int smallCars, int motorCycles, int cars) throws Exception {
+		List<Vehicle> batch = new ArrayList<Vehicle>();
+		for (int i = 0; i < smallCars; i++) {
+			batch.add(new Car("S" + i, ARRIVAL_TIME, true));
+		}
+		for (int i = 0; i < motorCycles; i++) {
+			batch.add(new MotorCycle("M" + i, ARRIVAL_TIME));
+		}
+		for (int i = 0; i < cars; i++) {
+			batch.add(new Car("C" + i, ARRIVAL_TIME, false));
+		}
+		return batch;
+	}
+	
+	/**
+	 * Helper giving the intended durations for a batch 
+	 * @param n int holding the number of vehicles 
+	 * @return int array holding INTENDED_DURATION n times
+	 */
+	private int[] durations(int n) {
+		int[] d = new int[n];
+		Arrays.fill(d, INTENDED_DURATION);
+		return d;
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+import asgn2Simulators.TickProfiler.Phase;
+
+/**
+ * @author hogan
+ *
+ */
+public class FlightRecorderEventsTests {
+
+	// Constants
+	String TRANSITION = "asgn2.VehicleTransition";
+	String TICK_PHASE = "asgn2.TickPhase";
+	
+	// Variables
+	File file;
+	List<RecordedEvent> events;
+	
+	/**
+	 * Records one run of the default scenario with both events enabled
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("simulation", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(TRANSITION);
+			recording.enable(TICK_PHASE);
+			recording.start();
+			BatchRunner.runReplication(new Scenario());
+			recording.stop();
+			recording.dump(file.toPath());
+		}
+		events = RecordingFile.readAllEvents(file.toPath());
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TickPhaseEvent}.
+	 */
+	@Test
+	public void testEveryPhaseOfEveryTickRecorded() {
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		for (RecordedEvent e : events) {
+			if (e.getEventType().getName().equals(TICK_PHASE)) {
+				counts.merge(e.getString("phase"), 1, Integer::sum);
+			}
+		}
+		for (Phase p : Phase.values()) {
+			assertEquals(p.toString(), Integer.valueOf(Constants.CLOSING_TIME + 1), counts.get(p.toString()));
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.VehicleTransitionEvent}.
+	 */
+	@Test
+	public void testTransitionsUseStatusCodes() {
+		int transitions = 0;
+		for (RecordedEvent e : events) {
+			if (e.getEventType().getName().equals(TRANSITION)) {
+				transitions++;
+				assertTrue(e.getString("vehicleType").matches("[SCM]"));
+				assertTrue(e.getString("source").matches("[NQP]"));
+				assertTrue(e.getString("target").matches("[QPA]"));
+			}
+		}
+		assertTrue(transitions > 0);
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.VehicleTransitionEvent} on a ConcurrentCarPark.
+	 * Every vehicle which joined the queue and is no longer in it has a matching exit.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testConcurrentQueueExitsRecorded() throws Exception {
+		ConcurrentCarPark cp = new ConcurrentCarPark(12, 4, 2, 10);
+		try (Recording recording = new Recording()) {
+			recording.enable(TRANSITION);
+			recording.start();
+			new SimulationRunner(cp, new Simulator(), new Log(Writer.nullWriter())).runSimulation();
+			recording.stop();
+			recording.dump(file.toPath());
+		}
+		int entries = 0;
+		int exits = 0;
+		int parkedFromQueue = 0;
+		for (RecordedEvent e : RecordingFile.readAllEvents(file.toPath())) {
+			if (e.getEventType().getName().equals(TRANSITION)) {
+				if (e.getString("target").equals("Q")) {
+					entries++;
+				}
+				if (e.getString("source").equals("Q")) {
+					exits++;
+					if (e.getString("target").equals("P")) {
+						parkedFromQueue++;
+					}
+				}
+			}
+		}
+		assertTrue(parkedFromQueue > 0);
+		assertEquals(entries - cp.numVehiclesInQueue(), exits);
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.OccupancyBands;
+import asgn2Simulators.Scenario;
+import asgn2Statistics.KllSketch;
+
+/**
+ * @author hogan
+ *
+ */
+public class KllSketchTests {
+
+	// Constants
+	int NUM_VALUES = 200000;
+	int NUM_PARTS = 8;
+	double RANK_ERROR = 0.02;
+
+	// Variables
+	double[] values;
+
+	/**
+	 * Uses a random permutation of 0..NUM_VALUES-1, so the exact rank of any value is itself
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		values = new double[NUM_VALUES];
+		for (int i = 0; i < NUM_VALUES; i++) {
+			values[i] = i;
+		}
+		Random rng = new Random(11);
+		for (int i = NUM_VALUES - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			double t = values[i];
+			values[i] = values[j];
+			values[j] = t;
+		}
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.KllSketch#getQuantile(double)}.
+	 */
+	@Test
+	public void testQuantilesWithinRankError() {
+		KllSketch sketch = new KllSketch();
+		for (double v : values) {
+			sketch.add(v);
+		}
+		assertEquals(NUM_VALUES, sketch.getCount());
+		assertRanks(sketch);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.KllSketch#getNumRetained()}.
+	 */
+	@Test
+	public void testMemoryIsBounded() {
+		KllSketch sketch = new KllSketch();
+		for (double v : values) {
+			sketch.add(v);
+		}
+		assertTrue(sketch.getNumRetained() < 4 * KllSketch.DEFAULT_K);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.KllSketch#merge(KllSketch)}.
+	 */
+	@Test
+	public void testMergedQuantilesWithinRankError() {
+		KllSketch pooled = new KllSketch();
+		for (int p = 0; p < NUM_PARTS; p++) {
+			KllSketch part = new KllSketch(KllSketch.DEFAULT_K, p);
+			for (int i = p; i < NUM_VALUES; i += NUM_PARTS) {
+				part.add(values[i]);
+			}
+			pooled.merge(part);
+		}
+		assertEquals(NUM_VALUES, pooled.getCount());
+		assertRanks(pooled);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.KllSketch#getQuantile(double)}.
+	 */
+	@Test
+	public void testEmptyAndExtremes() {
+		KllSketch sketch = new KllSketch();
+		assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+		sketch.add(3);
+		sketch.add(-2);
+		assertEquals(-2.0, sketch.getQuantile(0), 0.0);
+		assertEquals(3.0, sketch.getQuantile(1), 0.0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.KllSketch#merge(KllSketch)}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeDifferentK() {
+		new KllSketch().merge(new KllSketch(50, 0));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.OccupancyBands#merge(OccupancyBands)}.
+	 */
+	@Test
+	public void testBandsPoolByTimeOfDay() {
+		OccupancyBands morning = new OccupancyBands(60, OccupancyBands.DEFAULT_K);
+		OccupancyBands evening = new OccupancyBands(60, OccupancyBands.DEFAULT_K);
+		for (int minute = 0; minute < 60; minute++) {
+			morning.record(minute, minute, 0);
+			evening.record(600 + minute, 100, minute);
+		}
+		morning.merge(evening);
+		assertEquals(59.0, morning.getOccupancyQuantile(30, 1.0), 0.0);
+		assertEquals(100.0, morning.getOccupancyQuantile(630, 0.5), 0.0);
+		assertEquals(0.0, morning.getQueueLengthQuantile(30, 0.9), 0.0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.BatchRunner#runOccupancyBands(Scenario, int, int)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testBatchBandsCoverTheDay() throws Exception {
+		BatchRunner runner = new BatchRunner(2);
+		try {
+			OccupancyBands bands = runner.runOccupancyBands(new Scenario(), 4, 60);
+			assertEquals(19, bands.getNumBuckets());
+			assertFalse(Double.isNaN(bands.getOccupancyQuantile(0, 0.5)));
+			assertEquals(bands.getNumBuckets() + 1, bands.toFanChart(0.1, 0.5, 0.9).split("\n").length);
+		} finally {
+			runner.shutdown();
+		}
+	}
+
+	/**
+	 * Helper to check the ranks of a spread of quantiles
+	 * @param sketch KllSketch of the permuted values
+	 */
+	private void assertRanks(KllSketch sketch) {
+		for (double q : new double[] { 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99 }) {
+			double rank = sketch.getQuantile(q) / NUM_VALUES;
+			assertEquals("q=" + q, q, rank, RANK_ERROR);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Benchmarks.LoadGenerator;
+import asgn2Simulators.Constants;
+
+/**
+ * @author hogan
+ *
+ */
+public class LoadGeneratorTests {
+
+	// Constants
+	String IMPL = "ConcurrentCarPark";
+	int BAYS = 2000;
+	int RATE = 20;
+	double MAX_SECONDS = 60.0;
+
+	// Variables
+	LoadGenerator generator;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		generator = new LoadGenerator(MAX_SECONDS);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.LoadGenerator#run(String, int, int, int)}.
+	 */
+	@Test
+	public void testWholeDay() {
+		LoadGenerator.Result r = generator.run(IMPL, BAYS, 100, RATE);
+		assertEquals("ok", r.getStatus());
+		assertEquals(Constants.CLOSING_TIME + 1, r.getTicks());
+		assertEquals((long) RATE * Constants.LAST_ENTRY, r.getVehicles());
+		assertEquals(r.getTicks(), r.getTickNanos().getTotalCount());
+		assertTrue(r.getTicksPerSecond() > 0);
+		assertTrue(r.getPeakHeapBytes() > 0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.LoadGenerator#run(String, int, int, int)}.
+	 * A plain CarPark runs the same day within its capacity checks.
+	 */
+	@Test
+	public void testWholeDayCarPark() {
+		LoadGenerator.Result r = generator.run("CarPark", BAYS, 100, RATE);
+		assertEquals("ok", r.getStatus());
+		assertEquals(Constants.CLOSING_TIME + 1, r.getTicks());
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.LoadGenerator#run(String, int, int, int)}.
+	 */
+	@Test
+	public void testTimeLimit() {
+		LoadGenerator.Result r = new LoadGenerator(0).run(IMPL, BAYS, 100, RATE);
+		assertEquals("timeout", r.getStatus());
+		assertEquals(0, r.getTicks());
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.LoadGenerator#run(String, int, int, int)}.
+	 */
+	@Test
+	public void testFailureReported() {
+		LoadGenerator.Result r = generator.run("NoSuchCarPark", BAYS, 100, RATE);
+		assertTrue(r.getStatus().startsWith("java.lang.IllegalArgumentException"));
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.LoadGenerator#writeReport(List, java.io.Writer)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReport() throws Exception {
+		List<LoadGenerator.Result> results = generator.run(new String[] { IMPL },
+				new int[] { BAYS }, new int[] { RATE, 2 * RATE });
+		StringWriter out = new StringWriter();
+		LoadGenerator.writeReport(results, out);
+		String[] lines = out.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertEquals(LoadGenerator.HEADER, lines[0]);
+		int columns = LoadGenerator.HEADER.split(",").length;
+		assertEquals(columns, lines[1].split(",").length);
+		assertTrue(lines[2].startsWith(IMPL + "," + BAYS + "," + LoadGenerator.QUEUE_MINUTES * 2 * RATE + "," + 2 * RATE + ","));
+	}
+}
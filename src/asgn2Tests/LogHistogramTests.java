@@ -0,0 +1,152 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2Statistics.LogHistogram;
+import asgn2Vehicles.Car;
+
+/**
+ * @author hogan
+ *
+ */
+public class LogHistogramTests {
+
+	// Constants
+	int NUM_VALUES = 100000;
+	double RELATIVE_ERROR = 1.0 / 64;
+
+	// Variables
+	LogHistogram histogram;
+	long[] values;
+
+	/**
+	 * Records log-uniform values spanning six decades
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		histogram = new LogHistogram();
+		values = new long[NUM_VALUES];
+		Random rng = new Random(7);
+		for (int i = 0; i < NUM_VALUES; i++) {
+			values[i] = (long) Math.exp(rng.nextDouble() * Math.log(1e6));
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#getValueAtPercentile(double)}.
+	 */
+	@Test
+	public void testSmallValuesAreExact() {
+		LogHistogram h = new LogHistogram();
+		for (int v = 1; v <= 100; v++) {
+			h.record(v);
+		}
+		assertEquals(50, h.getValueAtPercentile(50));
+		assertEquals(95, h.getValueAtPercentile(95));
+		assertEquals(100, h.getValueAtPercentile(100));
+		assertEquals(1, h.getMin());
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#getValueAtPercentile(double)}.
+	 */
+	@Test
+	public void testPercentilesWithinRelativeError() {
+		for (double p : new double[] { 10, 50, 90, 95, 99, 99.9 }) {
+			long exact = values[(int) Math.ceil(p / 100 * NUM_VALUES) - 1];
+			long reported = histogram.getValueAtPercentile(p);
+			assertTrue(p + ": " + reported + " vs " + exact, reported >= exact);
+			assertTrue(p + ": " + reported + " vs " + exact, reported <= exact * (1 + RELATIVE_ERROR));
+		}
+		assertEquals(values[NUM_VALUES - 1], histogram.getMax());
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#merge(LogHistogram)}.
+	 */
+	@Test
+	public void testMergeMatchesSingleHistogram() {
+		LogHistogram left = new LogHistogram();
+		LogHistogram right = new LogHistogram();
+		for (int i = 0; i < NUM_VALUES; i++) {
+			((i % 2 == 0) ? left : right).record(values[i]);
+		}
+		left.merge(right);
+		assertEquals(histogram.getTotalCount(), left.getTotalCount());
+		assertEquals(histogram.getMean(), left.getMean(), 1e-9);
+		for (double p : new double[] { 50, 95, 99 }) {
+			assertEquals(histogram.getValueAtPercentile(p), left.getValueAtPercentile(p));
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#merge(LogHistogram)}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeDifferentPrecision() {
+		histogram.merge(new LogHistogram(5, LogHistogram.DEFAULT_HIGHEST_VALUE));
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#record(long)}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testRecordNegative() {
+		histogram.record(-1);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.LogHistogram#record(long)}.
+	 * Values beyond the range fall in the top bucket but keep an exact maximum.
+	 */
+	@Test
+	public void testRecordBeyondRange() {
+		LogHistogram h = new LogHistogram(4, 1000);
+		h.record(1000000);
+		assertEquals(1, h.getTotalCount());
+		assertEquals(1000000, h.getMax());
+		assertEquals(1000000, h.getValueAtPercentile(100));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#getQueueWaitHistogram()}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCarParkRecordsQueueWait() throws Exception {
+		CarPark carPark = new CarPark();
+		Car car = new Car("C1", 10, false);
+		carPark.enterQueue(car);
+		carPark.exitQueue(car, 16);
+		assertEquals(1, carPark.getQueueWaitHistogram().getTotalCount());
+		assertEquals(6, carPark.getQueueWaitHistogram().getMax());
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.CarParkMetrics;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationRunnerMetrics;
+import asgn2Vehicles.Car;
+
+/**
+ * @author hogan
+ *
+ */
+public class MetricsMBeanTests {
+
+	// Constants
+	String NAME = "tests";
+	
+	// Variables
+	MBeanServer server;
+	ObjectName registered;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		server = ManagementFactory.getPlatformMBeanServer();
+		registered = null;
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		if (registered != null) {
+			CarParkMetrics.unregister(registered);
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkMetrics#register(CarPark, String)}.
+	 * A plain CarPark is reported as last published.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testCarParkReportsPublishedOccupancy() throws Exception {
+		CarPark carPark = new CarPark();
+		registered = CarParkMetrics.register(carPark, NAME);
+		carPark.enterQueue(new Car("C1", 5, false));
+		assertEquals(0, server.getAttribute(registered, "QueueLength"));
+		carPark.publishOccupancy(5);
+		assertEquals(1, server.getAttribute(registered, "QueueLength"));
+		assertEquals(5, server.getAttribute(registered, "Time"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.CarParkMetrics#register(CarPark, String)}.
+	 * A ConcurrentCarPark is reported live.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testConcurrentCarParkReportsLiveCounts() throws Exception {
+		ConcurrentCarPark carPark = new ConcurrentCarPark(10, 2, 2, 5);
+		registered = CarParkMetrics.register(carPark, NAME);
+		carPark.parkVehicle(new Car("C1", 1, false), 1, 30);
+		assertEquals(1, server.getAttribute(registered, "NumCars"));
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationRunnerMetrics}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testRunnerCountsTicks() throws Exception {
+		ObjectName name = new ObjectName(SimulationRunnerMetrics.OBJECT_NAME);
+		SimulationRunnerMetrics metrics = SimulationRunnerMetrics.get();
+		long ticks = metrics.getTicks();
+		long runs = metrics.getRunsCompleted();
+		long vehicles = metrics.getVehiclesProcessed();
+		int processed = BatchRunner.runReplication(new Scenario()).getNumProcessed();
+		assertEquals(ticks + Constants.CLOSING_TIME + 1, server.getAttribute(name, "Ticks"));
+		assertEquals(runs + 1, metrics.getRunsCompleted());
+		assertEquals(vehicles + processed, metrics.getVehiclesProcessed());
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.Occupancy;
+import asgn2CarParks.OccupancyPublisher;
+
+/**
+ * @author hogan
+ *
+ */
+public class OccupancyPublisherTests {
+
+	// Constants
+	int READERS = 8;
+	int PUBLICATIONS = 200000;
+	
+	// Variables
+	OccupancyPublisher publisher;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		publisher = new OccupancyPublisher();
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.OccupancyPublisher#read(Occupancy)}.
+	 */
+	@Test
+	public void testReadReturnsLatestPublication() {
+		publisher.publish(5, 10, 3, 2, 4, 1);
+		Occupancy o = publisher.read();
+		assertEquals(5, o.getTime());
+		assertEquals(10, o.getNumCars());
+		assertEquals(3, o.getNumSmallCars());
+		assertEquals(2, o.getNumMotorCycles());
+		assertEquals(4, o.getQueueLength());
+		assertEquals(1, o.getNumDissatisfied());
+		assertEquals(1, o.getVersion());
+	}
+	
+	/**
+	 * Test method for {@link asgn2CarParks.OccupancyPublisher#read(Occupancy)}.
+	 * Every field is published with the same value, so a torn read shows up as a mismatch.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testReadersNeverSeeTornSnapshots() throws Exception {
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger torn = new AtomicInteger();
+		List<Thread> readers = new ArrayList<Thread>();
+		for (int r = 0; r < READERS; r++) {
+			Thread t = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					Occupancy o = new Occupancy();
+					int last = 0;
+					while (running.get()) {
+						publisher.read(o);
+						int t = o.getTime();
+						if (o.getNumCars() != t || o.getNumSmallCars() != t || o.getNumMotorCycles() != t
+								|| o.getQueueLength() != t || o.getNumDissatisfied() != t 
+								|| o.getVersion() != t || t < last) {
+							torn.incrementAndGet();
+						}
+						last = t;
+					}
+				}
+			});
+			t.start();
+			readers.add(t);
+		}
+		for (int i = 1; i <= PUBLICATIONS; i++) {
+			publisher.publish(i, i, i, i, i, i);
+		}
+		running.set(false);
+		for (Thread t : readers) {
+			t.join();
+		}
+		assertEquals(0, torn.get());
+		assertEquals(PUBLICATIONS, publisher.read().getTime());
+	}
+}
@@ -0,0 +1,163 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Benchmarks.PerformanceBaseline;
+import asgn2Benchmarks.PerformanceBaseline.Comparison;
+import asgn2Benchmarks.PerformanceBaseline.Metric;
+import asgn2Benchmarks.PerformanceBaseline.Reference;
+import asgn2Benchmarks.PerformanceBaseline.Verdict;
+import asgn2Statistics.RankSumTest;
+
+/**
+ * @author hogan
+ *
+ */
+public class PerformanceBaselineTests {
+
+	// Constants
+	double[] LOW = { 100, 102, 98, 101, 99, 103, 97, 100 };
+	double[] SIMILAR = { 101, 99, 100, 102, 98, 100, 103, 97 };
+	double[] HIGH = { 150, 152, 148, 151, 149, 153, 147, 150 };
+	double TOLERANCE = 1e-3;
+
+	// Variables
+	PerformanceBaseline baseline;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		baseline = new PerformanceBaseline();
+		baseline.setSamples(Reference.DEFAULT, Metric.VEHICLES_PER_SECOND, LOW);
+		baseline.setSamples(Reference.DEFAULT, Metric.MEAN_TICK_NANOS, LOW);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.RankSumTest#pValue(double[], double[])}.
+	 * Completely separated samples of five give U = 0, z = 2.507 with continuity correction.
+	 */
+	@Test
+	public void testRankSumSeparated() {
+		double p = RankSumTest.pValue(new double[] { 1, 2, 3, 4, 5 }, new double[] { 6, 7, 8, 9, 10 });
+		assertEquals(0.0122, p, TOLERANCE);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.RankSumTest#pValue(double[], double[])}.
+	 */
+	@Test
+	public void testRankSumTiesAndIdentical() {
+		assertEquals(1.0, RankSumTest.pValue(new double[] { 3, 3, 3 }, new double[] { 3, 3 }), 0.0);
+		assertEquals(1.0, RankSumTest.pValue(LOW, LOW), 0.0);
+		assertTrue(RankSumTest.pValue(LOW, SIMILAR) > 0.5);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.RankSumTest#upperTail(double)}.
+	 */
+	@Test
+	public void testNormalTail() {
+		assertEquals(0.5, RankSumTest.upperTail(0), 1e-7);
+		assertEquals(0.025, RankSumTest.upperTail(1.959963984540054), 1e-6);
+		assertEquals(0.975, RankSumTest.upperTail(-1.959963984540054), 1e-6);
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.PerformanceBaseline#compare(PerformanceBaseline, double, double)}.
+	 * Higher throughput is an improvement, but a higher tick time is a regression.
+	 */
+	@Test
+	public void testCompareDirections() {
+		PerformanceBaseline current = new PerformanceBaseline();
+		current.setSamples(Reference.DEFAULT, Metric.VEHICLES_PER_SECOND, HIGH);
+		current.setSamples(Reference.DEFAULT, Metric.MEAN_TICK_NANOS, HIGH);
+		List<Comparison> comparisons = baseline.compare(current,
+				PerformanceBaseline.DEFAULT_ALPHA, PerformanceBaseline.DEFAULT_THRESHOLD);
+		assertEquals(2, comparisons.size());
+		assertEquals(Verdict.IMPROVED, comparisons.get(0).getVerdict());
+		assertEquals(Verdict.REGRESSED, comparisons.get(1).getVerdict());
+		assertEquals(0.5, comparisons.get(1).getRelativeChange(), TOLERANCE);
+		String report = PerformanceBaseline.report(baseline, current, comparisons);
+		assertTrue(report.endsWith("1 regression(s)\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.PerformanceBaseline#compare(PerformanceBaseline, double, double)}.
+	 * Noise is not a regression, nor is a significant change below the threshold.
+	 */
+	@Test
+	public void testCompareUnchanged() {
+		PerformanceBaseline current = new PerformanceBaseline();
+		current.setSamples(Reference.DEFAULT, Metric.MEAN_TICK_NANOS, SIMILAR);
+		assertEquals(Verdict.UNCHANGED, baseline.compare(current, 0.01, 0.05).get(0).getVerdict());
+		double[] shifted = new double[LOW.length];
+		for (int i = 0; i < LOW.length; i++) {
+			shifted[i] = LOW[i] + 20;
+		}
+		current.setSamples(Reference.DEFAULT, Metric.MEAN_TICK_NANOS, shifted);
+		assertEquals(Verdict.REGRESSED, baseline.compare(current, 0.01, 0.05).get(0).getVerdict());
+		assertEquals(Verdict.UNCHANGED, baseline.compare(current, 0.01, 0.25).get(0).getVerdict());
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.PerformanceBaseline#store(java.io.Writer)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testStoreAndLoad() throws Exception {
+		StringWriter out = new StringWriter();
+		baseline.store(out);
+		PerformanceBaseline loaded = PerformanceBaseline.load(new StringReader(out.toString()));
+		assertArrayEquals(LOW, loaded.getSamples(Reference.DEFAULT, Metric.VEHICLES_PER_SECOND), 0.0);
+		assertNull(loaded.getSamples(Reference.HIGH_LOAD, Metric.VEHICLES_PER_SECOND));
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.PerformanceBaseline#load(java.io.Reader)}.
+	 * @throws Exception
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoadOtherVersion() throws Exception {
+		PerformanceBaseline.load(new StringReader("format.version=0\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2Benchmarks.PerformanceBaseline#record(int, int, Reference...)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testRecordDefault() throws Exception {
+		PerformanceBaseline recorded = PerformanceBaseline.record(2, 0, Reference.DEFAULT);
+		double[] throughput = recorded.getSamples(Reference.DEFAULT, Metric.VEHICLES_PER_SECOND);
+		assertEquals(2, throughput.length);
+		assertTrue(throughput[0] > 0);
+		assertNull(recorded.getSamples(Reference.LARGE_PARK, Metric.MEAN_TICK_NANOS));
+	}
+}
@@ -0,0 +1,190 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2CarParks.PrometheusEndpoint;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+
+/**
+ * @author hogan
+ *
+ */
+public class PrometheusEndpointTests {
+
+	// Constants
+	String NAME = "tests";
+	String OTHER_NAME = "other";
+	int SCRAPES = 50;
+
+	// Variables
+	PrometheusEndpoint endpoint;
+
+	/**
+	 * Binds to any free port, so tests do not collide with a running simulator
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		endpoint = new PrometheusEndpoint(0);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		endpoint.close();
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.PrometheusEndpoint#register(String, CarPark)}.
+	 * A plain CarPark is reported as last published.
+	 * @throws Exception
+	 */
+	@Test
+	public void testGaugesReportPublishedOccupancy() throws Exception {
+		CarPark carPark = new CarPark();
+		endpoint.register(NAME, carPark);
+		carPark.parkVehicle(new MotorCycle("M1", 1), 1, 30);
+		carPark.enterQueue(new Car("C1", 2, false));
+		carPark.publishOccupancy(2);
+		String body = scrape();
+		assertTrue(body.contains("# TYPE carpark_queue_length gauge\n"));
+		assertTrue(body.contains("carpark_motorcycles{carpark=\"tests\"} 1\n"));
+		assertTrue(body.contains("carpark_queue_length{carpark=\"tests\"} 1\n"));
+		assertTrue(body.contains("carpark_cars{carpark=\"tests\"} 0\n"));
+		assertTrue(body.contains("# TYPE simulation_ticks_total counter\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.PrometheusEndpoint#register(String, CarPark)}.
+	 * Buckets are cumulative and end with +Inf.
+	 * @throws Exception
+	 */
+	@Test
+	public void testHistogramBuckets() throws Exception {
+		CarPark carPark = new CarPark();
+		endpoint.register(NAME, carPark);
+		Car waited = new Car("C1", 5, false);
+		carPark.enterQueue(waited);
+		carPark.exitQueue(waited, 8);
+		Car stayed = new Car("C2", 1, false);
+		carPark.parkVehicle(stayed, 1, 30);
+		carPark.unparkVehicle(stayed, 31);
+		String body = scrape();
+		assertTrue(body.contains("# TYPE carpark_queue_wait_minutes histogram\n"));
+		assertTrue(body.contains("carpark_queue_wait_minutes_bucket{carpark=\"tests\",le=\"2\"} 0\n"));
+		assertTrue(body.contains("carpark_queue_wait_minutes_bucket{carpark=\"tests\",le=\"5\"} 1\n"));
+		assertTrue(body.contains("carpark_queue_wait_minutes_count{carpark=\"tests\"} 1\n"));
+		assertTrue(body.contains("carpark_queue_wait_minutes_sum{carpark=\"tests\"} 3\n"));
+		assertTrue(body.contains("carpark_stay_minutes_bucket{carpark=\"tests\",le=\"20\"} 0\n"));
+		assertTrue(body.contains("carpark_stay_minutes_bucket{carpark=\"tests\",le=\"30\"} 1\n"));
+		assertTrue(body.contains("carpark_stay_minutes_bucket{carpark=\"tests\",le=\"+Inf\"} 1\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.PrometheusEndpoint#register(String, CarPark)}.
+	 * A ConcurrentCarPark is reported live, and repeated scrapes are identical.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentCarParkRepeatedScrapes() throws Exception {
+		ConcurrentCarPark carPark = new ConcurrentCarPark(10, 2, 2, 5);
+		endpoint.register(NAME, carPark);
+		carPark.parkVehicle(new Car("C1", 1, false), 1, 30);
+		String first = scrape();
+		assertTrue(first.contains("carpark_cars{carpark=\"tests\"} 1\n"));
+		for (int i = 0; i < SCRAPES; i++) {
+			assertEquals(first.replaceAll("simulation_.*\n", ""), scrape().replaceAll("simulation_.*\n", ""));
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.PrometheusEndpoint#register(String, CarPark)}.
+	 * With two car parks, each family has one header followed by the samples of both.
+	 * @throws Exception
+	 */
+	@Test
+	public void testTwoCarParksGroupedByFamily() throws Exception {
+		ConcurrentCarPark first = new ConcurrentCarPark(10, 2, 2, 5);
+		ConcurrentCarPark second = new ConcurrentCarPark(10, 2, 2, 5);
+		endpoint.register(NAME, first);
+		endpoint.register(OTHER_NAME, second);
+		first.parkVehicle(new Car("C1", 1, false), 1, 30);
+		second.parkVehicle(new MotorCycle("M1", 1), 1, 30);
+		String body = scrape();
+		String[] families = { "carpark_cars", "carpark_small_cars", "carpark_motorcycles",
+				"carpark_queue_length", "carpark_dissatisfied_total", "carpark_archived_total",
+				"carpark_processed_total", "carpark_queue_wait_minutes", "carpark_stay_minutes" };
+		for (int i = 0; i < families.length; i++) {
+			String type = "# TYPE " + families[i] + " ";
+			int header = body.indexOf(type);
+			assertTrue(header >= 0);
+			assertEquals(header, body.lastIndexOf(type));
+			int end = (i + 1 < families.length) ? body.indexOf("# HELP " + families[i + 1] + " ") : body.length();
+			String family = body.substring(header, end);
+			assertTrue(family.contains(families[i] + "{carpark=\"" + NAME + "\"")
+					|| family.contains(families[i] + "_count{carpark=\"" + NAME + "\""));
+			assertTrue(family.contains(families[i] + "{carpark=\"" + OTHER_NAME + "\"")
+					|| family.contains(families[i] + "_count{carpark=\"" + OTHER_NAME + "\""));
+		}
+		assertTrue(body.contains("carpark_cars{carpark=\"" + NAME + "\"} 1\n"));
+		assertTrue(body.contains("carpark_cars{carpark=\"" + OTHER_NAME + "\"} 0\n"));
+		assertTrue(body.contains("carpark_motorcycles{carpark=\"" + OTHER_NAME + "\"} 1\n"));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.PrometheusEndpoint#register(String, CarPark)}.
+	 * Quotes and backslashes in names are escaped in labels.
+	 * @throws Exception
+	 */
+	@Test
+	public void testLabelEscaping() throws Exception {
+		endpoint.register("a\"b\\c", new CarPark());
+		assertTrue(scrape().contains("carpark_cars{carpark=\"a\\\"b\\\\c\"} 0\n"));
+	}
+
+	/**
+	 * Helper to fetch the metrics page
+	 * @return String holding the response body
+	 * @throws Exception if the request fails
+	 */
+	private String scrape() throws Exception {
+		URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + PrometheusEndpoint.PATH);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		assertEquals(200, connection.getResponseCode());
+		assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+		InputStream in = connection.getInputStream();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] chunk = new byte[4096];
+		int n;
+		while ((n = in.read(chunk)) > 0) {
+			out.write(chunk, 0, n);
+		}
+		in.close();
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
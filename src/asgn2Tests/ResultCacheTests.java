@@ -0,0 +1,181 @@
+/**
+ *
+ * This file is part of the CarParkSimulator Project, written as
+ * part of the assessment for INB370, semester 1, 2014.
+ *
+ * CarParkSimulator
+ * asgn2Tests
+ * 18/10/2026
+ *
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Simulators.ArrivalProfile;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.ResultCache;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.Simulator;
+
+/**
+ * @author hogan
+ *
+ */
+public class ResultCacheTests {
+
+	// Constants
+	int MEMORY_ENTRIES = 4;
+	long DISK_BYTES = 1024 * 1024;
+
+	// Variables
+	File directory;
+	Scenario scenario;
+	SimulationResult result;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("cache").toFile();
+		scenario = new Scenario().withSeed(42);
+		result = new SimulationResult(100, 12, 98, 2.5, 40);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				f.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#key(Scenario)}.
+	 */
+	@Test
+	public void testKeyDependsOnEveryParameter() {
+		assertEquals(ResultCache.key(scenario), ResultCache.key(new Scenario().withSeed(42)));
+		assertFalse(ResultCache.key(scenario).equals(ResultCache.key(scenario.withSeed(43))));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#key(Scenario, asgn2CarParks.CarPark, Simulator)}.
+	 * Runs differing only in car park implementation or arrival mode have different keys, 
+	 * and the key of a Scenario alone is that of a plain CarPark with arrival trials.
+	 * @throws Exception
+	 */
+	@Test
+	public void testKeyDependsOnRunConfiguration() throws Exception {
+		String plain = ResultCache.key(scenario, scenario.createCarPark(), scenario.createSimulator());
+		assertEquals(ResultCache.key(scenario), plain);
+		
+		ConcurrentCarPark concurrent = new ConcurrentCarPark(scenario.getMaxCarSpaces(), 
+				scenario.getMaxSmallCarSpaces(), scenario.getMaxMotorCycleSpaces(), scenario.getMaxQueueSize());
+		assertFalse(plain.equals(ResultCache.key(scenario, concurrent, scenario.createSimulator())));
+		
+		Simulator poisson = scenario.createSimulator();
+		poisson.setPoissonArrivals(2.0);
+		assertFalse(plain.equals(ResultCache.key(scenario, scenario.createCarPark(), poisson)));
+		
+		Simulator profiled = scenario.createSimulator();
+		profiled.setArrivalProfile(new ArrivalProfile(new int[] { 0 }, new double[] { 1.0 }, 
+				new double[] { 0.2 }, new double[] { 0.05 }));
+		assertFalse(plain.equals(ResultCache.key(scenario, scenario.createCarPark(), profiled)));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#get(Scenario)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testMissReturnsNull() throws Exception {
+		ResultCache cache = new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES);
+		assertNull(cache.get(scenario));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#put(Scenario, SimulationResult)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testPutThenGet() throws Exception {
+		ResultCache cache = new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES);
+		cache.put(scenario, result);
+		assertEquals(result.toRecord(), cache.get(scenario).toRecord());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#put(Scenario, SimulationResult)}.
+	 * The memory tier keeps what the disk tier keeps, without the histograms.
+	 * @throws Exception
+	 */
+	@Test
+	public void testMemoryTierDropsHistograms() throws Exception {
+		ResultCache cache = new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES);
+		SimulationResult full = BatchRunner.runReplication(scenario);
+		assertNotNull(full.getQueueWaitHistogram());
+		cache.put(scenario, full);
+		SimulationResult cached = cache.get(scenario);
+		assertNull(cached.getQueueWaitHistogram());
+		assertNull(cached.getStayHistogram());
+		assertEquals(full.toRecord(), cached.toRecord());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#ResultCache(File, int, long)}.
+	 * Results written by one cache are found by a new cache on the same directory.
+	 * @throws Exception
+	 */
+	@Test
+	public void testDiskTierSurvivesRestart() throws Exception {
+		new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES).put(scenario, result);
+		ResultCache reopened = new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES);
+		assertEquals(result.toRecord(), reopened.get(scenario).toRecord());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#put(Scenario, SimulationResult)}.
+	 * The disk tier stays within its byte bound.
+	 * @throws Exception
+	 */
+	@Test
+	public void testDiskTierIsBounded() throws Exception {
+		long bound = 3 * result.toRecord().length();
+		ResultCache cache = new ResultCache(directory, MEMORY_ENTRIES, bound);
+		for (int i = 0; i < 20; i++) {
+			cache.put(scenario.withSeed(i), result);
+		}
+		assertTrue(cache.getDiskBytesUsed() <= bound);
+		assertTrue(directory.listFiles().length <= 3);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.ResultCache#run(Scenario)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testRunSimulatesOnlyOnce() throws Exception {
+		ResultCache cache = new ResultCache(directory, MEMORY_ENTRIES, DISK_BYTES);
+		SimulationResult first = cache.run(scenario);
+		assertNull(first.getStayHistogram());
+		assertNotNull(cache.get(scenario));
+		assertEquals(first.toRecord(), cache.run(scenario).toRecord());
+	}
+}
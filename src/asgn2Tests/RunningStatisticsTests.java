@@ -0,0 +1,122 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Statistics.RunningStatistics;
+
+/**
+ * @author hogan
+ *
+ */
+public class RunningStatisticsTests {
+
+	// Constants
+	double DELTA = 1e-9;
+	double[] VALUES = { 2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0 };
+	
+	// Variables
+	RunningStatistics stats;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		stats = new RunningStatistics();
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#add(double)}.
+	 */
+	@Test
+	public void testMeanAndVariance() {
+		for (double x : VALUES) {
+			stats.add(x);
+		}
+		assertEquals(VALUES.length, stats.getCount());
+		assertEquals(5.0, stats.getMean(), DELTA);
+		assertEquals(32.0 / 7.0, stats.getVariance(), DELTA);
+		assertEquals(2.0, stats.getMin(), DELTA);
+		assertEquals(9.0, stats.getMax(), DELTA);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#merge(RunningStatistics)}.
+	 */
+	@Test
+	public void testMergeMatchesSingleStream() {
+		RunningStatistics other = new RunningStatistics();
+		for (int i = 0; i < VALUES.length; i++) {
+			if (i % 3 == 0) {
+				other.add(VALUES[i]);
+			} else {
+				stats.add(VALUES[i]);
+			}
+		}
+		stats.merge(other);
+		assertEquals(VALUES.length, stats.getCount());
+		assertEquals(5.0, stats.getMean(), DELTA);
+		assertEquals(32.0 / 7.0, stats.getVariance(), DELTA);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#merge(RunningStatistics)}.
+	 */
+	@Test
+	public void testMergeIntoEmpty() {
+		RunningStatistics other = new RunningStatistics();
+		other.add(3.0);
+		other.add(5.0);
+		stats.merge(other);
+		assertEquals(2, stats.getCount());
+		assertEquals(4.0, stats.getMean(), DELTA);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#confidenceHalfWidth()}.
+	 */
+	@Test
+	public void testHalfWidthUndefinedForOneObservation() {
+		stats.add(1.0);
+		assertTrue(Double.isInfinite(stats.confidenceHalfWidth()));
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#relativeConfidenceWidth()}.
+	 */
+	@Test
+	public void testRelativeWidthOfConstantIsZero() {
+		for (int i = 0; i < 5; i++) {
+			stats.add(0.0);
+		}
+		assertEquals(0.0, stats.relativeConfidenceWidth(), DELTA);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.RunningStatistics#relativeConfidenceWidth()}.
+	 */
+	@Test
+	public void testRelativeWidthShrinksWithObservations() {
+		for (int i = 0; i < 10; i++) {
+			stats.add(10.0 + (i % 2));
+		}
+		double early = stats.relativeConfidenceWidth();
+		for (int i = 0; i < 1000; i++) {
+			stats.add(10.0 + (i % 2));
+		}
+		assertTrue(stats.relativeConfidenceWidth() < early);
+	}
+}
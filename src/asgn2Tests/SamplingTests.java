@@ -0,0 +1,114 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.ParameterSpace;
+import asgn2Simulators.Scenario;
+import asgn2Statistics.LatinHypercube;
+import asgn2Statistics.SobolSequence;
+
+/**
+ * @author hogan
+ *
+ */
+public class SamplingTests {
+
+	// Constants
+	double DELTA = 1e-12;
+	int N = 64;
+	int DIMENSION = 5;
+	long SEED = 42;
+	
+	/**
+	 * Test method for {@link asgn2Statistics.SobolSequence#next()}.
+	 */
+	@Test
+	public void testSobolOpeningPoints() {
+		SobolSequence sobol = new SobolSequence(2);
+		assertArrayEquals(new double[] { 0.0, 0.0 }, sobol.next(), DELTA);
+		assertArrayEquals(new double[] { 0.5, 0.5 }, sobol.next(), DELTA);
+		assertArrayEquals(new double[] { 0.75, 0.25 }, sobol.next(), DELTA);
+		assertArrayEquals(new double[] { 0.25, 0.75 }, sobol.next(), DELTA);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.SobolSequence#next()}.
+	 * Every dyadic interval of width 1/N holds exactly one of the first N points.
+	 */
+	@Test
+	public void testSobolStratifiesEachAxis() {
+		SobolSequence sobol = new SobolSequence(SobolSequence.MAX_DIMENSION);
+		int[][] hits = new int[SobolSequence.MAX_DIMENSION][N];
+		for (int i = 0; i < N; i++) {
+			double[] p = sobol.next();
+			for (int j = 0; j < p.length; j++) {
+				hits[j][(int) (p[j] * N)]++;
+			}
+		}
+		for (int[] axis : hits) {
+			for (int h : axis) {
+				assertEquals(1, h);
+			}
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.SobolSequence#SobolSequence(int)}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSobolDimensionTooLarge() {
+		new SobolSequence(SobolSequence.MAX_DIMENSION + 1);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Statistics.LatinHypercube#sample(int, int, long)}.
+	 */
+	@Test
+	public void testLatinHypercubeStratifiesEachAxis() {
+		double[][] points = LatinHypercube.sample(N, DIMENSION, SEED);
+		for (int j = 0; j < DIMENSION; j++) {
+			boolean[] seen = new boolean[N];
+			for (int i = 0; i < N; i++) {
+				int stratum = (int) (points[i][j] * N);
+				assertFalse(seen[stratum]);
+				seen[stratum] = true;
+			}
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.ParameterSpace#sobolDesign(int)}.
+	 * @throws SimulationException 
+	 */
+	@Test
+	public void testDesignStaysInBounds() throws SimulationException {
+		Scenario lower = new Scenario(60.0, 10.0, 7, 0.2, 0.1, 0.01, 50, 5, 5, 5);
+		Scenario upper = new Scenario(180.0, 50.0, 7, 1.0, 0.5, 0.2, 200, 40, 30, 20);
+		ParameterSpace space = new ParameterSpace(lower, upper);
+		assertEquals(9, space.getDimension());
+		List<Scenario> design = space.sobolDesign(N);
+		design.addAll(space.latinHypercubeDesign(N, SEED));
+		for (Scenario s : design) {
+			assertEquals(7, s.getSeed());
+			assertTrue(s.getCarProb() >= 0.2 && s.getCarProb() <= 1.0);
+			assertTrue(s.getMeanStay() >= 60.0 && s.getMeanStay() <= 180.0);
+			assertTrue(s.getMaxCarSpaces() >= 50 && s.getMaxCarSpaces() <= 200);
+			assertTrue(s.getMaxQueueSize() >= 5 && s.getMaxQueueSize() <= 20);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Simulators.BatchResult;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationJobService;
+import asgn2Simulators.SimulationResult;
+
+/**
+ * @author hogan
+ *
+ */
+public class SimulationJobServiceTests {
+
+	// Constants
+	int JOBS = 64;
+	
+	// Variables
+	SimulationJobService service;
+	Scenario scenario;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		service = new SimulationJobService(2);
+		scenario = new Scenario();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		service.close();
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationJobService#submit(Scenario, File, BatchResult)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testJobsAggregateEveryResult() throws Exception {
+		BatchResult aggregate = new BatchResult(scenario);
+		List<CompletableFuture<SimulationResult>> jobs = new ArrayList<CompletableFuture<SimulationResult>>();
+		for (int i = 0; i < JOBS; i++) {
+			jobs.add(service.submit(scenario.withSeed(i), null, aggregate));
+		}
+		for (CompletableFuture<SimulationResult> job : jobs) {
+			assertNotNull(job.get());
+		}
+		assertEquals(JOBS, aggregate.getReplications());
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationJobService#submit(Scenario, File, BatchResult)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testJobWritesLogFile() throws Exception {
+		File logFile = File.createTempFile("simulation", ".log");
+		logFile.deleteOnExit();
+		service.submit(scenario, logFile, null).get();
+		assertTrue(logFile.length() > 0);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SimulationJobService#submit(Scenario, File, BatchResult)}.
+	 * Results do not depend on which thread runs the job.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testJobMatchesDirectRun() throws Exception {
+		SimulationResult viaService = service.submit(scenario, null, null).get();
+		SimulationResult direct = BatchRunner.runReplication(scenario);
+		assertEquals(direct.getNumProcessed(), viaService.getNumProcessed());
+		assertEquals(direct.getMeanQueueLength(), viaService.getMeanQueueLength(), 0.0);
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.SimulationServer;
+
+/**
+ * @author hogan
+ *
+ */
+public class SimulationServerTests {
+
+	// Constants
+	int REQUESTS = 20;
+	int TIMEOUT_MILLIS = 10000;
+	
+	// Variables
+	SimulationServer server;
+	Thread acceptor;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		server = new SimulationServer(0);
+		acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				server.serve();
+			}
+		});
+		acceptor.start();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		server.close();
+		acceptor.join();
+	}
+	
+	/**
+	 * Every request gets exactly one tagged reply, matching a direct run, and malformed 
+	 * requests are reported without ending the connection. 
+	 * @throws Exception 
+	 */
+	@Test
+	public void testRepliesMatchDirectRuns() throws Exception {
+		Map<Long, String> replies = new HashMap<Long, String>();
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			for (int i = 0; i < REQUESTS; i++) {
+				out.write(String.join(" ", new Scenario().withSeed(i).toArgs()) + "\n");
+			}
+			out.write("not a scenario\n");
+			out.flush();
+			socket.shutdownOutput();
+			
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] parts = line.split(" ", 3);
+				assertNull(replies.put(Long.parseLong(parts[1]), line));
+			}
+		}
+		assertEquals(REQUESTS + 1, replies.size());
+		assertTrue(replies.get((long) REQUESTS).startsWith("ERR"));
+		for (int i = 0; i < REQUESTS; i++) {
+			SimulationResult expected = BatchRunner.runReplication(new Scenario().withSeed(i));
+			assertEquals("OK " + i + " " + expected.toRecord(), replies.get((long) i));
+		}
+	}
+	
+	/**
+	 * Closing the server closes a connection that is still open, so an idle client sees 
+	 * end of stream rather than waiting forever. 
+	 * @throws Exception 
+	 */
+	@Test
+	public void testCloseClosesOpenConnections() throws Exception {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+			socket.setSoTimeout(TIMEOUT_MILLIS);
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			out.write(String.join(" ", new Scenario().toArgs()) + "\n");
+			out.flush();
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			assertTrue(in.readLine().startsWith("OK 0 "));
+			
+			server.close();
+			assertNull(in.readLine());
+		}
+	}
+}
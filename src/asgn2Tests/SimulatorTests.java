@@ -0,0 +1,194 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.ArrivalProfile;
+import asgn2Simulators.ArrivalProfile.VehicleClass;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+
+/**
+ * @author hogan
+ *
+ */
+public class SimulatorTests {
+
+	// Constants
+	int DRAWS = 20000;
+	int TIME = 1;
+	int PEAK_START = 420;
+	int PEAK_END = 600;
+	double OFF_PEAK_RATE = 0.5;
+	double PEAK_RATE = 40.0;
+	double SMALL_SCALE = 15.0;
+	double LARGE_SCALE = 2000.0;
+	int BAYS = 20000;
+
+	// Variables
+	Simulator sim;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		sim = new Simulator();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#newCarArrivals(int)}.
+	 * Without the Poisson mode, each class has at most one arrival per minute.
+	 */
+	@Test
+	public void testTrialArrivals() {
+		assertFalse(sim.isPoissonArrivals());
+		int total = 0;
+		for (int i = 0; i < DRAWS; i++) {
+			int n = sim.newMotorCycleArrivals(TIME);
+			assertTrue(n == 0 || n == 1);
+			total += n;
+		}
+		assertEquals(Constants.DEFAULT_MOTORCYCLE_PROB, (double) total / DRAWS, 0.01);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#newSmallCarArrivals(int)}.
+	 * Mean (below the rejection limit) and variance of a Poisson count are equal.
+	 * @throws Exception
+	 */
+	@Test
+	public void testPoissonArrivalsSmallMean() throws Exception {
+		sim.setPoissonArrivals(SMALL_SCALE);
+		assertPoisson(SMALL_SCALE * Constants.DEFAULT_SMALL_CAR_PROB, true);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#newCarArrivals(int)}.
+	 * Mean and variance of a Poisson count are equal.
+	 * @throws Exception
+	 */
+	@Test
+	public void testPoissonArrivalsLargeMean() throws Exception {
+		sim.setPoissonArrivals(LARGE_SCALE);
+		assertPoisson(LARGE_SCALE * Constants.DEFAULT_CAR_PROB, false);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#setPoissonArrivals(double)}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testPoissonArrivalsNegativeScale() throws Exception {
+		sim.setPoissonArrivals(-1.0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#setPoissonArrivals(double)}.
+	 * A whole day in the Poisson mode accounts for every vehicle.
+	 * @throws Exception
+	 */
+	@Test
+	public void testPoissonArrivalsSimulation() throws Exception {
+		sim.setPoissonArrivals(LARGE_SCALE / 100);
+		ConcurrentCarPark cp = new ConcurrentCarPark(BAYS, BAYS / 5, BAYS / 10, BAYS / 10);
+		new SimulationRunner(cp, sim, new Log(Writer.nullWriter())).runSimulation();
+		assertTrue(cp.getNumProcessed() > Constants.LAST_ENTRY * LARGE_SCALE / 100);
+		assertTrue(cp.carParkEmpty());
+		assertEquals(cp.getNumProcessed(), cp.getNumArchived() + cp.numVehiclesInQueue());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.BatchRunner#runReplication(Scenario)}.
+	 * The default scenario's CarPark has its default dimensions, so vehicles park.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplicationParksVehicles() throws Exception {
+		SimulationResult result = BatchRunner.runReplication(new Scenario());
+		assertTrue(result.getNumProcessed() > 0);
+		assertTrue(result.getPeakOccupancy() > 0);
+		assertTrue(result.getPeakOccupancy() <= Constants.DEFAULT_MAX_CAR_SPACES 
+				+ Constants.DEFAULT_MAX_MOTORCYCLE_SPACES);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.Simulator#setArrivalProfile(ArrivalProfile)}.
+	 * Arrivals follow the peak, and a day's total is close to the profile's expected total.
+	 * @throws Exception
+	 */
+	@Test
+	public void testArrivalProfile() throws Exception {
+		ArrivalProfile profile = new ArrivalProfile(new int[] { 0, PEAK_START, PEAK_END },
+				new double[] { OFF_PEAK_RATE, PEAK_RATE, OFF_PEAK_RATE }, new double[3], new double[3]);
+		sim.setArrivalProfile(profile);
+		assertTrue(sim.isPoissonArrivals());
+		int offPeak = 0;
+		int peak = 0;
+		int smallCars = 0;
+		for (int time = 1; time <= Constants.LAST_ENTRY; time++) {
+			int n = sim.newCarArrivals(time);
+			if (time >= PEAK_START && time < PEAK_END) {
+				peak += n;
+			} else {
+				offPeak += n;
+			}
+			smallCars += sim.newSmallCarArrivals(time);
+		}
+		double expectedPeak = profile.getExpectedArrivals(VehicleClass.CAR, PEAK_START, PEAK_END);
+		double expectedOffPeak = profile.getExpectedArrivals(VehicleClass.CAR, 1, Constants.LAST_ENTRY + 1) - expectedPeak;
+		assertEquals(expectedPeak, peak, 4 * Math.sqrt(expectedPeak));
+		assertEquals(expectedOffPeak, offPeak, 4 * Math.sqrt(expectedOffPeak));
+		assertEquals(0, smallCars);
+	}
+
+	/**
+	 * Helper to check the sample mean and variance of many arrival counts
+	 * @param mean double holding the expected mean and variance
+	 * @param smallCars boolean true to draw small car arrivals, false for cars
+	 */
+	private void assertPoisson(double mean, boolean smallCars) {
+		double sum = 0;
+		double sumSquares = 0;
+		for (int i = 0; i < DRAWS; i++) {
+			int n = smallCars ? sim.newSmallCarArrivals(TIME) : sim.newCarArrivals(TIME);
+			assertTrue(n >= 0);
+			sum += n;
+			sumSquares += (double) n * n;
+		}
+		double sampleMean = sum / DRAWS;
+		double sampleVariance = (sumSquares - sum * sampleMean) / (DRAWS - 1);
+		// Four standard errors of the mean, and roughly of the variance
+		assertEquals(mean, sampleMean, 4 * Math.sqrt(mean / DRAWS));
+		assertEquals(mean, sampleVariance, 4 * mean * Math.sqrt(2.0 / DRAWS) + 4 * Math.sqrt(mean / DRAWS));
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.SweepCoordinator;
+import asgn2Simulators.SweepWorker;
+
+/**
+ * @author hogan
+ *
+ */
+public class SweepCoordinatorTests {
+
+	// Constants
+	int POINTS = 40;
+	int WORKERS = 2;
+	int SHARD_SIZE = 8;
+	int LARGE_SHARD_SIZE = 5000;
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepWorker#serve(BufferedReader, java.io.Writer)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testWorkerProtocol() throws Exception {
+		Scenario s = new Scenario();
+		String request = "7 " + String.join(" ", s.toArgs()) + "\n" + "8 not numbers\n" + SweepWorker.END + "\n";
+		StringWriter out = new StringWriter();
+		SweepWorker.serve(new BufferedReader(new StringReader(request)), out);
+		String[] replies = out.toString().split("\n");
+		assertEquals(3, replies.length);
+		assertEquals("OK 7 " + BatchRunner.runReplication(s).toRecord(), replies[0]);
+		assertTrue(replies[1].startsWith("ERR 8 "));
+		assertEquals(SweepWorker.END, replies[2]);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepCoordinator#run(List)}.
+	 * Results from worker JVMs must match runs in this JVM, in grid order.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testShardedSweepMatchesDirectRuns() throws Exception {
+		List<Scenario> grid = new ArrayList<Scenario>();
+		for (int i = 0; i < POINTS; i++) {
+			grid.add(new Scenario().withSeed(i));
+		}
+		SweepCoordinator coordinator = new SweepCoordinator(WORKERS, SHARD_SIZE, new ArrayList<String>());
+		SimulationResult[] results = coordinator.run(grid);
+		assertEquals(POINTS, results.length);
+		for (int i = 0; i < POINTS; i++) {
+			assertEquals(BatchRunner.runReplication(grid.get(i)).toRecord(), results[i].toRecord());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepCoordinator#run(List)}.
+	 * A shard larger than both pipe buffers must not deadlock the coordinator and worker. 
+	 * The points are invalid, so the worker answers each at once and the sweep fails. 
+	 * @throws Exception 
+	 */
+	@Test(timeout = 60000)
+	public void testLargeShardDoesNotDeadlock() throws Exception {
+		List<Scenario> grid = new ArrayList<Scenario>();
+		for (int i = 0; i < LARGE_SHARD_SIZE; i++) {
+			grid.add(new Scenario(-1.0, Constants.DEFAULT_INTENDED_STAY_SD, i, 
+					Constants.DEFAULT_CAR_PROB, Constants.DEFAULT_SMALL_CAR_PROB, Constants.DEFAULT_MOTORCYCLE_PROB, 
+					Constants.DEFAULT_MAX_CAR_SPACES, Constants.DEFAULT_MAX_SMALL_CAR_SPACES, 
+					Constants.DEFAULT_MAX_MOTORCYCLE_SPACES, Constants.DEFAULT_MAX_QUEUE_SIZE));
+		}
+		SweepCoordinator coordinator = new SweepCoordinator(1, LARGE_SHARD_SIZE, new ArrayList<String>());
+		try {
+			coordinator.run(grid);
+			fail("Invalid grid points should fail the sweep");
+		} catch (SimulationException e) {
+			assertTrue(e.getMessage().contains("Grid point 0 failed: "));
+		}
+	}
+}
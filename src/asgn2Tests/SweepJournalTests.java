@@ -0,0 +1,143 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.BatchRunner;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.SweepJournal;
+
+/**
+ * @author hogan
+ *
+ */
+public class SweepJournalTests {
+
+	// Constants
+	int POINTS = 30;
+	int SYNC_INTERVAL = 4;
+	
+	// Variables
+	File file;
+	List<Scenario> grid;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("sweep", ".journal");
+		file.delete();
+		grid = new ArrayList<Scenario>();
+		for (int i = 0; i < POINTS; i++) {
+			grid.add(new Scenario().withSeed(i));
+		}
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepJournal#record(int, SimulationResult)}.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testRecordsSurviveReopening() throws Exception {
+		SimulationResult r = new SimulationResult(10, 3, 9, 1.25, 7);
+		try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+			journal.record(3, r);
+			journal.record(17, r);
+		}
+		try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+			assertEquals(2, journal.getNumCompleted());
+			assertTrue(journal.isCompleted(3));
+			assertFalse(journal.isCompleted(4));
+			assertEquals(r.toRecord(), journal.getResult(17).toRecord());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepJournal#SweepJournal(File, List, int)}.
+	 * A partly written record at the end of the file is discarded.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testTornTailIsTruncated() throws Exception {
+		try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+			journal.record(1, new SimulationResult(1, 0, 1, 0.0, 1));
+		}
+		long intact = file.length();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(intact);
+			raf.write(new byte[] { 0, 0, 0, 2, 9, 9, 9 });
+		}
+		try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+			assertEquals(1, journal.getNumCompleted());
+		}
+		assertEquals(intact, file.length());
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.SweepJournal#SweepJournal(File, List, int)}.
+	 * @throws Exception 
+	 */
+	@Test(expected = SimulationException.class)
+	public void testDifferentGridRejected() throws Exception {
+		new SweepJournal(file, grid, SYNC_INTERVAL).close();
+		grid.set(0, new Scenario().withSeed(-1));
+		new SweepJournal(file, grid, SYNC_INTERVAL).close();
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.BatchRunner#runAll(List, SweepJournal)}.
+	 * A sweep resumed from a partial journal gives the same results as an uninterrupted one.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testResumedSweepMatchesFullSweep() throws Exception {
+		BatchRunner runner = new BatchRunner(2);
+		try {
+			try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+				for (int i = 0; i < POINTS / 2; i++) {
+					journal.record(i, BatchRunner.runReplication(grid.get(i)));
+				}
+			}
+			SimulationResult[] resumed;
+			try (SweepJournal journal = new SweepJournal(file, grid, SYNC_INTERVAL)) {
+				assertEquals(POINTS / 2, journal.getNumCompleted());
+				resumed = runner.runAll(grid, journal);
+				assertEquals(POINTS, journal.getNumCompleted());
+			}
+			for (int i = 0; i < POINTS; i++) {
+				assertEquals(BatchRunner.runReplication(grid.get(i)).toRecord(), resumed[i].toRecord());
+			}
+		} finally {
+			runner.shutdown();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.Scenario;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.TickProfiler;
+import asgn2Simulators.TickProfiler.Phase;
+
+/**
+ * @author hogan
+ *
+ */
+public class TickProfilerTests {
+
+	// Constants
+	int TICKS = Constants.CLOSING_TIME + 1;
+	
+	// Variables
+	TickProfiler profiler;
+	
+	/**
+	 * Profiles one run of the default scenario
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		profiler = new TickProfiler();
+		Scenario scenario = new Scenario();
+		SimulationRunner sr = new SimulationRunner(scenario.createCarPark(), 
+				scenario.createSimulator(), new Log(Writer.nullWriter()));
+		sr.setProfiler(profiler);
+		sr.runSimulation();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TickProfiler#lap(Phase)}.
+	 */
+	@Test
+	public void testEveryPhaseTimedEachTick() {
+		for (Phase p : Phase.values()) {
+			assertEquals(p.toString(), TICKS, profiler.getNanos(p).getTotalCount());
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.TickProfiler#getAllocatedBytes(Phase)}.
+	 * Logging builds a status String every tick, so it must allocate.
+	 */
+	@Test
+	public void testAllocationMeasured() {
+		if (profiler.isAllocationMeasured()) {
+			assertTrue(profiler.getAllocatedBytes(Phase.LOG_ENTRY) > 0);
+		}
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.TickProfiler#merge(TickProfiler)}.
+	 */
+	@Test
+	public void testMerge() {
+		TickProfiler pooled = new TickProfiler();
+		pooled.merge(profiler);
+		pooled.merge(profiler);
+		assertEquals(2 * TICKS, pooled.getNanos(Phase.PROCESS_QUEUE).getTotalCount());
+		assertEquals(2 * profiler.getAllocatedBytes(Phase.LOG_ENTRY), pooled.getAllocatedBytes(Phase.LOG_ENTRY));
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.TickProfiler#forRun()}.
+	 */
+	@Test
+	public void testDisabledByDefault() {
+		assertEquals(TickProfiler.ENABLED, TickProfiler.forRun() != null);
+	}
+	
+	/**
+	 * Test method for {@link asgn2Simulators.TickProfiler#completeRun(TickProfiler)}.
+	 */
+	@Test
+	public void testCompleteRunAddsToSnapshot() {
+		long before = TickProfiler.snapshot().getNanos(Phase.LOG_ENTRY).getTotalCount();
+		TickProfiler.completeRun(profiler);
+		assertEquals(before + TICKS, TickProfiler.snapshot().getNanos(Phase.LOG_ENTRY).getTotalCount());
+		// the run's own profiler is not changed by being merged
+		assertEquals(TICKS, profiler.getNanos(Phase.LOG_ENTRY).getTotalCount());
+	}
+}
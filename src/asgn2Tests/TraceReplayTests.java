@@ -0,0 +1,268 @@
+/**
+ * 
+ * This file is part of the CarParkSimulator Project, written as 
+ * part of the assessment for INB370, semester 1, 2014. 
+ *
+ * CarParkSimulator
+ * asgn2Tests 
+ * 18/10/2026
+ * 
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2CarParks.ConcurrentCarPark;
+import asgn2Exceptions.SimulationException;
+import asgn2Simulators.Constants;
+import asgn2Simulators.SimulationResult;
+import asgn2Simulators.TraceReader;
+import asgn2Simulators.TraceReplay;
+
+/**
+ * @author hogan
+ *
+ */
+public class TraceReplayTests {
+
+	// Constants
+	String TRACE = "type,arrival,stay\r\n"
+			+ "C,1,95\r\n"
+			+ "# gate 2 offline\n"
+			+ "\n"
+			+ " S , 1 , 30 \n"
+			+ "M,3,240";
+	int SMALL_WINDOW = 20;
+
+	// Variables
+	File file;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("trace", ".csv");
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReader#next()}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadTrace() throws Exception {
+		write(TRACE);
+		assertTrace(new TraceReader(file));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReader#next()}.
+	 * Lines which straddle two mapping windows are read whole.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadTraceAcrossWindows() throws Exception {
+		write(TRACE);
+		assertTrace(new TraceReader(file, SMALL_WINDOW));
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReader#next()}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testEmptyTrace() throws Exception {
+		write("");
+		try (TraceReader trace = new TraceReader(file)) {
+			assertFalse(trace.next());
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReader#next()}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testMalformedLine() throws Exception {
+		write("C,1,95\nC,2\n");
+		try (TraceReader trace = new TraceReader(file)) {
+			assertTrue(trace.next());
+			trace.next();
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReader#next()}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testLineLongerThanWindow() throws Exception {
+		write("C,1,95\nC,1,95                        \nC,2,30\n");
+		try (TraceReader trace = new TraceReader(file, SMALL_WINDOW)) {
+			while (trace.next()) {
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * A queued vehicle keeps its recorded stay once it parks, and a full queue turns vehicles away.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplay() throws Exception {
+		write("C,1,20\nC,5,60\nC,6,60\n");
+		ConcurrentCarPark cp = new ConcurrentCarPark(1, 0, 0, 1);
+		SimulationResult result = replay(cp);
+		assertEquals(3, result.getNumProcessed());
+		assertEquals(1, result.getNumDissatisfied());
+		assertEquals(3, result.getNumArchived());
+		assertEquals(1, result.getPeakOccupancy());
+		assertEquals(2, result.getStayHistogram().getTotalCount());
+		assertEquals(80, result.getStayHistogram().getSum());
+		assertTrue(result.getMeanQueueLength() > 0.0);
+		assertTrue(cp.carParkEmpty() && cp.queueEmpty());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * Vehicles which wait too long leave the queue, and short stays are raised to the minimum.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplayQueueFailures() throws Exception {
+		write("C,1,200\nC,2,60\nC,3,5\n");
+		ConcurrentCarPark cp = new ConcurrentCarPark(1, 0, 0, 2);
+		SimulationResult result = replay(cp);
+		assertEquals(3, result.getNumProcessed());
+		assertEquals(2, result.getNumDissatisfied());
+		assertEquals(200, result.getStayHistogram().getSum());
+		assertEquals(0, cp.getNumSmallCars() + cp.getNumCars() + cp.numVehiclesInQueue());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * A plain CarPark replays as the ConcurrentCarPark does, with the recorded stays.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplayCarPark() throws Exception {
+		write("C,1,20\nC,5,60\nC,6,60\n");
+		CarPark cp = new CarPark(1, 0, 0, 1);
+		SimulationResult result = replay(cp);
+		assertEquals(3, result.getNumProcessed());
+		assertEquals(1, result.getNumDissatisfied());
+		assertEquals(2, result.getStayHistogram().getTotalCount());
+		assertEquals(80, result.getStayHistogram().getSum());
+		assertTrue(cp.carParkEmpty() && cp.queueEmpty());
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * A vehicle queued behind a queue failure parks with its own recorded stay.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplayParksBehindQueueFailure() throws Exception {
+		int departure = 1 + 100;
+		String failure = "C,2,60\n";
+		String behind = "C," + (departure - Constants.MAXIMUM_QUEUE_TIME + 5) + ",70\n";
+		for (CarPark cp : new CarPark[] { new CarPark(1, 0, 0, 2), new ConcurrentCarPark(1, 0, 0, 2) }) {
+			write("C,1,100\n" + failure + behind);
+			SimulationResult result = replay(cp);
+			assertEquals(3, result.getNumProcessed());
+			assertEquals(1, result.getNumDissatisfied());
+			assertEquals(2, result.getStayHistogram().getTotalCount());
+			assertEquals(170, result.getStayHistogram().getSum());
+			assertTrue(cp.carParkEmpty() && cp.queueEmpty());
+		}
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * A trace spanning many days replays without stepping through the empty minutes.
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplayLongTrace() throws Exception {
+		int lastArrival = 1000 * Constants.CLOSING_TIME;
+		write("C,1,30\nM,2,30\nS," + lastArrival + ",30\n");
+		SimulationResult result = replay(new ConcurrentCarPark());
+		assertEquals(3, result.getNumProcessed());
+		assertEquals(0, result.getNumDissatisfied());
+		assertEquals(0.0, result.getMeanQueueLength(), 0.0);
+	}
+
+	/**
+	 * Test method for {@link asgn2Simulators.TraceReplay#run(TraceReader)}.
+	 * @throws Exception
+	 */
+	@Test(expected = SimulationException.class)
+	public void testReplayOutOfOrder() throws Exception {
+		write("C,5,30\nC,4,30\n");
+		replay(new ConcurrentCarPark());
+	}
+
+	/**
+	 * Helper to replay the trace file through a car park
+	 * @param cp CarPark to receive the arrivals
+	 * @return SimulationResult of the replay
+	 * @throws Exception if the replay fails
+	 */
+	private SimulationResult replay(CarPark cp) throws Exception {
+		try (TraceReader trace = new TraceReader(file)) {
+			return new TraceReplay(cp).run(trace);
+		}
+	}
+
+	/**
+	 * Helper to check the arrivals read from TRACE
+	 * @param reader TraceReader over TRACE, closed on return
+	 * @throws Exception if the trace cannot be read
+	 */
+	private void assertTrace(TraceReader reader) throws Exception {
+		try (TraceReader trace = reader) {
+			assertTrue(trace.next());
+			assertEquals(TraceReader.CAR, trace.getType());
+			assertEquals(1, trace.getArrivalTime());
+			assertEquals(95, trace.getStay());
+			assertEquals(2, trace.getLineNumber());
+			assertTrue(trace.next());
+			assertEquals(TraceReader.SMALL_CAR, trace.getType());
+			assertEquals(30, trace.getStay());
+			assertEquals(5, trace.getLineNumber());
+			assertTrue(trace.next());
+			assertEquals(TraceReader.MOTORCYCLE, trace.getType());
+			assertEquals(3, trace.getArrivalTime());
+			assertEquals(240, trace.getStay());
+			assertFalse(trace.next());
+			assertFalse(trace.next());
+		}
+	}
+
+	/**
+	 * Helper to write the trace file
+	 * @param text String holding the trace
+	 * @throws Exception if the file cannot be written
+	 */
+	private void write(String text) throws Exception {
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.US_ASCII));
+	}
+}
@@ -0,0 +1,187 @@
+/**
+ *
+ * This file is part of the CarParkSimulator Project, written as
+ * part of the assessment for INB370, semester 1, 2014.
+ *
+ * CarParkSimulator
+ * asgn2Tests
+ * 18/10/2026
+ *
+ */
+package asgn2Tests;
+
+import static org.junit.Assert.*;
+
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asgn2CarParks.CarPark;
+import asgn2Simulators.Constants;
+import asgn2Simulators.Log;
+import asgn2Simulators.SimulationRunner;
+import asgn2Simulators.Simulator;
+import asgn2Statistics.VehicleStatistics;
+import asgn2Statistics.VehicleStatistics.Type;
+import asgn2Vehicles.Car;
+import asgn2Vehicles.MotorCycle;
+
+/**
+ * @author hogan
+ *
+ */
+public class VehicleStatisticsTests {
+
+	// Constants
+	double EPSILON = 1e-9;
+	int SEED = 7;
+	int CAR_SPACES = 40;
+	int SMALL_CAR_SPACES = 10;
+	int MOTORCYCLE_SPACES = 5;
+	int QUEUE_SIZE = 5;
+
+	// Variables
+	Car car;
+	Car smallCar;
+	MotorCycle motorCycle;
+
+	/**
+	 * Creates a car which queued for 4 and stayed for 30, a small car which parked
+	 * on arrival and stayed for 50, and a motorcycle which was turned away
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		car = new Car("C1", 10, false);
+		car.enterQueuedState();
+		car.exitQueuedState(14);
+		car.enterParkedState(14, 30);
+		car.exitParkedState(44);
+
+		smallCar = new Car("S1", 20, true);
+		smallCar.enterParkedState(20, 50);
+		smallCar.exitParkedState(70);
+
+		motorCycle = new MotorCycle("M1", 30);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.VehicleStatistics#record(asgn2Vehicles.Vehicle)}.
+	 */
+	@Test
+	public void testRecordCountsByTypeAndSatisfaction() {
+		VehicleStatistics stats = new VehicleStatistics();
+		stats.record(car);
+		stats.record(smallCar);
+		stats.record(motorCycle);
+		assertEquals(3, stats.getCount());
+		assertEquals(1, stats.getNumSatisfied(Type.CAR));
+		assertEquals(1, stats.getNumSatisfied(Type.SMALL_CAR));
+		assertEquals(1, stats.getNumDissatisfied(Type.MOTORCYCLE));
+		assertEquals(0, stats.getNumSatisfied(Type.MOTORCYCLE));
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.VehicleStatistics#record(asgn2Vehicles.Vehicle)}.
+	 */
+	@Test
+	public void testRecordTimes() {
+		VehicleStatistics stats = new VehicleStatistics();
+		stats.record(car);
+		stats.record(smallCar);
+		stats.record(motorCycle);
+		assertEquals(1, stats.getQueueTime().getCount());
+		assertEquals(4.0, stats.getQueueTime().getMean(), EPSILON);
+		assertEquals(2, stats.getStayTime().getCount());
+		assertEquals(40.0, stats.getStayTime().getMean(), EPSILON);
+		assertEquals(200.0, stats.getStayTime().getVariance(), EPSILON);
+	}
+
+	/**
+	 * Test method for {@link asgn2Statistics.VehicleStatistics#merge(VehicleStatistics)}.
+	 */
+	@Test
+	public void testMergeMatchesSingleSummary() {
+		VehicleStatistics all = new VehicleStatistics();
+		all.record(car);
+		all.record(smallCar);
+		all.record(motorCycle);
+		VehicleStatistics left = new VehicleStatistics();
+		left.record(car);
+		VehicleStatistics right = new VehicleStatistics();
+		right.record(smallCar);
+		right.record(motorCycle);
+		left.merge(right);
+		assertEquals(all.getCount(), left.getCount());
+		assertEquals(all.getStayTime().getMean(), left.getStayTime().getMean(), EPSILON);
+		assertEquals(all.getStayTime().getVariance(), left.getStayTime().getVariance(), EPSILON);
+		assertEquals(all.getNumDissatisfied(Type.MOTORCYCLE), left.getNumDissatisfied(Type.MOTORCYCLE));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#setRetainArchive(boolean)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatsOnlyCarParkReportsSummary() throws Exception {
+		CarPark carPark = new CarPark();
+		carPark.setRetainArchive(false);
+		carPark.archiveNewVehicle(motorCycle);
+		assertEquals(1, carPark.getNumArchived());
+		assertEquals(1, carPark.getStatistics().getNumDissatisfied(Type.MOTORCYCLE));
+		assertTrue(carPark.finalState().contains("Vehicle Summary"));
+		assertFalse(carPark.finalState().contains("M1"));
+	}
+
+	/**
+	 * Test method for {@link asgn2CarParks.CarPark#setRetainArchive(boolean)}.
+	 * A day in stats-only mode summarises the same departures, queue failures and
+	 * turned away vehicles as the same day with the archive kept.
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatsOnlyMatchesRetainedArchive() throws Exception {
+		CarPark retained = runDay(true);
+		CarPark statsOnly = runDay(false);
+		VehicleStatistics expected = retained.getStatistics();
+		VehicleStatistics actual = statsOnly.getStatistics();
+		assertEquals(retained.getNumProcessed() - retained.numVehiclesInQueue(), retained.getNumArchived());
+		assertEquals(retained.getNumArchived(), expected.getCount());
+		assertTrue(retained.getNumDissatisfied() > 0);
+		assertTrue(expected.getStayTime().getVariance() > 0);
+		assertEquals(expected.getCount(), actual.getCount());
+		for (Type type : Type.values()) {
+			assertEquals(expected.getNumSatisfied(type), actual.getNumSatisfied(type));
+			assertEquals(expected.getNumDissatisfied(type), actual.getNumDissatisfied(type));
+		}
+		assertEquals(expected.getQueueTime().getCount(), actual.getQueueTime().getCount());
+		assertEquals(expected.getQueueTime().getMean(), actual.getQueueTime().getMean(), EPSILON);
+		assertEquals(expected.getStayTime().getCount(), actual.getStayTime().getCount());
+		assertEquals(expected.getStayTime().getMean(), actual.getStayTime().getMean(), EPSILON);
+	}
+
+	/**
+	 * Helper to run a day of a small car park, which fills and turns vehicles away
+	 * @param retainArchive boolean true to keep every archived vehicle
+	 * @return CarPark at the end of the day
+	 * @throws Exception if the run fails
+	 */
+	private CarPark runDay(boolean retainArchive) throws Exception {
+		CarPark carPark = new CarPark(CAR_SPACES, SMALL_CAR_SPACES, MOTORCYCLE_SPACES, QUEUE_SIZE);
+		carPark.setRetainArchive(retainArchive);
+		Simulator sim = new Simulator(SEED, Constants.DEFAULT_INTENDED_STAY_MEAN,
+				Constants.DEFAULT_INTENDED_STAY_SD, Constants.DEFAULT_CAR_PROB,
+				Constants.DEFAULT_SMALL_CAR_PROB, Constants.DEFAULT_MOTORCYCLE_PROB);
+		new SimulationRunner(carPark, sim, new Log(Writer.nullWriter())).runSimulation();
+		return carPark;
+	}
+}
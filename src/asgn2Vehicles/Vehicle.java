@@ -190,6 +190,15 @@ public abstract class Vehicle {
 		return this.departureTime;
 	}
 	
+	/**
+	 * Simple getter for the time the vehicle left the queue
+	 * Note: result is 0 unless the vehicle was queued
+	 * @return the exitQueueTime
+	 */
+	public int getExitQueueTime() {
+		return this.exitQueueTime;
+	}
+	
 	/**
 	 * Simple getter for the parking time
 	 * Note: result may be 0 before parking